@@ -13,9 +13,12 @@ import org.springframework.context.annotation.PropertySource;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import javax.persistence.EntityManagerFactory;
@@ -24,6 +27,7 @@ import java.util.Properties;
 
 @Configuration
 @EnableTransactionManagement
+@EnableScheduling
 @EnableJpaRepositories(basePackages = "com.ej2.repository")
 @MapperScan(basePackages = "com.ej2.mapper")
 @ComponentScan(basePackages = {"com.ej2.service", "com.ej2.repository", "com.ej2.config"})
@@ -77,9 +81,32 @@ public class RootConfig {
         properties.setProperty("hibernate.hbm2ddl.auto", "update");
         properties.setProperty("hibernate.show_sql", "true");
         properties.setProperty("hibernate.format_sql", "true");
+        // INSERT/UPDATEのJDBCバッチ化（プール方式IDのエンティティのみ有効。IDENTITYはINSERTを即時実行するため対象外）
+        properties.setProperty("hibernate.jdbc.batch_size", "50");
+        properties.setProperty("hibernate.order_inserts", "true");
+        properties.setProperty("hibernate.order_updates", "true");
+        properties.setProperty("hibernate.jdbc.batch_versioned_data", "true");
         return properties;
     }
 
+    // JdbcTemplate (バッチUPDATEなど、JPAを経由しない軽量な書き込み用)
+    // JpaTransactionManagerのトランザクションにそのまま参加する
+    @Bean
+    public JdbcTemplate jdbcTemplate(DataSource dataSource) {
+        return new JdbcTemplate(dataSource);
+    }
+
+    // @Scheduled タスク用スケジューラ（フラッシュ系の短周期タスクが長いジョブに待たされないよう複数スレッド）
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(4);
+        scheduler.setThreadNamePrefix("ej2-scheduler-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(10);
+        return scheduler;
+    }
+
     // MyBatis SqlSessionFactory
     @Bean
     public SqlSessionFactory sqlSessionFactory(DataSource dataSource) throws Exception {
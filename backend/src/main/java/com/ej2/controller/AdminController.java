@@ -100,6 +100,104 @@ public class AdminController {
         return ResponseEntity.ok(boardStats);
     }
 
+    @GetMapping("/dashboard/views")
+    public ResponseEntity<?> getDailyViewStats(
+            @RequestParam(defaultValue = "30") int days,
+            HttpSession session) {
+        ResponseEntity<?> accessCheck = checkAdminAccess(session);
+        if (accessCheck != null) return accessCheck;
+
+        return ResponseEntity.ok(adminService.getDailyViewStats(days));
+    }
+
+    @GetMapping("/metrics/view-counter")
+    public ResponseEntity<?> getViewCounterMetrics(HttpSession session) {
+        ResponseEntity<?> accessCheck = checkAdminAccess(session);
+        if (accessCheck != null) return accessCheck;
+
+        return ResponseEntity.ok(adminService.getViewCounterMetrics());
+    }
+
+    @GetMapping("/metrics/search-index")
+    public ResponseEntity<?> getSearchIndexStats(HttpSession session) {
+        ResponseEntity<?> accessCheck = checkAdminAccess(session);
+        if (accessCheck != null) return accessCheck;
+
+        return ResponseEntity.ok(adminService.getSearchIndexStats());
+    }
+
+    @GetMapping("/metrics/post-cache")
+    public ResponseEntity<?> getPostCacheStats(HttpSession session) {
+        ResponseEntity<?> accessCheck = checkAdminAccess(session);
+        if (accessCheck != null) return accessCheck;
+
+        return ResponseEntity.ok(adminService.getPostCacheStats());
+    }
+
+    @GetMapping("/metrics/counter-shards")
+    public ResponseEntity<?> getCounterShardStats(HttpSession session) {
+        ResponseEntity<?> accessCheck = checkAdminAccess(session);
+        if (accessCheck != null) return accessCheck;
+
+        return ResponseEntity.ok(adminService.getCounterShardStats());
+    }
+
+    @GetMapping("/metrics/counter-reconcile")
+    public ResponseEntity<?> getCounterReconcileStats(HttpSession session) {
+        ResponseEntity<?> accessCheck = checkAdminAccess(session);
+        if (accessCheck != null) return accessCheck;
+
+        return ResponseEntity.ok(adminService.getCounterReconcileStats());
+    }
+
+    @GetMapping("/metrics/comment-stream")
+    public ResponseEntity<?> getCommentStreamMetrics(HttpSession session) {
+        ResponseEntity<?> accessCheck = checkAdminAccess(session);
+        if (accessCheck != null) return accessCheck;
+
+        return ResponseEntity.ok(adminService.getCommentStreamMetrics());
+    }
+
+    @GetMapping("/metrics/activity-log")
+    public ResponseEntity<?> getActivityLogMetrics(HttpSession session) {
+        ResponseEntity<?> accessCheck = checkAdminAccess(session);
+        if (accessCheck != null) return accessCheck;
+
+        return ResponseEntity.ok(adminService.getActivityLogMetrics());
+    }
+
+    @GetMapping("/metrics/popularity")
+    public ResponseEntity<?> getPopularityStats(HttpSession session) {
+        ResponseEntity<?> accessCheck = checkAdminAccess(session);
+        if (accessCheck != null) return accessCheck;
+
+        return ResponseEntity.ok(adminService.getPopularityStats());
+    }
+
+    @GetMapping("/metrics/ranking-topk")
+    public ResponseEntity<?> getRankingTopKStats(HttpSession session) {
+        ResponseEntity<?> accessCheck = checkAdminAccess(session);
+        if (accessCheck != null) return accessCheck;
+
+        return ResponseEntity.ok(adminService.getRankingTopKStats());
+    }
+
+    @GetMapping("/metrics/ranking-snapshots")
+    public ResponseEntity<?> getRankingSnapshotStats(HttpSession session) {
+        ResponseEntity<?> accessCheck = checkAdminAccess(session);
+        if (accessCheck != null) return accessCheck;
+
+        return ResponseEntity.ok(adminService.getRankingSnapshotStats());
+    }
+
+    @GetMapping("/metrics/trending")
+    public ResponseEntity<?> getTrendingStats(HttpSession session) {
+        ResponseEntity<?> accessCheck = checkAdminAccess(session);
+        if (accessCheck != null) return accessCheck;
+
+        return ResponseEntity.ok(adminService.getTrendingStats());
+    }
+
     // ==================== ユーザー管理API ====================
 
     @GetMapping("/users")
@@ -389,6 +487,34 @@ public class AdminController {
         }
     }
 
+    // ==================== コメント一括削除API ====================
+
+    @PostMapping("/comments/bulk-delete")
+    public ResponseEntity<?> bulkDeleteComments(
+            @RequestBody Map<String, List<Long>> request,
+            HttpSession session) {
+        ResponseEntity<?> accessCheck = checkAdminAccess(session);
+        if (accessCheck != null) return accessCheck;
+
+        List<Long> commentIds = request.get("commentIds");
+        if (commentIds == null || commentIds.isEmpty()) {
+            Map<String, Object> error = new HashMap<String, Object>();
+            error.put("success", false);
+            error.put("message", "commentIdsは必須です");
+            return ResponseEntity.badRequest().body(error);
+        }
+        try {
+            Map<String, Object> response = new HashMap<String, Object>(adminService.bulkDeleteComments(commentIds));
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<String, Object>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     // ==================== ユーザー停止API ====================
 
     @PostMapping("/users/{userId}/suspend")
@@ -2,10 +2,12 @@ package com.ej2.controller;
 
 import com.ej2.model.Board;
 import com.ej2.service.BoardService;
+import com.ej2.service.ContentVersionRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,21 +19,33 @@ public class BoardController {
     @Autowired
     private BoardService boardService;
 
+    @Autowired
+    private ContentVersionRegistry contentVersionRegistry;
+
     @GetMapping
-    public ResponseEntity<List<Board>> getAllBoards() {
+    public ResponseEntity<List<Board>> getAllBoards(WebRequest webRequest) {
+        if (contentVersionRegistry.checkNotModified(webRequest, contentVersionRegistry.boards())) {
+            return null;
+        }
         List<Board> boards = boardService.getAllBoards();
         return ResponseEntity.ok(boards);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Board> getBoardById(@PathVariable Long id) {
+    public ResponseEntity<Board> getBoardById(@PathVariable Long id, WebRequest webRequest) {
+        if (contentVersionRegistry.checkNotModified(webRequest, contentVersionRegistry.boards())) {
+            return null;
+        }
         return boardService.getBoardById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/code/{code}")
-    public ResponseEntity<Board> getBoardByCode(@PathVariable String code) {
+    public ResponseEntity<Board> getBoardByCode(@PathVariable String code, WebRequest webRequest) {
+        if (contentVersionRegistry.checkNotModified(webRequest, contentVersionRegistry.boards())) {
+            return null;
+        }
         return boardService.getBoardByCode(code)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
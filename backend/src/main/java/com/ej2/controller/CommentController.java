@@ -1,12 +1,18 @@
 package com.ej2.controller;
 
 import com.ej2.dto.CommentDTO;
+import com.ej2.dto.CommentNodeDTO;
+import com.ej2.dto.CursorPageDTO;
 import com.ej2.model.Comment;
 import com.ej2.service.CommentService;
+import com.ej2.service.CommentStreamBroker;
+import com.ej2.service.ContentVersionRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.HashMap;
@@ -21,20 +27,70 @@ public class CommentController {
     @Autowired
     private CommentService commentService;
 
+    @Autowired
+    private ContentVersionRegistry contentVersionRegistry;
+
+    @Autowired
+    private CommentStreamBroker commentStreamBroker;
+
     // GET /api/comments/post/{postId} - Get all comments for a post
     @GetMapping("/post/{postId}")
-    public ResponseEntity<List<CommentDTO>> getCommentsByPostId(@PathVariable Long postId) {
+    public ResponseEntity<List<CommentDTO>> getCommentsByPostId(@PathVariable Long postId, WebRequest webRequest) {
+        if (contentVersionRegistry.checkNotModified(webRequest, contentVersionRegistry.comments(postId))) {
+            return null;
+        }
         List<CommentDTO> comments = commentService.getCommentsByPostIdDesc(postId);
         return ResponseEntity.ok(comments);
     }
 
     // GET /api/comments/post/{postId}/top - Get top-level comments only
     @GetMapping("/post/{postId}/top")
-    public ResponseEntity<List<CommentDTO>> getTopLevelComments(@PathVariable Long postId) {
+    public ResponseEntity<List<CommentDTO>> getTopLevelComments(@PathVariable Long postId, WebRequest webRequest) {
+        if (contentVersionRegistry.checkNotModified(webRequest, contentVersionRegistry.comments(postId))) {
+            return null;
+        }
         List<CommentDTO> comments = commentService.getTopLevelComments(postId);
         return ResponseEntity.ok(comments);
     }
 
+    // GET /api/comments/post/{postId}/thread?cursor=xxx&size=20&replies=20 - Comment tree with top-level keyset paging
+    // 각 노드에 전체 답글 수(replyCount)와 요청자의 좋아요 여부(liked) 포함, 답글은 댓글당 replies건까지
+    // liked가 요청자(userId 또는 IP)마다 다르므로 게시글 단위 ETag/Last-Modified 조건부 응답은 하지 않는다
+    @GetMapping("/post/{postId}/thread")
+    public ResponseEntity<CursorPageDTO<CommentNodeDTO>> getCommentThread(
+            @PathVariable Long postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "20") int replies,
+            @RequestParam(required = false) Long userId,
+            HttpServletRequest request) {
+        try {
+            return ResponseEntity.ok(commentService.getCommentThread(
+                    postId, cursor, size, replies, userId, getClientIpAddress(request)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // GET /api/comments/post/{postId}/stream?lastCommentId=123 - Live comment events (Server-Sent Events)
+    // comment-created / comment-updated / comment-deleted, 재연결 시 Last-Event-ID(없으면 lastCommentId) 이후의 새 댓글부터 다시 보낸다
+    @GetMapping(value = "/post/{postId}/stream", produces = "text/event-stream")
+    public ResponseEntity<SseEmitter> streamComments(
+            @PathVariable Long postId,
+            @RequestParam(required = false) Long lastCommentId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        try {
+            // X-Accel-Buffering: nginx 프록시가 이벤트를 모아 두지 않고 바로 흘려 보내도록
+            return ResponseEntity.ok()
+                    .header("X-Accel-Buffering", "no")
+                    .body(commentStreamBroker.subscribe(postId, lastEventId, lastCommentId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
     // GET /api/comments/{id}/replies - Get replies for a comment
     @GetMapping("/{id}/replies")
     public ResponseEntity<List<CommentDTO>> getReplies(@PathVariable Long id) {
@@ -130,6 +186,20 @@ public class CommentController {
         return ResponseEntity.ok(response);
     }
 
+    // GET /api/comments/likes/status?commentIds=1,2,3 - Check like status for several comments at once (max 100)
+    @GetMapping("/likes/status")
+    public ResponseEntity<Map<Long, Boolean>> getLikeStatuses(
+            @RequestParam List<Long> commentIds,
+            @RequestParam(required = false) Long userId,
+            HttpServletRequest request) {
+        String ipAddress = getClientIpAddress(request);
+        try {
+            return ResponseEntity.ok(commentService.getLikeStatuses(commentIds, userId, ipAddress));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     private String getClientIpAddress(HttpServletRequest request) {
         String xForwardedFor = request.getHeader("X-Forwarded-For");
         if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
@@ -140,7 +210,10 @@ public class CommentController {
 
     // GET /api/comments/post/{postId}/count - Get comment count
     @GetMapping("/post/{postId}/count")
-    public ResponseEntity<Long> getCommentCount(@PathVariable Long postId) {
+    public ResponseEntity<Long> getCommentCount(@PathVariable Long postId, WebRequest webRequest) {
+        if (contentVersionRegistry.checkNotModified(webRequest, contentVersionRegistry.comments(postId))) {
+            return null;
+        }
         Long count = commentService.getCommentCount(postId);
         return ResponseEntity.ok(count);
     }
@@ -1,12 +1,17 @@
 package com.ej2.controller;
 
+import com.ej2.dto.CursorPageDTO;
 import com.ej2.dto.PostDTO;
+import com.ej2.dto.PostSummaryDTO;
 import com.ej2.model.Post;
+import com.ej2.service.ContentVersionRegistry;
+import com.ej2.service.LikeWindowCounter;
 import com.ej2.service.PostService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.HashMap;
@@ -21,16 +26,41 @@ public class PostController {
     @Autowired
     private PostService postService;
 
-    // GET /api/posts - Get all posts
+    @Autowired
+    private ContentVersionRegistry contentVersionRegistry;
+
+    // GET /api/posts - Get the first page of all posts (newest first)
     @GetMapping
-    public ResponseEntity<List<PostDTO>> getAllPosts() {
-        List<PostDTO> posts = postService.getAllPosts();
+    public ResponseEntity<List<PostSummaryDTO>> getAllPosts(WebRequest webRequest) {
+        if (contentVersionRegistry.checkNotModified(webRequest, contentVersionRegistry.allPosts())) {
+            return null;
+        }
+        List<PostSummaryDTO> posts = postService.getAllPosts();
         return ResponseEntity.ok(posts);
     }
 
-    // GET /api/posts/{id} - Get post by ID
+    // GET /api/posts/feed?cursor=xxx&size=20 - Keyset-paginated feed of all posts
+    @GetMapping("/feed")
+    public ResponseEntity<CursorPageDTO<PostSummaryDTO>> getFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        if (contentVersionRegistry.checkNotModified(webRequest, contentVersionRegistry.allPosts())) {
+            return null;
+        }
+        try {
+            return ResponseEntity.ok(postService.getRecentFeed(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // GET /api/posts/{id} - Get post by ID (304 when If-None-Match / If-Modified-Since match)
     @GetMapping("/{id}")
-    public ResponseEntity<PostDTO> getPostById(@PathVariable Long id) {
+    public ResponseEntity<PostDTO> getPostById(@PathVariable Long id, WebRequest webRequest) {
+        if (contentVersionRegistry.checkNotModified(webRequest, contentVersionRegistry.post(id))) {
+            return null;
+        }
         return postService.getPostById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -88,20 +118,52 @@ public class PostController {
         }
     }
 
-    // GET /api/posts/search?keyword=xxx - Search posts by title
+    // GET /api/posts/search?keyword=xxx&boardId=1&page=0&size=20 - Search posts by title and content (relevance order)
     @GetMapping("/search")
-    public ResponseEntity<List<PostDTO>> searchPosts(@RequestParam String keyword) {
-        List<PostDTO> posts = postService.searchPostsByTitle(keyword);
-        return ResponseEntity.ok(posts);
+    public ResponseEntity<Map<String, Object>> searchPosts(
+            @RequestParam String keyword,
+            @RequestParam(required = false) Long boardId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        ContentVersionRegistry.Version version = boardId != null
+                ? contentVersionRegistry.board(boardId)
+                : contentVersionRegistry.allPosts();
+        if (contentVersionRegistry.checkNotModified(webRequest, version)) {
+            return null;
+        }
+        return ResponseEntity.ok(postService.searchPosts(keyword, boardId, page, size));
     }
 
-    // GET /api/posts/board/{boardId} - Get posts by board ID
+    // GET /api/posts/board/{boardId} - Get the first page of posts by board ID
     @GetMapping("/board/{boardId}")
-    public ResponseEntity<List<PostDTO>> getPostsByBoardId(@PathVariable Long boardId) {
-        List<PostDTO> posts = postService.getPostsByBoardId(boardId);
+    public ResponseEntity<List<PostSummaryDTO>> getPostsByBoardId(@PathVariable Long boardId, WebRequest webRequest) {
+        if (contentVersionRegistry.checkNotModified(webRequest, contentVersionRegistry.board(boardId))) {
+            return null;
+        }
+        List<PostSummaryDTO> posts = postService.getPostsByBoardId(boardId);
         return ResponseEntity.ok(posts);
     }
 
+    // GET /api/posts/board/{boardId}/feed?sort=recent&cursor=xxx&size=20 - Keyset-paginated board feed
+    // sort: recent(최신순), views(조회수순), likes(좋아요순)
+    @GetMapping("/board/{boardId}/feed")
+    public ResponseEntity<CursorPageDTO<PostSummaryDTO>> getBoardFeed(
+            @PathVariable Long boardId,
+            @RequestParam(defaultValue = "recent") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        if (contentVersionRegistry.checkNotModified(webRequest, contentVersionRegistry.board(boardId))) {
+            return null;
+        }
+        try {
+            return ResponseEntity.ok(postService.getBoardFeed(boardId, sort, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // POST /api/posts/{id}/view - Increment view count with IP tracking
     @PostMapping("/{id}/view")
     public ResponseEntity<Void> incrementViewCount(
@@ -172,8 +234,7 @@ public class PostController {
         // Get client IP address
         String ipAddress = getClientIpAddress(request);
 
-        postService.incrementLikeCount(id, userId, ipAddress);
-        String reaction = postService.getUserReaction(id, userId, ipAddress);
+        String reaction = postService.incrementLikeCount(id, userId, ipAddress);
 
         Map<String, Object> response = new HashMap<String, Object>();
         response.put("reaction", reaction);
@@ -188,8 +249,7 @@ public class PostController {
             HttpServletRequest request) {
 
         String ipAddress = getClientIpAddress(request);
-        postService.incrementDislikeCount(id, userId, ipAddress);
-        String reaction = postService.getUserReaction(id, userId, ipAddress);
+        String reaction = postService.incrementDislikeCount(id, userId, ipAddress);
 
         Map<String, Object> response = new HashMap<String, Object>();
         response.put("reaction", reaction);
@@ -211,9 +271,58 @@ public class PostController {
         return ResponseEntity.ok(response);
     }
 
+    // GET /api/posts/reactions/status?postIds=1,2,3 - Get user's reactions for several posts at once (max 100)
+    @GetMapping("/reactions/status")
+    public ResponseEntity<Map<Long, String>> getReactionStatuses(
+            @RequestParam List<Long> postIds,
+            @RequestParam(required = false) Long userId,
+            HttpServletRequest request) {
+        String ipAddress = getClientIpAddress(request);
+        try {
+            return ResponseEntity.ok(postService.getUserReactions(postIds, userId, ipAddress));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // GET /api/posts/board/{boardId}/likes/{period}?cursor=xxx&size=20 - 기간별(day, week, month) 좋아요순 피드 (커서 페이징)
+    @GetMapping("/board/{boardId}/likes/{period}")
+    public ResponseEntity<CursorPageDTO<PostSummaryDTO>> getLikeWindowFeed(
+            @PathVariable Long boardId,
+            @PathVariable String period,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        int windowHours;
+        switch (period) {
+            case "day":
+                windowHours = LikeWindowCounter.DAY_HOURS;
+                break;
+            case "week":
+                windowHours = LikeWindowCounter.WEEK_HOURS;
+                break;
+            case "month":
+                windowHours = LikeWindowCounter.MONTH_HOURS;
+                break;
+            default:
+                return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(postService.getLikeWindowFeed(boardId, windowHours, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // GET /api/posts/board/{boardId}/{sortBy} - 정렬별 첫 페이지 (전체 목록은 /feed 사용)
     @GetMapping("/board/{boardId}/{sortBy}")
-    public ResponseEntity<List<PostDTO>> sortPostByMean(@PathVariable Long boardId, @PathVariable String sortBy) {
-        List<PostDTO> posts = null;
+    public ResponseEntity<List<PostSummaryDTO>> sortPostByMean(@PathVariable Long boardId, @PathVariable String sortBy,
+                                                               WebRequest webRequest) {
+        // 기간별 좋아요순은 변경이 없어도 시간이 지나면 순위가 바뀌므로 조건부 응답 대상에서 제외
+        if (!sortBy.equals("likes")
+                && contentVersionRegistry.checkNotModified(webRequest, contentVersionRegistry.board(boardId))) {
+            return null;
+        }
+        List<PostSummaryDTO> posts = null;
 
         if (sortBy.equals("recent")) {
             posts = postService.getPostsByBoardId(boardId);
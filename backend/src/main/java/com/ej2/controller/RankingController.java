@@ -1,5 +1,7 @@
 package com.ej2.controller;
 
+import com.ej2.dto.CursorPageDTO;
+import com.ej2.dto.PopularPostDTO;
 import com.ej2.service.RankingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -22,15 +24,17 @@ public class RankingController {
      * @param period 기간 (daily, weekly, monthly, all) - 기본값: weekly
      * @param page 페이지 번호 (0부터 시작) - 기본값: 0
      * @param size 페이지당 개수 (최대 100) - 기본값: 20
+     * @param includeTotal false면 totalCount/totalPages 대신 hasNext만 반환 - 기본값: true
      * @return 인기글 목록과 페이징 정보
      */
     @GetMapping("/popular")
     public ResponseEntity<Map<String, Object>> getPopularPosts(
             @RequestParam(defaultValue = "weekly") String period,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "true") boolean includeTotal) {
 
-        Map<String, Object> result = rankingService.getPopularPosts(period, page, size);
+        Map<String, Object> result = rankingService.getPopularPosts(period, page, size, includeTotal);
         return ResponseEntity.ok(result);
     }
 
@@ -42,6 +46,7 @@ public class RankingController {
      * @param period 기간
      * @param page 페이지 번호
      * @param size 페이지당 개수
+     * @param includeTotal false면 totalCount/totalPages 대신 hasNext만 반환
      * @return 인기글 목록과 페이징 정보
      */
     @GetMapping("/popular/board/{boardId}")
@@ -49,9 +54,71 @@ public class RankingController {
             @PathVariable Long boardId,
             @RequestParam(defaultValue = "weekly") String period,
             @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "true") boolean includeTotal) {
+
+        Map<String, Object> result = rankingService.getPopularPostsByBoard(boardId, period, page, size, includeTotal);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * 전체 인기글 커서 페이징 (스크롤 중 순위 고정)
+     * GET /api/ranking/popular/feed?period=weekly&cursor=xxx&size=20
+     *
+     * @param period 기간 - 기본값: weekly
+     * @param cursor 직전 응답의 nextCursor (첫 페이지는 생략)
+     * @param size 페이지당 개수 (최대 100) - 기본값: 20
+     * @return 인기글 페이지 (잘못된 커서는 400)
+     */
+    @GetMapping("/popular/feed")
+    public ResponseEntity<CursorPageDTO<PopularPostDTO>> getPopularFeed(
+            @RequestParam(defaultValue = "weekly") String period,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(rankingService.getPopularFeed(null, period, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * 게시판별 인기글 커서 페이징
+     * GET /api/ranking/popular/board/{boardId}/feed?period=weekly&cursor=xxx&size=20
+     *
+     * @param boardId 게시판 ID
+     * @param period 기간
+     * @param cursor 직전 응답의 nextCursor
+     * @param size 페이지당 개수
+     * @return 인기글 페이지 (잘못된 커서는 400)
+     */
+    @GetMapping("/popular/board/{boardId}/feed")
+    public ResponseEntity<CursorPageDTO<PopularPostDTO>> getPopularFeedByBoard(
+            @PathVariable Long boardId,
+            @RequestParam(defaultValue = "weekly") String period,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(rankingService.getPopularFeed(boardId, period, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * 급상승 게시글 조회 (최근 5분 활동 속도가 최근 1시간 평균보다 크게 빨라진 게시글)
+     * GET /api/ranking/trending?boardId=1&size=20
+     *
+     * @param boardId 게시판 ID (생략하면 전체)
+     * @param size 최대 개수 (최대 100) - 기본값: 20
+     * @return 급상승 게시글 목록 (급상승 정도 내림차순)과 평가 시각
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<Map<String, Object>> getTrendingPosts(
+            @RequestParam(required = false) Long boardId,
             @RequestParam(defaultValue = "20") int size) {
 
-        Map<String, Object> result = rankingService.getPopularPostsByBoard(boardId, period, page, size);
+        Map<String, Object> result = rankingService.getTrendingPosts(boardId, size);
         return ResponseEntity.ok(result);
     }
 }
@@ -0,0 +1,34 @@
+package com.ej2.dto;
+
+import com.ej2.model.Comment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 댓글 스레드 노드 (댓글 + 답글 트리)
+ * replyCount는 전체 답글 수이고, replies에는 그중 앞쪽 일부만 담길 수 있다.
+ * 나머지 답글은 GET /api/comments/{id}/replies로 조회한다.
+ */
+public class CommentNodeDTO extends CommentDTO {
+    private long replyCount;
+    private boolean liked;
+    private List<CommentNodeDTO> replies = new ArrayList<CommentNodeDTO>();
+
+    public CommentNodeDTO() {
+    }
+
+    public CommentNodeDTO(Comment comment, String authorNickname) {
+        super(comment, authorNickname);
+    }
+
+    // Getters and Setters
+    public long getReplyCount() { return replyCount; }
+    public void setReplyCount(long replyCount) { this.replyCount = replyCount; }
+
+    public boolean isLiked() { return liked; }
+    public void setLiked(boolean liked) { this.liked = liked; }
+
+    public List<CommentNodeDTO> getReplies() { return replies; }
+    public void setReplies(List<CommentNodeDTO> replies) { this.replies = replies; }
+}
@@ -0,0 +1,57 @@
+package com.ej2.dto;
+
+import java.util.List;
+
+/**
+ * Keyset(커서) 페이지 응답
+ * nextCursor를 다음 요청의 cursor 파라미터로 넘기면 이어지는 페이지를 조회한다.
+ */
+public class CursorPageDTO<T> {
+    private List<T> items;
+    private String nextCursor;  // 마지막 페이지이면 null
+    private boolean hasNext;
+    private int size;
+
+    public CursorPageDTO() {
+    }
+
+    public CursorPageDTO(List<T> items, String nextCursor, int size) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+        this.size = size;
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+}
@@ -0,0 +1,55 @@
+package com.ej2.dto;
+
+import java.time.LocalDate;
+
+public class DailyViewStatDTO {
+    private LocalDate date;
+    private Long viewCount;
+    private Long uniqueUsers;   // 게시글별 중복 제외 사용자 수의 합
+    private Long uniqueIps;     // 게시글별 중복 제외 IP 수의 합
+    private Integer postCount;  // 조회된 게시글 수
+
+    public DailyViewStatDTO() {
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Long getViewCount() {
+        return viewCount;
+    }
+
+    public void setViewCount(Long viewCount) {
+        this.viewCount = viewCount;
+    }
+
+    public Long getUniqueUsers() {
+        return uniqueUsers;
+    }
+
+    public void setUniqueUsers(Long uniqueUsers) {
+        this.uniqueUsers = uniqueUsers;
+    }
+
+    public Long getUniqueIps() {
+        return uniqueIps;
+    }
+
+    public void setUniqueIps(Long uniqueIps) {
+        this.uniqueIps = uniqueIps;
+    }
+
+    public Integer getPostCount() {
+        return postCount;
+    }
+
+    public void setPostCount(Integer postCount) {
+        this.postCount = postCount;
+    }
+}
@@ -8,7 +8,7 @@ public class PopularPostDTO {
     private Long boardId;
     private Long userId;
     private String title;
-    private String content;
+    private String excerpt;     // 본문 요약 (목록용)
     private String anonymousId;
     private Integer viewCount;
     private Integer likeCount;
@@ -24,6 +24,26 @@ public class PopularPostDTO {
     public PopularPostDTO() {
     }
 
+    // 복사본 (메모리 랭킹에 보관한 항목을 응답마다 따로 채우기 위해)
+    public PopularPostDTO(PopularPostDTO source) {
+        this.id = source.id;
+        this.boardId = source.boardId;
+        this.userId = source.userId;
+        this.title = source.title;
+        this.excerpt = source.excerpt;
+        this.anonymousId = source.anonymousId;
+        this.viewCount = source.viewCount;
+        this.likeCount = source.likeCount;
+        this.dislikeCount = source.dislikeCount;
+        this.commentCount = source.commentCount;
+        this.scrapCount = source.scrapCount;
+        this.createdAt = source.createdAt;
+        this.updatedAt = source.updatedAt;
+        this.boardName = source.boardName;
+        this.authorNickname = source.authorNickname;
+        this.popularityScore = source.popularityScore;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -57,12 +77,12 @@ public class PopularPostDTO {
         this.title = title;
     }
 
-    public String getContent() {
-        return content;
+    public String getExcerpt() {
+        return excerpt;
     }
 
-    public void setContent(String content) {
-        this.content = content;
+    public void setExcerpt(String excerpt) {
+        this.excerpt = excerpt;
     }
 
     public String getAnonymousId() {
@@ -49,6 +49,28 @@ public class PostDTO {
         this.updatedAt = post.getUpdatedAt();
     }
 
+    // 복사 생성자 (캐시된 DTO를 호출 측에 넘길 때 사용)
+    public PostDTO(PostDTO other) {
+        this.id = other.id;
+        this.boardId = other.boardId;
+        this.userId = other.userId;
+        this.authorNickname = other.authorNickname;
+        this.title = other.title;
+        this.content = other.content;
+        this.anonymousId = other.anonymousId;
+        this.viewCount = other.viewCount;
+        this.likeCount = other.likeCount;
+        this.dislikeCount = other.dislikeCount;
+        this.commentCount = other.commentCount;
+        this.scrapCount = other.scrapCount;
+        this.isNotice = other.isNotice;
+        this.isBlinded = other.isBlinded;
+        this.blindReason = other.blindReason;
+        this.reportedCount = other.reportedCount;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
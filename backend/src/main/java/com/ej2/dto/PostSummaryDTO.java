@@ -0,0 +1,179 @@
+package com.ej2.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 게시글 목록용 요약 (본문 대신 저장된 요약문 + 첫 이미지 썸네일)
+ * 목록 쿼리는 JPQL 생성자 표현식으로 이 필드들만 조회한다.
+ * 본문 전체는 상세 조회(PostDTO)에서만 내려준다.
+ */
+public class PostSummaryDTO {
+    private Long id;
+    private Long boardId;
+    private Long userId;
+    private String authorNickname;  // 작성자 닉네임
+    private String anonymousId;
+    private String title;
+    private String excerpt;
+    private String thumbnailUrl;    // 첫 번째 이미지 (없으면 null)
+    private Integer viewCount;
+    private Integer likeCount;
+    private Integer dislikeCount;
+    private Integer commentCount;
+    private Integer scrapCount;
+    private Boolean isNotice;
+    private Boolean isBlinded;
+    private LocalDateTime createdAt;
+
+    public PostSummaryDTO() {
+    }
+
+    // JPQL "SELECT new com.ej2.dto.PostSummaryDTO(...)" 용 생성자
+    public PostSummaryDTO(Long id, Long boardId, Long userId, String anonymousId, String title, String excerpt,
+                          Integer viewCount, Integer likeCount, Integer dislikeCount, Integer commentCount,
+                          Integer scrapCount, Boolean isNotice, Boolean isBlinded, LocalDateTime createdAt) {
+        this.id = id;
+        this.boardId = boardId;
+        this.userId = userId;
+        this.anonymousId = anonymousId;
+        this.title = title;
+        this.excerpt = excerpt;
+        this.viewCount = viewCount;
+        this.likeCount = likeCount;
+        this.dislikeCount = dislikeCount;
+        this.commentCount = commentCount;
+        this.scrapCount = scrapCount;
+        this.isNotice = isNotice;
+        this.isBlinded = isBlinded;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getBoardId() {
+        return boardId;
+    }
+
+    public void setBoardId(Long boardId) {
+        this.boardId = boardId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getAuthorNickname() {
+        return authorNickname;
+    }
+
+    public void setAuthorNickname(String authorNickname) {
+        this.authorNickname = authorNickname;
+    }
+
+    public String getAnonymousId() {
+        return anonymousId;
+    }
+
+    public void setAnonymousId(String anonymousId) {
+        this.anonymousId = anonymousId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getExcerpt() {
+        return excerpt;
+    }
+
+    public void setExcerpt(String excerpt) {
+        this.excerpt = excerpt;
+    }
+
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
+    public Integer getViewCount() {
+        return viewCount;
+    }
+
+    public void setViewCount(Integer viewCount) {
+        this.viewCount = viewCount;
+    }
+
+    public Integer getLikeCount() {
+        return likeCount;
+    }
+
+    public void setLikeCount(Integer likeCount) {
+        this.likeCount = likeCount;
+    }
+
+    public Integer getDislikeCount() {
+        return dislikeCount;
+    }
+
+    public void setDislikeCount(Integer dislikeCount) {
+        this.dislikeCount = dislikeCount;
+    }
+
+    public Integer getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(Integer commentCount) {
+        this.commentCount = commentCount;
+    }
+
+    public Integer getScrapCount() {
+        return scrapCount;
+    }
+
+    public void setScrapCount(Integer scrapCount) {
+        this.scrapCount = scrapCount;
+    }
+
+    public Boolean getIsNotice() {
+        return isNotice;
+    }
+
+    public void setIsNotice(Boolean isNotice) {
+        this.isNotice = isNotice;
+    }
+
+    public Boolean getIsBlinded() {
+        return isBlinded;
+    }
+
+    public void setIsBlinded(Boolean isBlinded) {
+        this.isBlinded = isBlinded;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
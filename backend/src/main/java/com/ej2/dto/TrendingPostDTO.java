@@ -0,0 +1,67 @@
+package com.ej2.dto;
+
+public class TrendingPostDTO extends PopularPostDTO {
+
+    private Double recentRate;      // 최근 단기 구간의 가중 활동량 (분당)
+    private Double baselineRate;    // 장기 구간의 가중 활동량 (분당)
+    private Double lift;            // recentRate / baselineRate
+    private Double recentLikes;     // 단기 구간 감쇠 카운트
+    private Double recentComments;
+    private Double recentViews;
+
+    public TrendingPostDTO() {
+    }
+
+    public TrendingPostDTO(PopularPostDTO source) {
+        super(source);
+    }
+
+    // Getters and Setters
+    public Double getRecentRate() {
+        return recentRate;
+    }
+
+    public void setRecentRate(Double recentRate) {
+        this.recentRate = recentRate;
+    }
+
+    public Double getBaselineRate() {
+        return baselineRate;
+    }
+
+    public void setBaselineRate(Double baselineRate) {
+        this.baselineRate = baselineRate;
+    }
+
+    public Double getLift() {
+        return lift;
+    }
+
+    public void setLift(Double lift) {
+        this.lift = lift;
+    }
+
+    public Double getRecentLikes() {
+        return recentLikes;
+    }
+
+    public void setRecentLikes(Double recentLikes) {
+        this.recentLikes = recentLikes;
+    }
+
+    public Double getRecentComments() {
+        return recentComments;
+    }
+
+    public void setRecentComments(Double recentComments) {
+        this.recentComments = recentComments;
+    }
+
+    public Double getRecentViews() {
+        return recentViews;
+    }
+
+    public void setRecentViews(Double recentViews) {
+        this.recentViews = recentViews;
+    }
+}
@@ -0,0 +1,67 @@
+package com.ej2.event;
+
+import com.ej2.dto.CommentDTO;
+import com.ej2.model.Comment;
+
+/**
+ * 댓글 변경 이벤트
+ *
+ * CommentService / ReportService가 댓글을 작성·수정·삭제할 때 발행하며,
+ * 실시간 댓글 스트림(CommentStreamBroker)이 커밋 후에 구독자에게 전달한다.
+ */
+public class CommentChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long postId;
+    private final Long commentId;
+    // CREATED / UPDATED는 변경 후 댓글 (작성자 이름은 전달 시점에 채운다), DELETED는 null
+    private final CommentDTO comment;
+    // DELETED: 답글이 남아 있어 "削除されたコメントです。"로 남는 소프트 삭제인지
+    private final boolean softDeleted;
+
+    private CommentChangedEvent(Type type, Long postId, Long commentId, CommentDTO comment, boolean softDeleted) {
+        this.type = type;
+        this.postId = postId;
+        this.commentId = commentId;
+        this.comment = comment;
+        this.softDeleted = softDeleted;
+    }
+
+    public static CommentChangedEvent created(Comment comment) {
+        return new CommentChangedEvent(Type.CREATED, comment.getPostId(), comment.getId(), new CommentDTO(comment, null), false);
+    }
+
+    public static CommentChangedEvent updated(Comment comment) {
+        return new CommentChangedEvent(Type.UPDATED, comment.getPostId(), comment.getId(), new CommentDTO(comment, null), false);
+    }
+
+    public static CommentChangedEvent deleted(Long postId, Long commentId, boolean softDeleted) {
+        return new CommentChangedEvent(Type.DELETED, postId, commentId, null, softDeleted);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public Long getCommentId() {
+        return commentId;
+    }
+
+    public CommentDTO getComment() {
+        return comment;
+    }
+
+    public boolean isSoftDeleted() {
+        return softDeleted;
+    }
+}
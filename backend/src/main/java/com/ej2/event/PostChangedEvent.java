@@ -0,0 +1,86 @@
+package com.ej2.event;
+
+import com.ej2.model.Post;
+
+/**
+ * 게시글 변경 이벤트
+ *
+ * PostService / ReportService가 게시글을 생성·수정·삭제·블라인드할 때 발행하며,
+ * 검색 색인 등 파생 데이터는 @TransactionalEventListener로 커밋 후에 갱신한다.
+ */
+public class PostChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        BLINDED
+    }
+
+    private final Type type;
+    private final Long postId;
+    private final Long boardId;
+    private final String title;
+    private final String content;
+    // 변경 후 게시글이 블라인드 상태인지 (블라인드된 게시글을 수정한 경우 등)
+    private final boolean blinded;
+
+    private PostChangedEvent(Type type, Long postId, Long boardId, String title, String content, boolean blinded) {
+        this.type = type;
+        this.postId = postId;
+        this.boardId = boardId;
+        this.title = title;
+        this.content = content;
+        this.blinded = blinded;
+    }
+
+    public static PostChangedEvent created(Post post) {
+        return of(Type.CREATED, post);
+    }
+
+    public static PostChangedEvent updated(Post post) {
+        return of(Type.UPDATED, post);
+    }
+
+    public static PostChangedEvent deleted(Long postId, Long boardId) {
+        return new PostChangedEvent(Type.DELETED, postId, boardId, null, null, false);
+    }
+
+    public static PostChangedEvent blinded(Post post) {
+        return of(Type.BLINDED, post);
+    }
+
+    private static PostChangedEvent of(Type type, Post post) {
+        return new PostChangedEvent(type, post.getId(), post.getBoardId(), post.getTitle(), post.getContent(),
+                Boolean.TRUE.equals(post.getIsBlinded()));
+    }
+
+    // 검색·목록에서 사라지는 변경인지 (블라인드된 게시글의 수정도 포함)
+    public boolean isRemoval() {
+        return type == Type.DELETED || type == Type.BLINDED || blinded;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public Long getBoardId() {
+        return boardId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public boolean isBlinded() {
+        return blinded;
+    }
+}
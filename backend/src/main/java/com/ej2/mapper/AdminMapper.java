@@ -2,6 +2,7 @@ package com.ej2.mapper;
 
 import com.ej2.dto.ActivityDTO;
 import com.ej2.dto.BoardPostStatsDTO;
+import com.ej2.dto.DailyViewStatDTO;
 import com.ej2.dto.DashboardStatsDTO;
 import com.ej2.dto.WeeklyStatDTO;
 import com.ej2.model.User;
@@ -66,4 +67,11 @@ public interface AdminMapper {
      * @return 게시판별 총 게시글 수와 1주간 증가수
      */
     List<BoardPostStatsDTO> selectBoardPostStats();
+
+    /**
+     * 일별 조회 통계 조회 (일간 집계 테이블 기준)
+     * @param days 조회 일수
+     * @return 일별 조회수, 중복 제외 사용자/IP 수, 조회된 게시글 수
+     */
+    List<DailyViewStatDTO> selectDailyViewStats(@Param("days") int days);
 }
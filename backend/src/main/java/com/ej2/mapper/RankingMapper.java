@@ -4,6 +4,8 @@ import com.ej2.dto.PopularPostDTO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -37,6 +39,38 @@ public interface RankingMapper {
         @Param("offset") int offset
     );
 
+    /**
+     * 인기글 keyset 조회 (직전 페이지 마지막 행 다음부터)
+     * @param boardId 게시판 ID (null이면 전체)
+     * @param period 기간
+     * @param score 마지막 행의 점수
+     * @param createdAt 마지막 행의 작성 시각
+     * @param postId 마지막 행의 게시글 ID
+     * @param limit 조회 개수
+     * @return 인기글 목록
+     */
+    List<PopularPostDTO> selectPopularPostsAfter(
+        @Param("boardId") Long boardId,
+        @Param("period") String period,
+        @Param("score") double score,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("postId") long postId,
+        @Param("limit") int limit
+    );
+
+    /**
+     * 랭킹 스냅샷용 정렬 키 조회 (id, popularityScore, createdAt만 채워진다)
+     * @param boardId 게시판 ID (null이면 전체)
+     * @param period 기간
+     * @param limit 조회 개수
+     * @return 순위 순 정렬 키
+     */
+    List<PopularPostDTO> selectPopularityKeys(
+        @Param("boardId") Long boardId,
+        @Param("period") String period,
+        @Param("limit") int limit
+    );
+
     /**
      * 인기글 총 개수 조회 (페이징용)
      * @param boardId 게시판 ID (null이면 전체)
@@ -47,4 +81,25 @@ public interface RankingMapper {
         @Param("boardId") Long boardId,
         @Param("period") String period
     );
+
+    /**
+     * 지정한 게시글의 현재 인기도 조회 (블라인드·공지 게시글은 제외)
+     * @param postIds 게시글 ID 목록
+     * @return 인기글 목록 (순서 없음)
+     */
+    List<PopularPostDTO> selectPopularPostsByIds(@Param("postIds") Collection<Long> postIds);
+
+    /**
+     * 게시글 인기도 점수 행 생성 (현재 속한 기간마다 한 행, 블라인드·공지 게시글은 제외)
+     * @param postIds 게시글 ID 목록
+     * @return 생성된 행 수
+     */
+    int insertPopularity(@Param("postIds") Collection<Long> postIds);
+
+    /**
+     * 게시글 인기도 점수 행 삭제
+     * @param postIds 게시글 ID 목록
+     * @return 삭제된 행 수
+     */
+    int deletePopularity(@Param("postIds") Collection<Long> postIds);
 }
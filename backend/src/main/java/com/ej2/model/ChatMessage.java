@@ -1,5 +1,7 @@
 package com.ej2.model;
 
+import org.hibernate.annotations.GenericGenerator;
+
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
@@ -12,7 +14,8 @@ public class ChatMessage {
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "chat_messages_id")
+    @GenericGenerator(name = "chat_messages_id", strategy = "com.ej2.util.PooledIdGenerator")
     private Long id;
 
     @Column(name = "room_id", nullable = false)
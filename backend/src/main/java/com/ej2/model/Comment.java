@@ -1,14 +1,20 @@
 package com.ej2.model;
 
+import org.hibernate.annotations.GenericGenerator;
+
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_thread", columnList = "post_id, parent_id, created_at, id"),
+        @Index(name = "idx_comments_parent_created", columnList = "parent_id, created_at, id")
+})
 public class Comment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "comments_id")
+    @GenericGenerator(name = "comments_id", strategy = "com.ej2.util.PooledIdGenerator")
     private Long id;
 
     @Column(name = "post_id", nullable = false)
@@ -26,10 +32,11 @@ public class Comment {
     @Column(name = "anonymous_id", length = 50)
     private String anonymousId;
 
-    @Column(name = "like_count")
+    // 카운터 컬럼은 엔티티 저장 시 쓰지 않는다 (CounterRepository의 원자적 증감으로만 변경)
+    @Column(name = "like_count", updatable = false)
     private Integer likeCount = 0;
 
-    @Column(name = "dislike_count")
+    @Column(name = "dislike_count", updatable = false)
     private Integer dislikeCount = 0;
 
     @Column(name = "is_deleted")
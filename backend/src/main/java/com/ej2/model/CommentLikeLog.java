@@ -1,14 +1,20 @@
 package com.ej2.model;
 
+import org.hibernate.annotations.GenericGenerator;
+
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "comment_like_logs")
+@Table(name = "comment_like_logs", indexes = {
+        @Index(name = "idx_comment_like_logs_comment_user", columnList = "comment_id, user_id"),
+        @Index(name = "idx_comment_like_logs_comment_ip", columnList = "comment_id, ip_address")
+})
 public class CommentLikeLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "comment_like_logs_id")
+    @GenericGenerator(name = "comment_like_logs_id", strategy = "com.ej2.util.PooledIdGenerator")
     private Long id;
 
     @Column(name = "comment_id", nullable = false)
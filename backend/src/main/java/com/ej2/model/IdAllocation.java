@@ -0,0 +1,41 @@
+package com.ej2.model;
+
+import javax.persistence.*;
+
+/**
+ * 엔티티 ID 블록 할당표 (PooledIdGenerator용)
+ * 테이블별로 다음에 할당할 ID를 보관하며, 애플리케이션은 한 번에 여러 개(increment_size)씩 가져가 메모리에서 나눠 쓴다.
+ */
+@Entity
+@Table(name = "id_allocations")
+public class IdAllocation {
+
+    // 대상 테이블 이름 (posts, comments ...)
+    @Id
+    @Column(name = "segment_name", length = 64)
+    private String segmentName;
+
+    @Column(name = "next_val", nullable = false)
+    private Long nextVal;
+
+    // Constructors
+    public IdAllocation() {
+    }
+
+    // Getters and Setters
+    public String getSegmentName() {
+        return segmentName;
+    }
+
+    public void setSegmentName(String segmentName) {
+        this.segmentName = segmentName;
+    }
+
+    public Long getNextVal() {
+        return nextVal;
+    }
+
+    public void setNextVal(Long nextVal) {
+        this.nextVal = nextVal;
+    }
+}
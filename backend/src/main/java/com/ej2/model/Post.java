@@ -1,14 +1,29 @@
 package com.ej2.model;
 
+import com.ej2.util.AnonymousIdValueGenerator;
+import org.hibernate.annotations.GenerationTime;
+import org.hibernate.annotations.GeneratorType;
+import org.hibernate.annotations.GenericGenerator;
+
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        // Keyset pagination용 인덱스 (정렬 컬럼 + id 타이브레이커)
+        @Index(name = "idx_posts_created", columnList = "created_at, id"),
+        @Index(name = "idx_posts_board_created", columnList = "board_id, is_blinded, created_at, id"),
+        @Index(name = "idx_posts_board_views", columnList = "board_id, is_blinded, view_count, id"),
+        @Index(name = "idx_posts_board_likes", columnList = "board_id, is_blinded, like_count, id")
+})
 public class Post {
 
+    // 목록용 요약문 최대 길이
+    public static final int EXCERPT_LENGTH = 120;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "posts_id")
+    @GenericGenerator(name = "posts_id", strategy = "com.ej2.util.PooledIdGenerator")
     private Long id;
 
     @Column(name = "board_id", nullable = false)
@@ -23,22 +38,29 @@ public class Post {
     @Column(columnDefinition = "TEXT", nullable = false)
     private String content;
 
+    // 본문 앞부분 요약 (저장 시 content에서 생성, 목록 조회용)
+    @Column(name = "excerpt", length = 200)
+    private String excerpt;
+
+    // 익명 게시판이면 INSERT 시점(ID 할당 후)에 생성
     @Column(name = "anonymous_id", length = 50)
+    @GeneratorType(type = AnonymousIdValueGenerator.class, when = GenerationTime.INSERT)
     private String anonymousId;
 
-    @Column(name = "view_count")
+    // 카운터 컬럼은 엔티티 저장 시 쓰지 않는다 (CounterRepository의 원자적 증감으로만 변경)
+    @Column(name = "view_count", updatable = false)
     private Integer viewCount = 0;
 
-    @Column(name = "like_count")
+    @Column(name = "like_count", updatable = false)
     private Integer likeCount = 0;
 
-    @Column(name = "dislike_count")
+    @Column(name = "dislike_count", updatable = false)
     private Integer dislikeCount = 0;
 
-    @Column(name = "comment_count")
+    @Column(name = "comment_count", updatable = false)
     private Integer commentCount = 0;
 
-    @Column(name = "scrap_count")
+    @Column(name = "scrap_count", updatable = false)
     private Integer scrapCount = 0;
 
     @Column(name = "is_notice")
@@ -50,7 +72,7 @@ public class Post {
     @Column(name = "blind_reason", columnDefinition = "TEXT")
     private String blindReason;
 
-    @Column(name = "reported_count")
+    @Column(name = "reported_count", updatable = false)
     private Integer reportedCount = 0;
 
     @Column(name = "created_at")
@@ -67,6 +89,7 @@ public class Post {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        excerpt = buildExcerpt(content);
     }
 
     @PreUpdate
@@ -74,10 +97,28 @@ public class Post {
         if (refreshUpdatedAt) {
             updatedAt = LocalDateTime.now();
         }
+        excerpt = buildExcerpt(content);
 
         refreshUpdatedAt = true;
     }
 
+    // 연속 공백/줄바꿈을 한 칸으로 줄이고 EXCERPT_LENGTH자로 자른다
+    public static String buildExcerpt(String content) {
+        if (content == null) {
+            return null;
+        }
+        String collapsed = content.replaceAll("\\s+", " ").trim();
+        if (collapsed.length() <= EXCERPT_LENGTH) {
+            return collapsed;
+        }
+        int end = EXCERPT_LENGTH;
+        // 서로게이트 쌍 중간에서 자르지 않는다
+        if (Character.isHighSurrogate(collapsed.charAt(end - 1))) {
+            end--;
+        }
+        return collapsed.substring(0, end) + "…";
+    }
+
     // Constructors
     public Post() {
     }
@@ -122,6 +163,10 @@ public class Post {
         this.title = title;
     }
 
+    public String getExcerpt() {
+        return excerpt;
+    }
+
     public String getContent() {
         return content;
     }
@@ -0,0 +1,77 @@
+package com.ej2.model;
+
+import javax.persistence.*;
+
+/**
+ * 인기 게시글 카운터 분산 슬롯 (샤드 카운터)
+ * 쓰기가 몰리는 게시글의 카운터 증감을 posts 행 대신 N개 슬롯 중 하나에 기록하고,
+ * 주기적으로 posts 행에 합산한 뒤 삭제한다. 행은 CounterRepository의 SQL로만 다룬다.
+ */
+@Entity
+@Table(name = "post_counter_shards",
+        uniqueConstraints = @UniqueConstraint(name = "uk_post_counter_shards_slot", columnNames = {"post_id", "counter_name", "slot"}))
+public class PostCounterShard {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    // CounterRepository.Counter 이름 (POST_LIKES 등)
+    @Column(name = "counter_name", nullable = false, length = 30)
+    private String counterName;
+
+    @Column(nullable = false)
+    private Integer slot;
+
+    // 아직 posts 행에 합산되지 않은 증감분 (음수 가능)
+    @Column(nullable = false)
+    private Integer delta = 0;
+
+    // Constructors
+    public PostCounterShard() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public void setPostId(Long postId) {
+        this.postId = postId;
+    }
+
+    public String getCounterName() {
+        return counterName;
+    }
+
+    public void setCounterName(String counterName) {
+        this.counterName = counterName;
+    }
+
+    public Integer getSlot() {
+        return slot;
+    }
+
+    public void setSlot(Integer slot) {
+        this.slot = slot;
+    }
+
+    public Integer getDelta() {
+        return delta;
+    }
+
+    public void setDelta(Integer delta) {
+        this.delta = delta;
+    }
+}
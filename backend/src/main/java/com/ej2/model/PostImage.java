@@ -1,5 +1,7 @@
 package com.ej2.model;
 
+import org.hibernate.annotations.GenericGenerator;
+
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
@@ -8,11 +10,14 @@ import java.time.LocalDateTime;
  * Supports multiple images per post with ordering.
  */
 @Entity
-@Table(name = "post_images")
+@Table(name = "post_images", indexes = {
+        @Index(name = "idx_post_images_post_order", columnList = "post_id, display_order")
+})
 public class PostImage {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "post_images_id")
+    @GenericGenerator(name = "post_images_id", strategy = "com.ej2.util.PooledIdGenerator")
     private Long id;
 
     @Column(name = "post_id", nullable = false)
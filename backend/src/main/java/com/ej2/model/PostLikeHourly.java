@@ -0,0 +1,66 @@
+package com.ej2.model;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 게시글별 시간 단위 좋아요 집계 (기간별 좋아요순 정렬용 롤업)
+ * 좋아요 토글 시 해당 시각의 버킷을 증감하며, 최근 30일분만 유지한다.
+ */
+@Entity
+@Table(name = "post_like_hourly",
+        uniqueConstraints = @UniqueConstraint(name = "uk_post_like_hourly_post_hour", columnNames = {"post_id", "bucket_hour"}),
+        indexes = @Index(name = "idx_post_like_hourly_hour", columnList = "bucket_hour"))
+public class PostLikeHourly {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    // 정시로 절사한 시각
+    @Column(name = "bucket_hour", nullable = false)
+    private LocalDateTime bucketHour;
+
+    @Column(name = "like_count", nullable = false)
+    private Integer likeCount = 0;
+
+    // Constructors
+    public PostLikeHourly() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public void setPostId(Long postId) {
+        this.postId = postId;
+    }
+
+    public LocalDateTime getBucketHour() {
+        return bucketHour;
+    }
+
+    public void setBucketHour(LocalDateTime bucketHour) {
+        this.bucketHour = bucketHour;
+    }
+
+    public Integer getLikeCount() {
+        return likeCount;
+    }
+
+    public void setLikeCount(Integer likeCount) {
+        this.likeCount = likeCount;
+    }
+}
@@ -1,81 +0,0 @@
-package com.ej2.model;
-
-import javax.persistence.*;
-import java.time.LocalDateTime;
-
-@Entity
-@Table(name = "post_like_logs")
-public class PostLikeLog {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(name = "post_id", nullable = false)
-    private Long postId;
-
-    @Column(name = "user_id")
-    private Long userId; // NULL for non-logged-in users
-
-    @Column(name = "ip_address", length = 50)
-    private String ipAddress;
-
-    @Column(name = "liked_at")
-    private LocalDateTime likedAt;
-
-    @PrePersist
-    protected void onCreate() {
-        likedAt = LocalDateTime.now();
-    }
-
-    // Constructors
-    public PostLikeLog() {
-    }
-
-    public PostLikeLog(Long postId, Long userId, String ipAddress) {
-        this.postId = postId;
-        this.userId = userId;
-        this.ipAddress = ipAddress;
-    }
-
-    // Getters and Setters
-    public Long getId() {
-        return id;
-    }
-
-    public void setId(Long id) {
-        this.id = id;
-    }
-
-    public Long getPostId() {
-        return postId;
-    }
-
-    public void setPostId(Long postId) {
-        this.postId = postId;
-    }
-
-    public Long getUserId() {
-        return userId;
-    }
-
-    public void setUserId(Long userId) {
-        this.userId = userId;
-    }
-
-    public String getIpAddress() {
-        return ipAddress;
-    }
-
-    public void setIpAddress(String ipAddress) {
-        this.ipAddress = ipAddress;
-    }
-
-    public LocalDateTime getLikedAt() {
-        return likedAt;
-    }
-
-    public void setLikedAt(LocalDateTime likedAt) {
-        this.likedAt = likedAt;
-    }
-}
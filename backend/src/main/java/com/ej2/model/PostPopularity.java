@@ -0,0 +1,106 @@
+package com.ej2.model;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 게시글 인기도 점수 (랭킹용 사전 계산 테이블)
+ * 게시글마다 해당하는 기간(daily / weekly / monthly / all)별로 한 행씩 두고,
+ * 인기글 조회는 (board_id, period_bucket, score) 인덱스 순서대로 읽는다.
+ * 블라인드·공지 게시글은 행이 없다. 행은 PostPopularityRefresher가 RankingMapper의 SQL로만 다룬다.
+ */
+@Entity
+@Table(name = "post_popularity",
+        uniqueConstraints = @UniqueConstraint(name = "uk_post_popularity_post_period", columnNames = {"post_id", "period_bucket"}),
+        indexes = {
+                @Index(name = "idx_post_popularity_period_score", columnList = "period_bucket, score, created_at, post_id"),
+                @Index(name = "idx_post_popularity_board_period_score", columnList = "board_id, period_bucket, score, created_at, post_id")
+        })
+public class PostPopularity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    // daily, weekly, monthly, all (작성 후 해당 기간 안에 있는 동안만 행이 있다)
+    @Column(name = "period_bucket", nullable = false, length = 10)
+    private String periodBucket;
+
+    @Column(name = "board_id", nullable = false)
+    private Long boardId;
+
+    // 갱신 시점의 인기도 점수 (시간이 지나며 감쇠하므로 주기적으로 다시 계산)
+    @Column(nullable = false)
+    private Double score;
+
+    // 게시글 작성 시각 (동점 정렬용)
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+
+    // Constructors
+    public PostPopularity() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public void setPostId(Long postId) {
+        this.postId = postId;
+    }
+
+    public String getPeriodBucket() {
+        return periodBucket;
+    }
+
+    public void setPeriodBucket(String periodBucket) {
+        this.periodBucket = periodBucket;
+    }
+
+    public Long getBoardId() {
+        return boardId;
+    }
+
+    public void setBoardId(Long boardId) {
+        this.boardId = boardId;
+    }
+
+    public Double getScore() {
+        return score;
+    }
+
+    public void setScore(Double score) {
+        this.score = score;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public void setRefreshedAt(LocalDateTime refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+}
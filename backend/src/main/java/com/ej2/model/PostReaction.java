@@ -0,0 +1,122 @@
+package com.ej2.model;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 게시글 좋아요/싫어요 상태 (행위자당 1행)
+ * actor는 로그인 사용자 "u:{userId}", 비로그인 사용자 "ip:{ipAddress}"
+ */
+@Entity
+@Table(name = "post_reactions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_post_reactions_post_actor", columnNames = {"post_id", "actor"}),
+        indexes = {
+                // 기간별 좋아요순 집계용
+                @Index(name = "idx_post_reactions_post_type_created", columnList = "post_id, reaction_type, created_at"),
+                @Index(name = "idx_post_reactions_user", columnList = "user_id")
+        })
+public class PostReaction {
+
+    public static final String LIKE = "LIKE";
+    public static final String DISLIKE = "DISLIKE";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Column(name = "actor", nullable = false, length = 80)
+    private String actor;
+
+    @Column(name = "user_id")
+    private Long userId; // NULL for non-logged-in users
+
+    @Column(name = "ip_address", length = 50)
+    private String ipAddress;
+
+    @Column(name = "reaction_type", nullable = false, length = 20)
+    private String reactionType;
+
+    // 현재 반응으로 바뀐 시각 (싫어요 → 좋아요 전환 시 갱신)
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public PostReaction() {
+    }
+
+    // 행위자 키 생성 (식별 불가능하면 null)
+    public static String actorOf(Long userId, String ipAddress) {
+        if (userId != null) {
+            return "u:" + userId;
+        }
+        if (ipAddress != null) {
+            return "ip:" + ipAddress;
+        }
+        return null;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public void setPostId(Long postId) {
+        this.postId = postId;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public void setActor(String actor) {
+        this.actor = actor;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    public void setIpAddress(String ipAddress) {
+        this.ipAddress = ipAddress;
+    }
+
+    public String getReactionType() {
+        return reactionType;
+    }
+
+    public void setReactionType(String reactionType) {
+        this.reactionType = reactionType;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,90 @@
+package com.ej2.model;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * 게시글별 일간 조회 집계 (post_view_logs 보존 기간 정리용 롤업)
+ * 하루가 지나면 원본 조회 로그를 게시글·날짜별로 집계해 저장하고, 원본은 보존 기간 후 삭제한다.
+ */
+@Entity
+@Table(name = "post_view_daily",
+        uniqueConstraints = @UniqueConstraint(name = "uk_post_view_daily_post_date", columnNames = {"post_id", "view_date"}),
+        indexes = @Index(name = "idx_post_view_daily_date", columnList = "view_date"))
+public class PostViewDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Column(name = "view_date", nullable = false)
+    private LocalDate viewDate;
+
+    // 그날의 조회 로그 수
+    @Column(name = "view_count", nullable = false)
+    private Integer viewCount = 0;
+
+    // 로그인 사용자 수 (중복 제외)
+    @Column(name = "unique_users", nullable = false)
+    private Integer uniqueUsers = 0;
+
+    // IP 수 (중복 제외)
+    @Column(name = "unique_ips", nullable = false)
+    private Integer uniqueIps = 0;
+
+    // Constructors
+    public PostViewDaily() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public void setPostId(Long postId) {
+        this.postId = postId;
+    }
+
+    public LocalDate getViewDate() {
+        return viewDate;
+    }
+
+    public void setViewDate(LocalDate viewDate) {
+        this.viewDate = viewDate;
+    }
+
+    public Integer getViewCount() {
+        return viewCount;
+    }
+
+    public void setViewCount(Integer viewCount) {
+        this.viewCount = viewCount;
+    }
+
+    public Integer getUniqueUsers() {
+        return uniqueUsers;
+    }
+
+    public void setUniqueUsers(Integer uniqueUsers) {
+        this.uniqueUsers = uniqueUsers;
+    }
+
+    public Integer getUniqueIps() {
+        return uniqueIps;
+    }
+
+    public void setUniqueIps(Integer uniqueIps) {
+        this.uniqueIps = uniqueIps;
+    }
+}
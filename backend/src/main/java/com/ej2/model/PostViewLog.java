@@ -4,7 +4,8 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "post_view_logs")
+@Table(name = "post_view_logs",
+        indexes = @Index(name = "idx_post_view_logs_viewed_at", columnList = "viewed_at"))
 public class PostViewLog {
 
     @Id
@@ -1,5 +1,7 @@
 package com.ej2.model;
 
+import org.hibernate.annotations.GenericGenerator;
+
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
@@ -7,11 +9,13 @@ import java.time.LocalDateTime;
 @Table(name = "reports",
        uniqueConstraints = @UniqueConstraint(
            columnNames = {"reporter_id", "report_type", "entity_id"}
-       ))
+       ),
+       indexes = @Index(name = "idx_reports_entity", columnList = "report_type, entity_id"))
 public class Report {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "reports_id")
+    @GenericGenerator(name = "reports_id", strategy = "com.ej2.util.PooledIdGenerator")
     private Long id;
 
     @Column(name = "report_type", nullable = false, length = 20)
@@ -2,9 +2,13 @@ package com.ej2.repository;
 
 import com.ej2.model.CommentLikeLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,7 +24,20 @@ public interface CommentLikeLogRepository extends JpaRepository<CommentLikeLog,
     // Get all likes for a comment by user IDs (for checking if current user liked)
     List<CommentLikeLog> findByCommentIdIn(List<Long> commentIds);
 
+    // Of the given comments, the IDs a user has liked (bulk like status)
+    @Query("SELECT l.commentId FROM CommentLikeLog l WHERE l.userId = :userId AND l.commentId IN :commentIds")
+    List<Long> findLikedCommentIdsByUserId(@Param("commentIds") Collection<Long> commentIds, @Param("userId") Long userId);
+
+    // Of the given comments, the IDs an IP address has liked (bulk like status)
+    @Query("SELECT l.commentId FROM CommentLikeLog l WHERE l.ipAddress = :ipAddress AND l.commentId IN :commentIds")
+    List<Long> findLikedCommentIdsByIpAddress(@Param("commentIds") Collection<Long> commentIds, @Param("ipAddress") String ipAddress);
+
     // Delete all like logs for a comment (for hard delete)
     @Transactional
     void deleteByCommentId(Long commentId);
+
+    // Delete all like logs for several comments in one statement (bulk hard delete)
+    @Modifying
+    @Query("DELETE FROM CommentLikeLog l WHERE l.commentId IN :commentIds")
+    int deleteByCommentIds(@Param("commentIds") Collection<Long> commentIds);
 }
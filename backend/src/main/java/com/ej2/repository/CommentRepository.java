@@ -1,9 +1,15 @@
 package com.ej2.repository;
 
 import com.ej2.model.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -19,4 +25,61 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByParentIdOrderByCreatedAtDesc(Long parentId);
 
     Long countByPostId(Long postId);
+
+    // 실시간 스트림 재연결 시 놓친 댓글 (마지막으로 받은 댓글 이후, 작성순)
+    @Query("SELECT c FROM Comment c WHERE c.postId = :postId " +
+           "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<Comment> findStreamReplay(@Param("postId") Long postId,
+                                   @Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") Long id,
+                                   Pageable pageable);
+
+    // ==================== Thread (keyset pagination) ====================
+    // 최상위 댓글은 (post_id, parent_id, created_at, id) 인덱스로 작성순 페이지 조회,
+    // 답글은 페이지의 부모 ID를 모아 IN 쿼리 한 번으로 가져온다.
+
+    @Query("SELECT c FROM Comment c WHERE c.postId = :postId AND c.parentId IS NULL " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<Comment> findTopLevelPage(@Param("postId") Long postId, Pageable pageable);
+
+    @Query("SELECT c FROM Comment c WHERE c.postId = :postId AND c.parentId IS NULL " +
+           "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<Comment> findTopLevelPageAfter(@Param("postId") Long postId,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
+
+    // 부모별 답글 수 (parentId, count)
+    @Query("SELECT c.parentId, COUNT(c) FROM Comment c WHERE c.parentId IN :parentIds GROUP BY c.parentId")
+    List<Object[]> countRepliesByParentIds(@Param("parentIds") Collection<Long> parentIds);
+
+    // 부모마다 작성순 앞쪽 limitPerParent건까지의 답글 (부모 하나에 답글이 몰려도 응답 크기가 제한된다)
+    @Query(value = "SELECT * FROM (SELECT c.*, ROW_NUMBER() OVER (PARTITION BY c.parent_id ORDER BY c.created_at, c.id) AS reply_rank " +
+                   "FROM comments c WHERE c.parent_id IN (:parentIds)) ranked " +
+                   "WHERE ranked.reply_rank <= :limitPerParent ORDER BY ranked.created_at, ranked.id",
+           nativeQuery = true)
+    List<Comment> findFirstRepliesByParentIds(@Param("parentIds") Collection<Long> parentIds,
+                                              @Param("limitPerParent") int limitPerParent);
+
+    // ==================== Bulk deletion ====================
+    // 삭제 대상, 대상의 자식, 대상의 부모, 부모의 자식을 한 번에 가져와 소프트/하드 삭제를 메모리에서 판정한다.
+
+    // (id, parentId, postId, isDeleted)
+    @Query("SELECT c.id, c.parentId, c.postId, c.isDeleted FROM Comment c " +
+           "WHERE c.id IN :ids OR c.parentId IN :ids " +
+           "OR c.id IN (SELECT t.parentId FROM Comment t WHERE t.id IN :ids) " +
+           "OR c.parentId IN (SELECT t.parentId FROM Comment t WHERE t.id IN :ids)")
+    List<Object[]> findDeletionTree(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.isDeleted = true, c.content = :content, c.updatedAt = :now WHERE c.id IN :ids")
+    int softDeleteByIds(@Param("ids") Collection<Long> ids,
+                        @Param("content") String content,
+                        @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 }
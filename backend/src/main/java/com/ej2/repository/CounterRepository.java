@@ -0,0 +1,153 @@
+package com.ej2.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Denormalized counter updates issued as a single {@code UPDATE ... SET col = col + ?}.
+ *
+ * Counters are never written through entity dirty checking (the mapped columns are
+ * {@code updatable = false}), so concurrent increments cannot overwrite each other with a
+ * full-row UPDATE, and {@code @PreUpdate} timestamps are not refreshed by a counter change.
+ * The new value is captured with {@code LAST_INSERT_ID(expr)} and read back on the same
+ * connection (MariaDB has no UPDATE ... RETURNING). Inside a transaction the statement joins
+ * the transaction's connection and rolls back with it.
+ */
+@Repository
+public class CounterRepository {
+
+    /**
+     * Whitelisted counter columns (table and column names are never taken from input).
+     */
+    public enum Counter {
+        POST_VIEWS("posts", "view_count"),
+        POST_LIKES("posts", "like_count"),
+        POST_DISLIKES("posts", "dislike_count"),
+        POST_COMMENTS("posts", "comment_count"),
+        POST_SCRAPS("posts", "scrap_count"),
+        POST_REPORTS("posts", "reported_count"),
+        COMMENT_LIKES("comments", "like_count"),
+        COMMENT_DISLIKES("comments", "dislike_count");
+
+        private final String sql;
+        private final boolean postCounter;
+
+        Counter(String table, String column) {
+            this.sql = "UPDATE " + table + " SET " + column + " = LAST_INSERT_ID(GREATEST(COALESCE(" + column
+                    + ", 0) + ?, 0)) WHERE id = ?";
+            this.postCounter = "posts".equals(table);
+        }
+
+        /**
+         * Whether the counter lives on the posts row (and can therefore be sharded).
+         */
+        public boolean isPostCounter() {
+            return postCounter;
+        }
+    }
+
+    private static final String SHARD_ADD_SQL = "INSERT INTO post_counter_shards (post_id, counter_name, slot, delta) "
+            + "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE delta = delta + VALUES(delta)";
+    private static final String SHARD_SUM_SQL = "SELECT counter_name, SUM(delta) FROM post_counter_shards "
+            + "WHERE post_id = ? GROUP BY counter_name";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds {@code delta} to a counter (never going below zero).
+     *
+     * @return the new value, or null if no row has that id
+     */
+    public Integer add(final Counter counter, final Long id, final int delta) {
+        return jdbcTemplate.execute(new ConnectionCallback<Integer>() {
+            @Override
+            public Integer doInConnection(Connection connection) throws SQLException {
+                try (PreparedStatement update = connection.prepareStatement(counter.sql)) {
+                    update.setInt(1, delta);
+                    update.setLong(2, id);
+                    if (update.executeUpdate() == 0) {
+                        return null;
+                    }
+                }
+                try (Statement select = connection.createStatement();
+                     ResultSet rs = select.executeQuery("SELECT LAST_INSERT_ID()")) {
+                    return rs.next() ? rs.getInt(1) : null;
+                }
+            }
+        });
+    }
+
+    // ==================== Sharded post counters ====================
+    // A hot post spreads its counter writes over N slot rows in post_counter_shards so writers
+    // do not queue on the single posts row lock; the slots are periodically folded back into posts.
+
+    /**
+     * Adds {@code delta} to one slot of a post's sharded counter.
+     */
+    public void addToShard(Counter counter, Long postId, int slot, int delta) {
+        jdbcTemplate.update(SHARD_ADD_SQL, postId, counter.name(), slot, delta);
+    }
+
+    /**
+     * Not-yet-compacted shard totals of a post (counter → delta).
+     */
+    public Map<Counter, Integer> sumShards(Long postId) {
+        return querySums(SHARD_SUM_SQL, postId);
+    }
+
+    /**
+     * Folds a post's shard slots into the posts row and deletes them. Must run inside a transaction:
+     * the slot rows are locked first so a concurrent slot write lands either before (and is folded)
+     * or after (and stays for the next compaction).
+     *
+     * @return the folded deltas (empty if nothing was pending)
+     */
+    public Map<Counter, Integer> drainShards(Long postId) {
+        Map<Counter, Integer> sums = querySums(SHARD_SUM_SQL + " FOR UPDATE", postId);
+        if (sums.isEmpty()) {
+            return sums;
+        }
+        for (Map.Entry<Counter, Integer> entry : sums.entrySet()) {
+            if (entry.getValue() != 0) {
+                add(entry.getKey(), postId, entry.getValue());
+            }
+        }
+        jdbcTemplate.update("DELETE FROM post_counter_shards WHERE post_id = ?", postId);
+        return sums;
+    }
+
+    /**
+     * Posts that still have shard slots (e.g. left over from a previous run).
+     */
+    public List<Long> findShardedPostIds() {
+        return jdbcTemplate.queryForList("SELECT DISTINCT post_id FROM post_counter_shards", Long.class);
+    }
+
+    private Map<Counter, Integer> querySums(String sql, Long postId) {
+        final Map<Counter, Integer> sums = new EnumMap<Counter, Integer>(Counter.class);
+        jdbcTemplate.query(sql, new RowCallbackHandler() {
+            @Override
+            public void processRow(ResultSet rs) throws SQLException {
+                try {
+                    sums.put(Counter.valueOf(rs.getString(1)), rs.getInt(2));
+                } catch (IllegalArgumentException e) {
+                    // counter renamed or removed since the slot was written; ignore it
+                }
+            }
+        }, postId);
+        return sums;
+    }
+}
@@ -2,8 +2,11 @@ package com.ej2.repository;
 
 import com.ej2.model.PostImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -21,6 +24,16 @@ public interface PostImageRepository extends JpaRepository<PostImage, Long> {
      */
     List<PostImage> findByPostIdOrderByDisplayOrder(Long postId);
 
+    /**
+     * Find the first image (lowest display order) of each post, for list thumbnails.
+     *
+     * @param postIds The IDs of the posts
+     * @return Rows of [postId, s3Url], at most one per post
+     */
+    @Query("SELECT i.postId, i.s3Url FROM PostImage i WHERE i.postId IN :postIds " +
+           "AND i.displayOrder = (SELECT MIN(i2.displayOrder) FROM PostImage i2 WHERE i2.postId = i.postId)")
+    List<Object[]> findThumbnails(@Param("postIds") Collection<Long> postIds);
+
     /**
      * Delete all images associated with a specific post.
      * Used for cascade deletion when a post is deleted.
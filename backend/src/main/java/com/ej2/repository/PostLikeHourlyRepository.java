@@ -0,0 +1,34 @@
+package com.ej2.repository;
+
+import com.ej2.model.PostLikeHourly;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PostLikeHourlyRepository extends JpaRepository<PostLikeHourly, Long> {
+
+    // 시간 버킷 증감 (없으면 생성, 0 미만으로 내려가지 않음)
+    @Modifying
+    @Query(value = "INSERT INTO post_like_hourly (post_id, bucket_hour, like_count) " +
+                   "VALUES (:postId, :bucketHour, GREATEST(:delta, 0)) " +
+                   "ON DUPLICATE KEY UPDATE like_count = GREATEST(like_count + :delta, 0)", nativeQuery = true)
+    int addToBucket(@Param("postId") Long postId,
+                    @Param("bucketHour") LocalDateTime bucketHour,
+                    @Param("delta") int delta);
+
+    // 기동 시 메모리 버킷 복원용 → [postId, boardId, bucketHour, likeCount] (블라인드 게시글 제외)
+    @Query("SELECT h.postId, p.boardId, h.bucketHour, h.likeCount FROM PostLikeHourly h, Post p " +
+           "WHERE p.id = h.postId AND p.isBlinded = false AND h.bucketHour >= :since AND h.likeCount > 0")
+    List<Object[]> findBucketsSince(@Param("since") LocalDateTime since);
+
+    // 보존 기간이 지난 버킷 삭제
+    @Modifying
+    @Query(value = "DELETE FROM post_like_hourly WHERE bucket_hour < :before", nativeQuery = true)
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,53 @@
+package com.ej2.repository;
+
+import com.ej2.model.PostReaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PostReactionRepository extends JpaRepository<PostReaction, Long> {
+
+    // 행위자의 현재 반응 (LIKE / DISLIKE, 없으면 null)
+    @Query(value = "SELECT reaction_type FROM post_reactions WHERE post_id = :postId AND actor = :actor", nativeQuery = true)
+    String findReactionType(@Param("postId") Long postId, @Param("actor") String actor);
+
+    // 행위자의 좋아요 시각 (좋아요 상태가 아니면 null) → 좋아요 취소 시 원래 시간 버킷에서 차감
+    @Query("SELECT r.createdAt FROM PostReaction r WHERE r.postId = :postId AND r.actor = :actor AND r.reactionType = 'LIKE'")
+    LocalDateTime findLikedAt(@Param("postId") Long postId, @Param("actor") String actor);
+
+    // 여러 게시글에 대한 행위자의 반응 일괄 조회 → [postId, reactionType]
+    // (post_id, actor) 유니크 키로 게시글마다 한 행씩만 읽는다
+    @Query("SELECT r.postId, r.reactionType FROM PostReaction r WHERE r.actor = :actor AND r.postId IN :postIds")
+    List<Object[]> findReactionTypes(@Param("postIds") Collection<Long> postIds, @Param("actor") String actor);
+
+    // ==================== 토글용 조건부 단일 문장 ====================
+    // 각 문장은 (post_id, actor) 유니크 키 한 행만 건드리며, 영향 행 수로 이전 상태를 판별한다.
+
+    // 같은 반응이 이미 있으면 삭제 (취소)
+    @Modifying
+    @Query(value = "DELETE FROM post_reactions WHERE post_id = :postId AND actor = :actor AND reaction_type = :type", nativeQuery = true)
+    int deleteIfType(@Param("postId") Long postId, @Param("actor") String actor, @Param("type") String type);
+
+    // 반대 반응이 있으면 전환
+    @Modifying
+    @Query(value = "UPDATE post_reactions SET reaction_type = :type, created_at = NOW() " +
+                   "WHERE post_id = :postId AND actor = :actor AND reaction_type <> :type", nativeQuery = true)
+    int switchType(@Param("postId") Long postId, @Param("actor") String actor, @Param("type") String type);
+
+    // 반응이 없으면 추가 (동시 요청이 먼저 추가했으면 0)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO post_reactions (post_id, actor, user_id, ip_address, reaction_type, created_at) " +
+                   "VALUES (:postId, :actor, :userId, :ipAddress, :type, NOW())", nativeQuery = true)
+    int insertIfAbsent(@Param("postId") Long postId,
+                       @Param("actor") String actor,
+                       @Param("userId") Long userId,
+                       @Param("ipAddress") String ipAddress,
+                       @Param("type") String type);
+}
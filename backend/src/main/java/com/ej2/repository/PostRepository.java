@@ -1,34 +1,113 @@
 package com.ej2.repository;
 
+import com.ej2.dto.PostSummaryDTO;
 import com.ej2.model.Post;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
     // Basic query methods - Spring Data JPA will implement these automatically
-    List<Post> findAllByOrderByCreatedAtDesc();
-
     List<Post> findByTitleContaining(String keyword);
 
     List<Post> findByTitleContainingOrderByCreatedAtDesc(String keyword);
 
-    List<Post> findByBoardIdAndIsBlindedFalseOrderByCreatedAtDesc(Long boardId);
+    // 목록 조회용 요약 프로젝션 (content 컬럼은 읽지 않는다)
+    String SUMMARY_SELECT = "SELECT new com.ej2.dto.PostSummaryDTO(p.id, p.boardId, p.userId, p.anonymousId, p.title, " +
+            "p.excerpt, p.viewCount, p.likeCount, p.dislikeCount, p.commentCount, p.scrapCount, p.isNotice, " +
+            "p.isBlinded, p.createdAt) FROM Post p ";
+
+    // 메모리 색인·순위의 ID 목록 조회용 (그 사이 블라인드된 게시글은 제외)
+    @Query(SUMMARY_SELECT + "WHERE p.id IN :ids AND p.isBlinded = false")
+    List<PostSummaryDTO> findVisibleSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    // ==================== 검색 색인 ====================
+
+    // 제목 LIKE 검색 (검색 색인 준비 전 대체용)
+    @Query(value = SUMMARY_SELECT + "WHERE (:boardId IS NULL OR p.boardId = :boardId) AND p.isBlinded = false " +
+                   "AND p.title LIKE CONCAT('%', :keyword, '%') ORDER BY p.createdAt DESC, p.id DESC",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE (:boardId IS NULL OR p.boardId = :boardId) " +
+                        "AND p.isBlinded = false AND p.title LIKE CONCAT('%', :keyword, '%')")
+    Page<PostSummaryDTO> searchByTitleLike(@Param("keyword") String keyword, @Param("boardId") Long boardId, Pageable pageable);
+
+    // 색인 구축용 id 순 순회
+    List<Post> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // 스냅샷 이후 수정·블라인드된 게시글
+    List<Post> findByUpdatedAtAfter(LocalDateTime updatedAt);
+
+    // 삭제 감지용 (id만 조회)
+    @Query("SELECT p.id FROM Post p WHERE p.isBlinded = false")
+    List<Long> findVisibleIds();
+
+    // ==================== Keyset pagination ====================
+    // 첫 페이지는 커서 없이, 이후 페이지는 직전 페이지 마지막 행의 정렬 키 이후부터 조회한다.
+    // 한 페이지 조회 비용은 (board_id, is_blinded, 정렬 컬럼, id) 인덱스 범위 스캔 + LIMIT 건수로 고정된다.
+
+    // 전체 최신순
+    @Query(SUMMARY_SELECT + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummaryDTO> findRecentPage(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummaryDTO> findRecentPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+
+    // 게시판별 최신순
+    @Query(SUMMARY_SELECT + "WHERE p.boardId = :boardId AND p.isBlinded = false " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummaryDTO> findBoardRecentPage(@Param("boardId") Long boardId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.boardId = :boardId AND p.isBlinded = false " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummaryDTO> findBoardRecentPageAfter(@Param("boardId") Long boardId,
+                                                  @Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("id") Long id,
+                                                  Pageable pageable);
+
+    // 게시판별 조회수순
+    @Query(SUMMARY_SELECT + "WHERE p.boardId = :boardId AND p.isBlinded = false " +
+           "ORDER BY p.viewCount DESC, p.id DESC")
+    List<PostSummaryDTO> findBoardViewPage(@Param("boardId") Long boardId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.boardId = :boardId AND p.isBlinded = false " +
+           "AND (p.viewCount < :viewCount OR (p.viewCount = :viewCount AND p.id < :id)) " +
+           "ORDER BY p.viewCount DESC, p.id DESC")
+    List<PostSummaryDTO> findBoardViewPageAfter(@Param("boardId") Long boardId,
+                                                @Param("viewCount") Integer viewCount,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
 
-    List<Post> findAllByOrderByViewCountDesc();
+    // 게시판별 좋아요순 (누적)
+    @Query(SUMMARY_SELECT + "WHERE p.boardId = :boardId AND p.isBlinded = false " +
+           "ORDER BY p.likeCount DESC, p.id DESC")
+    List<PostSummaryDTO> findBoardLikePage(@Param("boardId") Long boardId, Pageable pageable);
 
-    List<Post> findByBoardIdAndIsBlindedFalseOrderByViewCountDesc(Long boardId);
+    @Query(SUMMARY_SELECT + "WHERE p.boardId = :boardId AND p.isBlinded = false " +
+           "AND (p.likeCount < :likeCount OR (p.likeCount = :likeCount AND p.id < :id)) " +
+           "ORDER BY p.likeCount DESC, p.id DESC")
+    List<PostSummaryDTO> findBoardLikePageAfter(@Param("boardId") Long boardId,
+                                                @Param("likeCount") Integer likeCount,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
 
-    @Query(value = "select p.* from posts p left join post_like_logs ll on p.id = ll.post_id and ll.liked_at >= date_sub(now(), interval 1 day) where p.board_id = :boardId and p.is_blinded = 0 group by p.id order by count(ll.id) desc", nativeQuery = true)
-    List<Post> findAllOrderByDayLikeCount(@Param("boardId") Long boardId);
+    // ==================== 기간별 좋아요순 ====================
+    // 순위는 LikeWindowCounter(시간 버킷)에서 구하고, 기간 내 좋아요가 없는 게시글은 최신순 keyset 조회로 채운다.
 
-    @Query(value = "select p.* from posts p left join post_like_logs ll on p.id = ll.post_id and ll.liked_at >= date_sub(now(), interval 7 day) where p.board_id = :boardId and p.is_blinded = 0 group by p.id order by count(ll.id) desc", nativeQuery = true)
-    List<Post> findAllOrderByWeekLikeCount(@Param("boardId") Long boardId);
+    @Query("SELECT p.boardId FROM Post p WHERE p.id = :id")
+    Long findBoardIdById(@Param("id") Long id);
 
-    @Query(value = "select p.* from posts p left join post_like_logs ll on p.id = ll.post_id and ll.liked_at >= date_sub(now(), interval 30 day) where p.board_id = :boardId and p.is_blinded = 0 group by p.id order by count(ll.id) desc", nativeQuery = true)
-    List<Post> findAllOrderByMonthLikeCount(@Param("boardId") Long boardId);
+    // 블라인드되지 않은 게시글의 게시판 ID (없거나 블라인드면 null)
+    @Query("SELECT p.boardId FROM Post p WHERE p.id = :id AND p.isBlinded = false")
+    Long findVisibleBoardIdById(@Param("id") Long id);
 }
@@ -6,7 +6,10 @@ import org.springframework.stereotype.Repository;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 public class UserRepository {
@@ -22,6 +25,28 @@ public class UserRepository {
         return entityManager.find(User.class, id);
     }
 
+    /**
+     * 複数ユーザーの表示名をIN句1回で取得（一覧表示のN+1防止用）
+     * @param ids ユーザーIDの集合
+     * @return ユーザーID → 表示名（存在しない・名前未設定のユーザーは含まない）
+     */
+    public Map<Long, String> findNamesByIds(Collection<Long> ids) {
+        Map<Long, String> names = new HashMap<Long, String>();
+        if (ids.isEmpty()) {
+            return names;
+        }
+        List<Object[]> rows = entityManager
+                .createQuery("SELECT u.id, u.name FROM User u WHERE u.id IN :ids", Object[].class)
+                .setParameter("ids", ids)
+                .getResultList();
+        for (Object[] row : rows) {
+            if (row[1] != null) {
+                names.put((Long) row[0], (String) row[1]);
+            }
+        }
+        return names;
+    }
+
     /**
      * ユーザー名でユーザーを検索
      * @param username ユーザー名
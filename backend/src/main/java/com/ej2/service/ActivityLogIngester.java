@@ -0,0 +1,237 @@
+package com.ej2.service;
+
+import com.ej2.util.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 활동 로그(조회 로그) 비동기 일괄 적재기
+ *
+ * 조회 요청마다 post_view_logs에 한 행씩 INSERT하던 것을, 요청 스레드는 메모리 큐에 넣기만 하고
+ * 전용 쓰기 스레드 하나가 큐를 모아 다중 행 INSERT 한 번으로 기록한다.
+ * - 배치: 최대 max-batch-size 행, 첫 행이 들어온 뒤 최대 max-latency-ms 안에 기록
+ * - 큐가 가득 차면 enqueue-timeout-ms 동안 기다린 뒤(0이면 바로) 버리고 dropped로 센다
+ * - 기록 실패 시 몇 차례 재시도 후 버리고 failed로 센다
+ * - 종료 시 @PreDestroy에서 쓰기 스레드를 멈추고 큐에 남은 로그를 모두 기록한다
+ * 로그는 통계용 이력이라 유실을 허용하지만, 좋아요/싫어요(post_reactions)와 댓글 좋아요(comment_like_logs)는
+ * 토글 시 현재 상태로 다시 읽히므로 요청 트랜잭션 안에서 동기적으로 기록한다.
+ */
+@Component
+public class ActivityLogIngester {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLogIngester.class);
+
+    private static final String VIEW_LOG_INSERT = "INSERT INTO post_view_logs (post_id, user_id, ip_address, viewed_at) VALUES ";
+    private static final String VIEW_LOG_ROW = "(?, ?, ?, ?)";
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${activity-log.queue-capacity:100000}")
+    private int queueCapacity = 100000;
+
+    @Value("${activity-log.max-batch-size:500}")
+    private int maxBatchSize = 500;
+
+    @Value("${activity-log.max-latency-ms:1000}")
+    private long maxLatencyMs = 1000;
+
+    @Value("${activity-log.enqueue-timeout-ms:0}")
+    private long enqueueTimeoutMs = 0;
+
+    private BlockingQueue<ViewLogEntry> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private volatile int lastBatchSize = 0;
+    private volatile long lastWriteAt = 0;
+    private volatile long lastWriteFailedAt = 0;
+
+    private static final class ViewLogEntry {
+        final Long postId;
+        final Long userId;
+        final String ipAddress;
+        final LocalDateTime viewedAt;
+
+        ViewLogEntry(Long postId, Long userId, String ipAddress, LocalDateTime viewedAt) {
+            this.postId = postId;
+            this.userId = userId;
+            this.ipAddress = ipAddress;
+            this.viewedAt = viewedAt;
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<ViewLogEntry>(queueCapacity);
+        running = true;
+        writer = new Thread(this::writeLoop, "ej2-activity-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * 조회 로그 접수 (DB 접근 없음, 트랜잭션 안이면 커밋 후 큐에 넣는다)
+     */
+    public void recordView(Long postId, Long userId, String ipAddress) {
+        final ViewLogEntry entry = new ViewLogEntry(postId, userId, ipAddress, LocalDateTime.now());
+        AfterCommit.run(new Runnable() {
+            @Override
+            public void run() {
+                enqueue(entry);
+            }
+        });
+    }
+
+    private void enqueue(ViewLogEntry entry) {
+        boolean accepted;
+        try {
+            accepted = enqueueTimeoutMs > 0
+                    ? queue.offer(entry, enqueueTimeoutMs, TimeUnit.MILLISECONDS)
+                    : queue.offer(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (accepted) {
+            enqueued.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    // 첫 행을 기다린 뒤, 배치가 차거나 지연 한도에 닿을 때까지 모아서 기록
+    private void writeLoop() {
+        List<ViewLogEntry> batch = new ArrayList<ViewLogEntry>(maxBatchSize);
+        while (running) {
+            try {
+                ViewLogEntry first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxLatencyMs);
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    ViewLogEntry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                // 모은 행은 아래에서 기록하고 남은 큐는 flushOnShutdown이 처리
+                running = false;
+            } catch (RuntimeException e) {
+                logger.error("Activity log writer error", e);
+            } finally {
+                if (!batch.isEmpty() && !running) {
+                    write(batch);
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    // 다중 행 INSERT (재시도 후에도 실패하면 버린다)
+    private void write(List<ViewLogEntry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder(VIEW_LOG_INSERT);
+        List<Object> args = new ArrayList<Object>(batch.size() * 4);
+        for (ViewLogEntry entry : batch) {
+            if (!args.isEmpty()) {
+                sql.append(", ");
+            }
+            sql.append(VIEW_LOG_ROW);
+            args.add(entry.postId);
+            args.add(entry.userId);
+            args.add(entry.ipAddress);
+            args.add(Timestamp.valueOf(entry.viewedAt));
+        }
+        String statement = sql.toString();
+
+        for (int attempt = 1; attempt <= MAX_WRITE_ATTEMPTS; attempt++) {
+            try {
+                jdbcTemplate.update(statement, args.toArray());
+                written.addAndGet(batch.size());
+                batches.incrementAndGet();
+                lastBatchSize = batch.size();
+                lastWriteAt = System.currentTimeMillis();
+                batch.clear();
+                return;
+            } catch (RuntimeException e) {
+                lastWriteFailedAt = System.currentTimeMillis();
+                logger.warn("Activity log batch of {} rows failed (attempt {}/{}): {}",
+                        batch.size(), attempt, MAX_WRITE_ATTEMPTS, e.getMessage());
+            }
+        }
+        failed.add(batch.size());
+        batch.clear();
+    }
+
+    /**
+     * 종료 시 쓰기 스레드를 멈추고 큐에 남은 로그를 모두 기록
+     */
+    @PreDestroy
+    public void flushOnShutdown() throws InterruptedException {
+        // 인터럽트하면 기록 중인 배치가 커넥션을 얻지 못할 수 있으므로 루프가 스스로 끝나기를 기다린다
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10) + maxLatencyMs);
+
+        long before = written.get();
+        List<ViewLogEntry> batch = new ArrayList<ViewLogEntry>(maxBatchSize);
+        while (queue.drainTo(batch, maxBatchSize) > 0) {
+            write(batch);
+        }
+        logger.info("Activity log ingester flushed {} rows on shutdown", written.get() - before);
+    }
+
+    /**
+     * 적재 상태 (접수/기록/버림/실패 건수, 큐 길이, 마지막 배치)
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<String, Object>();
+        metrics.put("enqueued", enqueued.sum());
+        metrics.put("written", written.get());
+        metrics.put("dropped", dropped.sum());
+        metrics.put("failed", failed.sum());
+        metrics.put("queueSize", queue.size());
+        metrics.put("queueCapacity", queueCapacity);
+        metrics.put("batches", batches.get());
+        metrics.put("lastBatchSize", lastBatchSize);
+        metrics.put("lastWriteAt", lastWriteAt);
+        metrics.put("lastWriteFailedAt", lastWriteFailedAt);
+        return metrics;
+    }
+}
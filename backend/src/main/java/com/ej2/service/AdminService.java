@@ -2,6 +2,7 @@ package com.ej2.service;
 
 import com.ej2.dto.ActivityDTO;
 import com.ej2.dto.BoardPostStatsDTO;
+import com.ej2.dto.DailyViewStatDTO;
 import com.ej2.dto.DashboardStatsDTO;
 import com.ej2.dto.ReportDTO;
 import com.ej2.dto.ReportDetailDTO;
@@ -48,6 +49,54 @@ public class AdminService {
     @Autowired
     private ReportService reportService;
 
+    @Autowired
+    private AuthorNameResolver authorNameResolver;
+
+    @Autowired
+    private ViewCountAggregator viewCountAggregator;
+
+    @Autowired
+    private ViewDedupService viewDedupService;
+
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+
+    @Autowired
+    private PostDetailCache postDetailCache;
+
+    @Autowired
+    private ContentVersionRegistry contentVersionRegistry;
+
+    @Autowired
+    private CounterService counterService;
+
+    @Autowired
+    private ActivityLogIngester activityLogIngester;
+
+    @Autowired
+    private ViewLogCompactor viewLogCompactor;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private CounterReconciler counterReconciler;
+
+    @Autowired
+    private CommentStreamBroker commentStreamBroker;
+
+    @Autowired
+    private PostPopularityRefresher postPopularityRefresher;
+
+    @Autowired
+    private PopularityTopK popularityTopK;
+
+    @Autowired
+    private RankingSnapshots rankingSnapshots;
+
+    @Autowired
+    private TrendingDetector trendingDetector;
+
     // ==================== ユーザー管理 ====================
 
     /**
@@ -89,6 +138,7 @@ public class AdminService {
      */
     public void deleteUser(Long userId) {
         adminMapper.deleteUser(userId);
+        authorNameResolver.invalidate(userId);
     }
 
     // ==================== 掲示板管理 (JPA) ====================
@@ -97,6 +147,7 @@ public class AdminService {
      * 掲示板を作成
      */
     public Board createBoard(Board board) {
+        contentVersionRegistry.touchBoards();
         return boardRepository.save(board);
     }
 
@@ -111,6 +162,7 @@ public class AdminService {
         board.setCode(boardDetails.getCode());
         board.setIsAnonymous(boardDetails.getIsAnonymous());
         board.setRequireAdmin(boardDetails.getRequireAdmin());
+        contentVersionRegistry.touchBoards();
         return boardRepository.save(board);
     }
 
@@ -119,6 +171,7 @@ public class AdminService {
      */
     public void deleteBoard(Long boardId) {
         boardRepository.deleteById(boardId);
+        contentVersionRegistry.touchBoards();
     }
 
     /**
@@ -254,6 +307,96 @@ public class AdminService {
         return str.substring(0, maxLength) + "...";
     }
 
+    // ==================== 閲覧数集計メトリクス ====================
+
+    /**
+     * 閲覧数write-behind集計の遅延指標を取得
+     * （受付済み閲覧数とDB反映済み閲覧数の差、最古の未反映閲覧の経過時間など）
+     */
+    public Map<String, Object> getViewCounterMetrics() {
+        Map<String, Object> metrics = new HashMap<String, Object>(viewCountAggregator.getMetrics());
+        metrics.put("dedup", viewDedupService.getMetrics());
+        metrics.put("retention", viewLogCompactor.getStats());
+        return metrics;
+    }
+
+    /**
+     * 日別閲覧統計を取得（閲覧ログの日次集計テーブルから、直近N日分）
+     */
+    public List<DailyViewStatDTO> getDailyViewStats(int days) {
+        return adminMapper.selectDailyViewStats(Math.max(1, Math.min(days, 365)));
+    }
+
+    /**
+     * 投稿検索インデックスの状態を取得（準備完了か、投稿数・語彙数、最終スナップショット時刻）
+     */
+    public Map<String, Object> getSearchIndexStats() {
+        return postSearchIndex.getStats();
+    }
+
+    /**
+     * 投稿詳細キャッシュの状態を取得（件数・使用バイト数、ヒット/ミス/リクエスト併合/追い出し件数）
+     */
+    public Map<String, Object> getPostCacheStats() {
+        return postDetailCache.getStats();
+    }
+
+    /**
+     * 人気投稿のシャードカウンター状態を取得（シャードモードの投稿、昇格/降格回数、スロット書き込み数、最終合算時刻）
+     */
+    public Map<String, Object> getCounterShardStats() {
+        return counterService.getStats();
+    }
+
+    /**
+     * 非正規化カウンター照合の進捗を取得（巡回位置・周回数、カウンター別のずれ件数/ずれ量、直近のずれ、補正件数）
+     */
+    public Map<String, Object> getCounterReconcileStats() {
+        return counterReconciler.getStats();
+    }
+
+    /**
+     * リアルタイムコメント配信(SSE)の状態を取得（購読者数・投稿数、配信/再送/破棄件数、送信キュー長）
+     */
+    public Map<String, Object> getCommentStreamMetrics() {
+        return commentStreamBroker.getMetrics();
+    }
+
+    /**
+     * 閲覧ログ非同期取り込みの状態を取得（受付/書き込み/破棄/失敗件数、キュー長、直近バッチ）
+     */
+    public Map<String, Object> getActivityLogMetrics() {
+        return activityLogIngester.getMetrics();
+    }
+
+    /**
+     * 人気度スコアテーブルの更新状態を取得（dirty件数、再計算件数、減衰パス回数・所要時間）
+     */
+    public Map<String, Object> getPopularityStats() {
+        return postPopularityRefresher.getStats();
+    }
+
+    /**
+     * 人気記事メモリランキング(top-K)の状態を取得（保持中の掲示板×期間数、ヒット/ミス件数、再読み込み回数）
+     */
+    public Map<String, Object> getRankingTopKStats() {
+        return popularityTopK.getStats();
+    }
+
+    /**
+     * 人気記事ランキングのスナップショット保持状態を取得（スナップショット数、保持順位数）
+     */
+    public Map<String, Object> getRankingSnapshotStats() {
+        return rankingSnapshots.getStats();
+    }
+
+    /**
+     * 急上昇記事検知の状態を取得（追跡中の記事数、候補数、記録・欠落イベント数）
+     */
+    public Map<String, Object> getTrendingStats() {
+        return trendingDetector.getStats();
+    }
+
     // ==================== 掲示板別投稿統計 ====================
 
     /**
@@ -432,4 +575,11 @@ public class AdminService {
     public void takeModerationAction(Long reportId, String action, String adminNote, Long adminId) {
         reportService.takeModerationAction(reportId, action, adminNote, adminId);
     }
+
+    /**
+     * コメントを一括削除（返信が残るものはソフト削除、それ以外は物理削除）
+     */
+    public Map<String, Object> bulkDeleteComments(List<Long> commentIds) {
+        return commentService.deleteComments(commentIds);
+    }
 }
@@ -0,0 +1,122 @@
+package com.ej2.service;
+
+import com.ej2.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 작성자 표시 이름(users.name) 일괄 조회기
+ *
+ * 목록 조회 시 행마다 UserRepository.findById를 호출하던 N+1 문제를 없애기 위해,
+ * 결과 집합의 고유 userId를 모아 IN (...) 쿼리 한 번으로 가져온다.
+ * 조회 결과는 크기 제한 + TTL이 있는 LRU 캐시에 보관하며,
+ * 이름이 바뀌면 UserService에서 invalidate()로 즉시 무효화한다.
+ */
+@Component
+public class AuthorNameResolver {
+
+    public static final String UNKNOWN_USER = "Unknown User";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${author.cache.max-size:10000}")
+    private int maxSize = 10000;
+
+    @Value("${author.cache.ttl-seconds:600}")
+    private long ttlSeconds = 600;
+
+    // access-order LinkedHashMap = LRU (모든 접근은 synchronized)
+    private final LinkedHashMap<Long, CachedName> cache = new LinkedHashMap<Long, CachedName>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CachedName> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    /**
+     * 여러 사용자의 표시 이름을 한 번에 조회
+     * @param userIds 사용자 ID 목록 (중복/null 허용)
+     * @return userId → 표시 이름 (존재하지 않는 사용자는 "Unknown User")
+     */
+    public Map<Long, String> resolve(Collection<Long> userIds) {
+        Set<Long> distinctIds = new LinkedHashSet<Long>();
+        for (Long userId : userIds) {
+            if (userId != null) {
+                distinctIds.add(userId);
+            }
+        }
+        if (distinctIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<Long, String> names = new HashMap<Long, String>();
+        Set<Long> missing = new LinkedHashSet<Long>();
+        long now = System.currentTimeMillis();
+
+        synchronized (cache) {
+            for (Long userId : distinctIds) {
+                CachedName cached = cache.get(userId);
+                if (cached != null && cached.expiresAt > now) {
+                    names.put(userId, cached.name);
+                } else {
+                    missing.add(userId);
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<Long, String> loaded = userRepository.findNamesByIds(missing);
+            long expiresAt = System.currentTimeMillis() + ttlSeconds * 1000;
+            synchronized (cache) {
+                for (Map.Entry<Long, String> entry : loaded.entrySet()) {
+                    cache.put(entry.getKey(), new CachedName(entry.getValue(), expiresAt));
+                }
+            }
+            for (Long userId : missing) {
+                String name = loaded.get(userId);
+                // 존재하지 않는 사용자는 캐시하지 않는다
+                names.put(userId, name != null ? name : UNKNOWN_USER);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * 한 사용자의 표시 이름을 조회
+     */
+    public String resolve(Long userId) {
+        if (userId == null) {
+            return UNKNOWN_USER;
+        }
+        return resolve(Collections.singleton(userId)).get(userId);
+    }
+
+    /**
+     * 이름 변경·사용자 삭제 시 캐시 무효화
+     */
+    public void invalidate(Long userId) {
+        synchronized (cache) {
+            cache.remove(userId);
+        }
+    }
+
+    private static class CachedName {
+        private final String name;
+        private final long expiresAt;
+
+        private CachedName(String name, long expiresAt) {
+            this.name = name;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
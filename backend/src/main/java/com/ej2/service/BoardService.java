@@ -16,6 +16,9 @@ public class BoardService {
     @Autowired
     private BoardRepository boardRepository;
 
+    @Autowired
+    private ContentVersionRegistry contentVersionRegistry;
+
     public List<Board> getAllBoards() {
         return boardRepository.findAll();
     }
@@ -29,6 +32,7 @@ public class BoardService {
     }
 
     public Board createBoard(Board board) {
+        contentVersionRegistry.touchBoards();
         return boardRepository.save(board);
     }
 
@@ -39,6 +43,7 @@ public class BoardService {
         board.setName(boardDetails.getName());
         board.setDescription(boardDetails.getDescription());
 
+        contentVersionRegistry.touchBoards();
         return boardRepository.save(board);
     }
 
@@ -46,5 +51,6 @@ public class BoardService {
         Board board = boardRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Board not found with id: " + id));
         boardRepository.delete(board);
+        contentVersionRegistry.touchBoards();
     }
 }
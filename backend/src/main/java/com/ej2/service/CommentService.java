@@ -1,29 +1,56 @@
 package com.ej2.service;
 
 import com.ej2.dto.CommentDTO;
+import com.ej2.dto.CommentNodeDTO;
+import com.ej2.dto.CursorPageDTO;
+import com.ej2.event.CommentChangedEvent;
 import com.ej2.model.Board;
 import com.ej2.model.Comment;
 import com.ej2.model.CommentLikeLog;
 import com.ej2.model.Post;
-import com.ej2.model.User;
 import com.ej2.repository.BoardRepository;
 import com.ej2.repository.CommentLikeLogRepository;
 import com.ej2.repository.CommentRepository;
+import com.ej2.repository.CounterRepository.Counter;
 import com.ej2.repository.PostRepository;
-import com.ej2.repository.UserRepository;
 import com.ej2.util.AnonymousIdGenerator;
+import com.ej2.util.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
 public class CommentService {
 
+    private static final int DEFAULT_THREAD_PAGE_SIZE = 20;
+    private static final int MAX_THREAD_PAGE_SIZE = 50;
+    private static final int DEFAULT_REPLIES_PER_COMMENT = 20;
+    private static final int MAX_REPLIES_PER_COMMENT = 50;
+    // Reply levels below the top level loaded in one response (the UI shows one level)
+    private static final int MAX_THREAD_DEPTH = 3;
+    // Upper bound on nodes in one response; deeper replies stop loading once it is reached
+    private static final int MAX_THREAD_NODES = 1000;
+    public static final int MAX_BULK_DELETE_IDS = 1000;
+    private static final String DELETED_COMMENT_CONTENT = "削除されたコメントです。";
+
     @Autowired
     private CommentRepository commentRepository;
 
@@ -33,11 +60,23 @@ public class CommentService {
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private CounterService counterService;
+
     @Autowired
     private BoardRepository boardRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private AuthorNameResolver authorNameResolver;
+
+    @Autowired
+    private PostDetailCache postDetailCache;
+
+    @Autowired
+    private ContentVersionRegistry contentVersionRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public List<CommentDTO> getCommentsByPostId(Long postId) {
         List<Comment> comments = commentRepository.findByPostIdOrderByCreatedAtAsc(postId);
@@ -64,21 +103,135 @@ public class CommentService {
         return convertToCommentDTOList(comments);
     }
 
-    private List<CommentDTO> convertToCommentDTOList(List<Comment> comments) {
-        List<CommentDTO> dtoList = new ArrayList<CommentDTO>();
+    /**
+     * One page of a post's comment thread as a tree.
+     * Top-level comments are paged in creation order (keyset cursor); their replies are fetched
+     * with one IN query per reply level, capped at repliesPerComment per parent. Author names and
+     * the caller's like state are resolved once for the whole page.
+     * @param cursor nextCursor of the previous page (null for the first page)
+     * @param size top-level comments per page (capped at MAX_THREAD_PAGE_SIZE)
+     * @param repliesPerComment replies loaded per comment (capped at MAX_REPLIES_PER_COMMENT, 0 = counts only)
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CommentNodeDTO> getCommentThread(Long postId, String cursor, int size, int repliesPerComment,
+                                                         Long userId, String ipAddress) {
+        int validSize = size <= 0 ? DEFAULT_THREAD_PAGE_SIZE : Math.min(size, MAX_THREAD_PAGE_SIZE);
+        int replyLimit = repliesPerComment < 0 ? DEFAULT_REPLIES_PER_COMMENT : Math.min(repliesPerComment, MAX_REPLIES_PER_COMMENT);
+        PageRequest limit = PageRequest.of(0, validSize + 1);
+
+        List<Comment> topLevel;
+        if (cursor == null || cursor.isEmpty()) {
+            topLevel = commentRepository.findTopLevelPage(postId, limit);
+        } else {
+            String[] key = PageCursor.decode(cursor, 2);
+            topLevel = commentRepository.findTopLevelPageAfter(postId, parseCursorTime(key[0]), parseCursorId(key[1]), limit);
+        }
+        String nextCursor = null;
+        if (topLevel.size() > validSize) {
+            topLevel = new ArrayList<Comment>(topLevel.subList(0, validSize));
+            Comment last = topLevel.get(validSize - 1);
+            nextCursor = PageCursor.encode(last.getCreatedAt(), last.getId());
+        }
+
+        // Load reply levels: one count query per loaded level (the deepest included, so its
+        // replyCount is real even though its replies are not loaded) and one reply query per level below
+        List<Comment> all = new ArrayList<Comment>(topLevel);
+        Map<Long, Long> replyCounts = new HashMap<Long, Long>();
+        List<Comment> level = topLevel;
+        for (int depth = 0; !level.isEmpty(); depth++) {
+            List<Long> parentIds = idsOf(level);
+            List<Long> withReplies = new ArrayList<Long>();
+            for (Object[] row : commentRepository.countRepliesByParentIds(parentIds)) {
+                replyCounts.put((Long) row[0], (Long) row[1]);
+                withReplies.add((Long) row[0]);
+            }
+            if (depth >= MAX_THREAD_DEPTH || withReplies.isEmpty() || replyLimit == 0 || all.size() >= MAX_THREAD_NODES) {
+                break;
+            }
+            level = commentRepository.findFirstRepliesByParentIds(withReplies, replyLimit);
+            if (all.size() + level.size() > MAX_THREAD_NODES) {
+                level = new ArrayList<Comment>(level.subList(0, MAX_THREAD_NODES - all.size()));
+            }
+            all.addAll(level);
+        }
+
+        List<Long> userIds = new ArrayList<Long>();
+        for (Comment comment : all) {
+            userIds.add(comment.getUserId());
+        }
+        Map<Long, String> names = authorNameResolver.resolve(userIds);
+        Set<Long> liked = findLikedCommentIds(idsOf(all), userId, ipAddress);
+
+        // Assemble the tree; replies are already in creation order
+        Map<Long, CommentNodeDTO> nodes = new HashMap<Long, CommentNodeDTO>();
+        List<CommentNodeDTO> roots = new ArrayList<CommentNodeDTO>(topLevel.size());
+        for (Comment comment : all) {
+            String authorNickname = names.get(comment.getUserId());
+            CommentNodeDTO node = new CommentNodeDTO(comment,
+                    authorNickname != null ? authorNickname : AuthorNameResolver.UNKNOWN_USER);
+            Long count = replyCounts.get(comment.getId());
+            node.setReplyCount(count != null ? count : 0);
+            node.setLiked(liked.contains(comment.getId()));
+            nodes.put(comment.getId(), node);
+
+            CommentNodeDTO parent = comment.getParentId() != null ? nodes.get(comment.getParentId()) : null;
+            if (parent != null) {
+                parent.getReplies().add(node);
+            } else {
+                roots.add(node);
+            }
+        }
+        return new CursorPageDTO<CommentNodeDTO>(roots, nextCursor, validSize);
+    }
+
+    private Set<Long> findLikedCommentIds(List<Long> commentIds, Long userId, String ipAddress) {
+        if (commentIds.isEmpty() || (userId == null && ipAddress == null)) {
+            return Collections.emptySet();
+        }
+        return new HashSet<Long>(userId != null
+                ? commentLikeLogRepository.findLikedCommentIdsByUserId(commentIds, userId)
+                : commentLikeLogRepository.findLikedCommentIdsByIpAddress(commentIds, ipAddress));
+    }
+
+    private static List<Long> idsOf(List<Comment> comments) {
+        List<Long> ids = new ArrayList<Long>(comments.size());
         for (Comment comment : comments) {
-            String authorNickname = getAuthorNickname(comment);
-            dtoList.add(new CommentDTO(comment, authorNickname));
+            ids.add(comment.getId());
+        }
+        return ids;
+    }
+
+    private static LocalDateTime parseCursorTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor value: " + value, e);
         }
-        return dtoList;
     }
 
-    private String getAuthorNickname(Comment comment) {
-        User user = userRepository.findById(comment.getUserId());
-        if (user != null) {
-            return user.getName();
+    private static Long parseCursorId(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor value: " + value, e);
         }
-        return "Unknown User";
+    }
+
+    // 작성자 이름은 AuthorNameResolver로 한 번에 조회 (N+1 방지)
+    private List<CommentDTO> convertToCommentDTOList(List<Comment> comments) {
+        List<Long> userIds = new ArrayList<Long>();
+        for (Comment comment : comments) {
+            userIds.add(comment.getUserId());
+        }
+        Map<Long, String> names = authorNameResolver.resolve(userIds);
+
+        List<CommentDTO> dtoList = new ArrayList<CommentDTO>();
+        for (Comment comment : comments) {
+            String authorNickname = names.get(comment.getUserId());
+            dtoList.add(new CommentDTO(comment, authorNickname != null ? authorNickname : AuthorNameResolver.UNKNOWN_USER));
+        }
+        return dtoList;
     }
 
     public Optional<Comment> getCommentById(Long id) {
@@ -116,11 +269,20 @@ public class CommentService {
                 comment.setAnonymousId(anonymousId);
             }
 
-            post.setCommentCount(post.getCommentCount() + 1);
-            postRepository.save(post);
+            adjustCommentCount(post, 1);
         }
+        contentVersionRegistry.touchComments(comment.getPostId());
 
-        return commentRepository.save(comment);
+        Comment savedComment = commentRepository.save(comment);
+        eventPublisher.publishEvent(CommentChangedEvent.created(savedComment));
+        return savedComment;
+    }
+
+    // 게시글 댓글 수 원자적 증감 + 상세 캐시·조건부 GET 버전 반영
+    private void adjustCommentCount(Post post, int delta) {
+        counterService.add(Counter.POST_COMMENTS, post.getId(), delta);
+        postDetailCache.adjustCounters(post.getId(), 0, 0, 0, delta);
+        contentVersionRegistry.touchPost(post.getId(), post.getBoardId());
     }
 
     public Comment updateComment(Long id, Comment commentDetails) {
@@ -128,73 +290,143 @@ public class CommentService {
                 .orElseThrow(() -> new RuntimeException("Comment not found with id: " + id));
 
         comment.setContent(commentDetails.getContent());
-        return commentRepository.save(comment);
+        contentVersionRegistry.touchComments(comment.getPostId());
+        // updated_at(@PreUpdate)을 반영한 상태로 이벤트를 만들기 위해 바로 flush
+        Comment savedComment = commentRepository.saveAndFlush(comment);
+        eventPublisher.publishEvent(CommentChangedEvent.updated(savedComment));
+        return savedComment;
     }
 
     // コメントを削除（子コメントの有無に応じて処理分岐 + 親の自動クリーンアップ）
     public void deleteComment(Long id) {
-        Comment comment = commentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Comment not found with id: " + id));
-
-        Long parentId = comment.getParentId(); // 부모 ID 미리 저장
-
-        // 子コメント（답글）の有無を確認
-        List<Comment> childComments = commentRepository.findByParentIdOrderByCreatedAtAsc(id);
-        boolean hasChildren = !childComments.isEmpty();
-
-        if (hasChildren) {
-            // 답글이 있으면 소프트 삭제
-            comment.setIsDeleted(true);
-            comment.setContent("削除されたコメントです。");
-            commentRepository.save(comment);
+        Map<String, Object> result = deleteComments(Collections.singletonList(id));
+        if (!((List<?>) result.get("notFound")).isEmpty()) {
+            throw new RuntimeException("Comment not found with id: " + id);
+        }
+    }
 
-            // 게시글 댓글 수 감소
-            Optional<Post> postOpt = postRepository.findById(comment.getPostId());
-            if (postOpt.isPresent()) {
-                Post post = postOpt.get();
-                post.setCommentCount(Math.max(0, post.getCommentCount() - 1));
-                postRepository.save(post);
-            }
-        } else {
-            // 답글이 없으면 하드 삭제
-
-            // 게시글 댓글 수 감소
-            Optional<Post> postOpt = postRepository.findById(comment.getPostId());
-            if (postOpt.isPresent()) {
-                Post post = postOpt.get();
-                post.setCommentCount(Math.max(0, post.getCommentCount() - 1));
-                postRepository.save(post);
+    /**
+     * Delete several comments at once (moderation sweeps).
+     * Same rules as a single delete: a comment that keeps replies is soft-deleted, otherwise it is
+     * hard-deleted with its like logs, and a soft-deleted parent left without replies is hard-deleted too.
+     * The decision is made in memory from one fetch of the affected rows, applied with set-based
+     * statements, and comment_count is adjusted once per affected post.
+     * @return requested / softDeleted / hardDeleted counts and the IDs that were not found
+     * @throws IllegalArgumentException if more than MAX_BULK_DELETE_IDS IDs are given
+     */
+    public Map<String, Object> deleteComments(Collection<Long> commentIds) {
+        Set<Long> targets = new LinkedHashSet<Long>();
+        for (Long id : commentIds) {
+            if (id != null) {
+                targets.add(id);
             }
-
-            // 관련 좋아요 로그 삭제
-            commentLikeLogRepository.deleteByCommentId(id);
-
-            // 댓글 하드 삭제
-            commentRepository.delete(comment);
+        }
+        if (targets.size() > MAX_BULK_DELETE_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_DELETE_IDS + " comments can be deleted at once");
         }
 
-        // ✨ 자동 정리: 부모가 소프트 삭제 상태이고 남은 자식이 없으면 부모도 하드 삭제
-        if (parentId != null) {
-            Optional<Comment> parentOpt = commentRepository.findById(parentId);
-            if (parentOpt.isPresent()) {
-                Comment parent = parentOpt.get();
-                if (Boolean.TRUE.equals(parent.getIsDeleted())) {
-                    // 부모의 남은 자식 확인
-                    List<Comment> remainingChildren = commentRepository.findByParentIdOrderByCreatedAtAsc(parentId);
-                    if (remainingChildren.isEmpty()) {
-                        // 남은 자식이 없으면 부모도 하드 삭제
+        Map<String, Object> result = new LinkedHashMap<String, Object>();
+        result.put("requested", targets.size());
+        if (targets.isEmpty()) {
+            result.put("softDeleted", 0);
+            result.put("hardDeleted", 0);
+            result.put("notFound", Collections.emptyList());
+            return result;
+        }
 
-                        // 부모의 게시글 댓글 수는 이미 소프트 삭제 시 감소되었으므로 추가 감소 불필요
+        // id -> (id, parentId, postId, isDeleted), parentId -> child IDs
+        Map<Long, Object[]> rows = new HashMap<Long, Object[]>();
+        Map<Long, Set<Long>> children = new HashMap<Long, Set<Long>>();
+        for (Object[] row : commentRepository.findDeletionTree(targets)) {
+            rows.put((Long) row[0], row);
+            if (row[1] != null) {
+                Set<Long> siblings = children.get((Long) row[1]);
+                if (siblings == null) {
+                    siblings = new HashSet<Long>();
+                    children.put((Long) row[1], siblings);
+                }
+                siblings.add((Long) row[0]);
+            }
+        }
 
-                        // 부모의 좋아요 로그 삭제
-                        commentLikeLogRepository.deleteByCommentId(parentId);
+        List<Long> notFound = new ArrayList<Long>();
+        for (Iterator<Long> it = targets.iterator(); it.hasNext(); ) {
+            Long id = it.next();
+            if (!rows.containsKey(id)) {
+                notFound.add(id);
+                it.remove();
+            }
+        }
 
-                        // 부모 하드 삭제
-                        commentRepository.delete(parent);
-                    }
+        // A target is hard-deleted once all of its replies are hard-deleted (replies may be targets too)
+        Set<Long> hard = new HashSet<Long>();
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Long id : targets) {
+                if (!hard.contains(id) && hard.containsAll(childrenOf(children, id))) {
+                    hard.add(id);
+                    changed = true;
                 }
             }
         }
+        Set<Long> soft = new HashSet<Long>(targets);
+        soft.removeAll(hard);
+
+        // Soft-deleted parents left without replies are cleaned up (their count was already decremented)
+        Set<Long> cleanup = new HashSet<Long>();
+        for (Long id : hard) {
+            Long parentId = (Long) rows.get(id)[1];
+            Object[] parent = parentId != null ? rows.get(parentId) : null;
+            if (parent != null && !targets.contains(parentId) && Boolean.TRUE.equals(parent[3])
+                    && hard.containsAll(childrenOf(children, parentId))) {
+                cleanup.add(parentId);
+            }
+        }
+        hard.addAll(cleanup);
+
+        // comment_count: one per target that was not already soft-deleted
+        Map<Long, Integer> countDeltas = new HashMap<Long, Integer>();
+        Set<Long> affectedPosts = new HashSet<Long>();
+        for (Long id : targets) {
+            Object[] row = rows.get(id);
+            Long postId = (Long) row[2];
+            affectedPosts.add(postId);
+            if (!Boolean.TRUE.equals(row[3])) {
+                Integer delta = countDeltas.get(postId);
+                countDeltas.put(postId, (delta != null ? delta : 0) - 1);
+            }
+        }
+
+        if (!soft.isEmpty()) {
+            commentRepository.softDeleteByIds(soft, DELETED_COMMENT_CONTENT, LocalDateTime.now());
+        }
+        if (!hard.isEmpty()) {
+            commentLikeLogRepository.deleteByCommentIds(hard);
+            commentRepository.deleteByIds(hard);
+        }
+        for (Post post : postRepository.findAllById(countDeltas.keySet())) {
+            adjustCommentCount(post, countDeltas.get(post.getId()));
+        }
+        for (Long postId : affectedPosts) {
+            contentVersionRegistry.touchComments(postId);
+        }
+        for (Long id : soft) {
+            eventPublisher.publishEvent(CommentChangedEvent.deleted((Long) rows.get(id)[2], id, true));
+        }
+        for (Long id : hard) {
+            eventPublisher.publishEvent(CommentChangedEvent.deleted((Long) rows.get(id)[2], id, false));
+        }
+
+        result.put("softDeleted", soft.size());
+        result.put("hardDeleted", hard.size());
+        result.put("notFound", notFound);
+        return result;
+    }
+
+    private static Set<Long> childrenOf(Map<Long, Set<Long>> children, Long id) {
+        Set<Long> ids = children.get(id);
+        return ids != null ? ids : Collections.<Long>emptySet();
     }
 
     public Long getCommentCount(Long postId) {
@@ -213,6 +445,8 @@ public class CommentService {
             throw new RuntimeException("削除されたコメントには「いいね」を押すことができません。");
         }
 
+        contentVersionRegistry.touchComments(comment.getPostId());
+
         Optional<CommentLikeLog> existingLike;
 
         if (userId != null) {
@@ -224,19 +458,41 @@ public class CommentService {
         if (existingLike.isPresent()) {
             // Already liked - remove like (toggle off)
             commentLikeLogRepository.delete(existingLike.get());
-            comment.setLikeCount(Math.max(0, comment.getLikeCount() - 1));
-            commentRepository.save(comment);
+            counterService.add(Counter.COMMENT_LIKES, commentId, -1);
             return false;
         } else {
             // Not liked yet - add like
             CommentLikeLog likeLog = new CommentLikeLog(commentId, userId, ipAddress);
             commentLikeLogRepository.save(likeLog);
-            comment.setLikeCount(comment.getLikeCount() + 1);
-            commentRepository.save(comment);
+            counterService.add(Counter.COMMENT_LIKES, commentId, 1);
             return true;
         }
     }
 
+    /**
+     * Like status of several comments for one user/IP, resolved with a single IN query.
+     * Returns commentId -> liked, in request order.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Boolean> getLikeStatuses(List<Long> commentIds, Long userId, String ipAddress) {
+        Set<Long> ids = PostService.toStatusIdSet(commentIds);
+        Map<Long, Boolean> statuses = new LinkedHashMap<Long, Boolean>();
+        for (Long commentId : ids) {
+            statuses.put(commentId, false);
+        }
+        if (ids.isEmpty() || (userId == null && ipAddress == null)) {
+            return statuses;
+        }
+
+        List<Long> liked = userId != null
+                ? commentLikeLogRepository.findLikedCommentIdsByUserId(ids, userId)
+                : commentLikeLogRepository.findLikedCommentIdsByIpAddress(ids, ipAddress);
+        for (Long commentId : liked) {
+            statuses.put(commentId, true);
+        }
+        return statuses;
+    }
+
     /**
      * Check if user has liked a specific comment
      */
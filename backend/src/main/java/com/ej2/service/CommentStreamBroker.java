@@ -0,0 +1,452 @@
+package com.ej2.service;
+
+import com.ej2.dto.CommentDTO;
+import com.ej2.event.CommentChangedEvent;
+import com.ej2.model.Comment;
+import com.ej2.repository.CommentRepository;
+import com.ej2.util.PageCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 게시글별 실시간 댓글 스트림 (Server-Sent Events)
+ *
+ * 클라이언트가 댓글 목록을 주기적으로 다시 조회하는 대신, 게시글마다 SSE로 구독하면
+ * CommentChangedEvent가 커밋된 뒤 comment-created / comment-updated / comment-deleted 이벤트를 받는다.
+ * - 연결은 비동기 서블릿(SseEmitter)으로 유지되므로 대기 중인 구독자가 요청 스레드를 점유하지 않는다
+ * - 이벤트는 전용 스레드 하나가 커밋 순서대로 연결별 대기열에 나눠 담고, 실제 전송은 sender-threads개의 전송 스레드가 맡는다.
+ *   댓글을 쓴 요청 스레드는 구독자 때문에 막히지 않는다 (나눠 담기 전 대기열이 가득 차면 버림)
+ * - 연결마다 보낼 메시지 대기열(subscriber-queue-capacity건)을 두고 연결별로 순서대로 보낸다.
+ *   느린 연결은 자기 대기열만 쌓이고, 가득 차면 그 연결만 닫는다 (브라우저가 재연결해 놓친 댓글을 다시 받는다)
+ * - comment-created 이벤트의 id는 (저장된 초 단위 작성 시각, 댓글 ID) 커서이며, 재연결 시 Last-Event-ID(또는 lastCommentId) 이후에
+ *   작성된 댓글을 작성순으로 최대 replay-limit건 먼저 보낸다. 풀링 ID는 블록 단위로 미리 할당되어 작성순과 다를 수 있으므로
+ *   ID 크기로 비교하지 않는다. 끊긴 동안의 수정·삭제는 재전송하지 않는다
+ * - heartbeat-ms마다 한가한 연결에 주석 행을 보내 끊어진 연결을 정리하고, 구독은 timeout-ms 후 닫혀 브라우저가 재연결한다
+ */
+@Component
+public class CommentStreamBroker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommentStreamBroker.class);
+
+    public static final String EVENT_CREATED = "comment-created";
+    public static final String EVENT_UPDATED = "comment-updated";
+    public static final String EVENT_DELETED = "comment-deleted";
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private AuthorNameResolver authorNameResolver;
+
+    @Value("${comment-stream.max-subscribers:5000}")
+    private int maxSubscribers = 5000;
+
+    @Value("${comment-stream.timeout-ms:1800000}")
+    private long timeoutMs = 1800000;
+
+    @Value("${comment-stream.replay-limit:200}")
+    private int replayLimit = 200;
+
+    @Value("${comment-stream.queue-capacity:10000}")
+    private int queueCapacity = 10000;
+
+    @Value("${comment-stream.sender-threads:4}")
+    private int senderThreads = 4;
+
+    // 연결 하나에 쌓아 둘 수 있는 메시지 수 (넘으면 느린 연결로 보고 닫는다)
+    @Value("${comment-stream.subscriber-queue-capacity:100}")
+    private int subscriberQueueCapacity = 100;
+
+    // postId -> 구독 중인 연결
+    private final ConcurrentHashMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<Long, Set<Subscriber>>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    // 이벤트를 연결별 대기열에 나눠 담는 스레드 (순서 유지)
+    private ThreadPoolExecutor dispatcher;
+    // 연결별 대기열을 보내는 스레드 (연결 하나는 한 번에 한 스레드만 맡는다)
+    private ThreadPoolExecutor sender;
+
+    private final LongAdder subscribed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder slowClosed = new LongAdder();
+
+    // 구독 연결 하나와 그 연결로 보낼 메시지 대기열
+    private static final class Subscriber {
+        final Long postId;
+        final SseEmitter emitter;
+        // 아래 필드는 this로 동기화
+        final ArrayDeque<SseEmitter.SseEventBuilder> pending = new ArrayDeque<SseEmitter.SseEventBuilder>();
+        boolean draining;
+        boolean heartbeatDue;
+        boolean closed;
+
+        Subscriber(Long postId, SseEmitter emitter) {
+            this.postId = postId;
+            this.emitter = emitter;
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        dispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "ej2-comment-stream");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // 대기 작업은 연결당 최대 하나이므로 구독자 상한을 넘지 않는다
+        AtomicInteger threadNumber = new AtomicInteger();
+        sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(), runnable -> {
+                    Thread thread = new Thread(runnable, "ej2-comment-stream-sender-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * 게시글 댓글 스트림 구독
+     * @param lastEventId 마지막으로 받은 comment-created 이벤트의 id (있으면 그 이후 작성된 댓글부터 다시 보낸다)
+     * @param lastCommentId lastEventId가 없을 때 마지막으로 받은 댓글 ID (그 댓글의 작성 시각 이후부터 다시 보낸다)
+     * @return 구독 연결
+     * @throws IllegalArgumentException lastEventId 형식이 잘못된 경우
+     * @throws IllegalStateException 구독자 수가 상한에 도달한 경우
+     */
+    public SseEmitter subscribe(final Long postId, String lastEventId, Long lastCommentId) {
+        Comment resumeAfter = resumePoint(lastEventId, lastCommentId);
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            rejected.increment();
+            throw new IllegalStateException("Too many comment stream subscribers");
+        }
+        final Subscriber subscriber = new Subscriber(postId, new SseEmitter(timeoutMs));
+        subscribers.compute(postId, (k, current) -> {
+            Set<Subscriber> result = current != null ? current : ConcurrentHashMap.<Subscriber>newKeySet();
+            result.add(subscriber);
+            return result;
+        });
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(e -> remove(subscriber));
+        subscribed.increment();
+
+        // 먼저 등록한 뒤 재전송하므로 그 사이 작성된 댓글은 중복될 수 있다 (클라이언트는 댓글 ID로 중복 제거)
+        // 응답이 시작되기 전이므로 SseEmitter가 버퍼에 담아 두었다가 연결되면 보낸다
+        if (resumeAfter != null) {
+            List<Comment> missed = commentRepository.findStreamReplay(
+                    postId, resumeAfter.getCreatedAt(), resumeAfter.getId(), PageRequest.of(0, replayLimit));
+            for (CommentDTO comment : withAuthorNames(missed)) {
+                if (!send(subscriber, message(eventId(comment), EVENT_CREATED, comment))) {
+                    break;
+                }
+                replayed.increment();
+            }
+        }
+        return subscriber.emitter;
+    }
+
+    // 재전송 기준 (작성 시각, 댓글 ID). 댓글 ID만 받은 경우 그 댓글의 작성 시각을 조회한다
+    private Comment resumePoint(String lastEventId, Long lastCommentId) {
+        Comment point = new Comment();
+        if (lastEventId != null && !lastEventId.isEmpty()) {
+            String[] key = PageCursor.decode(lastEventId.trim(), 2);
+            try {
+                // 초 미만이 들어 있는 예전 id도 저장된 정밀도로 맞춘다
+                point.setCreatedAt(storedPrecision(LocalDateTime.parse(key[0])));
+                point.setId(Long.valueOf(key[1]));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid Last-Event-ID: " + lastEventId, e);
+            }
+            return point;
+        }
+        if (lastCommentId == null) {
+            return null;
+        }
+        Optional<Comment> comment = commentRepository.findById(lastCommentId);
+        if (!comment.isPresent()) {
+            return null;
+        }
+        point.setCreatedAt(comment.get().getCreatedAt());
+        point.setId(comment.get().getId());
+        return point;
+    }
+
+    // comment-created 이벤트 id: 저장된 행과 같은 (작성 시각, 댓글 ID)
+    static String eventId(CommentDTO comment) {
+        return PageCursor.encode(storedPrecision(comment.getCreatedAt()), comment.getId());
+    }
+
+    // comments.created_at은 초 단위 DATETIME이다. 커밋 직후 이벤트의 작성 시각은 @PrePersist에서 정한 메모리 값(초 미만 포함)이라
+    // 그대로 id로 쓰면 재연결 시 created_at > 기준 비교에서 같은 초에 저장된 이후 댓글이 빠진다
+    private static LocalDateTime storedPrecision(LocalDateTime createdAt) {
+        return createdAt != null ? createdAt.truncatedTo(ChronoUnit.SECONDS) : null;
+    }
+
+    private void remove(Subscriber subscriber) {
+        Set<Subscriber> current = subscribers.get(subscriber.postId);
+        if (current != null && current.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+            // 같은 키의 compute 안에서 비었는지 확인하므로 동시에 구독한 연결이 빠지지 않는다
+            subscribers.computeIfPresent(subscriber.postId, (k, set) -> set.isEmpty() ? null : set);
+        }
+    }
+
+    /**
+     * 커밋된 댓글 변경을 구독자에게 전달 (구독자가 없으면 아무것도 하지 않는다)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(final CommentChangedEvent event) {
+        if (!subscribers.containsKey(event.getPostId())) {
+            return;
+        }
+        published.increment();
+        try {
+            dispatcher.execute(() -> broadcast(event));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+    }
+
+    private void broadcast(CommentChangedEvent event) {
+        Set<Subscriber> current = subscribers.get(event.getPostId());
+        if (current == null || current.isEmpty()) {
+            return;
+        }
+        String id = null;
+        String name;
+        Object data;
+        switch (event.getType()) {
+            case CREATED:
+                CommentDTO created = withAuthorNames(event.getComment());
+                id = eventId(created);
+                name = EVENT_CREATED;
+                data = created;
+                break;
+            case UPDATED:
+                // 수정·삭제 이벤트에는 id를 붙이지 않는다 (Last-Event-ID는 마지막으로 받은 새 댓글 기준으로 유지)
+                name = EVENT_UPDATED;
+                data = withAuthorNames(event.getComment());
+                break;
+            default:
+                Map<String, Object> deleted = new HashMap<String, Object>();
+                deleted.put("id", event.getCommentId());
+                deleted.put("postId", event.getPostId());
+                deleted.put("softDeleted", event.isSoftDeleted());
+                name = EVENT_DELETED;
+                data = deleted;
+                break;
+        }
+        for (Subscriber subscriber : current) {
+            // SseEventBuilder는 한 번만 build할 수 있으므로 연결마다 새로 만든다
+            enqueue(subscriber, message(id, name, data));
+        }
+    }
+
+    // 연결 대기열에 추가하고, 보내는 중이 아니면 전송 작업을 시작한다 (여기서는 전송을 기다리지 않는다)
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder message) {
+        synchronized (subscriber) {
+            if (subscriber.closed) {
+                return;
+            }
+            if (subscriber.pending.size() >= subscriberQueueCapacity) {
+                // 보내는 중인 스레드가 현재 전송을 마친 뒤 연결을 닫는다
+                subscriber.closed = true;
+                subscriber.pending.clear();
+                slowClosed.increment();
+                remove(subscriber);
+                return;
+            }
+            subscriber.pending.add(message);
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        synchronized (subscriber) {
+            if (subscriber.draining) {
+                return;
+            }
+            subscriber.draining = true;
+        }
+        try {
+            sender.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            // 종료 중이면 이 연결을 닫는다
+            synchronized (subscriber) {
+                subscriber.draining = false;
+                subscriber.closed = true;
+                dropped.add(subscriber.pending.size());
+                subscriber.pending.clear();
+            }
+            remove(subscriber);
+            subscriber.emitter.complete();
+        }
+    }
+
+    // 한 연결의 대기열을 순서대로 보낸다. 연결마다 한 스레드만 실행한다
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            SseEmitter.SseEventBuilder message;
+            boolean heartbeat = false;
+            synchronized (subscriber) {
+                message = subscriber.closed ? null : subscriber.pending.poll();
+                if (message == null && !subscriber.closed && subscriber.heartbeatDue) {
+                    message = SseEmitter.event().comment("keepalive");
+                    heartbeat = true;
+                }
+                subscriber.heartbeatDue = false;
+                if (message == null) {
+                    subscriber.draining = false;
+                    if (!subscriber.closed) {
+                        return;
+                    }
+                }
+            }
+            if (message == null) {
+                // 대기열이 넘쳐 닫힌 연결
+                subscriber.emitter.complete();
+                return;
+            }
+            if (!send(subscriber, message)) {
+                return;
+            }
+            if (!heartbeat) {
+                delivered.increment();
+            }
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder message(String id, String name, Object data) {
+        SseEmitter.SseEventBuilder message = SseEmitter.event();
+        if (id != null) {
+            message.id(id);
+        }
+        return message.name(name).data(data, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * 주기 작업 (기본 25초 간격): 주석 행을 보내 프록시의 유휴 연결 종료를 막고 끊어진 연결을 정리
+     * (보내는 중인 연결은 이미 데이터가 흐르고 있으므로 대기열이 빈 뒤에 한 번만 보낸다)
+     */
+    @Scheduled(fixedDelayString = "${comment-stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Set<Subscriber> current : subscribers.values()) {
+            for (Subscriber subscriber : current) {
+                synchronized (subscriber) {
+                    if (subscriber.closed || subscriber.heartbeatDue) {
+                        continue;
+                    }
+                    subscriber.heartbeatDue = true;
+                }
+                scheduleDrain(subscriber);
+            }
+        }
+    }
+
+    // 전송 실패(연결 끊김)면 구독 해제
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder message) {
+        try {
+            subscriber.emitter.send(message);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Comment stream subscriber of post {} closed: {}", subscriber.postId, e.getMessage());
+            synchronized (subscriber) {
+                subscriber.closed = true;
+                subscriber.draining = false;
+                subscriber.pending.clear();
+            }
+            remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private CommentDTO withAuthorNames(CommentDTO comment) {
+        Map<Long, String> names = authorNameResolver.resolve(Collections.singletonList(comment.getUserId()));
+        String authorNickname = names.get(comment.getUserId());
+        comment.setAuthorNickname(authorNickname != null ? authorNickname : AuthorNameResolver.UNKNOWN_USER);
+        return comment;
+    }
+
+    private List<CommentDTO> withAuthorNames(List<Comment> comments) {
+        List<Long> userIds = new ArrayList<Long>();
+        for (Comment comment : comments) {
+            userIds.add(comment.getUserId());
+        }
+        Map<Long, String> names = authorNameResolver.resolve(userIds);
+        List<CommentDTO> dtoList = new ArrayList<CommentDTO>();
+        for (Comment comment : comments) {
+            String authorNickname = names.get(comment.getUserId());
+            dtoList.add(new CommentDTO(comment, authorNickname != null ? authorNickname : AuthorNameResolver.UNKNOWN_USER));
+        }
+        return dtoList;
+    }
+
+    /**
+     * 종료 시 모든 구독을 닫는다 (브라우저는 재연결해 놓친 댓글을 다시 받는다)
+     */
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        sender.shutdownNow();
+        for (Set<Subscriber> current : subscribers.values()) {
+            for (Subscriber subscriber : current) {
+                subscriber.emitter.complete();
+            }
+        }
+        subscribers.clear();
+    }
+
+    /**
+     * 스트림 상태 (구독자/게시글 수, 구독·거부·재전송·발행·전달·버림 건수, 느려서 닫은 연결 수, 전송 대기열 길이)
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<String, Object>();
+        metrics.put("subscribers", subscriberCount.get());
+        metrics.put("maxSubscribers", maxSubscribers);
+        metrics.put("posts", subscribers.size());
+        metrics.put("subscribed", subscribed.sum());
+        metrics.put("rejected", rejected.sum());
+        metrics.put("replayed", replayed.sum());
+        metrics.put("published", published.sum());
+        metrics.put("delivered", delivered.sum());
+        metrics.put("dropped", dropped.sum());
+        metrics.put("slowClosed", slowClosed.sum());
+        metrics.put("queueSize", dispatcher.getQueue().size());
+        return metrics;
+    }
+}
@@ -0,0 +1,174 @@
+package com.ej2.service;
+
+import com.ej2.event.PostChangedEvent;
+import com.ej2.util.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.http.HttpHeaders;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import javax.servlet.http.HttpServletResponse;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 조건부 GET(ETag / Last-Modified)용 콘텐츠 버전표
+ *
+ * 게시글 상세, 게시판 목록, 전체 목록, 댓글 목록, 게시판 목록(boards)마다
+ * 마지막 변경의 (전역 일련번호, 시각)을 메모리에 기록한다.
+ * 컨트롤러는 쿼리 전에 이 값으로 If-None-Match / If-Modified-Since를 비교해 304를 돌려준다.
+ *
+ * - ETag: "{기동 시각}-{마지막 변경 일련번호}" (재시작하면 모든 ETag가 바뀐다)
+ * - Last-Modified: 마지막 변경 시각 (기동 후 변경이 없으면 기동 시각)
+ * - 변경 기록은 커밋 후에 한다 (커밋 전 데이터가 새 ETag로 캐시되지 않도록)
+ *   같은 변경으로 PostDetailCache도 갱신하는 경우 캐시 쪽을 먼저 호출한다
+ * - 항목 수가 상한을 넘으면 전부 비우고 "그 이전 변경"의 하한값을 올린다.
+ *   기록이 없는 키는 하한값을 쓰므로 ETag가 바뀔 수는 있어도 변경을 놓치지는 않는다.
+ */
+@Component
+public class ContentVersionRegistry {
+
+    private static final String ALL_POSTS = "posts";
+    private static final String BOARDS = "boards";
+
+    @Value("${content-version.max-entries:100000}")
+    private int maxEntries = 100000;
+
+    private final long bootTime = System.currentTimeMillis();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentHashMap<String, Version> versions = new ConcurrentHashMap<String, Version>();
+    private volatile Version floor = new Version(0, bootTime);
+
+    public static final class Version {
+        private final long sequence;
+        private final long modifiedAt;
+
+        private Version(long sequence, long modifiedAt) {
+            this.sequence = sequence;
+            this.modifiedAt = modifiedAt;
+        }
+
+        public long getModifiedAt() {
+            return modifiedAt;
+        }
+    }
+
+    // ==================== 조회 ====================
+
+    public Version post(Long postId) {
+        return get("post:" + postId);
+    }
+
+    public Version board(Long boardId) {
+        return get("board:" + boardId);
+    }
+
+    public Version allPosts() {
+        return get(ALL_POSTS);
+    }
+
+    public Version comments(Long postId) {
+        return get("comments:" + postId);
+    }
+
+    public Version boards() {
+        return get(BOARDS);
+    }
+
+    private Version get(String key) {
+        Version version = versions.get(key);
+        return version != null ? version : floor;
+    }
+
+    /**
+     * 요청의 검증자가 현재 버전과 같은지 확인 (같으면 응답이 304로 설정되며 호출 측은 null을 반환하면 된다)
+     * 달라도 ETag / Last-Modified 헤더는 응답에 설정된다.
+     * 브라우저가 휴리스틱 캐시로 오래된 목록을 보여주지 않도록 매번 재검증(no-cache)하게 한다.
+     */
+    public boolean checkNotModified(WebRequest request, Version version) {
+        if (request instanceof ServletWebRequest) {
+            HttpServletResponse response = ((ServletWebRequest) request).getResponse();
+            if (response != null) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+            }
+        }
+        return request.checkNotModified("\"" + Long.toHexString(bootTime) + "-" + version.sequence + "\"",
+                version.modifiedAt);
+    }
+
+    // ==================== 변경 기록 ====================
+
+    /**
+     * 게시글 내용·카운터 변경 (게시글 상세 + 소속 게시판 목록 + 전체 목록)
+     */
+    public void touchPost(final Long postId, final Long boardId) {
+        AfterCommit.run(new Runnable() {
+            @Override
+            public void run() {
+                bumpPost(postId, boardId);
+            }
+        });
+    }
+
+    /**
+     * 댓글 목록 변경 (작성/수정/삭제/좋아요/블라인드)
+     */
+    public void touchComments(final Long postId) {
+        AfterCommit.run(new Runnable() {
+            @Override
+            public void run() {
+                put("comments:" + postId, next());
+            }
+        });
+    }
+
+    /**
+     * 게시판 정보 변경
+     */
+    public void touchBoards() {
+        AfterCommit.run(new Runnable() {
+            @Override
+            public void run() {
+                put(BOARDS, next());
+            }
+        });
+    }
+
+    /**
+     * 게시글 생성/수정/삭제/블라인드 (커밋 후)
+     * 상세 캐시가 비워진 뒤에 버전을 올려야 새 ETag로 이전 본문이 나가지 않는다
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        // 이미 커밋 후 단계이므로 바로 기록 (이 단계에서 등록한 커밋 후 콜백은 실행되지 않는다)
+        bumpPost(event.getPostId(), event.getBoardId());
+    }
+
+    private void bumpPost(Long postId, Long boardId) {
+        Version version = next();
+        put("post:" + postId, version);
+        if (boardId != null) {
+            put("board:" + boardId, version);
+        }
+        put(ALL_POSTS, version);
+    }
+
+    private Version next() {
+        return new Version(sequence.incrementAndGet(), System.currentTimeMillis());
+    }
+
+    private void put(String key, Version version) {
+        if (versions.size() >= maxEntries) {
+            // 비우기 전에 하한을 올려 두어야 기록이 사라진 키가 이전 ETag와 일치하지 않는다
+            floor = new Version(sequence.get(), System.currentTimeMillis());
+            versions.clear();
+        }
+        versions.put(key, version);
+    }
+}
@@ -0,0 +1,309 @@
+package com.ej2.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 비정규화 카운터 대조·보정 작업
+ *
+ * posts의 comment_count / like_count / dislike_count / reported_count와 comments의 like_count를
+ * 원본 테이블(comments, post_reactions, reports, comment_like_logs) 집계와 비교해 어긋난 행만 고친다.
+ * 전체 테이블 GROUP BY 대신 한 번에 chunk-size건씩 나눠 처리한다.
+ * - 먼저 CounterService가 dirty로 표시한 (최근 카운터가 바뀐) 게시글·댓글
+ * - 이어서 posts를 id 순 keyset으로 한 청크씩 순회 (끝까지 가면 처음부터 다시)
+ * 카운터 증감은 updated_at을 바꾸지 않으므로 updated_at 워터마크 대신 dirty 표시 + 전체 순회를 쓴다.
+ * 주기(interval-ms)마다 청크 하나만 처리하므로 운영 중에 계속 돌려도 부하가 일정하다.
+ * 보정은 행마다 집계 서브쿼리로 값을 다시 계산해 쓰는 UPDATE를 배치로 실행하며,
+ * 샤드 모드 게시글은 posts 행이 아직 최종값이 아니므로 건너뛴다 (대조 후 승격된 경우도 UPDATE 조건으로 제외).
+ */
+@Component
+public class CounterReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CounterReconciler.class);
+
+    private static final String[] POST_COUNTERS = {"comment_count", "like_count", "dislike_count", "reported_count"};
+
+    private static final String POST_ACTUAL_COMMENTS =
+            "(SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id AND COALESCE(c.is_deleted, 0) = 0)";
+    private static final String POST_ACTUAL_LIKES =
+            "(SELECT COUNT(*) FROM post_reactions r WHERE r.post_id = p.id AND r.reaction_type = 'LIKE')";
+    private static final String POST_ACTUAL_DISLIKES =
+            "(SELECT COUNT(*) FROM post_reactions r WHERE r.post_id = p.id AND r.reaction_type = 'DISLIKE')";
+    private static final String POST_ACTUAL_REPORTS =
+            "(SELECT COUNT(*) FROM reports rp WHERE rp.report_type = 'POST' AND rp.entity_id = p.id)";
+    private static final String COMMENT_ACTUAL_LIKES =
+            "(SELECT COUNT(*) FROM comment_like_logs l WHERE l.comment_id = c.id)";
+
+    private static final String POST_COMPARE_SQL =
+            "SELECT p.id, p.board_id, "
+            + "COALESCE(p.comment_count, 0), " + POST_ACTUAL_COMMENTS + ", "
+            + "COALESCE(p.like_count, 0), " + POST_ACTUAL_LIKES + ", "
+            + "COALESCE(p.dislike_count, 0), " + POST_ACTUAL_DISLIKES + ", "
+            + "COALESCE(p.reported_count, 0), " + POST_ACTUAL_REPORTS + " "
+            + "FROM posts p WHERE p.id IN ";
+    private static final String POST_REPAIR_SQL =
+            "UPDATE posts p SET p.comment_count = " + POST_ACTUAL_COMMENTS + ", p.like_count = " + POST_ACTUAL_LIKES
+            + ", p.dislike_count = " + POST_ACTUAL_DISLIKES + ", p.reported_count = " + POST_ACTUAL_REPORTS
+            + " WHERE p.id = ? AND NOT EXISTS (SELECT 1 FROM post_counter_shards s WHERE s.post_id = p.id)";
+
+    private static final String COMMENT_COMPARE_SQL =
+            "SELECT c.id, c.post_id, COALESCE(c.like_count, 0), " + COMMENT_ACTUAL_LIKES + " FROM comments c WHERE c.";
+    private static final String COMMENT_REPAIR_SQL =
+            "UPDATE comments c SET c.like_count = " + COMMENT_ACTUAL_LIKES + " WHERE c.id = ?";
+
+    private static final int MAX_RECENT_DRIFTS = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CounterService counterService;
+
+    @Autowired
+    private PostDetailCache postDetailCache;
+
+    @Autowired
+    private ContentVersionRegistry contentVersionRegistry;
+
+    @Value("${counter.reconcile.enabled:true}")
+    private boolean enabled = true;
+
+    // false면 어긋남을 기록만 하고 고치지 않는다
+    @Value("${counter.reconcile.repair:true}")
+    private boolean repair = true;
+
+    // 한 주기에 대조하는 게시글 수 (dirty 처리와 순회 각각)
+    @Value("${counter.reconcile.chunk-size:200}")
+    private int chunkSize = 200;
+
+    private volatile long sweepCursor = 0;
+    private final AtomicLong sweepPasses = new AtomicLong();
+    private volatile long lastPassCompletedAt = 0;
+
+    private final AtomicLong scannedPosts = new AtomicLong();
+    private final AtomicLong scannedComments = new AtomicLong();
+    private final AtomicLong skippedShardedPosts = new AtomicLong();
+    private final AtomicLong repairedPosts = new AtomicLong();
+    private final AtomicLong repairedComments = new AtomicLong();
+    // 카운터별 어긋난 행 수, 어긋난 양(절댓값 합)
+    private final Map<String, AtomicLong> driftedRows = new LinkedHashMap<String, AtomicLong>();
+    private final Map<String, AtomicLong> driftAmount = new LinkedHashMap<String, AtomicLong>();
+    private final Deque<Map<String, Object>> recentDrifts = new ArrayDeque<Map<String, Object>>();
+    private volatile long lastRunAt = 0;
+    private volatile long lastRunFailedAt = 0;
+
+    public CounterReconciler() {
+        for (String column : POST_COUNTERS) {
+            driftedRows.put("posts." + column, new AtomicLong());
+            driftAmount.put("posts." + column, new AtomicLong());
+        }
+        driftedRows.put("comments.like_count", new AtomicLong());
+        driftAmount.put("comments.like_count", new AtomicLong());
+    }
+
+    /**
+     * 주기 작업 (기본 1초 간격): dirty 청크 + 순회 청크 하나씩
+     */
+    @Scheduled(fixedDelayString = "${counter.reconcile.interval-ms:1000}")
+    public void scheduledReconcile() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            runOnce();
+        } catch (RuntimeException e) {
+            // 순회 위치는 청크를 끝낸 뒤에만 옮기므로 다음 주기에 같은 청크부터 다시 한다
+            lastRunFailedAt = System.currentTimeMillis();
+            logger.warn("Counter reconciliation failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * dirty 게시글·댓글을 대조한 뒤 순회 청크 하나를 대조
+     */
+    public synchronized void runOnce() {
+        Set<Long> dirtyPosts = counterService.pollDirtyPosts(chunkSize);
+        if (!dirtyPosts.isEmpty()) {
+            reconcilePosts(dirtyPosts);
+            reconcileComments("post_id", dirtyPosts);
+        }
+        Set<Long> dirtyComments = counterService.pollDirtyComments(chunkSize);
+        if (!dirtyComments.isEmpty()) {
+            reconcileComments("id", dirtyComments);
+        }
+
+        List<Long> chunk = jdbcTemplate.queryForList(
+                "SELECT id FROM posts WHERE id > ? ORDER BY id LIMIT ?", Long.class, sweepCursor, chunkSize);
+        if (!chunk.isEmpty()) {
+            reconcilePosts(chunk);
+            reconcileComments("post_id", chunk);
+        }
+        if (chunk.size() < chunkSize) {
+            sweepCursor = 0;
+            sweepPasses.incrementAndGet();
+            lastPassCompletedAt = System.currentTimeMillis();
+        } else {
+            sweepCursor = chunk.get(chunk.size() - 1);
+        }
+        lastRunAt = System.currentTimeMillis();
+    }
+
+    private void reconcilePosts(Collection<Long> candidates) {
+        List<Long> postIds = new ArrayList<Long>(candidates.size());
+        Set<Long> withShards = new HashSet<Long>(jdbcTemplate.queryForList(
+                "SELECT DISTINCT post_id FROM post_counter_shards", Long.class));
+        for (Long postId : candidates) {
+            if (counterService.hasPendingShards(postId) || withShards.contains(postId)) {
+                skippedShardedPosts.incrementAndGet();
+            } else {
+                postIds.add(postId);
+            }
+        }
+        if (postIds.isEmpty()) {
+            return;
+        }
+
+        final Map<Long, Long> drifted = new LinkedHashMap<Long, Long>();
+        jdbcTemplate.query(POST_COMPARE_SQL + placeholders(postIds.size()), new RowCallbackHandler() {
+            @Override
+            public void processRow(ResultSet rs) throws SQLException {
+                long postId = rs.getLong(1);
+                boolean rowDrifted = false;
+                for (int i = 0; i < POST_COUNTERS.length; i++) {
+                    int stored = rs.getInt(3 + i * 2);
+                    int actual = rs.getInt(4 + i * 2);
+                    if (stored != actual) {
+                        recordDrift("posts." + POST_COUNTERS[i], postId, stored, actual);
+                        rowDrifted = true;
+                    }
+                }
+                if (rowDrifted) {
+                    drifted.put(postId, rs.getLong(2));
+                }
+            }
+        }, postIds.toArray());
+        scannedPosts.addAndGet(postIds.size());
+
+        if (repair && !drifted.isEmpty()) {
+            jdbcTemplate.batchUpdate(POST_REPAIR_SQL, idArgs(drifted.keySet()));
+            for (Map.Entry<Long, Long> entry : drifted.entrySet()) {
+                postDetailCache.invalidate(entry.getKey());
+                contentVersionRegistry.touchPost(entry.getKey(), entry.getValue());
+            }
+            repairedPosts.addAndGet(drifted.size());
+        }
+    }
+
+    // column: "post_id" (게시글의 모든 댓글) 또는 "id" (지정한 댓글)
+    private void reconcileComments(String column, Collection<Long> ids) {
+        final Map<Long, Long> drifted = new LinkedHashMap<Long, Long>();
+        final AtomicLong scanned = new AtomicLong();
+        jdbcTemplate.query(COMMENT_COMPARE_SQL + column + " IN " + placeholders(ids.size()), new RowCallbackHandler() {
+            @Override
+            public void processRow(ResultSet rs) throws SQLException {
+                scanned.incrementAndGet();
+                int stored = rs.getInt(3);
+                int actual = rs.getInt(4);
+                if (stored != actual) {
+                    recordDrift("comments.like_count", rs.getLong(1), stored, actual);
+                    drifted.put(rs.getLong(1), rs.getLong(2));
+                }
+            }
+        }, ids.toArray());
+        scannedComments.addAndGet(scanned.get());
+
+        if (repair && !drifted.isEmpty()) {
+            jdbcTemplate.batchUpdate(COMMENT_REPAIR_SQL, idArgs(drifted.keySet()));
+            for (Long postId : new HashSet<Long>(drifted.values())) {
+                contentVersionRegistry.touchComments(postId);
+            }
+            repairedComments.addAndGet(drifted.size());
+        }
+    }
+
+    private void recordDrift(String counter, long id, int stored, int actual) {
+        driftedRows.get(counter).incrementAndGet();
+        driftAmount.get(counter).addAndGet(Math.abs((long) actual - stored));
+
+        Map<String, Object> drift = new LinkedHashMap<String, Object>();
+        drift.put("counter", counter);
+        drift.put("id", id);
+        drift.put("stored", stored);
+        drift.put("actual", actual);
+        drift.put("foundAt", System.currentTimeMillis());
+        synchronized (recentDrifts) {
+            recentDrifts.addFirst(drift);
+            if (recentDrifts.size() > MAX_RECENT_DRIFTS) {
+                recentDrifts.removeLast();
+            }
+        }
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder("(");
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.append(")").toString();
+    }
+
+    private static List<Object[]> idArgs(Collection<Long> ids) {
+        List<Object[]> args = new ArrayList<Object[]>(ids.size());
+        for (Long id : ids) {
+            args.add(new Object[]{id});
+        }
+        return args;
+    }
+
+    /**
+     * 대조 진행 상황과 발견한 어긋남
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<String, Object>();
+        stats.put("enabled", enabled);
+        stats.put("repair", repair);
+        stats.put("chunkSize", chunkSize);
+        stats.put("sweepCursor", sweepCursor);
+        stats.put("sweepPasses", sweepPasses.get());
+        stats.put("lastPassCompletedAt", lastPassCompletedAt);
+        stats.put("scannedPosts", scannedPosts.get());
+        stats.put("scannedComments", scannedComments.get());
+        stats.put("skippedShardedPosts", skippedShardedPosts.get());
+        stats.put("repairedPosts", repairedPosts.get());
+        stats.put("repairedComments", repairedComments.get());
+        Map<String, Object> drift = new LinkedHashMap<String, Object>();
+        for (Map.Entry<String, AtomicLong> entry : driftedRows.entrySet()) {
+            Map<String, Object> counter = new HashMap<String, Object>();
+            counter.put("rows", entry.getValue().get());
+            counter.put("amount", driftAmount.get(entry.getKey()).get());
+            drift.put(entry.getKey(), counter);
+        }
+        stats.put("drift", drift);
+        synchronized (recentDrifts) {
+            stats.put("recentDrifts", new ArrayList<Map<String, Object>>(recentDrifts));
+        }
+        stats.put("lastRunAt", lastRunAt);
+        stats.put("lastRunFailedAt", lastRunFailedAt);
+        return stats;
+    }
+}
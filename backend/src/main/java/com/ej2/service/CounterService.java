@@ -0,0 +1,301 @@
+package com.ej2.service;
+
+import com.ej2.event.PostChangedEvent;
+import com.ej2.repository.CounterRepository;
+import com.ej2.repository.CounterRepository.Counter;
+import com.ej2.repository.PostRepository;
+import com.ej2.util.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 카운터 증감 창구 (인기 게시글 샤드 카운터 포함)
+ *
+ * 평소에는 CounterRepository의 원자적 UPDATE로 posts/comments 행을 바로 증감한다.
+ * 한 게시글에 쓰기가 몰리면 (초당 쓰기 수가 임계값 이상) 그 게시글을 샤드 모드로 승격해
+ * 증감분을 post_counter_shards의 N개 슬롯 중 임의의 하나에 기록하므로 posts 행 잠금 대기가 생기지 않는다.
+ * - 슬롯은 주기적으로 posts 행에 합산 후 삭제 (목록 등 posts를 직접 읽는 쪽은 최대 한 주기 늦은 합계를 본다)
+ * - 게시글 상세는 pendingDeltas()로 아직 합산되지 않은 슬롯 합계를 더해서 보여준다
+ * - 쓰기가 줄어든 상태가 일정 시간 이어지면 강등 (남은 슬롯은 다음 합산 주기에 반영)
+ * - 슬롯 쓰기도 호출 측 트랜잭션에 참여하므로 롤백되면 함께 취소된다
+ * 조회수는 ViewCountAggregator의 배치 플러시로 이미 행 잠금 경합이 없으므로 대상이 아니다.
+ * 증감한 게시글·댓글은 dirty로 표시해 CounterReconciler가 로그 테이블과 우선 대조한다.
+ * 게시글 카운터가 바뀌면 커밋 후 (샤드 모드면 합산 후) 인기도 점수 재계산 대상으로도 표시한다.
+ */
+@Service
+public class CounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CounterService.class);
+
+    @Autowired
+    private CounterRepository counterRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private ContentVersionRegistry contentVersionRegistry;
+
+    @Autowired
+    private PostPopularityRefresher popularityRefresher;
+
+    @Autowired
+    private TrendingDetector trendingDetector;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${counter.shard.slots:8}")
+    private int slots = 8;
+
+    @Value("${counter.shard.promote-writes-per-sec:20}")
+    private double promoteWritesPerSec = 20;
+
+    @Value("${counter.shard.demote-writes-per-sec:5}")
+    private double demoteWritesPerSec = 5;
+
+    @Value("${counter.shard.demote-after-ms:60000}")
+    private long demoteAfterMs = 60000;
+
+    @Value("${counter.shard.max-posts:100}")
+    private int maxShardedPosts = 100;
+
+    // dirty 표시 상한 (넘치면 표시하지 않고 정기 순회에 맡긴다)
+    @Value("${counter.reconcile.max-dirty:10000}")
+    private int maxDirty = 10000;
+
+    // 현재 측정 구간의 게시글별 카운터 쓰기 수
+    private final ConcurrentHashMap<Long, LongAdder> writes = new ConcurrentHashMap<Long, LongAdder>();
+    private volatile long windowStartedAt = System.currentTimeMillis();
+
+    // 샤드 모드 게시글 → 쓰기가 임계값 아래로 내려간 시각 (0이면 아직 바쁨)
+    private final ConcurrentHashMap<Long, Long> sharded = new ConcurrentHashMap<Long, Long>();
+    // 강등되었지만 아직 슬롯이 합산되지 않았을 수 있는 게시글
+    private final Set<Long> draining = ConcurrentHashMap.newKeySet();
+
+    // 마지막 대조 이후 카운터가 바뀐 게시글/댓글
+    private final Set<Long> dirtyPosts = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyComments = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder shardWrites = new LongAdder();
+    private final LongAdder promotions = new LongAdder();
+    private final LongAdder demotions = new LongAdder();
+    private final LongAdder compactedPosts = new LongAdder();
+    private volatile long lastCompactAt = 0;
+    private volatile long lastCompactFailedAt = 0;
+
+    /**
+     * 카운터 증감 (0 미만으로 내려가지 않는다)
+     * @return 대상 행이 없으면 false (샤드 모드 게시글은 합산 시점에 반영되므로 항상 true)
+     */
+    public boolean add(Counter counter, Long id, int delta) {
+        if (delta == 0) {
+            return true;
+        }
+        if (!counter.isPostCounter()) {
+            markDirty(dirtyComments, id);
+            return counterRepository.add(counter, id, delta) != null;
+        }
+        markDirty(dirtyPosts, id);
+        AfterCommit.run(() -> {
+            popularityRefresher.markDirty(id);
+            trendingDetector.onCounterChanged(counter, id, delta);
+        });
+
+        LongAdder adder = writes.get(id);
+        if (adder == null) {
+            adder = writes.computeIfAbsent(id, k -> new LongAdder());
+        }
+        adder.increment();
+
+        if (sharded.containsKey(id)) {
+            counterRepository.addToShard(counter, id, ThreadLocalRandom.current().nextInt(slots), delta);
+            shardWrites.increment();
+            return true;
+        }
+        return counterRepository.add(counter, id, delta) != null;
+    }
+
+    private void markDirty(Set<Long> dirty, Long id) {
+        if (dirty.size() < maxDirty) {
+            dirty.add(id);
+        }
+    }
+
+    /**
+     * dirty 게시글을 최대 max건 꺼낸다 (꺼낸 게시글은 표시 해제)
+     */
+    public Set<Long> pollDirtyPosts(int max) {
+        return poll(dirtyPosts, max);
+    }
+
+    /**
+     * dirty 댓글을 최대 max건 꺼낸다 (꺼낸 댓글은 표시 해제)
+     */
+    public Set<Long> pollDirtyComments(int max) {
+        return poll(dirtyComments, max);
+    }
+
+    private Set<Long> poll(Set<Long> dirty, int max) {
+        Set<Long> polled = new LinkedHashSet<Long>();
+        Iterator<Long> it = dirty.iterator();
+        while (it.hasNext() && polled.size() < max) {
+            polled.add(it.next());
+            it.remove();
+        }
+        return polled;
+    }
+
+    /**
+     * 샤드 모드이거나 슬롯 합산을 기다리는 게시글인지 (posts 행의 카운터가 아직 최종값이 아님)
+     */
+    public boolean hasPendingShards(Long postId) {
+        return sharded.containsKey(postId) || draining.contains(postId);
+    }
+
+    /**
+     * 샤드 모드 게시글의 아직 posts 행에 합산되지 않은 증감분 (샤드 모드가 아니면 빈 맵)
+     */
+    public Map<Counter, Integer> pendingDeltas(Long postId) {
+        if (!sharded.containsKey(postId) && !draining.contains(postId)) {
+            return Collections.emptyMap();
+        }
+        return counterRepository.sumShards(postId);
+    }
+
+    /**
+     * 삭제/블라인드된 게시글은 샤드 모드 해제 (남은 슬롯은 다음 합산 주기에 정리)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.isRemoval()) {
+            sharded.remove(event.getPostId());
+            draining.remove(event.getPostId());
+        }
+    }
+
+    /**
+     * 주기 작업 (기본 5초 간격): 쓰기 속도로 승격/강등을 판단한 뒤 슬롯을 posts 행에 합산
+     */
+    @Scheduled(fixedDelayString = "${counter.shard.compact-interval-ms:5000}")
+    public void scheduledCompact() {
+        evaluate();
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            // 합산하지 못한 슬롯은 그대로 남으므로 다음 주기에 재시도
+            lastCompactFailedAt = System.currentTimeMillis();
+            logger.warn("Counter shard compaction failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    // 측정 구간의 초당 쓰기 수로 승격/강등
+    private void evaluate() {
+        long now = System.currentTimeMillis();
+        double elapsedSec = Math.max(now - windowStartedAt, 1) / 1000.0;
+        windowStartedAt = now;
+
+        Map<Long, Double> rates = new HashMap<Long, Double>();
+        Iterator<Map.Entry<Long, LongAdder>> it = writes.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, LongAdder> entry = it.next();
+            // 제거 직후의 쓰기는 다음 구간에 세지 않을 수 있으나 속도 추정에는 영향이 작다
+            it.remove();
+            rates.put(entry.getKey(), entry.getValue().sum() / elapsedSec);
+        }
+
+        for (Map.Entry<Long, Double> entry : rates.entrySet()) {
+            if (entry.getValue() >= promoteWritesPerSec && !sharded.containsKey(entry.getKey())
+                    && sharded.size() < maxShardedPosts) {
+                sharded.put(entry.getKey(), 0L);
+                promotions.increment();
+                logger.info("Post {} promoted to sharded counters ({} writes/s)", entry.getKey(),
+                        Math.round(entry.getValue()));
+            }
+        }
+
+        for (Map.Entry<Long, Long> entry : sharded.entrySet()) {
+            Double rate = rates.get(entry.getKey());
+            if (rate != null && rate >= demoteWritesPerSec) {
+                entry.setValue(0L);
+            } else if (entry.getValue() == 0L) {
+                entry.setValue(now);
+            } else if (now - entry.getValue() >= demoteAfterMs) {
+                // 이후 쓰기는 posts 행으로 간다. 강등 직전에 쓰인 슬롯은 DB 기준으로 합산되므로 누락되지 않는다
+                draining.add(entry.getKey());
+                sharded.remove(entry.getKey());
+                demotions.increment();
+                logger.info("Post {} demoted from sharded counters", entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * 슬롯이 남아 있는 모든 게시글을 posts 행에 합산 (강등/삭제된 게시글과 재시작 전에 남은 슬롯 포함)
+     * @return 합산한 게시글 수
+     */
+    public synchronized int compact() {
+        Set<Long> postIds = new LinkedHashSet<Long>(counterRepository.findShardedPostIds());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Set<Long> failed = new LinkedHashSet<Long>();
+        int compacted = 0;
+        for (final Long postId : postIds) {
+            // 게시글별 트랜잭션: 슬롯 잠금을 짧게 유지하고, 한 게시글의 실패가 다른 게시글 합산을 막지 않도록
+            try {
+                Map<Counter, Integer> folded = transaction.execute(status -> counterRepository.drainShards(postId));
+                if (folded != null && !folded.isEmpty()) {
+                    // posts를 직접 읽는 목록의 합계가 바뀌었으므로 ETag도 갱신
+                    contentVersionRegistry.touchPost(postId, postRepository.findBoardIdById(postId));
+                    popularityRefresher.markDirty(postId);
+                    compacted++;
+                }
+            } catch (RuntimeException e) {
+                failed.add(postId);
+                lastCompactFailedAt = System.currentTimeMillis();
+                logger.warn("Counter shard compaction failed for post {}, will retry: {}", postId, e.getMessage());
+            }
+        }
+        draining.retainAll(failed);
+        compactedPosts.add(compacted);
+        lastCompactAt = System.currentTimeMillis();
+        return compacted;
+    }
+
+    /**
+     * 샤드 카운터 상태
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<String, Object>();
+        stats.put("shardedPosts", sharded.size());
+        stats.put("shardedPostIds", new LinkedHashSet<Long>(sharded.keySet()));
+        stats.put("slots", slots);
+        stats.put("promoteWritesPerSec", promoteWritesPerSec);
+        stats.put("demoteWritesPerSec", demoteWritesPerSec);
+        stats.put("shardWrites", shardWrites.sum());
+        stats.put("promotions", promotions.sum());
+        stats.put("demotions", demotions.sum());
+        stats.put("compactedPosts", compactedPosts.sum());
+        stats.put("lastCompactAt", lastCompactAt);
+        stats.put("lastCompactFailedAt", lastCompactFailedAt);
+        stats.put("dirtyPosts", dirtyPosts.size());
+        stats.put("dirtyComments", dirtyComments.size());
+        return stats;
+    }
+}
@@ -0,0 +1,258 @@
+package com.ej2.service;
+
+import com.ej2.event.PostChangedEvent;
+import com.ej2.repository.PostLikeHourlyRepository;
+import com.ej2.repository.PostRepository;
+import com.ej2.util.AfterCommit;
+import com.ej2.util.HourlyBuckets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 기간별(일/주/월) 좋아요 카운터
+ *
+ * 좋아요순 정렬마다 post_reactions를 게시판 전체에 대해 GROUP BY 하는 대신,
+ * 좋아요 토글 시 게시글별 시간 버킷(post_like_hourly 롤업 + 메모리 HourlyBuckets)을 증감하고
+ * 기간 합계는 최대 720개 버킷의 합으로 계산한다.
+ * 좋아요 취소는 원래 좋아요가 눌린 시각의 버킷에서 차감한다.
+ * 메모리 버킷은 커밋 후에 반영하며, 기동 시 최근 30일분 롤업으로 복원한다.
+ */
+@Component
+public class LikeWindowCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LikeWindowCounter.class);
+
+    public static final int DAY_HOURS = 24;
+    public static final int WEEK_HOURS = 24 * 7;
+    public static final int MONTH_HOURS = 24 * 30;
+
+    @Autowired
+    private PostLikeHourlyRepository postLikeHourlyRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    // 순위 재사용 시간 (페이지마다 전체 게시글 버킷을 다시 합산하지 않도록)
+    @Value("${like.window.rank-cache-ms:10000}")
+    private long rankCacheMs = 10000;
+
+    // postId → (게시판, 시간 버킷)
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<Long, Entry>();
+    // "게시판ID:기간" → 최근 계산한 순위
+    private final ConcurrentHashMap<String, Ranking> rankings = new ConcurrentHashMap<String, Ranking>();
+    private final AtomicBoolean started = new AtomicBoolean(false);
+
+    private static final class Entry {
+        final Long boardId;
+        final HourlyBuckets buckets = new HourlyBuckets();
+
+        Entry(Long boardId) {
+            this.boardId = boardId;
+        }
+    }
+
+    /**
+     * 기간 내 좋아요 순위 (계산 시점 기준, 변경하지 않는다)
+     */
+    public static final class Ranking {
+        private final List<Long> ids;
+        private final Map<Long, Integer> positions;
+        private final long computedAt;
+
+        Ranking(List<Long> ids, long computedAt) {
+            this.ids = Collections.unmodifiableList(ids);
+            this.positions = new HashMap<Long, Integer>(ids.size() * 2);
+            for (int i = 0; i < ids.size(); i++) {
+                positions.put(ids.get(i), i);
+            }
+            this.computedAt = computedAt;
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        public boolean contains(Long postId) {
+            return positions.containsKey(postId);
+        }
+
+        // 순위에서의 위치 (없으면 -1)
+        public int indexOf(Long postId) {
+            Integer position = positions.get(postId);
+            return position != null ? position : -1;
+        }
+    }
+
+    /**
+     * 기동 시 최근 30일분 롤업을 메모리로 복원
+     * 웹 컨텍스트의 refresh 이벤트도 전달되므로 한 번만 실행한다
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            LocalDateTime since = currentBucket().minusHours(MONTH_HOURS - 1);
+            int rows = 0;
+            for (Object[] row : postLikeHourlyRepository.findBucketsSince(since)) {
+                Long postId = (Long) row[0];
+                Long boardId = (Long) row[1];
+                Entry entry = entries.get(postId);
+                if (entry == null) {
+                    entry = entries.computeIfAbsent(postId, k -> new Entry(boardId));
+                }
+                entry.buckets.add(hourOf((LocalDateTime) row[2]), (Integer) row[3]);
+                rows++;
+            }
+            logger.info("Like window counter loaded: {} posts, {} buckets", entries.size(), rows);
+        } catch (RuntimeException e) {
+            logger.error("Failed to load like window buckets", e);
+        }
+    }
+
+    /**
+     * 좋아요 증감 기록 (호출 측 트랜잭션 안에서 롤업 갱신, 메모리는 커밋 후 반영)
+     * 블라인드된 게시글은 롤업만 갱신하고 메모리 순위에는 넣지 않는다
+     * @param likedAt 좋아요가 눌린 시각 (취소 시에는 원래 좋아요 시각)
+     * @param delta +1 (좋아요) / -1 (좋아요 취소)
+     */
+    public void record(Long postId, LocalDateTime likedAt, int delta) {
+        LocalDateTime bucketHour = likedAt.truncatedTo(ChronoUnit.HOURS);
+        if (bucketHour.isBefore(currentBucket().minusHours(MONTH_HOURS - 1))) {
+            // 보존 기간 밖의 좋아요 취소는 어떤 기간 합계에도 영향이 없다
+            return;
+        }
+        postLikeHourlyRepository.addToBucket(postId, bucketHour, delta);
+
+        final Long boardId = boardIdOf(postId);
+        if (boardId == null) {
+            return;
+        }
+        final int hour = hourOf(bucketHour);
+        AfterCommit.run(new Runnable() {
+            @Override
+            public void run() {
+                apply(postId, boardId, hour, delta);
+            }
+        });
+    }
+
+    // 추적 중이 아니면 DB에서 읽는다 (삭제·블라인드된 게시글이면 null)
+    private Long boardIdOf(Long postId) {
+        Entry entry = entries.get(postId);
+        return entry != null ? entry.boardId : postRepository.findVisibleBoardIdById(postId);
+    }
+
+    private void apply(Long postId, Long boardId, int hour, int delta) {
+        Entry entry = entries.get(postId);
+        if (entry == null) {
+            if (delta < 0) {
+                return;
+            }
+            entry = entries.computeIfAbsent(postId, k -> new Entry(boardId));
+        }
+        entry.buckets.add(hour, delta);
+    }
+
+    /**
+     * 게시판의 기간 내 좋아요 순위 (좋아요 수 내림차순, 같으면 ID 내림차순)
+     * 기간 내 좋아요가 없는 게시글은 포함하지 않는다. 같은 (게시판, 기간)은 rank-cache-ms 동안 계산 결과를 공유한다
+     * @param windowHours 기간 (DAY_HOURS / WEEK_HOURS / MONTH_HOURS)
+     */
+    public Ranking ranking(Long boardId, int windowHours) {
+        String key = boardId + ":" + windowHours;
+        long now = System.currentTimeMillis();
+        Ranking cached = rankings.get(key);
+        if (cached != null && now - cached.computedAt < rankCacheMs) {
+            return cached;
+        }
+        Ranking ranking = new Ranking(rankedIds(boardId, windowHours), now);
+        rankings.put(key, ranking);
+        return ranking;
+    }
+
+    private List<Long> rankedIds(Long boardId, int windowHours) {
+        int fromHour = hourOf(currentBucket()) - windowHours + 1;
+        List<long[]> scored = new ArrayList<long[]>();
+        for (Map.Entry<Long, Entry> e : entries.entrySet()) {
+            if (!e.getValue().boardId.equals(boardId)) {
+                continue;
+            }
+            int likes = e.getValue().buckets.sumSince(fromHour);
+            if (likes > 0) {
+                scored.add(new long[]{likes, e.getKey()});
+            }
+        }
+        Collections.sort(scored, (a, b) -> a[0] != b[0] ? Long.compare(b[0], a[0]) : Long.compare(b[1], a[1]));
+
+        List<Long> ids = new ArrayList<Long>(scored.size());
+        for (long[] score : scored) {
+            ids.add(score[1]);
+        }
+        return ids;
+    }
+
+    /**
+     * 삭제/블라인드된 게시글은 정렬 대상에서 제외 (커밋 후)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.isRemoval()) {
+            entries.remove(event.getPostId());
+        }
+    }
+
+    /**
+     * 조회 시 보이지 않는 것으로 확인된 게시글을 정렬 대상에서 제외
+     * (블라인드와 동시에 들어온 좋아요가 커밋 후 항목을 다시 만든 경우)
+     */
+    public void discard(Collection<Long> postIds) {
+        for (Long postId : postIds) {
+            entries.remove(postId);
+        }
+    }
+
+    /**
+     * 보존 기간(30일)이 지난 버킷 정리 (매시 5분)
+     */
+    @Scheduled(cron = "0 5 * * * *")
+    @Transactional
+    public void prune() {
+        LocalDateTime oldest = currentBucket().minusHours(MONTH_HOURS - 1);
+        int minHour = hourOf(oldest);
+        entries.entrySet().removeIf(e -> e.getValue().buckets.pruneBefore(minHour));
+        int deleted = postLikeHourlyRepository.deleteOlderThan(oldest);
+        if (deleted > 0) {
+            logger.info("Pruned {} expired like buckets", deleted);
+        }
+    }
+
+    private static LocalDateTime currentBucket() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private static int hourOf(LocalDateTime bucketHour) {
+        return HourlyBuckets.hourOf(bucketHour.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+}
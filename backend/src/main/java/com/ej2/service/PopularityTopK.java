@@ -0,0 +1,283 @@
+package com.ej2.service;
+
+import com.ej2.dto.PopularPostDTO;
+import com.ej2.mapper.RankingMapper;
+import com.ej2.util.TopKRanking;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 인기글 메모리 랭킹 (게시판 × 기간별 top-K)
+ *
+ * (게시판 또는 전체, daily/weekly/monthly/all)마다 상위 capacity건을 TopKRanking으로 메모리에 두고,
+ * 그 범위 안의 페이지 요청은 DB 없이 응답한다. 범위를 넘는 페이지는 Optional.empty()로 DB 조회에 맡긴다.
+ * - 처음 요청된 (게시판, 기간)은 post_popularity 인덱스 순서로 capacity건을 읽어 적재한다
+ * - 좋아요·댓글·조회수 등으로 PostPopularityRefresher가 점수를 다시 계산한 게시글은 현재 값으로 갱신한다
+ * - PostPopularityRefresher가 post_popularity 감쇠 재계산을 마칠 때마다(decay-interval-ms) 그 직후에
+ *   RankingMapper.xml의 popularityScore와 같은 공식으로 메모리에서 다시 계산해 시간 감쇠와 기간 이탈을 반영한다.
+ *   DB와 같은 주기로 감쇠하므로 메모리 범위(top-K)와 그 뒤 DB 페이지의 점수 기준이 어긋나지 않는다.
+ *   정확성을 보장할 수 없게 된 하위 항목은 버리고, 절반 아래로 줄거나 reload-interval-ms가 지나면 DB에서 다시 적재한다
+ * - idle-ms 동안 요청이 없던 (게시판, 기간)은 내려놓아 메모리를 회수한다
+ */
+@Component
+public class PopularityTopK {
+
+    private static final Logger logger = LoggerFactory.getLogger(PopularityTopK.class);
+
+    private static final Map<String, Integer> PERIOD_DAYS = new HashMap<String, Integer>();
+
+    static {
+        PERIOD_DAYS.put("daily", 1);
+        PERIOD_DAYS.put("weekly", 7);
+        PERIOD_DAYS.put("monthly", 30);
+        PERIOD_DAYS.put("all", null);
+    }
+
+    @Autowired
+    private RankingMapper rankingMapper;
+
+    @Value("${ranking.topk.enabled:true}")
+    private boolean enabled = true;
+
+    // (게시판, 기간)마다 메모리에 두는 상위 게시글 수
+    @Value("${ranking.topk.capacity:200}")
+    private int capacity = 200;
+
+    // 동시에 적재해 두는 (게시판, 기간) 수 상한
+    @Value("${ranking.topk.max-slots:500}")
+    private int maxSlots = 500;
+
+    @Value("${ranking.topk.reload-interval-ms:600000}")
+    private long reloadIntervalMs = 600000;
+
+    @Value("${ranking.topk.idle-ms:1800000}")
+    private long idleMs = 1800000;
+
+    // "게시판ID:기간" (전체는 "*:기간") → 랭킹
+    private final ConcurrentHashMap<String, Slot> slots = new ConcurrentHashMap<String, Slot>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder updatedPosts = new LongAdder();
+    private volatile long lastRescoreAt = 0;
+    private volatile long lastRescoreFailedAt = 0;
+
+    private static final class Slot {
+        final Long boardId;
+        final String period;
+        final TopKRanking<PopularPostDTO> ranking;
+        volatile long loadedAt;
+        volatile long lastRequestedAt;
+
+        Slot(Long boardId, String period, int capacity) {
+            this.boardId = boardId;
+            this.period = period;
+            this.ranking = new TopKRanking<PopularPostDTO>(capacity);
+        }
+    }
+
+    /**
+     * 메모리에서 인기글 한 페이지 조회
+     * @param boardId 게시판 ID (null이면 전체)
+     * @param period 검증된 기간 (daily, weekly, monthly, all)
+     * @return 페이지 (메모리 범위를 넘으면 Optional.empty())
+     */
+    public Optional<List<PopularPostDTO>> page(Long boardId, String period, int offset, int limit) {
+        if (!enabled || offset + limit > capacity) {
+            misses.increment();
+            return Optional.empty();
+        }
+        Slot slot = slotFor(boardId, period);
+        if (slot == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        slot.lastRequestedAt = System.currentTimeMillis();
+        List<TopKRanking.Entry<PopularPostDTO>> entries = slot.ranking.page(offset, limit);
+        if (entries == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        List<PopularPostDTO> posts = new ArrayList<PopularPostDTO>(entries.size());
+        for (TopKRanking.Entry<PopularPostDTO> entry : entries) {
+            PopularPostDTO post = new PopularPostDTO(entry.getValue());
+            post.setPopularityScore(entry.getScore());
+            posts.add(post);
+        }
+        return Optional.of(posts);
+    }
+
+    private Slot slotFor(Long boardId, String period) {
+        String key = (boardId != null ? boardId.toString() : "*") + ":" + period;
+        Slot slot = slots.get(key);
+        if (slot != null) {
+            return slot;
+        }
+        if (slots.size() >= maxSlots) {
+            return null;
+        }
+        // 동시에 처음 요청되면 두 번 적재될 수 있으나 먼저 등록된 쪽을 쓴다
+        slot = new Slot(boardId, period, capacity);
+        load(slot);
+        Slot existing = slots.putIfAbsent(key, slot);
+        return existing != null ? existing : slot;
+    }
+
+    // post_popularity 인덱스 순서로 capacity + 1건을 읽어 (넘치면 그 뒤에도 게시글이 있음) 적재
+    private void load(Slot slot) {
+        List<PopularPostDTO> rows = slot.boardId == null
+                ? rankingMapper.selectPopularPosts(slot.period, capacity + 1, 0)
+                : rankingMapper.selectPopularPostsByBoard(slot.boardId, slot.period, capacity + 1, 0);
+        List<TopKRanking.Entry<PopularPostDTO>> entries = new ArrayList<TopKRanking.Entry<PopularPostDTO>>(rows.size());
+        for (PopularPostDTO row : rows) {
+            if (row.getPopularityScore() != null) {
+                entries.add(entry(row, row.getPopularityScore()));
+            }
+        }
+        slot.ranking.load(entries, rows.size() > capacity);
+        slot.loadedAt = System.currentTimeMillis();
+        slot.lastRequestedAt = slot.loadedAt;
+        loads.increment();
+    }
+
+    private static TopKRanking.Entry<PopularPostDTO> entry(PopularPostDTO post, double score) {
+        return new TopKRanking.Entry<PopularPostDTO>(post.getId(), score,
+                post.getCreatedAt() != null ? post.getCreatedAt().toEpochSecond(ZoneOffset.UTC) : 0, post);
+    }
+
+    /**
+     * 점수가 다시 계산된 게시글을 적재된 랭킹에 반영 (PostPopularityRefresher가 갱신 후 호출)
+     * 조회되지 않은 게시글 (삭제·블라인드·공지)과 기간을 벗어난 게시글은 랭킹에서 뺀다.
+     */
+    public void onPostsChanged(Collection<Long> postIds) {
+        if (!enabled || slots.isEmpty() || postIds.isEmpty()) {
+            return;
+        }
+        Map<Long, PopularPostDTO> current = new HashMap<Long, PopularPostDTO>();
+        for (PopularPostDTO post : rankingMapper.selectPopularPostsByIds(postIds)) {
+            current.put(post.getId(), post);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Slot slot : slots.values()) {
+            for (Long postId : postIds) {
+                PopularPostDTO post = current.get(postId);
+                if (post != null && post.getPopularityScore() != null && matches(slot, post, now)) {
+                    slot.ranking.offer(entry(post, post.getPopularityScore()));
+                } else {
+                    slot.ranking.remove(postId);
+                }
+            }
+        }
+        updatedPosts.add(postIds.size());
+    }
+
+    private static boolean matches(Slot slot, PopularPostDTO post, LocalDateTime now) {
+        return (slot.boardId == null || slot.boardId.equals(post.getBoardId())) && inWindow(slot.period, post, now);
+    }
+
+    private static boolean inWindow(String period, PopularPostDTO post, LocalDateTime now) {
+        Integer days = PERIOD_DAYS.get(period);
+        return days == null || (post.getCreatedAt() != null && !post.getCreatedAt().isBefore(now.minusDays(days)));
+    }
+
+    /**
+     * RankingMapper.xml의 popularityScore와 같은 공식
+     * (like*3 + comment*2 + scrap*2.5 + view*0.1 - dislike*1) / (hours + 2)^1.0
+     */
+    static double score(PopularPostDTO post, LocalDateTime now) {
+        double base = count(post.getLikeCount()) * 3.0
+                + count(post.getCommentCount()) * 2.0
+                + count(post.getScrapCount()) * 2.5
+                + count(post.getViewCount()) * 0.1
+                - count(post.getDislikeCount()) * 1.0;
+        long hours = post.getCreatedAt() != null ? Math.max(ChronoUnit.HOURS.between(post.getCreatedAt(), now), 0) : 0;
+        return base / Math.pow(hours + 2, 1.0);
+    }
+
+    private static int count(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    /**
+     * post_popularity 감쇠 재계산 직후 (PostPopularityRefresher가 호출):
+     * 메모리 재계산 (감쇠·기간 이탈), 짧아졌거나 오래된 랭킹 재적재, 유휴 랭킹 정리
+     */
+    public void onDecayPass() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            rescore();
+        } catch (RuntimeException e) {
+            // 재적재하지 못한 랭킹은 그대로 두고 다음 주기에 재시도 (범위 밖 페이지는 DB로 간다)
+            lastRescoreFailedAt = System.currentTimeMillis();
+            logger.warn("Popularity top-K rescore failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    public void rescore() {
+        final LocalDateTime now = LocalDateTime.now();
+        long nowMillis = System.currentTimeMillis();
+        Iterator<Map.Entry<String, Slot>> it = slots.entrySet().iterator();
+        while (it.hasNext()) {
+            final Slot slot = it.next().getValue();
+            if (nowMillis - slot.lastRequestedAt >= idleMs) {
+                it.remove();
+                continue;
+            }
+            slot.ranking.rescore(post -> inWindow(slot.period, post, now) ? score(post, now) : null);
+            boolean shrunk = slot.ranking.isTruncated() && slot.ranking.size() < capacity / 2;
+            if (shrunk || nowMillis - slot.loadedAt >= reloadIntervalMs) {
+                load(slot);
+            }
+        }
+        lastRescoreAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 메모리 랭킹 상태 (적재된 (게시판, 기간) 수, 적중/미적중, 적재 횟수)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<String, Object>();
+        stats.put("enabled", enabled);
+        stats.put("capacity", capacity);
+        stats.put("slots", slots.size());
+        int entries = 0;
+        Set<Long> boards = new HashSet<Long>();
+        for (Slot slot : slots.values()) {
+            entries += slot.ranking.size();
+            if (slot.boardId != null) {
+                boards.add(slot.boardId);
+            }
+        }
+        stats.put("entries", entries);
+        stats.put("boards", boards.size());
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("loads", loads.sum());
+        stats.put("updatedPosts", updatedPosts.sum());
+        stats.put("lastRescoreAt", lastRescoreAt);
+        stats.put("lastRescoreFailedAt", lastRescoreFailedAt);
+        return stats;
+    }
+}
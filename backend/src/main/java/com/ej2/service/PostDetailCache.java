@@ -0,0 +1,256 @@
+package com.ej2.service;
+
+import com.ej2.dto.PostDTO;
+import com.ej2.event.PostChangedEvent;
+import com.ej2.util.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 게시글 상세(PostDTO) L1 캐시
+ *
+ * 인기 게시글 상세 조회마다 posts + 작성자 조회가 반복되지 않도록 변환된 PostDTO를 보관한다.
+ * - 크기 제한: 본문 길이 기반 추정 바이트 합계로 제한하며, 넘으면 가장 오래 쓰이지 않은 항목부터 제거 (LRU)
+ * - TTL: 만료된 항목은 다음 조회 시 다시 읽는다
+ * - 요청 병합: 같은 게시글의 동시 미스는 한 번만 로드하고 나머지는 그 결과를 기다린다
+ * - 무효화: 수정/삭제/블라인드(PostChangedEvent), 신고 수 변경 시 커밋 후 제거
+ * - 카운터: 조회수/좋아요/싫어요/댓글 수는 본문을 버리지 않고 캐시된 값에 증감분만 반영한다
+ */
+@Component
+public class PostDetailCache {
+
+    @Value("${post.cache.max-bytes:33554432}")
+    private long maxBytes = 32L * 1024 * 1024;
+
+    @Value("${post.cache.ttl-seconds:60}")
+    private long ttlSeconds = 60;
+
+    // access-order LinkedHashMap = LRU (모든 접근은 synchronized)
+    private final LinkedHashMap<Long, CachedPost> cache = new LinkedHashMap<Long, CachedPost>(256, 0.75f, true);
+    private long usedBytes = 0;
+
+    // 로드 중인 게시글 → 로드 결과 (동시 미스 병합용)
+    private final ConcurrentHashMap<Long, CompletableFuture<PostDTO>> loading =
+            new ConcurrentHashMap<Long, CompletableFuture<PostDTO>>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * 캐시에서 게시글 상세 조회, 없으면 loader로 읽어 보관
+     * @param loader postId → PostDTO (게시글이 없으면 null, null은 캐시하지 않음)
+     * @return 호출 측이 수정해도 되는 사본 (게시글이 없으면 null)
+     */
+    public PostDTO get(Long postId, Function<Long, PostDTO> loader) {
+        CachedPost cached = lookup(postId);
+        if (cached != null) {
+            hits.increment();
+            return cached.toDTO();
+        }
+
+        CompletableFuture<PostDTO> mine = new CompletableFuture<PostDTO>();
+        CompletableFuture<PostDTO> inFlight = loading.putIfAbsent(postId, mine);
+        if (inFlight != null) {
+            coalesced.increment();
+            return await(inFlight);
+        }
+
+        misses.increment();
+        PostDTO loaded;
+        try {
+            loaded = loader.apply(postId);
+        } catch (RuntimeException e) {
+            loading.remove(postId, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        // 로드 중에 무효화되었으면 (loading에서 이미 제거됨) 보관하지 않는다
+        if (loading.remove(postId, mine) && loaded != null) {
+            store(postId, loaded);
+        }
+        mine.complete(loaded);
+        return loaded;
+    }
+
+    private PostDTO await(CompletableFuture<PostDTO> inFlight) {
+        try {
+            PostDTO loaded = inFlight.join();
+            return loaded != null ? new PostDTO(loaded) : null;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private CachedPost lookup(Long postId) {
+        synchronized (cache) {
+            CachedPost cached = cache.get(postId);
+            if (cached == null) {
+                return null;
+            }
+            if (cached.expiresAt <= System.currentTimeMillis()) {
+                removeEntry(postId);
+                return null;
+            }
+            return cached;
+        }
+    }
+
+    private void store(Long postId, PostDTO post) {
+        CachedPost cached = new CachedPost(new PostDTO(post), System.currentTimeMillis() + ttlSeconds * 1000);
+        // 캐시 전체의 1/4을 넘는 게시글은 보관하지 않는다
+        if (cached.bytes > maxBytes / 4) {
+            return;
+        }
+        synchronized (cache) {
+            removeEntry(postId);
+            cache.put(postId, cached);
+            usedBytes += cached.bytes;
+            Iterator<Map.Entry<Long, CachedPost>> eldest = cache.entrySet().iterator();
+            while (usedBytes > maxBytes && eldest.hasNext()) {
+                usedBytes -= eldest.next().getValue().bytes;
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private void removeEntry(Long postId) {
+        CachedPost removed = cache.remove(postId);
+        if (removed != null) {
+            usedBytes -= removed.bytes;
+        }
+    }
+
+    /**
+     * 게시글 수정/삭제/블라인드 반영 (커밋 후)
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        evict(event.getPostId());
+    }
+
+    /**
+     * 캐시 무효화 (트랜잭션 안이면 커밋 후)
+     */
+    public void invalidate(final Long postId) {
+        AfterCommit.run(new Runnable() {
+            @Override
+            public void run() {
+                evict(postId);
+            }
+        });
+    }
+
+    /**
+     * 카운터 증감분 반영 (트랜잭션 안이면 커밋 후)
+     * 캐시된 본문은 유지하고 숫자만 바꾼다. 로드 중인 결과는 증감분이 빠졌을 수 있으므로 보관하지 않는다.
+     */
+    public void adjustCounters(final Long postId, final int viewDelta, final int likeDelta,
+                               final int dislikeDelta, final int commentDelta) {
+        AfterCommit.run(new Runnable() {
+            @Override
+            public void run() {
+                loading.remove(postId);
+                CachedPost cached;
+                synchronized (cache) {
+                    cached = cache.get(postId);
+                }
+                if (cached != null) {
+                    cached.viewCount.addAndGet(viewDelta);
+                    cached.likeCount.addAndGet(likeDelta);
+                    cached.dislikeCount.addAndGet(dislikeDelta);
+                    cached.commentCount.addAndGet(commentDelta);
+                }
+            }
+        });
+    }
+
+    private void evict(Long postId) {
+        loading.remove(postId);
+        synchronized (cache) {
+            removeEntry(postId);
+        }
+    }
+
+    /**
+     * 캐시 상태
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<String, Object>();
+        synchronized (cache) {
+            stats.put("entries", cache.size());
+            stats.put("usedBytes", usedBytes);
+        }
+        stats.put("maxBytes", maxBytes);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("coalesced", coalesced.sum());
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+
+    // 본문 스냅샷 + 실시간 카운터
+    private static class CachedPost {
+        private final PostDTO body;
+        private final long expiresAt;
+        private final long bytes;
+        private final AtomicInteger viewCount;
+        private final AtomicInteger likeCount;
+        private final AtomicInteger dislikeCount;
+        private final AtomicInteger commentCount;
+
+        private CachedPost(PostDTO body, long expiresAt) {
+            this.body = body;
+            this.expiresAt = expiresAt;
+            this.bytes = estimateBytes(body);
+            this.viewCount = new AtomicInteger(valueOf(body.getViewCount()));
+            this.likeCount = new AtomicInteger(valueOf(body.getLikeCount()));
+            this.dislikeCount = new AtomicInteger(valueOf(body.getDislikeCount()));
+            this.commentCount = new AtomicInteger(valueOf(body.getCommentCount()));
+        }
+
+        private PostDTO toDTO() {
+            PostDTO dto = new PostDTO(body);
+            dto.setViewCount(viewCount.get());
+            dto.setLikeCount(Math.max(likeCount.get(), 0));
+            dto.setDislikeCount(Math.max(dislikeCount.get(), 0));
+            dto.setCommentCount(Math.max(commentCount.get(), 0));
+            return dto;
+        }
+
+        // 문자열은 UTF-16 (2바이트/문자) + 객체 헤더·필드 여유분
+        private static long estimateBytes(PostDTO post) {
+            long chars = length(post.getTitle()) + length(post.getContent()) + length(post.getAuthorNickname())
+                    + length(post.getAnonymousId()) + length(post.getBlindReason());
+            return 512 + chars * 2;
+        }
+
+        private static int length(String value) {
+            return value != null ? value.length() : 0;
+        }
+
+        private static int valueOf(Integer value) {
+            return value != null ? value : 0;
+        }
+    }
+}
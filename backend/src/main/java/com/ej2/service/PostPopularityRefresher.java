@@ -0,0 +1,328 @@
+package com.ej2.service;
+
+import com.ej2.event.PostChangedEvent;
+import com.ej2.mapper.RankingMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 인기도 점수 테이블(post_popularity) 갱신 작업
+ *
+ * 인기글 조회가 매 요청 전체 게시글의 점수를 계산·정렬하지 않도록 점수를 미리 계산해 둔다.
+ * - 카운터(좋아요·댓글·조회수 등)가 바뀌었거나 수정·삭제·블라인드된 게시글은 dirty로 표시되고,
+ *   refresh-interval-ms마다 chunk-size건씩 다시 계산한다
+ * - 점수는 작성 후 경과 시간으로 감쇠하고 daily/weekly/monthly 구간도 시간이 지나면 벗어나므로,
+ *   decay-interval-ms마다 점수·구간이 바뀌어 조회에 드러날 수 있는 행만 chunk-size건씩 다시 계산한다
+ *   (monthly 행이 있는 게시글 + 게시판마다 'all' 상위 all-depth행)
+ * - 시작 후 첫 주기와 dirty 표시가 넘친 뒤의 주기는 모든 게시글을 id 순 keyset으로 다시 계산한다 (첫 실행이 테이블을 채운다)
+ * 게시글마다 행 삭제 + 재생성을 한 트랜잭션으로 실행하므로 조회 쪽은 갱신 전 또는 후의 행만 본다.
+ * 삭제·블라인드된 게시글의 행은 주기를 기다리지 않고 그 변경과 같은 트랜잭션에서 지운다
+ * (인기글 조회는 post_popularity에서 LIMIT으로 고른 행을 그대로 한 페이지로 쓰므로, 보이지 않는 게시글의 행이 남으면 페이지가 줄어든다).
+ * 점수는 최대 한 주기 늦을 수 있다 (카운터 변경은 refresh-interval-ms, 감쇠·구간 이탈은 decay-interval-ms).
+ * 'all' 상위 all-depth행 아래는 카운터가 바뀔 때까지 감쇠가 늦지만, 점수는 감쇠로만 내려가므로 실제 값보다 높을 뿐이고
+ * 상위로 올라오면 그 주기에 다시 계산된다.
+ * dirty 갱신을 마친 게시글과 감쇠 재계산 완료는 메모리 랭킹(PopularityTopK)에도 알린다.
+ */
+@Component
+public class PostPopularityRefresher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostPopularityRefresher.class);
+
+    @Autowired
+    private RankingMapper rankingMapper;
+
+    @Autowired
+    private PopularityTopK popularityTopK;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${ranking.popularity.enabled:true}")
+    private boolean enabled = true;
+
+    // 한 번에 다시 계산하는 게시글 수
+    @Value("${ranking.popularity.chunk-size:500}")
+    private int chunkSize = 500;
+
+    // dirty 표시 상한 (넘치면 표시하지 않고 다음 감쇠 주기를 전체 재계산으로 한다)
+    @Value("${ranking.popularity.max-dirty:20000}")
+    private int maxDirty = 20000;
+
+    // 감쇠 주기에 게시판마다 다시 계산하는 'all' 상위 행 수 (ranking.topk.capacity, ranking.snapshot.max-rows 이상)
+    @Value("${ranking.popularity.all-depth:1000}")
+    private int allDepth = 1000;
+
+    // 감쇠 주기 한 번에 'all' 상위를 다시 읽는 최대 횟수 (재계산으로 점수가 내려가면 아래 행이 올라온다)
+    private static final int MAX_ALL_ROUNDS = 5;
+
+    // 마지막 갱신 이후 점수가 바뀌었을 수 있는 게시글
+    private final Set<Long> dirtyPosts = ConcurrentHashMap.newKeySet();
+
+    // 다음 감쇠 주기를 전체 재계산으로 할지 (시작 직후, dirty 표시가 넘친 뒤)
+    private volatile boolean fullDecayPending = true;
+
+    private final AtomicLong refreshedPosts = new AtomicLong();
+    private final AtomicLong decayedPosts = new AtomicLong();
+    private final AtomicLong decayPasses = new AtomicLong();
+    private final AtomicLong fullDecayPasses = new AtomicLong();
+    private volatile long lastRefreshAt = 0;
+    private volatile long lastDecayAt = 0;
+    private volatile long lastDecayMillis = 0;
+    private volatile long lastFailedAt = 0;
+
+    /**
+     * 점수를 다시 계산할 게시글로 표시 (DB 접근 없음)
+     */
+    public void markDirty(Long postId) {
+        if (postId == null) {
+            return;
+        }
+        if (dirtyPosts.size() < maxDirty) {
+            dirtyPosts.add(postId);
+        } else if (!dirtyPosts.contains(postId)) {
+            fullDecayPending = true;
+        }
+    }
+
+    /**
+     * 삭제·블라인드된 게시글의 행을 커밋 직전에 같은 트랜잭션에서 지운다
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onPostRemoved(PostChangedEvent event) {
+        if (event.isRemoval()) {
+            rankingMapper.deletePopularity(Collections.singletonList(event.getPostId()));
+        }
+    }
+
+    /**
+     * 작성·수정·삭제·블라인드된 게시글은 다음 갱신 주기에 행을 다시 만든다
+     * (삭제·블라인드 직전에 시작한 갱신이 행을 다시 만들었더라도 이 갱신에서 사라진다)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        markDirty(event.getPostId());
+    }
+
+    /**
+     * 주기 작업 (기본 5초 간격): dirty 게시글 점수 재계산
+     */
+    @Scheduled(fixedDelayString = "${ranking.popularity.refresh-interval-ms:5000}")
+    public void scheduledRefresh() {
+        if (!enabled) {
+            return;
+        }
+        Set<Long> chunk = poll();
+        while (!chunk.isEmpty()) {
+            try {
+                refresh(chunk);
+                refreshedPosts.addAndGet(chunk.size());
+                popularityTopK.onPostsChanged(chunk);
+            } catch (RuntimeException e) {
+                // 꺼낸 게시글을 되돌려 다음 주기에 재시도
+                for (Long postId : chunk) {
+                    markDirty(postId);
+                }
+                lastFailedAt = System.currentTimeMillis();
+                logger.warn("Popularity refresh failed, will retry: {}", e.getMessage());
+                return;
+            }
+            chunk = poll();
+        }
+        lastRefreshAt = System.currentTimeMillis();
+    }
+
+    private Set<Long> poll() {
+        Set<Long> polled = new LinkedHashSet<Long>();
+        Iterator<Long> it = dirtyPosts.iterator();
+        while (it.hasNext() && polled.size() < chunkSize) {
+            polled.add(it.next());
+            it.remove();
+        }
+        return polled;
+    }
+
+    /**
+     * 주기 작업 (기본 10분 간격): 점수를 다시 계산해 시간 감쇠와 기간 구간 이탈을 반영
+     * (시작 후 첫 주기와 dirty 표시가 넘친 뒤에는 전체, 그 밖에는 조회에 드러날 수 있는 행만)
+     */
+    @Scheduled(fixedDelayString = "${ranking.popularity.decay-interval-ms:600000}")
+    public void scheduledDecay() {
+        if (!enabled) {
+            return;
+        }
+        // 실행 중에 dirty 표시가 넘치면 다음 주기도 전체 재계산이 되도록 먼저 내린다
+        boolean full = fullDecayPending;
+        fullDecayPending = false;
+        try {
+            if (full) {
+                decayAll();
+            } else {
+                decayReachable();
+            }
+            // 메모리 랭킹도 같은 시점에 감쇠시켜 DB 점수와 기준을 맞춘다
+            popularityTopK.onDecayPass();
+        } catch (RuntimeException e) {
+            // 처리한 청크는 이미 반영되었으므로 다음 주기에 처음부터 다시 한다
+            if (full) {
+                fullDecayPending = true;
+            }
+            lastFailedAt = System.currentTimeMillis();
+            logger.warn("Popularity decay pass failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 모든 게시글을 id 순 청크로 재계산
+     * @return 재계산한 게시글 수
+     */
+    public long decayAll() {
+        long startedAt = System.currentTimeMillis();
+        long cursor = 0;
+        long total = 0;
+        while (true) {
+            List<Long> chunk = jdbcTemplate.queryForList(
+                    "SELECT id FROM posts WHERE id > ? ORDER BY id LIMIT ?", Long.class, cursor, chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            refresh(chunk);
+            total += chunk.size();
+            decayedPosts.addAndGet(chunk.size());
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+            cursor = chunk.get(chunk.size() - 1);
+        }
+        fullDecayPasses.incrementAndGet();
+        finishDecayPass(startedAt);
+        return total;
+    }
+
+    /**
+     * 점수·구간이 바뀌어 조회에 드러날 수 있는 행만 재계산
+     * - monthly 행이 있는 게시글 (작성 30일 이내): daily/weekly/monthly 구간 이탈과 감쇠, 같은 게시글의 'all' 행도 함께
+     * - 게시판마다 'all' 상위 all-depth행 중 이번 주기에 아직 갱신되지 않은 행
+     *   (전체 'all' 순위의 상위 all-depth행은 각 게시판 상위 all-depth행 안에 있다)
+     * 새 게시글은 작성 이벤트의 dirty 표시로 행이 생기므로 여기서 찾지 않는다.
+     * @return 재계산한 게시글 수
+     */
+    public long decayReachable() {
+        long startedAt = System.currentTimeMillis();
+        // refreshed_at과 같은 DB 시계로 이번 주기에 갱신된 행을 가린다
+        Timestamp passStart = jdbcTemplate.queryForObject("SELECT NOW()", Timestamp.class);
+        long cursor = 0;
+        long total = 0;
+        while (true) {
+            List<Long> chunk = jdbcTemplate.queryForList(
+                    "SELECT post_id FROM post_popularity WHERE period_bucket = 'monthly' AND post_id > ? "
+                            + "ORDER BY post_id LIMIT ?", Long.class, cursor, chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            refresh(chunk);
+            total += chunk.size();
+            decayedPosts.addAndGet(chunk.size());
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+            cursor = chunk.get(chunk.size() - 1);
+        }
+        for (Long boardId : jdbcTemplate.queryForList("SELECT id FROM boards ORDER BY id", Long.class)) {
+            total += decayAllBucket(boardId, passStart);
+        }
+        finishDecayPass(startedAt);
+        return total;
+    }
+
+    // 게시판의 'all' 상위 all-depth행이 모두 이번 주기에 갱신될 때까지 오래된 행을 재계산
+    private long decayAllBucket(Long boardId, final Timestamp passStart) {
+        long total = 0;
+        for (int round = 0; round < MAX_ALL_ROUNDS; round++) {
+            final List<Long> stale = new ArrayList<Long>();
+            jdbcTemplate.query(
+                    "SELECT post_id, refreshed_at FROM post_popularity WHERE board_id = ? AND period_bucket = 'all' "
+                            + "ORDER BY score DESC, created_at DESC, post_id DESC LIMIT ?",
+                    new RowCallbackHandler() {
+                        @Override
+                        public void processRow(ResultSet rs) throws SQLException {
+                            if (rs.getTimestamp(2).before(passStart)) {
+                                stale.add(rs.getLong(1));
+                            }
+                        }
+                    }, boardId, allDepth);
+            if (stale.isEmpty()) {
+                break;
+            }
+            for (int from = 0; from < stale.size(); from += chunkSize) {
+                List<Long> chunk = stale.subList(from, Math.min(from + chunkSize, stale.size()));
+                refresh(chunk);
+                decayedPosts.addAndGet(chunk.size());
+            }
+            total += stale.size();
+        }
+        return total;
+    }
+
+    private void finishDecayPass(long startedAt) {
+        decayPasses.incrementAndGet();
+        lastDecayAt = System.currentTimeMillis();
+        lastDecayMillis = lastDecayAt - startedAt;
+    }
+
+    // 게시글별 행 삭제 + 재생성 (dirty 갱신과 감쇠 순회가 같은 게시글을 동시에 다시 만들지 않도록 직렬화)
+    private synchronized void refresh(final Collection<Long> postIds) {
+        new TransactionTemplate(transactionManager).execute(status -> {
+            rankingMapper.deletePopularity(postIds);
+            return rankingMapper.insertPopularity(postIds);
+        });
+    }
+
+    /**
+     * 갱신 상태
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<String, Object>();
+        stats.put("enabled", enabled);
+        stats.put("chunkSize", chunkSize);
+        stats.put("dirtyPosts", dirtyPosts.size());
+        stats.put("refreshedPosts", refreshedPosts.get());
+        stats.put("decayedPosts", decayedPosts.get());
+        stats.put("decayPasses", decayPasses.get());
+        stats.put("fullDecayPasses", fullDecayPasses.get());
+        stats.put("fullDecayPending", fullDecayPending);
+        stats.put("allDepth", allDepth);
+        stats.put("lastRefreshAt", lastRefreshAt);
+        stats.put("lastDecayAt", lastDecayAt);
+        stats.put("lastDecayMillis", lastDecayMillis);
+        stats.put("lastFailedAt", lastFailedAt);
+        return stats;
+    }
+}
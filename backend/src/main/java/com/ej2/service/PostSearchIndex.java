@@ -0,0 +1,267 @@
+package com.ej2.service;
+
+import com.ej2.event.PostChangedEvent;
+import com.ej2.model.Post;
+import com.ej2.repository.PostRepository;
+import com.ej2.util.BM25Index;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 게시글 검색 색인 (제목 + 본문, bigram 역색인 + BM25)
+ *
+ * LIKE '%kw%' 전체 스캔 대신 메모리 역색인으로 검색한다. 블라인드되지 않은 게시글만 색인하며,
+ * 게시글 생성/수정/삭제/블라인드 시 PostChangedEvent를 받아 커밋 후 증분 갱신한다.
+ *
+ * 기동 시에는 스냅샷 파일을 읽고, 스냅샷 이후 변경된 게시글(id 증가분 + updated_at)만 DB에서 따라잡는다.
+ * 스냅샷이 없으면 백그라운드에서 id 순으로 전체 색인하며, 완료 전까지 검색은 기존 제목 LIKE 검색으로 대체된다.
+ */
+@Component
+public class PostSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostSearchIndex.class);
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+    // 스냅샷 시각과 커밋 시각의 차이를 흡수하기 위한 여유
+    private static final long CATCH_UP_MARGIN_MS = 60_000;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Value("${search.snapshot-path:${java.io.tmpdir}/ej2-post-search.idx}")
+    private String snapshotPath;
+
+    private final BM25Index index = new BM25Index();
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private volatile boolean ready = false;
+    private volatile long lastSnapshotAt = 0;
+
+    /**
+     * 컨텍스트 기동 후 색인 준비 (스냅샷 복원 또는 전체 색인)
+     * 웹 컨텍스트의 refresh 이벤트도 전달되므로 한 번만 실행한다
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        taskScheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                warmUp();
+            }
+        }, Instant.now());
+    }
+
+    private void warmUp() {
+        long startedAt = System.currentTimeMillis();
+        try {
+            long snapshotAt = loadSnapshot();
+            if (snapshotAt > 0) {
+                catchUp(snapshotAt);
+            } else {
+                rebuild();
+            }
+            ready = true;
+            logger.info("Post search index ready: {} posts, {} terms in {} ms",
+                    index.size(), index.termCount(), System.currentTimeMillis() - startedAt);
+        } catch (RuntimeException e) {
+            logger.error("Failed to build post search index, falling back to title LIKE search", e);
+        }
+    }
+
+    // 전체 색인 (id keyset 순회)
+    private void rebuild() {
+        long lastId = 0;
+        while (true) {
+            List<Post> batch = postRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (Post post : batch) {
+                indexPost(post);
+                lastId = post.getId();
+            }
+        }
+        dirty.set(true);
+    }
+
+    // 스냅샷 이후 변경분만 반영: 새 게시글 + 수정/블라인드된 게시글 + 삭제된 게시글
+    private void catchUp(long snapshotAt) {
+        long lastId = index.getMaxId();
+        while (true) {
+            List<Post> batch = postRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (Post post : batch) {
+                indexPost(post);
+                lastId = post.getId();
+            }
+        }
+
+        LocalDateTime changedSince = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(snapshotAt - CATCH_UP_MARGIN_MS), ZoneId.systemDefault());
+        for (Post post : postRepository.findByUpdatedAtAfter(changedSince)) {
+            indexPost(post);
+        }
+
+        // 삭제 감지는 id만 읽는다
+        Set<Long> liveIds = new HashSet<Long>(postRepository.findVisibleIds());
+        for (Long id : index.ids()) {
+            if (!liveIds.contains(id)) {
+                index.remove(id);
+            }
+        }
+        dirty.set(true);
+    }
+
+    private void indexPost(Post post) {
+        if (Boolean.TRUE.equals(post.getIsBlinded())) {
+            index.remove(post.getId());
+        } else {
+            index.put(post.getId(), post.getBoardId(), post.getTitle(), post.getContent());
+        }
+    }
+
+    /**
+     * 게시글 변경 반영 (트랜잭션 커밋 후, 블라인드된 게시글은 수정되어도 색인에서 뺀다)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.isRemoval()) {
+            index.remove(event.getPostId());
+        } else {
+            index.put(event.getPostId(), event.getBoardId(), event.getTitle(), event.getContent());
+        }
+        dirty.set(true);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 검색 (색인 준비 전이면 null → 호출 측에서 LIKE 검색으로 대체)
+     */
+    public BM25Index.Result search(String keyword, Long boardId, int offset, int limit) {
+        if (!ready) {
+            return null;
+        }
+        return index.search(keyword, boardId, offset, limit);
+    }
+
+    /**
+     * 주기적 스냅샷 (비정상 종료 대비, 변경이 있을 때만)
+     */
+    @Scheduled(fixedDelayString = "${search.snapshot-interval-ms:600000}", initialDelayString = "${search.snapshot-interval-ms:600000}")
+    public void scheduledSnapshot() {
+        if (ready && dirty.get()) {
+            saveSnapshot();
+        }
+    }
+
+    /**
+     * 종료 시 스냅샷 저장
+     */
+    @PreDestroy
+    public void saveOnShutdown() {
+        if (ready) {
+            saveSnapshot();
+        }
+    }
+
+    // 쓰기 시작 시각을 스냅샷 시각으로 기록 → 쓰는 도중의 변경은 다음 기동 시 따라잡기 대상
+    private synchronized void saveSnapshot() {
+        long snapshotAt = System.currentTimeMillis();
+        dirty.set(false);
+        File target = new File(snapshotPath);
+        File temp = new File(snapshotPath + ".tmp");
+        try {
+            File parent = target.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.exists()) {
+                parent.mkdirs();
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(new FileOutputStream(temp))))) {
+                out.writeLong(snapshotAt);
+                index.writeTo(out);
+            }
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            lastSnapshotAt = snapshotAt;
+            logger.info("Post search index snapshot saved ({} posts)", index.size());
+        } catch (IOException e) {
+            dirty.set(true);
+            logger.warn("Failed to save post search index snapshot: {}", e.getMessage());
+        }
+    }
+
+    // @return 스냅샷 시각 (스냅샷이 없거나 읽을 수 없으면 0)
+    private long loadSnapshot() {
+        File source = new File(snapshotPath);
+        if (!source.isFile()) {
+            return 0;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(new FileInputStream(source))))) {
+            long snapshotAt = in.readLong();
+            if (!index.readFrom(in)) {
+                logger.info("Post search index snapshot ignored (format changed)");
+                return 0;
+            }
+            lastSnapshotAt = snapshotAt;
+            return snapshotAt;
+        } catch (IOException e) {
+            logger.warn("Failed to load post search index snapshot, rebuilding: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * 색인 상태
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<String, Object>();
+        stats.put("ready", ready);
+        stats.put("posts", index.size());
+        stats.put("terms", index.termCount());
+        stats.put("lastSnapshotAt", lastSnapshotAt);
+        return stats;
+    }
+}
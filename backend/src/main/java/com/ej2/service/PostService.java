@@ -1,68 +1,130 @@
 package com.ej2.service;
 
+import com.ej2.dto.CursorPageDTO;
 import com.ej2.dto.PostDTO;
-import com.ej2.model.Board;
+import com.ej2.dto.PostSummaryDTO;
+import com.ej2.event.PostChangedEvent;
 import com.ej2.model.Post;
-import com.ej2.model.PostViewLog;
-import com.ej2.model.PostLikeLog;
-import com.ej2.model.PostDislikeLog;
-import com.ej2.model.User;
-import com.ej2.repository.BoardRepository;
+import com.ej2.model.PostReaction;
+import com.ej2.repository.CounterRepository.Counter;
+import com.ej2.repository.PostImageRepository;
 import com.ej2.repository.PostRepository;
-import com.ej2.repository.PostViewLogRepository;
-import com.ej2.repository.PostLikeLogRepository;
-import com.ej2.repository.PostDislikeLogRepository;
-import com.ej2.repository.UserRepository;
-import com.ej2.util.AnonymousIdGenerator;
+import com.ej2.repository.PostReactionRepository;
+import com.ej2.util.BM25Index;
+import com.ej2.util.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
 public class PostService {
 
+    public static final String SORT_RECENT = "recent";
+    public static final String SORT_VIEWS = "views";
+    public static final String SORT_LIKES = "likes";
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_STATUS_IDS = 100;
+
+    // 기간별 좋아요순 커서 구간 (순위 / 좋아요 없는 최신순)
+    private static final String LIKE_CURSOR_RANKED = "ranked";
+    private static final String LIKE_CURSOR_RECENT = "recent";
+    // 좋아요 없는 게시글을 채울 때 한 번에 읽는 최대 행 수 (순위에 있는 게시글을 건너뛰는 만큼 넉넉히 읽는다)
+    private static final int LIKE_FILL_BATCH_MAX = 500;
+
     @Autowired
     private PostRepository postRepository;
 
     @Autowired
-    private BoardRepository boardRepository;
+    private ActivityLogIngester activityLogIngester;
+
+    @Autowired
+    private PostReactionRepository postReactionRepository;
+
+    @Autowired
+    private CounterService counterService;
+
+    @Autowired
+    private PostImageService postImageService;
+
+    @Autowired
+    private PostImageRepository postImageRepository;
+
+    @Autowired
+    private AuthorNameResolver authorNameResolver;
+
+    @Autowired
+    private ViewCountAggregator viewCountAggregator;
+
+    @Autowired
+    private LikeWindowCounter likeWindowCounter;
 
     @Autowired
-    private PostViewLogRepository postViewLogRepository;
+    private PostDetailCache postDetailCache;
 
     @Autowired
-    private PostLikeLogRepository postLikeLogRepository;
+    private ContentVersionRegistry contentVersionRegistry;
 
     @Autowired
-    private UserRepository userRepository;
+    private ViewDedupService viewDedupService;
 
     @Autowired
-    private PostDislikeLogRepository postDislikeLogRepository;
+    private PostSearchIndex postSearchIndex;
 
     @Autowired
-    private PostImageService postImageService; 
+    private ApplicationEventPublisher eventPublisher;
 
-    // Get all posts ordered by creation date (newest first)
-    public List<PostDTO> getAllPosts() {
-        List<Post> posts = postRepository.findAllByOrderByCreatedAtDesc();
-        return convertToPostDTOList(posts);
+    // Get the first page of all posts ordered by creation date (newest first)
+    public List<PostSummaryDTO> getAllPosts() {
+        return getRecentFeed(null, DEFAULT_PAGE_SIZE).getItems();
     }
 
-    // Get post by ID (DTO形式で返す)
+    // Get post by ID (DTO形式で返す, 상세 캐시 경유)
     public Optional<PostDTO> getPostById(Long id) {
+        return Optional.ofNullable(postDetailCache.get(id, this::loadPostDetail));
+    }
+
+    // 캐시 미스 시 로드: 아직 DB에 반영되지 않은 조회수 증가분을 더해서 보관한다
+    private PostDTO loadPostDetail(Long id) {
         Optional<Post> postOpt = postRepository.findById(id);
-        if (postOpt.isPresent()) {
-            Post post = postOpt.get();
-            String authorNickname = getAuthorNickname(post);
-            return Optional.of(new PostDTO(post, authorNickname));
+        if (!postOpt.isPresent()) {
+            return null;
+        }
+        Post post = postOpt.get();
+        PostDTO dto = new PostDTO(post, getAuthorNickname(post));
+        long pendingViews = viewCountAggregator.getPending(id);
+        if (pendingViews > 0) {
+            dto.setViewCount((dto.getViewCount() != null ? dto.getViewCount() : 0) + (int) pendingViews);
         }
-        return Optional.empty();
+        // 샤드 모드 게시글은 아직 posts 행에 합산되지 않은 슬롯 증감분도 더한다
+        Map<Counter, Integer> pendingCounters = counterService.pendingDeltas(id);
+        if (!pendingCounters.isEmpty()) {
+            dto.setLikeCount(withPending(dto.getLikeCount(), pendingCounters.get(Counter.POST_LIKES)));
+            dto.setDislikeCount(withPending(dto.getDislikeCount(), pendingCounters.get(Counter.POST_DISLIKES)));
+            dto.setCommentCount(withPending(dto.getCommentCount(), pendingCounters.get(Counter.POST_COMMENTS)));
+        }
+        return dto;
+    }
+
+    private static Integer withPending(Integer value, Integer pending) {
+        int base = value != null ? value : 0;
+        return pending != null ? Math.max(base + pending, 0) : base;
     }
 
     // 投稿エンティティを直接取得（権限検証用）
@@ -70,42 +132,240 @@ public class PostService {
         return postRepository.findById(id).orElse(null);
     }
 
-    // 조회수순 정렬
-    public List<PostDTO> getByBoardIdOrderByViewCount(Long boardId) {
-        List<Post> posts = postRepository.findByBoardIdAndIsBlindedFalseOrderByViewCountDesc(boardId);
-        return convertToPostDTOList(posts);
+    // 조회수순 정렬 (첫 페이지)
+    public List<PostSummaryDTO> getByBoardIdOrderByViewCount(Long boardId) {
+        return getBoardFeed(boardId, SORT_VIEWS, null, DEFAULT_PAGE_SIZE).getItems();
     }
 
-    public List<PostDTO> getAllOrderByDayLikeCount(Long boardId) {
-        List<Post> posts = postRepository.findAllOrderByDayLikeCount(boardId);
-        return convertToPostDTOList(posts);
+    public List<PostSummaryDTO> getAllOrderByDayLikeCount(Long boardId) {
+        return getLikeWindowFeed(boardId, LikeWindowCounter.DAY_HOURS, null, DEFAULT_PAGE_SIZE).getItems();
     }
 
-    public List<PostDTO> getAllOrderByWeekLikeCount(Long boardId) {
-        List<Post> posts = postRepository.findAllOrderByWeekLikeCount(boardId);
-        return convertToPostDTOList(posts);
+    public List<PostSummaryDTO> getAllOrderByWeekLikeCount(Long boardId) {
+        return getLikeWindowFeed(boardId, LikeWindowCounter.WEEK_HOURS, null, DEFAULT_PAGE_SIZE).getItems();
     }
 
-    public List<PostDTO> getAllOrderByMonthLikeCount(Long boardId) {
-        List<Post> posts = postRepository.findAllOrderByMonthLikeCount(boardId);
-        return convertToPostDTOList(posts);
+    public List<PostSummaryDTO> getAllOrderByMonthLikeCount(Long boardId) {
+        return getLikeWindowFeed(boardId, LikeWindowCounter.MONTH_HOURS, null, DEFAULT_PAGE_SIZE).getItems();
+    }
+
+    /**
+     * 기간 내 좋아요순 피드 (좋아요 수 내림차순, 같으면 ID 내림차순)
+     * 기간 내 좋아요가 있는 게시글은 LikeWindowCounter 순위대로 보여주고, 그 뒤는 좋아요가 없는 게시글을
+     * 최신순 keyset (created_at, id)으로 채운다. 순위에 있는 게시글은 채우는 쪽에서 메모리로 건너뛴다 (NOT IN 없음)
+     * @param windowHours 기간 (LikeWindowCounter.DAY_HOURS / WEEK_HOURS / MONTH_HOURS)
+     * @param cursor 직전 페이지의 nextCursor (첫 페이지는 null)
+     * @param size 페이지 크기
+     * @throws IllegalArgumentException 커서 형식이 잘못된 경우
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PostSummaryDTO> getLikeWindowFeed(Long boardId, int windowHours, String cursor, int size) {
+        int validSize = validateSize(size);
+        LikeWindowCounter.Ranking ranking = likeWindowCounter.ranking(boardId, windowHours);
+        List<Long> rankedIds = ranking.getIds();
+
+        // 커서: ("ranked", 순위 위치, id) 또는 ("recent", created_at, id)
+        int start = 0;
+        LocalDateTime fillCreatedAt = null;
+        Long fillId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] key = PageCursor.decode(cursor, 3);
+            if (LIKE_CURSOR_RANKED.equals(key[0])) {
+                // 그 사이 순위가 다시 계산되었으면 직전 게시글의 현재 위치부터 이어간다
+                int current = ranking.indexOf(parseLong(key[2]));
+                start = current >= 0 ? current + 1 : parseInt(key[1]) + 1;
+            } else if (LIKE_CURSOR_RECENT.equals(key[0])) {
+                start = rankedIds.size();
+                fillCreatedAt = parseDateTime(key[1]);
+                fillId = parseLong(key[2]);
+            } else {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+
+        // 한 건 더 모아 다음 페이지가 있는지 본다
+        // 순위 구간은 블라인드·삭제된 게시글을 건너뛰고 다음 순위로 채운다
+        List<Long> ids = new ArrayList<Long>(validSize + 1);
+        Map<Long, PostSummaryDTO> ranked = new HashMap<Long, PostSummaryDTO>();
+        List<Long> hidden = new ArrayList<Long>();
+        for (int from = start; from < rankedIds.size() && ids.size() <= validSize; ) {
+            int to = Math.min(rankedIds.size(), from + validSize + 1 - ids.size());
+            List<Long> chunk = rankedIds.subList(from, to);
+            for (PostSummaryDTO summary : postRepository.findVisibleSummariesByIds(chunk)) {
+                ranked.put(summary.getId(), summary);
+            }
+            for (Long id : chunk) {
+                if (ranked.containsKey(id)) {
+                    ids.add(id);
+                } else {
+                    hidden.add(id);
+                }
+            }
+            from = to;
+        }
+        if (!hidden.isEmpty()) {
+            likeWindowCounter.discard(hidden);
+        }
+        int rankedCount = ids.size();
+        Map<Long, PostSummaryDTO> filled = new HashMap<Long, PostSummaryDTO>();
+        int fillBatch = Math.max(validSize + 1, Math.min(validSize + 1 + rankedIds.size(), LIKE_FILL_BATCH_MAX));
+        PageRequest batchSize = PageRequest.of(0, fillBatch);
+        while (ids.size() <= validSize) {
+            List<PostSummaryDTO> batch = fillCreatedAt == null
+                    ? postRepository.findBoardRecentPage(boardId, batchSize)
+                    : postRepository.findBoardRecentPageAfter(boardId, fillCreatedAt, fillId, batchSize);
+            for (PostSummaryDTO post : batch) {
+                fillCreatedAt = post.getCreatedAt();
+                fillId = post.getId();
+                if (ids.size() <= validSize && !ranking.contains(post.getId())) {
+                    ids.add(post.getId());
+                    filled.put(post.getId(), post);
+                }
+            }
+            if (batch.size() < fillBatch) {
+                break;
+            }
+        }
+
+        String nextCursor = null;
+        if (ids.size() > validSize) {
+            ids = ids.subList(0, validSize);
+            int last = validSize - 1;
+            Long lastId = ids.get(last);
+            nextCursor = last < rankedCount
+                    ? PageCursor.encode(LIKE_CURSOR_RANKED, ranking.indexOf(lastId), lastId)
+                    : PageCursor.encode(LIKE_CURSOR_RECENT, filled.get(lastId).getCreatedAt(), lastId);
+        }
+
+        List<PostSummaryDTO> posts = new ArrayList<PostSummaryDTO>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            PostSummaryDTO post = i < rankedCount ? ranked.get(ids.get(i)) : filled.get(ids.get(i));
+            if (post != null) {
+                posts.add(post);
+            }
+        }
+        return new CursorPageDTO<PostSummaryDTO>(fillSummaries(posts), nextCursor, validSize);
+    }
+
+    /**
+     * 전체 게시글 최신순 피드 (keyset 페이징)
+     * @param cursor 직전 페이지의 nextCursor (첫 페이지는 null)
+     * @param size 페이지 크기
+     * @return 게시글 페이지
+     * @throws IllegalArgumentException 커서 형식이 잘못된 경우
+     */
+    public CursorPageDTO<PostSummaryDTO> getRecentFeed(String cursor, int size) {
+        int validSize = validateSize(size);
+        PageRequest limit = PageRequest.of(0, validSize + 1);
+
+        List<PostSummaryDTO> posts;
+        if (cursor == null || cursor.isEmpty()) {
+            posts = postRepository.findRecentPage(limit);
+        } else {
+            String[] key = PageCursor.decode(cursor, 2);
+            posts = postRepository.findRecentPageAfter(parseDateTime(key[0]), parseLong(key[1]), limit);
+        }
+        return toCursorPage(posts, SORT_RECENT, validSize);
+    }
+
+    /**
+     * 게시판별 피드 (keyset 페이징)
+     * @param boardId 게시판 ID
+     * @param sort 정렬 기준 (recent, views, likes)
+     * @param cursor 직전 페이지의 nextCursor (첫 페이지는 null)
+     * @param size 페이지 크기
+     * @return 게시글 페이지
+     * @throws IllegalArgumentException 정렬 기준이나 커서 형식이 잘못된 경우
+     */
+    public CursorPageDTO<PostSummaryDTO> getBoardFeed(Long boardId, String sort, String cursor, int size) {
+        String validSort = sort == null ? SORT_RECENT : sort;
+        int validSize = validateSize(size);
+        PageRequest limit = PageRequest.of(0, validSize + 1);
+        boolean firstPage = cursor == null || cursor.isEmpty();
+        String[] key = firstPage ? null : PageCursor.decode(cursor, 2);
+
+        List<PostSummaryDTO> posts;
+        switch (validSort) {
+            case SORT_RECENT:
+                posts = firstPage
+                        ? postRepository.findBoardRecentPage(boardId, limit)
+                        : postRepository.findBoardRecentPageAfter(boardId, parseDateTime(key[0]), parseLong(key[1]), limit);
+                break;
+            case SORT_VIEWS:
+                posts = firstPage
+                        ? postRepository.findBoardViewPage(boardId, limit)
+                        : postRepository.findBoardViewPageAfter(boardId, parseInt(key[0]), parseLong(key[1]), limit);
+                break;
+            case SORT_LIKES:
+                posts = firstPage
+                        ? postRepository.findBoardLikePage(boardId, limit)
+                        : postRepository.findBoardLikePageAfter(boardId, parseInt(key[0]), parseLong(key[1]), limit);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown sort: " + sort);
+        }
+        return toCursorPage(posts, validSort, validSize);
+    }
+
+    // size+1건 조회 결과를 페이지로 변환 (초과분이 있으면 다음 커서 생성)
+    private CursorPageDTO<PostSummaryDTO> toCursorPage(List<PostSummaryDTO> posts, String sort, int size) {
+        String nextCursor = null;
+        if (posts.size() > size) {
+            posts = new ArrayList<PostSummaryDTO>(posts.subList(0, size));
+            PostSummaryDTO last = posts.get(size - 1);
+            nextCursor = PageCursor.encode(sortKeyOf(last, sort), last.getId());
+        }
+        return new CursorPageDTO<PostSummaryDTO>(fillSummaries(posts), nextCursor, size);
+    }
+
+    private Object sortKeyOf(PostSummaryDTO post, String sort) {
+        switch (sort) {
+            case SORT_VIEWS:
+                return post.getViewCount();
+            case SORT_LIKES:
+                return post.getLikeCount();
+            default:
+                return post.getCreatedAt();
+        }
+    }
+
+    private int validateSize(int size) {
+        if (size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    private LocalDateTime parseDateTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor value: " + value, e);
+        }
+    }
+
+    private Long parseLong(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor value: " + value, e);
+        }
+    }
+
+    private Integer parseInt(String value) {
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor value: " + value, e);
+        }
     }
 
     // Create new post
     public Post createPost(Post post) {
-        // Check if this is an anonymous board
-        Optional<Board> boardOpt = boardRepository.findById(post.getBoardId());
-        if (boardOpt.isPresent() && Boolean.TRUE.equals(boardOpt.get().getIsAnonymous())) {
-            // Save first to get post ID, then generate anonymous ID
-            Post savedPost = postRepository.save(post);
-            String anonymousId = AnonymousIdGenerator.generateAnonymousId(
-                savedPost.getUserId(),
-                savedPost.getId()
-            );
-            savedPost.setAnonymousId(anonymousId);
-            return postRepository.save(savedPost);
-        }
-        return postRepository.save(post);
+        // 익명 게시판이면 INSERT 시점(ID 할당 후)에 AnonymousIdValueGenerator가 익명 ID를 채운다
+        Post savedPost = postRepository.save(post);
+        eventPublisher.publishEvent(PostChangedEvent.created(savedPost));
+        return savedPost;
     }
 
     // Update existing post
@@ -116,7 +376,9 @@ public class PostService {
         post.setTitle(postDetails.getTitle());
         post.setContent(postDetails.getContent());
 
-        return postRepository.save(post);
+        Post savedPost = postRepository.save(post);
+        eventPublisher.publishEvent(PostChangedEvent.updated(savedPost));
+        return savedPost;
     }
 
     // Delete post
@@ -129,70 +391,124 @@ public class PostService {
 
         // Delete the post
         postRepository.delete(post);
+        eventPublisher.publishEvent(PostChangedEvent.deleted(id, post.getBoardId()));
     }
 
-    // Search posts by title
-    public List<PostDTO> searchPostsByTitle(String keyword) {
-        List<Post> posts = postRepository.findByTitleContainingOrderByCreatedAtDesc(keyword);
-        return convertToPostDTOList(posts);
+    /**
+     * 게시글 검색 (제목 + 본문, 관련도순)
+     * 검색 색인(PostSearchIndex)이 준비되기 전에는 제목 LIKE 검색(최신순)으로 대체한다.
+     * @param keyword 검색어
+     * @param boardId 게시판 ID (null이면 전체)
+     * @param page 페이지 번호 (0부터)
+     * @param size 페이지 크기
+     * @return posts, page, size, totalCount, totalPages
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> searchPosts(String keyword, Long boardId, int page, int size) {
+        int validPage = Math.max(page, 0);
+        int validSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        String trimmed = keyword == null ? "" : keyword.trim();
+
+        List<PostSummaryDTO> posts;
+        int totalCount;
+        BM25Index.Result result = trimmed.isEmpty() ? null
+                : postSearchIndex.search(trimmed, boardId, validPage * validSize, validSize);
+        if (trimmed.isEmpty()) {
+            posts = new ArrayList<PostSummaryDTO>();
+            totalCount = 0;
+        } else if (result != null) {
+            posts = loadSummariesInOrder(result.getIds());
+            // 색인에 남아 있던 삭제·블라인드 게시글은 건수에서도 뺀다
+            totalCount = result.getTotal() - (result.getIds().size() - posts.size());
+        } else {
+            Page<PostSummaryDTO> fallback = postRepository.searchByTitleLike(trimmed, boardId, PageRequest.of(validPage, validSize));
+            posts = fillSummaries(new ArrayList<PostSummaryDTO>(fallback.getContent()));
+            totalCount = (int) fallback.getTotalElements();
+        }
+
+        Map<String, Object> response = new HashMap<String, Object>();
+        response.put("posts", posts);
+        response.put("page", validPage);
+        response.put("size", validSize);
+        response.put("totalCount", totalCount);
+        response.put("totalPages", (int) Math.ceil((double) totalCount / validSize));
+        return response;
     }
 
-    // Get posts by board ID
-    public List<PostDTO> getPostsByBoardId(Long boardId) {
-        List<Post> posts = postRepository.findByBoardIdAndIsBlindedFalseOrderByCreatedAtDesc(boardId);
-        return convertToPostDTOList(posts);
+    // ID 목록 순서대로 게시글 요약 조회 (IN 쿼리 1회, 그 사이 삭제·블라인드된 게시글은 제외)
+    private List<PostSummaryDTO> loadSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<PostSummaryDTO>();
+        }
+        Map<Long, PostSummaryDTO> byId = new HashMap<Long, PostSummaryDTO>();
+        for (PostSummaryDTO summary : postRepository.findVisibleSummariesByIds(ids)) {
+            byId.put(summary.getId(), summary);
+        }
+        List<PostSummaryDTO> ordered = new ArrayList<PostSummaryDTO>(ids.size());
+        for (Long id : ids) {
+            PostSummaryDTO summary = byId.get(id);
+            if (summary != null) {
+                ordered.add(summary);
+            }
+        }
+        return fillSummaries(ordered);
+    }
+
+    // Get the first page of posts by board ID (newest first)
+    public List<PostSummaryDTO> getPostsByBoardId(Long boardId) {
+        return getBoardFeed(boardId, SORT_RECENT, null, DEFAULT_PAGE_SIZE).getItems();
     }
 
-    // Helper method to convert Post list to PostDTO list
-    private List<PostDTO> convertToPostDTOList(List<Post> posts) {
-        List<PostDTO> postDTOs = new ArrayList<PostDTO>();
-        for (Post post : posts) {
-            String authorNickname = getAuthorNickname(post);
-            postDTOs.add(new PostDTO(post, authorNickname));
+    // 목록 요약에 작성자 이름과 썸네일을 채운다
+    // 작성자 이름은 AuthorNameResolver로, 썸네일은 첫 이미지 IN 쿼리 1회로 조회 (N+1 방지)
+    private List<PostSummaryDTO> fillSummaries(List<PostSummaryDTO> posts) {
+        if (posts.isEmpty()) {
+            return posts;
+        }
+        List<Long> userIds = new ArrayList<Long>();
+        List<Long> postIds = new ArrayList<Long>();
+        for (PostSummaryDTO post : posts) {
+            userIds.add(post.getUserId());
+            postIds.add(post.getId());
         }
-        return postDTOs;
+        Map<Long, String> names = authorNameResolver.resolve(userIds);
+        Map<Long, String> thumbnails = new HashMap<Long, String>();
+        for (Object[] row : postImageRepository.findThumbnails(postIds)) {
+            thumbnails.put((Long) row[0], (String) row[1]);
+        }
+
+        for (PostSummaryDTO post : posts) {
+            String authorNickname = names.get(post.getUserId());
+            post.setAuthorNickname(authorNickname != null ? authorNickname : AuthorNameResolver.UNKNOWN_USER);
+            post.setThumbnailUrl(thumbnails.get(post.getId()));
+        }
+        return posts;
     }
 
-    // Helper method to get author nickname (or username if nickname doesn't exist)
+    // Helper method to get author nickname (name field is used as the display name)
     private String getAuthorNickname(Post post) {
-        User user = userRepository.findById(post.getUserId());
-        if (user != null) {
-            // Use name field as nickname (display name)
-            return user.getName();
-        }
-        return "Unknown User";
+        return authorNameResolver.resolve(post.getUserId());
     }
 
     // 조회수 증가 (IP/사용자 기반 중복 방지)
+    // 24시간 중복 판정은 ViewDedupService(메모리)가, 카운터 반영은 ViewCountAggregator가 담당한다
+    // → 중복 조회는 DB에 전혀 접근하지 않는다
     public void incrementViewCount(Long postId, Long userId, String ipAddress) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("Post not found with id: " + postId));
-
-        // 24시간 이내 동일 사용자/IP의 조회 이력 확인
-        LocalDateTime oneDayAgo = LocalDateTime.now().minusDays(1);
-        boolean hasViewed = false;
+        if (!viewDedupService.registerView(postId, userId, ipAddress)) {
+            return;
+        }
 
-        if (userId != null) {
-            // 로그인 사용자: userId로 중복 조회 확인
-            List<PostViewLog> userViewLogs = postViewLogRepository
-                    .findByPostIdAndUserIdAndViewedAtAfter(postId, userId, oneDayAgo);
-            hasViewed = !userViewLogs.isEmpty();
-        } else if (ipAddress != null) {
-            // 비로그인 사용자: IP 주소로 중복 조회 확인
-            List<PostViewLog> ipViewLogs = postViewLogRepository
-                    .findByPostIdAndIpAddressAndViewedAtAfter(postId, ipAddress, oneDayAgo);
-            hasViewed = !ipViewLogs.isEmpty();
+        Long boardId = postRepository.findBoardIdById(postId);
+        if (boardId == null) {
+            throw new RuntimeException("Post not found with id: " + postId);
         }
 
-        // 최근 조회 이력이 없을 때만 조회수 증가
-        if (!hasViewed) {
-            post.setViewCount(post.getViewCount() + 1);
-            postRepository.save(post);
+        // 조건부 GET 버전은 조회수가 DB에 반영될 때 ViewCountAggregator가 올린다
+        viewCountAggregator.increment(postId, boardId);
+        postDetailCache.adjustCounters(postId, 1, 0, 0, 0);
 
-            // 조회 로그 저장
-            PostViewLog viewLog = new PostViewLog(postId, userId, ipAddress);
-            postViewLogRepository.save(viewLog);
-        }
+        // 조회 로그 저장 (통계용, 커밋 후 큐에 넣고 ActivityLogIngester가 일괄 INSERT)
+        activityLogIngester.recordView(postId, userId, ipAddress);
     }
 
     // 하위 호환용 조회수 증가 메서드
@@ -201,71 +517,9 @@ public class PostService {
     }
 
     // 좋아요 (토글 + 싫어요와 상호배타적)
-    public void incrementLikeCount(Long postId, Long userId, String ipAddress) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("Post not found with id: " + postId));
-
-        if (userId != null) {
-            // 1. 기존 좋아요 확인
-            List<PostLikeLog> userLikeLogs = postLikeLogRepository
-                    .findByPostIdAndUserId(postId, userId);
-
-            if (!userLikeLogs.isEmpty()) {
-                // 이미 좋아요를 눌렀으면 → 취소 (토글)
-                for (PostLikeLog likeLog : userLikeLogs) {
-                    postLikeLogRepository.delete(likeLog);
-                }
-                post.setLikeCount(Math.max(0, post.getLikeCount() - 1));
-                postRepository.save(post);
-                return; // 종료
-            }
-
-            // 2. 기존 싫어요 확인 (상호배타)
-            List<PostDislikeLog> userDislikeLogs = postDislikeLogRepository
-                    .findByPostIdAndUserId(postId, userId);
-            if (!userDislikeLogs.isEmpty()) {
-                // 싫어요가 있으면 → 싫어요 취소
-                for (PostDislikeLog dislikeLog : userDislikeLogs) {
-                    postDislikeLogRepository.delete(dislikeLog);
-                }
-                post.setDislikeCount(Math.max(0, post.getDislikeCount() - 1));
-            }
-
-            // 3. 좋아요 추가
-            post.setLikeCount(post.getLikeCount() + 1);
-            postRepository.save(post);
-            PostLikeLog likeLog = new PostLikeLog(postId, userId, ipAddress);
-            postLikeLogRepository.save(likeLog);
-
-        } else if (ipAddress != null) {
-            // 비로그인 사용자 (IP 기반) - 동일한 패턴
-            List<PostLikeLog> ipLikeLogs = postLikeLogRepository
-                    .findByPostIdAndIpAddress(postId, ipAddress);
-
-            if (!ipLikeLogs.isEmpty()) {
-                // 이미 좋아요 → 취소
-                for (PostLikeLog likeLog : ipLikeLogs) {
-                    postLikeLogRepository.delete(likeLog);
-                }
-                post.setLikeCount(Math.max(0, post.getLikeCount() - 1));
-                postRepository.save(post);
-                return;
-            }
-
-            List<PostDislikeLog> ipDislikeLogs = postDislikeLogRepository
-                    .findByPostIdAndIpAddress(postId, ipAddress);
-            if (!ipDislikeLogs.isEmpty()) {
-                for (PostDislikeLog dislikeLog : ipDislikeLogs) {
-                    postDislikeLogRepository.delete(dislikeLog);
-                }
-                post.setDislikeCount(Math.max(0, post.getDislikeCount() - 1));
-            }
-
-            post.setLikeCount(post.getLikeCount() + 1);
-            postRepository.save(post);
-            PostLikeLog likeLog = new PostLikeLog(postId, userId, ipAddress);
-            postLikeLogRepository.save(likeLog);
-        }
+    // @return 토글 후 반응 상태 ("like" / "dislike" / "none")
+    public String incrementLikeCount(Long postId, Long userId, String ipAddress) {
+        return toggleReaction(postId, userId, ipAddress, PostReaction.LIKE);
     }
 
     // 하위 호환용 좋아요 증가 메서드
@@ -274,95 +528,120 @@ public class PostService {
     }
 
     // 싫어요 (토글 + 좋아요와 상호배타적)
-    public void incrementDislikeCount(Long postId, Long userId, String ipAddress) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("Post not found with id: " + postId));
-
-        if (userId != null) {
-            // 1. 기존 싫어요 확인
-            List<PostDislikeLog> userDislikeLogs = postDislikeLogRepository
-                    .findByPostIdAndUserId(postId, userId);
-
-            if (!userDislikeLogs.isEmpty()) {
-                // 이미 싫어요를 눌렀으면 → 취소 (토글)
-                for (PostDislikeLog dislikeLog : userDislikeLogs) {
-                    postDislikeLogRepository.delete(dislikeLog);
-                }
-                post.setDislikeCount(Math.max(0, post.getDislikeCount() - 1));
-                postRepository.save(post);
-                return; // 종료
-            }
-
-            // 2. 기존 좋아요 확인 (상호배타)
-            List<PostLikeLog> userLikeLogs = postLikeLogRepository
-                    .findByPostIdAndUserId(postId, userId);
-            if (!userLikeLogs.isEmpty()) {
-                // 좋아요가 있으면 → 좋아요 취소
-                for (PostLikeLog likeLog : userLikeLogs) {
-                    postLikeLogRepository.delete(likeLog);
-                }
-                post.setLikeCount(Math.max(0, post.getLikeCount() - 1));
-            }
+    // @return 토글 후 반응 상태 ("like" / "dislike" / "none")
+    public String incrementDislikeCount(Long postId, Long userId, String ipAddress) {
+        return toggleReaction(postId, userId, ipAddress, PostReaction.DISLIKE);
+    }
 
-            // 3. 싫어요 추가
-            post.setDislikeCount(post.getDislikeCount() + 1);
-            postRepository.save(post);
-            PostDislikeLog dislikeLog = new PostDislikeLog(postId, userId, ipAddress);
-            postDislikeLogRepository.save(dislikeLog);
-
-        } else if (ipAddress != null) {
-            // 비로그인 사용자 (IP 기반) - 동일한 패턴
-            List<PostDislikeLog> ipDislikeLogs = postDislikeLogRepository
-                    .findByPostIdAndIpAddress(postId, ipAddress);
-
-            if (!ipDislikeLogs.isEmpty()) {
-                // 이미 싫어요 → 취소
-                for (PostDislikeLog dislikeLog : ipDislikeLogs) {
-                    postDislikeLogRepository.delete(dislikeLog);
-                }
-                post.setDislikeCount(Math.max(0, post.getDislikeCount() - 1));
-                postRepository.save(post);
-                return;
-            }
+    // 하위 호환용 싫어요 증가 메서드
+    public void incrementDislikeCount(Long id) {
+        incrementDislikeCount(id, null, null);
+    }
 
-            List<PostLikeLog> ipLikeLogs = postLikeLogRepository
-                    .findByPostIdAndIpAddress(postId, ipAddress);
-            if (!ipLikeLogs.isEmpty()) {
-                for (PostLikeLog likeLog : ipLikeLogs) {
-                    postLikeLogRepository.delete(likeLog);
-                }
-                post.setLikeCount(Math.max(0, post.getLikeCount() - 1));
-            }
+    // 반응 토글: post_reactions 조건부 문장 1~3개 + posts 카운터 증감 UPDATE 1~2개 (한 트랜잭션)
+    // 1) 같은 반응이 있으면 삭제 → 취소
+    // 2) 반대 반응이 있으면 전환 → 반대 카운터 -1, 요청 카운터 +1
+    // 3) 없으면 추가 → 요청 카운터 +1
+    private String toggleReaction(Long postId, Long userId, String ipAddress, String type) {
+        String actor = PostReaction.actorOf(userId, ipAddress);
+        if (actor == null) {
+            return toReactionStatus(null);
+        }
+        // 좋아요가 취소되면 원래 좋아요 시각의 버킷에서 차감해야 하므로 먼저 읽어둔다
+        LocalDateTime likedAt = postReactionRepository.findLikedAt(postId, actor);
+
+        int delta;
+        String state;
+        boolean switched = false;
+        if (postReactionRepository.deleteIfType(postId, actor, type) > 0) {
+            delta = -1;
+            state = null;
+        } else if (postReactionRepository.switchType(postId, actor, type) > 0) {
+            delta = 1;
+            switched = true;
+            state = type;
+        } else if (postReactionRepository.insertIfAbsent(postId, actor, userId, ipAddress, type) > 0) {
+            delta = 1;
+            state = type;
+        } else {
+            // 동시 요청이 같은 반응을 먼저 추가함 → 이미 반영된 상태
+            return toReactionStatus(type);
+        }
 
-            post.setDislikeCount(post.getDislikeCount() + 1);
-            postRepository.save(post);
-            PostDislikeLog dislikeLog = new PostDislikeLog(postId, userId, ipAddress);
-            postDislikeLogRepository.save(dislikeLog);
+        int likeDelta = PostReaction.LIKE.equals(type) ? delta : (switched ? -1 : 0);
+        int dislikeDelta = PostReaction.DISLIKE.equals(type) ? delta : (switched ? -1 : 0);
+        if (!adjustCounter(Counter.POST_LIKES, postId, likeDelta) || !adjustCounter(Counter.POST_DISLIKES, postId, dislikeDelta)) {
+            // 트랜잭션 롤백으로 반응 변경도 취소된다
+            throw new RuntimeException("Post not found with id: " + postId);
         }
+        postDetailCache.adjustCounters(postId, 0, likeDelta, dislikeDelta, 0);
+        contentVersionRegistry.touchPost(postId, postRepository.findBoardIdById(postId));
+        if (likeDelta > 0) {
+            likeWindowCounter.record(postId, LocalDateTime.now(), 1);
+        } else if (likeDelta < 0 && likedAt != null) {
+            likeWindowCounter.record(postId, likedAt, -1);
+        }
+        return toReactionStatus(state);
     }
 
-    // 하위 호환용 싫어요 증가 메서드
-    public void incrementDislikeCount(Long id) {
-        incrementDislikeCount(id, null, null);
+    // 카운터 원자적 증감 (delta가 0이면 생략), 게시글이 없으면 false
+    private boolean adjustCounter(Counter counter, Long postId, int delta) {
+        return counterService.add(counter, postId, delta);
     }
 
     // 사용자의 현재 반응 상태 조회
+    @Transactional(readOnly = true)
     public String getUserReaction(Long postId, Long userId, String ipAddress) {
-        if (userId != null) {
-            if (!postLikeLogRepository.findByPostIdAndUserId(postId, userId).isEmpty()) {
-                return "like";
-            }
-            if (!postDislikeLogRepository.findByPostIdAndUserId(postId, userId).isEmpty()) {
-                return "dislike";
-            }
-        } else if (ipAddress != null) {
-            if (!postLikeLogRepository.findByPostIdAndIpAddress(postId, ipAddress).isEmpty()) {
-                return "like";
-            }
-            if (!postDislikeLogRepository.findByPostIdAndIpAddress(postId, ipAddress).isEmpty()) {
-                return "dislike";
+        String actor = PostReaction.actorOf(userId, ipAddress);
+        if (actor == null) {
+            return toReactionStatus(null);
+        }
+        return toReactionStatus(postReactionRepository.findReactionType(postId, actor));
+    }
+
+    // 여러 게시글에 대한 사용자의 반응 상태 일괄 조회 (피드 렌더링용, 쿼리 1회)
+    // @return postId → "like" / "dislike" / "none" (요청 순서 유지)
+    @Transactional(readOnly = true)
+    public Map<Long, String> getUserReactions(List<Long> postIds, Long userId, String ipAddress) {
+        Set<Long> ids = toStatusIdSet(postIds);
+        Map<Long, String> reactions = new LinkedHashMap<Long, String>();
+        for (Long postId : ids) {
+            reactions.put(postId, toReactionStatus(null));
+        }
+
+        String actor = PostReaction.actorOf(userId, ipAddress);
+        if (actor == null || ids.isEmpty()) {
+            return reactions;
+        }
+        for (Object[] row : postReactionRepository.findReactionTypes(ids, actor)) {
+            reactions.put((Long) row[0], toReactionStatus((String) row[1]));
+        }
+        return reactions;
+    }
+
+    // 일괄 상태 조회용 ID 정리 (null·중복 제거, 최대 MAX_STATUS_IDS건)
+    static Set<Long> toStatusIdSet(List<Long> ids) {
+        Set<Long> result = new LinkedHashSet<Long>();
+        if (ids != null) {
+            for (Long id : ids) {
+                if (id != null) {
+                    result.add(id);
+                }
             }
         }
+        if (result.size() > MAX_STATUS_IDS) {
+            throw new IllegalArgumentException("Too many ids (max " + MAX_STATUS_IDS + ")");
+        }
+        return result;
+    }
+
+    private static String toReactionStatus(String reactionType) {
+        if (PostReaction.LIKE.equals(reactionType)) {
+            return "like";
+        }
+        if (PostReaction.DISLIKE.equals(reactionType)) {
+            return "dislike";
+        }
         return "none";
     }
 }
@@ -1,20 +1,35 @@
 package com.ej2.service;
 
+import com.ej2.dto.CursorPageDTO;
 import com.ej2.dto.PopularPostDTO;
+import com.ej2.dto.TrendingPostDTO;
 import com.ej2.mapper.RankingMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 @Transactional(readOnly = true)
 public class RankingService {
 
+    private static final Logger logger = LoggerFactory.getLogger(RankingService.class);
+
     private static final int DEFAULT_PAGE_SIZE = 20;
     private static final int MAX_PAGE_SIZE = 100;
     private static final List<String> VALID_PERIODS = Arrays.asList("daily", "weekly", "monthly", "all");
@@ -22,6 +37,51 @@ public class RankingService {
     @Autowired
     private RankingMapper rankingMapper;
 
+    @Autowired
+    private AuthorNameResolver authorNameResolver;
+
+    @Autowired
+    private PopularityTopK popularityTopK;
+
+    @Autowired
+    private RankingSnapshots rankingSnapshots;
+
+    @Autowired
+    private TrendingDetector trendingDetector;
+
+    // 총 개수 캐시: ttl-ms 동안은 그대로 쓰고, stale-ms까지는 이전 값을 주면서 백그라운드에서 다시 센다
+    @Value("${ranking.totals.ttl-ms:30000}")
+    private long totalsTtlMs = 30000;
+
+    @Value("${ranking.totals.stale-ms:300000}")
+    private long totalsStaleMs = 300000;
+
+    // 캐시하는 (게시판, 기간) 수 상한 (존재하지 않는 게시판 ID 요청으로 무한히 늘지 않도록)
+    @Value("${ranking.totals.max-entries:1000}")
+    private int totalsMaxEntries = 1000;
+
+    // "게시판ID:기간" (전체는 "*:기간") → 총 개수
+    private final ConcurrentHashMap<String, CachedTotal> totals = new ConcurrentHashMap<String, CachedTotal>();
+
+    // 백그라운드 재집계 (대기열이 가득 차면 이전 값을 계속 쓴다)
+    private final ThreadPoolExecutor totalsRecounter = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<Runnable>(100), runnable -> {
+                Thread thread = new Thread(runnable, "ej2-ranking-totals");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private static final class CachedTotal {
+        final int count;
+        final long countedAt;
+        final AtomicBoolean recounting = new AtomicBoolean();
+
+        CachedTotal(int count, long countedAt) {
+            this.count = count;
+            this.countedAt = countedAt;
+        }
+    }
+
     /**
      * 전체 인기글 조회
      * @param period 기간 (daily, weekly, monthly, all)
@@ -30,15 +90,16 @@ public class RankingService {
      * @return 인기글 목록과 페이징 정보
      */
     public Map<String, Object> getPopularPosts(String period, int page, int size) {
-        String validPeriod = validatePeriod(period);
-        int validSize = validateSize(size);
-        int validPage = Math.max(0, page);
-        int offset = validPage * validSize;
-
-        List<PopularPostDTO> posts = rankingMapper.selectPopularPosts(validPeriod, validSize, offset);
-        int totalCount = rankingMapper.countPopularPosts(null, validPeriod);
+        return getPopularPosts(period, page, size, true);
+    }
 
-        return buildResponse(posts, validPage, validSize, totalCount);
+    /**
+     * 전체 인기글 조회
+     * @param includeTotal false면 총 개수 대신 size + 1건을 읽어 다음 페이지 여부(hasNext)만 돌려준다
+     * @return 인기글 목록과 페이징 정보
+     */
+    public Map<String, Object> getPopularPosts(String period, int page, int size, boolean includeTotal) {
+        return getPopular(null, period, page, size, includeTotal);
     }
 
     /**
@@ -50,17 +111,141 @@ public class RankingService {
      * @return 인기글 목록과 페이징 정보
      */
     public Map<String, Object> getPopularPostsByBoard(Long boardId, String period, int page, int size) {
+        return getPopularPostsByBoard(boardId, period, page, size, true);
+    }
+
+    /**
+     * 게시판별 인기글 조회
+     * @param includeTotal false면 총 개수 대신 size + 1건을 읽어 다음 페이지 여부(hasNext)만 돌려준다
+     * @return 인기글 목록과 페이징 정보
+     */
+    public Map<String, Object> getPopularPostsByBoard(Long boardId, String period, int page, int size,
+                                                      boolean includeTotal) {
+        return getPopular(boardId, period, page, size, includeTotal);
+    }
+
+    /**
+     * 인기글 커서 페이징 (스크롤 중에는 스냅샷 순위로 고정)
+     * @param boardId 게시판 ID (null이면 전체)
+     * @param period 기간
+     * @param cursor 직전 응답의 nextCursor (첫 페이지는 null)
+     * @param size 페이지 크기
+     * @return 인기글 페이지
+     * @throws IllegalArgumentException 커서 형식이 잘못된 경우
+     */
+    public CursorPageDTO<PopularPostDTO> getPopularFeed(Long boardId, String period, String cursor, int size) {
+        CursorPageDTO<PopularPostDTO> page = rankingSnapshots.page(boardId, validatePeriod(period), cursor, validateSize(size));
+        fillAuthorNicknames(page.getItems());
+        return page;
+    }
+
+    /**
+     * 급상승 게시글 (최근 활동 속도가 평소보다 크게 빨라진 게시글)
+     * @param boardId 게시판 ID (null이면 전체)
+     * @param size 최대 개수
+     * @return 급상승 게시글 목록과 평가 시각
+     */
+    public Map<String, Object> getTrendingPosts(Long boardId, int size) {
+        List<TrendingPostDTO> posts = trendingDetector.trending(boardId, validateSize(size));
+        fillAuthorNicknames(posts);
+
+        Map<String, Object> response = new HashMap<String, Object>();
+        response.put("posts", posts);
+        response.put("size", posts.size());
+        response.put("evaluatedAt", trendingDetector.getLastEvaluateAt());
+        return response;
+    }
+
+    private Map<String, Object> getPopular(Long boardId, String period, int page, int size, boolean includeTotal) {
         String validPeriod = validatePeriod(period);
         int validSize = validateSize(size);
         int validPage = Math.max(0, page);
         int offset = validPage * validSize;
 
-        List<PopularPostDTO> posts = rankingMapper.selectPopularPostsByBoard(boardId, validPeriod, validSize, offset);
-        int totalCount = rankingMapper.countPopularPosts(boardId, validPeriod);
+        // hasNext 모드는 한 건 더 읽어 다음 페이지가 있는지 본다 (COUNT 없음)
+        int limit = includeTotal ? validSize : validSize + 1;
+        List<PopularPostDTO> posts = selectPage(boardId, validPeriod, offset, limit);
+        if (!includeTotal) {
+            boolean hasNext = posts.size() > validSize;
+            if (hasNext) {
+                posts = new ArrayList<PopularPostDTO>(posts.subList(0, validSize));
+            }
+            fillAuthorNicknames(posts);
+            return buildResponse(posts, validPage, validSize, hasNext);
+        }
 
+        fillAuthorNicknames(posts);
+        int totalCount = countTotal(boardId, validPeriod);
         return buildResponse(posts, validPage, validSize, totalCount);
     }
 
+    // 상위 K건 안의 페이지는 메모리 랭킹에서, 그 밖은 DB에서
+    private List<PopularPostDTO> selectPage(final Long boardId, final String period, final int offset, final int limit) {
+        return popularityTopK.page(boardId, period, offset, limit).orElseGet(() -> boardId == null
+                ? rankingMapper.selectPopularPosts(period, limit, offset)
+                : rankingMapper.selectPopularPostsByBoard(boardId, period, limit, offset));
+    }
+
+    /**
+     * 총 개수 (캐시 우선, 오래되었으면 이전 값을 주고 백그라운드에서 다시 센다)
+     */
+    private int countTotal(final Long boardId, final String period) {
+        final String key = (boardId != null ? boardId.toString() : "*") + ":" + period;
+        final CachedTotal cached = totals.get(key);
+        if (cached != null) {
+            long age = System.currentTimeMillis() - cached.countedAt;
+            if (age < totalsTtlMs) {
+                return cached.count;
+            }
+            if (age < totalsStaleMs) {
+                if (cached.recounting.compareAndSet(false, true)) {
+                    try {
+                        totalsRecounter.execute(() -> {
+                            try {
+                                recount(key, boardId, period);
+                            } catch (RuntimeException e) {
+                                logger.warn("Ranking total recount failed for {}: {}", key, e.getMessage());
+                            } finally {
+                                cached.recounting.set(false);
+                            }
+                        });
+                    } catch (RejectedExecutionException e) {
+                        cached.recounting.set(false);
+                    }
+                }
+                return cached.count;
+            }
+        }
+        return recount(key, boardId, period);
+    }
+
+    private int recount(String key, Long boardId, String period) {
+        int count = rankingMapper.countPopularPosts(boardId, period);
+        if (totals.size() < totalsMaxEntries || totals.containsKey(key)) {
+            totals.put(key, new CachedTotal(count, System.currentTimeMillis()));
+        }
+        return count;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        totalsRecounter.shutdownNow();
+    }
+
+    /**
+     * 작성자 이름 일괄 채우기 (IN 쿼리 1회 + 캐시)
+     */
+    private void fillAuthorNicknames(List<? extends PopularPostDTO> posts) {
+        List<Long> userIds = new ArrayList<Long>();
+        for (PopularPostDTO post : posts) {
+            userIds.add(post.getUserId());
+        }
+        Map<Long, String> names = authorNameResolver.resolve(userIds);
+        for (PopularPostDTO post : posts) {
+            post.setAuthorNickname(names.get(post.getUserId()));
+        }
+    }
+
     /**
      * 기간 파라미터 검증
      */
@@ -100,4 +285,16 @@ public class RankingService {
         response.put("totalPages", (int) Math.ceil((double) totalCount / size));
         return response;
     }
+
+    /**
+     * 응답 데이터 구성 (hasNext 모드)
+     */
+    private Map<String, Object> buildResponse(List<PopularPostDTO> posts, int page, int size, boolean hasNext) {
+        Map<String, Object> response = new HashMap<String, Object>();
+        response.put("posts", posts);
+        response.put("page", page);
+        response.put("size", size);
+        response.put("hasNext", hasNext);
+        return response;
+    }
 }
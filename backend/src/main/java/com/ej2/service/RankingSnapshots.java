@@ -0,0 +1,226 @@
+package com.ej2.service;
+
+import com.ej2.dto.CursorPageDTO;
+import com.ej2.dto.PopularPostDTO;
+import com.ej2.mapper.RankingMapper;
+import com.ej2.util.PageCursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 인기글 커서 페이징과 랭킹 스냅샷
+ *
+ * 커서는 직전 페이지 마지막 행의 (score, created_at, post_id)와 스냅샷 ID를 담는다.
+ * - 첫 페이지 요청 시 (게시판, 기간)의 상위 max-rows건 순위를 post_popularity 인덱스에서 읽어 스냅샷으로 두고,
+ *   이후 페이지는 스냅샷 순서대로 잘라 posts를 PK로 읽는다. 점수가 바뀌어도 스크롤 중에는 순위가 밀리지 않는다
+ * - 같은 (게시판, 기간)의 스냅샷은 reuse-ms 동안 새 첫 페이지 요청에 공유하고 ttl-ms 후 버린다
+ *   (따라서 스크롤은 최소 ttl-ms - reuse-ms 동안 같은 순서를 본다)
+ * - 스냅샷이 만료되었거나 끝에 도달하면 같은 커서로 post_popularity를 keyset으로 이어 읽는다 (OFFSET 없음)
+ * 스냅샷 이후 삭제·블라인드된 게시글은 건너뛰므로 그 페이지는 size보다 짧을 수 있다.
+ */
+@Component
+public class RankingSnapshots {
+
+    // 스냅샷 없이 keyset으로 읽은 페이지의 커서에 쓰는 스냅샷 ID
+    private static final long NO_SNAPSHOT = 0;
+
+    @Autowired
+    private RankingMapper rankingMapper;
+
+    @Value("${ranking.snapshot.ttl-ms:300000}")
+    private long ttlMs = 300000;
+
+    @Value("${ranking.snapshot.reuse-ms:60000}")
+    private long reuseMs = 60000;
+
+    // 스냅샷 하나에 담는 순위 수
+    @Value("${ranking.snapshot.max-rows:1000}")
+    private int maxRows = 1000;
+
+    // 동시에 보관하는 스냅샷 수 상한 (넘치면 스냅샷 없이 keyset으로 응답)
+    @Value("${ranking.snapshot.max-snapshots:200}")
+    private int maxSnapshots = 200;
+
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis());
+    private final ConcurrentHashMap<Long, Snapshot> snapshots = new ConcurrentHashMap<Long, Snapshot>();
+    // "게시판ID:기간" (전체는 "*:기간") → 새 첫 페이지에 공유하는 최신 스냅샷
+    private final ConcurrentHashMap<String, Snapshot> latest = new ConcurrentHashMap<String, Snapshot>();
+
+    private static final class Snapshot {
+        final long id;
+        final Long boardId;
+        final String period;
+        final long createdAt;
+        final List<PopularPostDTO> keys;
+        final Map<Long, Integer> positions;
+        // max-rows 뒤에도 게시글이 있는지
+        final boolean truncated;
+
+        Snapshot(long id, Long boardId, String period, long createdAt, List<PopularPostDTO> keys, boolean truncated) {
+            this.id = id;
+            this.boardId = boardId;
+            this.period = period;
+            this.createdAt = createdAt;
+            this.keys = keys;
+            this.truncated = truncated;
+            this.positions = new HashMap<Long, Integer>(keys.size() * 2);
+            for (int i = 0; i < keys.size(); i++) {
+                positions.put(keys.get(i).getId(), i);
+            }
+        }
+
+        boolean matches(Long boardId, String period) {
+            return (this.boardId == null ? boardId == null : this.boardId.equals(boardId)) && this.period.equals(period);
+        }
+    }
+
+    /**
+     * 인기글 한 페이지 (커서 페이징)
+     * @param boardId 게시판 ID (null이면 전체)
+     * @param period 검증된 기간
+     * @param cursor 직전 응답의 nextCursor (첫 페이지는 null)
+     * @param size 검증된 페이지 크기
+     * @throws IllegalArgumentException 커서 형식이 잘못된 경우
+     */
+    public CursorPageDTO<PopularPostDTO> page(Long boardId, String period, String cursor, int size) {
+        if (cursor == null || cursor.isEmpty()) {
+            Snapshot snapshot = current(boardId, period);
+            if (snapshot == null) {
+                return livePage(boardId, period, null, size);
+            }
+            return snapshotPage(snapshot, 0, size);
+        }
+
+        String[] key = PageCursor.decode(cursor, 4);
+        PopularPostDTO after = new PopularPostDTO();
+        long snapshotId;
+        try {
+            snapshotId = Long.parseLong(key[0]);
+            after.setPopularityScore(Double.parseDouble(key[1]));
+            after.setCreatedAt(LocalDateTime.parse(key[2]));
+            after.setId(Long.parseLong(key[3]));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+
+        Snapshot snapshot = snapshots.get(snapshotId);
+        if (snapshot != null && System.currentTimeMillis() - snapshot.createdAt < ttlMs && snapshot.matches(boardId, period)) {
+            Integer position = snapshot.positions.get(after.getId());
+            if (position != null && (position + 1 < snapshot.keys.size() || !snapshot.truncated)) {
+                return snapshotPage(snapshot, position + 1, size);
+            }
+        }
+        // 스냅샷 만료 / 스냅샷 끝 이후 → 같은 정렬 키로 keyset 조회
+        return livePage(boardId, period, after, size);
+    }
+
+    private CursorPageDTO<PopularPostDTO> snapshotPage(Snapshot snapshot, int start, int size) {
+        int end = Math.min(start + size, snapshot.keys.size());
+        List<PopularPostDTO> pageKeys = start < end
+                ? snapshot.keys.subList(start, end) : Collections.<PopularPostDTO>emptyList();
+        boolean hasNext = end < snapshot.keys.size() || (snapshot.truncated && !pageKeys.isEmpty());
+        String nextCursor = hasNext ? cursorOf(snapshot.id, pageKeys.get(pageKeys.size() - 1)) : null;
+        return new CursorPageDTO<PopularPostDTO>(hydrate(pageKeys), nextCursor, size);
+    }
+
+    // 스냅샷 순서대로 현재 게시글 내용을 채운다 (점수는 스냅샷 시점 값)
+    private List<PopularPostDTO> hydrate(List<PopularPostDTO> pageKeys) {
+        if (pageKeys.isEmpty()) {
+            return new ArrayList<PopularPostDTO>();
+        }
+        List<Long> ids = new ArrayList<Long>(pageKeys.size());
+        for (PopularPostDTO key : pageKeys) {
+            ids.add(key.getId());
+        }
+        Map<Long, PopularPostDTO> current = new HashMap<Long, PopularPostDTO>();
+        for (PopularPostDTO post : rankingMapper.selectPopularPostsByIds(ids)) {
+            current.put(post.getId(), post);
+        }
+        List<PopularPostDTO> posts = new ArrayList<PopularPostDTO>(pageKeys.size());
+        for (PopularPostDTO key : pageKeys) {
+            PopularPostDTO post = current.get(key.getId());
+            if (post != null) {
+                post.setPopularityScore(key.getPopularityScore());
+                posts.add(post);
+            }
+        }
+        return posts;
+    }
+
+    private CursorPageDTO<PopularPostDTO> livePage(Long boardId, String period, PopularPostDTO after, int size) {
+        List<PopularPostDTO> posts;
+        if (after == null) {
+            posts = boardId == null
+                    ? rankingMapper.selectPopularPosts(period, size + 1, 0)
+                    : rankingMapper.selectPopularPostsByBoard(boardId, period, size + 1, 0);
+        } else {
+            posts = rankingMapper.selectPopularPostsAfter(boardId, period, after.getPopularityScore(),
+                    after.getCreatedAt(), after.getId(), size + 1);
+        }
+        String nextCursor = null;
+        if (posts.size() > size) {
+            posts = new ArrayList<PopularPostDTO>(posts.subList(0, size));
+            nextCursor = cursorOf(NO_SNAPSHOT, posts.get(size - 1));
+        }
+        return new CursorPageDTO<PopularPostDTO>(posts, nextCursor, size);
+    }
+
+    private static String cursorOf(long snapshotId, PopularPostDTO last) {
+        return PageCursor.encode(snapshotId, last.getPopularityScore(), last.getCreatedAt(), last.getId());
+    }
+
+    // reuse-ms 안에 만든 스냅샷이 있으면 공유, 없으면 새로 만든다 (상한에 도달하면 null)
+    private Snapshot current(Long boardId, String period) {
+        String key = (boardId != null ? boardId.toString() : "*") + ":" + period;
+        long now = System.currentTimeMillis();
+        Snapshot snapshot = latest.get(key);
+        if (snapshot != null && now - snapshot.createdAt < reuseMs) {
+            return snapshot;
+        }
+        purgeExpired(now);
+        if (snapshots.size() >= maxSnapshots) {
+            return null;
+        }
+        List<PopularPostDTO> keys = rankingMapper.selectPopularityKeys(boardId, period, maxRows + 1);
+        boolean truncated = keys.size() > maxRows;
+        if (truncated) {
+            keys = new ArrayList<PopularPostDTO>(keys.subList(0, maxRows));
+        }
+        snapshot = new Snapshot(sequence.incrementAndGet(), boardId, period, now, keys, truncated);
+        snapshots.put(snapshot.id, snapshot);
+        latest.put(key, snapshot);
+        return snapshot;
+    }
+
+    private void purgeExpired(long now) {
+        snapshots.values().removeIf(snapshot -> now - snapshot.createdAt >= ttlMs);
+        latest.values().removeIf(snapshot -> now - snapshot.createdAt >= ttlMs);
+    }
+
+    /**
+     * 스냅샷 상태 (보관 중인 스냅샷 수, 순위 합계)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<String, Object>();
+        int rows = 0;
+        for (Snapshot snapshot : snapshots.values()) {
+            rows += snapshot.keys.size();
+        }
+        stats.put("snapshots", snapshots.size());
+        stats.put("rows", rows);
+        stats.put("maxSnapshots", maxSnapshots);
+        stats.put("ttlMs", ttlMs);
+        return stats;
+    }
+}
@@ -4,16 +4,20 @@ import com.ej2.dto.ReportDTO;
 import com.ej2.dto.ReportDetailDTO;
 import com.ej2.dto.ReportSearchCriteria;
 import com.ej2.dto.ReportStatsDTO;
+import com.ej2.event.CommentChangedEvent;
+import com.ej2.event.PostChangedEvent;
 import com.ej2.mapper.ReportMapper;
 import com.ej2.model.Comment;
 import com.ej2.model.Post;
 import com.ej2.model.Report;
 import com.ej2.model.User;
 import com.ej2.repository.CommentRepository;
+import com.ej2.repository.CounterRepository.Counter;
 import com.ej2.repository.PostRepository;
 import com.ej2.repository.ReportRepository;
 import com.ej2.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -38,12 +42,24 @@ public class ReportService {
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private CounterService counterService;
+
     @Autowired
     private CommentRepository commentRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PostDetailCache postDetailCache;
+
+    @Autowired
+    private ContentVersionRegistry contentVersionRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Submit a new report for a post, comment, or user
      */
@@ -65,15 +81,10 @@ public class ReportService {
         Report report = new Report(reportType, entityId, reporterId, reason, description);
         report = reportRepository.save(report);
 
-        // Increment reported count for posts
-        if ("POST".equals(reportType)) {
-            Optional<Post> postOptional = postRepository.findById(entityId);
-            if (postOptional.isPresent()) {
-                Post post = postOptional.get();
-                Integer currentCount = post.getReportedCount();
-                post.setReportedCount(currentCount != null ? currentCount + 1 : 1);
-                postRepository.save(post);
-            }
+        // Increment reported count for posts (single atomic UPDATE, or a shard slot while the post is hot)
+        if ("POST".equals(reportType) && counterService.add(Counter.POST_REPORTS, entityId, 1)) {
+            postDetailCache.invalidate(entityId);
+            contentVersionRegistry.touchPost(entityId, postRepository.findBoardIdById(entityId));
         }
 
         return report;
@@ -184,13 +195,16 @@ public class ReportService {
         post.setIsBlinded(true);
         post.setBlindReason(reason);
         postRepository.save(post);
+        eventPublisher.publishEvent(PostChangedEvent.blinded(post));
     }
 
     private void handleDeletePost(Long postId) {
-        if (!postRepository.existsById(postId)) {
+        Optional<Post> postOptional = postRepository.findById(postId);
+        if (!postOptional.isPresent()) {
             throw new RuntimeException("Post not found with id: " + postId);
         }
-        postRepository.deleteById(postId);
+        postRepository.delete(postOptional.get());
+        eventPublisher.publishEvent(PostChangedEvent.deleted(postId, postOptional.get().getBoardId()));
     }
 
     private void handleDeleteComment(Long commentId) {
@@ -201,6 +215,8 @@ public class ReportService {
         Comment comment = commentOptional.get();
         comment.setIsDeleted(true);
         commentRepository.save(comment);
+        contentVersionRegistry.touchComments(comment.getPostId());
+        eventPublisher.publishEvent(CommentChangedEvent.deleted(comment.getPostId(), commentId, true));
     }
 
     private void validateReportSubmission(Long reporterId, String reportType, Long entityId) {
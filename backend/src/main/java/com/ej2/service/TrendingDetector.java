@@ -0,0 +1,266 @@
+package com.ej2.service;
+
+import com.ej2.dto.PopularPostDTO;
+import com.ej2.dto.TrendingPostDTO;
+import com.ej2.mapper.RankingMapper;
+import com.ej2.repository.CounterRepository.Counter;
+import com.ej2.util.DecayingCounts;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 급상승 게시글 감지 (활동 속도 기반)
+ *
+ * 게시글마다 좋아요·댓글·조회 이벤트를 지수 감쇠 카운트로 두 구간에 누적한다.
+ * - 단기(recent-window-ms, 기본 5분)와 장기(baseline-window-ms, 기본 1시간) 카운트를 인기도 점수와 같은 가중치
+ *   (좋아요 3, 댓글 2, 조회 0.1)로 합쳐 분당 활동량으로 환산한다
+ * - 단기 활동량이 min-recent-activity 이상이고 장기 활동량의 min-lift배 이상이면 급상승으로 본다
+ *   (꾸준히 활동이 많은 게시글은 두 값이 비슷해 제외된다)
+ * - evaluate-interval-ms마다 후보를 (단기 - 장기) 활동량 내림차순으로 계산해 두고, 조회는 그 목록만 읽는다
+ * 최근 활동이 있는 게시글만 추적한다. 장기 카운트가 prune-below 아래로 감쇠한 게시글은 평가 때 내려놓고,
+ * 추적 수가 max-tracked에 도달하면 새 게시글은 다음 평가에서 자리가 날 때까지 세지 않는다.
+ * 메모리 값이므로 재시작하면 비어서 시작한다 (시작 직후에는 관측한 시간만큼으로 활동량을 환산한다).
+ */
+@Component
+public class TrendingDetector {
+
+    private static final int LIKES = 0;
+    private static final int COMMENTS = 1;
+    private static final int VIEWS = 2;
+    // RankingMapper.xml popularityScore와 같은 가중치
+    private static final double[] WEIGHTS = {3.0, 2.0, 0.1};
+    private static final double MILLIS_PER_MINUTE = 60000.0;
+
+    @Autowired
+    private RankingMapper rankingMapper;
+
+    @Value("${trending.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${trending.recent-window-ms:300000}")
+    private long recentWindowMs = 300000;
+
+    @Value("${trending.baseline-window-ms:3600000}")
+    private long baselineWindowMs = 3600000;
+
+    // 단기 활동량 / 장기 활동량 하한
+    @Value("${trending.min-lift:2.0}")
+    private double minLift = 2.0;
+
+    // 단기 구간 가중 활동량 하한 (조회 몇 건만으로 급상승이 되지 않도록)
+    @Value("${trending.min-recent-activity:5.0}")
+    private double minRecentActivity = 5.0;
+
+    // 장기 가중 활동량이 이 값 아래로 감쇠하면 추적을 그만둔다
+    @Value("${trending.prune-below:0.5}")
+    private double pruneBelow = 0.5;
+
+    @Value("${trending.max-tracked:50000}")
+    private int maxTracked = 50000;
+
+    // 평가 때 보관하는 후보 수 (게시판 필터는 이 안에서 한다)
+    @Value("${trending.max-candidates:200}")
+    private int maxCandidates = 200;
+
+    private final long startedAt = System.currentTimeMillis();
+
+    // postId → 최근 활동
+    private final ConcurrentHashMap<Long, Activity> tracked = new ConcurrentHashMap<Long, Activity>();
+
+    // 마지막 평가 결과 (급상승 정도 내림차순)
+    private volatile List<Candidate> candidates = Collections.emptyList();
+
+    private final LongAdder recordedEvents = new LongAdder();
+    private final LongAdder droppedEvents = new LongAdder();
+    private final LongAdder prunedPosts = new LongAdder();
+    private volatile long lastEvaluateAt = 0;
+    private volatile long lastEvaluateMillis = 0;
+
+    private static final class Activity {
+        final DecayingCounts recent;
+        final DecayingCounts baseline;
+
+        Activity(long recentWindowMs, long baselineWindowMs, long now) {
+            this.recent = new DecayingCounts(WEIGHTS.length, recentWindowMs, now);
+            this.baseline = new DecayingCounts(WEIGHTS.length, baselineWindowMs, now);
+        }
+    }
+
+    private static final class Candidate {
+        final long postId;
+        final double recentRate;
+        final double baselineRate;
+        final double[] recent;
+
+        Candidate(long postId, double recentRate, double baselineRate, double[] recent) {
+            this.postId = postId;
+            this.recentRate = recentRate;
+            this.baselineRate = baselineRate;
+            this.recent = recent;
+        }
+
+        double velocity() {
+            return recentRate - baselineRate;
+        }
+    }
+
+    /**
+     * 게시글 카운터 증가를 활동으로 기록 (좋아요·댓글·조회수만, 감소는 무시. DB 접근 없음)
+     */
+    public void onCounterChanged(Counter counter, Long postId, int delta) {
+        record(counter, postId, delta, System.currentTimeMillis());
+    }
+
+    // 기록 시각을 받는 본체 (DecayingCounts처럼 시각을 인자로 받아 테스트에서 시간을 진행시킨다)
+    void record(Counter counter, Long postId, int delta, long now) {
+        if (!enabled || postId == null || delta <= 0) {
+            return;
+        }
+        int signal;
+        switch (counter) {
+            case POST_LIKES:
+                signal = LIKES;
+                break;
+            case POST_COMMENTS:
+                signal = COMMENTS;
+                break;
+            case POST_VIEWS:
+                signal = VIEWS;
+                break;
+            default:
+                return;
+        }
+        Activity activity = tracked.get(postId);
+        if (activity == null) {
+            if (tracked.size() >= maxTracked) {
+                droppedEvents.increment();
+                return;
+            }
+            activity = tracked.computeIfAbsent(postId, k -> new Activity(recentWindowMs, baselineWindowMs, now));
+        }
+        activity.recent.add(signal, delta, now);
+        activity.baseline.add(signal, delta, now);
+        recordedEvents.add(delta);
+    }
+
+    /**
+     * 주기 작업 (기본 10초 간격): 급상승 후보 계산 + 활동이 끊긴 게시글 정리
+     */
+    @Scheduled(fixedDelayString = "${trending.evaluate-interval-ms:10000}")
+    public void evaluate() {
+        evaluate(System.currentTimeMillis());
+    }
+
+    // now 시점 기준으로 평가
+    void evaluate(long now) {
+        if (!enabled) {
+            return;
+        }
+        long evaluateStartedAt = System.currentTimeMillis();
+        long observed = now - startedAt;
+        double recentScale = DecayingCounts.steadyStateScale(recentWindowMs, observed) / MILLIS_PER_MINUTE;
+        double baselineScale = DecayingCounts.steadyStateScale(baselineWindowMs, observed) / MILLIS_PER_MINUTE;
+
+        List<Candidate> found = new ArrayList<Candidate>();
+        Iterator<Map.Entry<Long, Activity>> it = tracked.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, Activity> entry = it.next();
+            Activity activity = entry.getValue();
+            double baseline = activity.baseline.weightedAt(now, WEIGHTS);
+            if (baseline < pruneBelow) {
+                it.remove();
+                prunedPosts.increment();
+                continue;
+            }
+            double recent = activity.recent.weightedAt(now, WEIGHTS);
+            double recentRate = recent / recentScale;
+            double baselineRate = baseline / baselineScale;
+            if (recent >= minRecentActivity && recentRate >= minLift * baselineRate) {
+                found.add(new Candidate(entry.getKey(), recentRate, baselineRate, activity.recent.valuesAt(now)));
+            }
+        }
+
+        Collections.sort(found, (a, b) -> Double.compare(b.velocity(), a.velocity()));
+        if (found.size() > maxCandidates) {
+            found = new ArrayList<Candidate>(found.subList(0, maxCandidates));
+        }
+        candidates = Collections.unmodifiableList(found);
+        lastEvaluateAt = System.currentTimeMillis();
+        lastEvaluateMillis = lastEvaluateAt - evaluateStartedAt;
+    }
+
+    /**
+     * 급상승 게시글 (마지막 평가 기준, 블라인드·공지·삭제된 게시글 제외)
+     * @param boardId 게시판 ID (null이면 전체)
+     * @param limit 최대 개수
+     */
+    public List<TrendingPostDTO> trending(Long boardId, int limit) {
+        List<Candidate> current = candidates;
+        List<TrendingPostDTO> result = new ArrayList<TrendingPostDTO>();
+        if (current.isEmpty()) {
+            return result;
+        }
+        List<Long> ids = new ArrayList<Long>(current.size());
+        for (Candidate candidate : current) {
+            ids.add(candidate.postId);
+        }
+        Map<Long, PopularPostDTO> posts = new HashMap<Long, PopularPostDTO>();
+        for (PopularPostDTO post : rankingMapper.selectPopularPostsByIds(ids)) {
+            posts.put(post.getId(), post);
+        }
+        for (Candidate candidate : current) {
+            PopularPostDTO post = posts.get(candidate.postId);
+            if (post == null || (boardId != null && !boardId.equals(post.getBoardId()))) {
+                continue;
+            }
+            TrendingPostDTO trending = new TrendingPostDTO(post);
+            trending.setRecentRate(round(candidate.recentRate));
+            trending.setBaselineRate(round(candidate.baselineRate));
+            trending.setLift(candidate.baselineRate > 0 ? round(candidate.recentRate / candidate.baselineRate) : null);
+            trending.setRecentLikes(round(candidate.recent[LIKES]));
+            trending.setRecentComments(round(candidate.recent[COMMENTS]));
+            trending.setRecentViews(round(candidate.recent[VIEWS]));
+            result.add(trending);
+            if (result.size() >= limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    public long getLastEvaluateAt() {
+        return lastEvaluateAt;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    /**
+     * 감지 상태 (추적 중인 게시글 수, 후보 수, 기록·누락 이벤트 수)
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<String, Object>();
+        stats.put("enabled", enabled);
+        stats.put("trackedPosts", tracked.size());
+        stats.put("maxTracked", maxTracked);
+        stats.put("candidates", candidates.size());
+        stats.put("recordedEvents", recordedEvents.sum());
+        stats.put("droppedEvents", droppedEvents.sum());
+        stats.put("prunedPosts", prunedPosts.sum());
+        stats.put("lastEvaluateAt", lastEvaluateAt);
+        stats.put("lastEvaluateMillis", lastEvaluateMillis);
+        return stats;
+    }
+}
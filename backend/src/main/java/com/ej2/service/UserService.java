@@ -14,6 +14,9 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AuthorNameResolver authorNameResolver;
+
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
@@ -31,12 +34,16 @@ public class UserService {
         if (user != null) {
             user.setName(userDetails.getName());
             user.setEmail(userDetails.getEmail());
-            return userRepository.save(user);
+            User saved = userRepository.save(user);
+            // 一覧表示の作成者名キャッシュを無効化
+            authorNameResolver.invalidate(id);
+            return saved;
         }
         return null;
     }
 
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        authorNameResolver.invalidate(id);
     }
 }
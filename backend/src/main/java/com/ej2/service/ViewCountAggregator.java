@@ -0,0 +1,205 @@
+package com.ej2.service;
+
+import com.ej2.repository.CounterRepository.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 조회수 write-behind 집계기
+ *
+ * 조회 요청마다 posts 행을 UPDATE하면 인기 게시글에서 행 잠금 대기가 발생하므로,
+ * 증가분을 게시글별 LongAdder에 모아두고 짧은 주기로
+ * "UPDATE posts SET view_count = view_count + ? WHERE id = ?" 배치 한 번으로 반영한다.
+ * 종료 시에는 @PreDestroy에서 남은 증가분을 반드시 플러시한다.
+ * 접수한 조회는 급상승 감지(TrendingDetector)에도 바로 기록한다.
+ * 조건부 GET 버전(ContentVersionRegistry)은 조회마다가 아니라 플러시가 커밋된 뒤 반영된 게시글에 대해서만 올린다
+ * (조회마다 올리면 목록 ETag가 계속 바뀌고, 플러시 전에 재검증한 클라이언트는 이전 조회수를 새 ETag로 캐시한다).
+ */
+@Component
+public class ViewCountAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewCountAggregator.class);
+
+    private static final String FLUSH_SQL = "UPDATE posts SET view_count = view_count + ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PostPopularityRefresher popularityRefresher;
+
+    @Autowired
+    private TrendingDetector trendingDetector;
+
+    @Autowired
+    private ContentVersionRegistry contentVersionRegistry;
+
+    // postId → 아직 DB에 반영되지 않은 조회수 증가분
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<Long, LongAdder>();
+    // postId → 게시판 ID (pending에 있는 게시글만, 플러시 후 게시판 목록 버전을 올릴 때 사용)
+    private final ConcurrentHashMap<Long, Long> boardIds = new ConcurrentHashMap<Long, Long>();
+
+    // 지표: 접수된 조회수 / DB에 반영된 조회수 / 가장 오래된 미반영 조회 시각
+    private final LongAdder acceptedTotal = new LongAdder();
+    private final AtomicLong persistedTotal = new AtomicLong();
+    private final AtomicLong oldestPendingAt = new AtomicLong(0);
+    private volatile long lastFlushAt = System.currentTimeMillis();
+    private volatile long lastFlushFailedAt = 0;
+
+    /**
+     * 조회수 1 증가를 접수 (DB 접근 없음)
+     * @param boardId 게시글의 게시판 ID (플러시 후 게시판 목록 버전을 올린다)
+     */
+    public void increment(Long postId, Long boardId) {
+        add(postId, boardId, 1);
+        acceptedTotal.increment();
+        oldestPendingAt.compareAndSet(0, System.currentTimeMillis());
+        trendingDetector.onCounterChanged(Counter.POST_VIEWS, postId, 1);
+    }
+
+    // 증가분 누적. 카운터 생성·증가를 compute 안에서 하므로 flush()가 지운 카운터에는 더하지 않는다
+    // (게시판 ID도 같은 키 잠금 안에서 기록하므로 유휴 카운터 정리와 어긋나지 않는다)
+    private void add(Long postId, Long boardId, long delta) {
+        pending.compute(postId, (k, adder) -> {
+            if (adder == null) {
+                adder = new LongAdder();
+            }
+            if (boardId != null) {
+                boardIds.put(postId, boardId);
+            }
+            adder.add(delta);
+            return adder;
+        });
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 특정 게시글의 조회수 증가분
+     */
+    public long getPending(Long postId) {
+        LongAdder adder = pending.get(postId);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    /**
+     * 주기적 플러시 (기본 1초 간격)
+     */
+    @Scheduled(fixedDelayString = "${view.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // 실패한 증가분은 pending으로 되돌렸으므로 다음 주기에 재시도
+            lastFlushFailedAt = System.currentTimeMillis();
+            logger.warn("View count flush failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 누적된 증가분을 게시글별 UPDATE 배치로 반영
+     * @return 반영된 조회수 합계
+     */
+    public synchronized long flush() {
+        long flushStartedAt = System.currentTimeMillis();
+        oldestPendingAt.set(0);
+
+        final Map<Long, Long> deltas = new HashMap<Long, Long>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            LongAdder adder = entry.getValue();
+            long delta = adder.sum();
+            if (delta > 0) {
+                // sum()으로 읽은 만큼만 차감 → 동시에 들어온 증가분은 다음 주기로 넘어간다
+                adder.add(-delta);
+                deltas.put(entry.getKey(), delta);
+            } else {
+                // 유휴 카운터 정리. add()와 같은 키 잠금 안에서 0인지 다시 보고 지우므로 증가분이 사라지지 않는다
+                pending.computeIfPresent(entry.getKey(), (k, current) -> {
+                    if (current.sum() != 0) {
+                        return current;
+                    }
+                    boardIds.remove(k);
+                    return null;
+                });
+            }
+        }
+
+        if (deltas.isEmpty()) {
+            lastFlushAt = flushStartedAt;
+            return 0;
+        }
+
+        final List<Object[]> batchArgs = new ArrayList<Object[]>(deltas.size());
+        long total = 0;
+        for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+            batchArgs.add(new Object[]{entry.getValue(), entry.getKey()});
+            total += entry.getValue();
+        }
+
+        try {
+            new TransactionTemplate(transactionManager).execute(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batchArgs));
+        } catch (RuntimeException e) {
+            // 반영 실패 → 증가분을 되돌린다
+            for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+                add(entry.getKey(), null, entry.getValue());
+            }
+            oldestPendingAt.compareAndSet(0, flushStartedAt);
+            throw e;
+        }
+
+        // 조회수도 인기도 점수에 들어가므로 반영된 게시글은 재계산 대상
+        // 커밋된 조회수가 보이도록 게시글 상세·게시판 목록·전체 목록 버전도 여기서 올린다
+        for (Long postId : deltas.keySet()) {
+            popularityRefresher.markDirty(postId);
+            contentVersionRegistry.touchPost(postId, boardIds.get(postId));
+        }
+
+        persistedTotal.addAndGet(total);
+        lastFlushAt = flushStartedAt;
+        return total;
+    }
+
+    /**
+     * 종료 시 남은 증가분 플러시
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        long flushed = flush();
+        logger.info("View count aggregator flushed {} views on shutdown", flushed);
+    }
+
+    /**
+     * 접수/반영 지연 지표
+     */
+    public Map<String, Object> getMetrics() {
+        long accepted = acceptedTotal.sum();
+        long persisted = persistedTotal.get();
+        long oldest = oldestPendingAt.get();
+
+        Map<String, Object> metrics = new HashMap<String, Object>();
+        metrics.put("acceptedViews", accepted);
+        metrics.put("persistedViews", persisted);
+        metrics.put("lagViews", accepted - persisted);
+        metrics.put("pendingPosts", pending.size());
+        metrics.put("oldestPendingAgeMs", oldest == 0 ? 0 : System.currentTimeMillis() - oldest);
+        metrics.put("lastFlushAt", lastFlushAt);
+        metrics.put("lastFlushFailedAt", lastFlushFailedAt);
+        return metrics;
+    }
+}
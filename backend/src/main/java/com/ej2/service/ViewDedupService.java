@@ -0,0 +1,165 @@
+package com.ej2.service;
+
+import com.ej2.util.RotatingBloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 조회수 중복 판정기 (DB 미사용)
+ *
+ * 24시간 이내 동일 사용자/IP의 재조회를 post_view_logs 범위 쿼리 대신
+ * 1시간 단위로 회전하는 Bloom 필터로 판정한다.
+ * 키는 (postId, userId) 또는 (postId, IP)를 해시한 값이며 원본 IP는 메모리에 남지 않는다.
+ * 메모리 사용량은 설정값(시간당 예상 조회 수, 오탐률)으로 고정되고,
+ * 오탐 시에는 첫 조회가 중복으로 판정되어 조회수가 1 덜 오를 뿐이다.
+ * 재시작으로 판정 구간이 초기화되지 않도록 종료 시 스냅샷 파일에 저장하고 기동 시 복원한다.
+ */
+@Component
+public class ViewDedupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewDedupService.class);
+
+    // 24시간 + 현재 진행 중인 1시간
+    private static final int WINDOW_HOURS = 24;
+    private static final long SEED_1 = 0x5BD1E9955BD1E995L;
+    private static final long SEED_2 = 0x27D4EB2F165667C5L;
+
+    @Value("${view.dedup.expected-views-per-hour:100000}")
+    private long expectedViewsPerHour = 100000;
+
+    @Value("${view.dedup.false-positive-rate:0.01}")
+    private double falsePositiveRate = 0.01;
+
+    @Value("${view.dedup.snapshot-path:${java.io.tmpdir}/ej2-view-dedup.bin}")
+    private String snapshotPath;
+
+    private RotatingBloomFilter filter;
+
+    private final LongAdder firstViews = new LongAdder();
+    private final LongAdder duplicateViews = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        filter = new RotatingBloomFilter(WINDOW_HOURS + 1, expectedViewsPerHour, falsePositiveRate);
+        loadSnapshot();
+    }
+
+    /**
+     * 24시간 이내 첫 조회인지 판정하고 조회 이력으로 기록
+     * @return 첫 조회이면 true (조회수를 올려야 함)
+     */
+    public boolean registerView(Long postId, Long userId, String ipAddress) {
+        String actor;
+        if (userId != null) {
+            actor = "u:" + userId;
+        } else if (ipAddress != null) {
+            actor = "ip:" + ipAddress;
+        } else {
+            // 식별 불가 요청은 기존과 동일하게 매번 집계
+            firstViews.increment();
+            return true;
+        }
+
+        byte[] key = (postId + "|" + actor).getBytes(StandardCharsets.UTF_8);
+        long h1 = RotatingBloomFilter.hash64(key, SEED_1);
+        long h2 = RotatingBloomFilter.hash64(key, SEED_2);
+
+        boolean seen;
+        synchronized (this) {
+            seen = filter.checkAndAdd(currentHour(), h1, h2);
+        }
+        if (seen) {
+            duplicateViews.increment();
+            return false;
+        }
+        firstViews.increment();
+        return true;
+    }
+
+    private static long currentHour() {
+        return TimeUnit.MILLISECONDS.toHours(System.currentTimeMillis());
+    }
+
+    /**
+     * 종료 시 스냅샷 저장 (임시 파일에 쓴 뒤 교체)
+     */
+    @PreDestroy
+    public void saveSnapshot() {
+        File target = new File(snapshotPath);
+        File temp = new File(snapshotPath + ".tmp");
+        try {
+            File parent = target.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.exists()) {
+                parent.mkdirs();
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                synchronized (this) {
+                    filter.writeTo(out);
+                }
+            }
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            logger.info("View dedup snapshot saved to {}", target.getAbsolutePath());
+        } catch (IOException e) {
+            logger.warn("Failed to save view dedup snapshot: {}", e.getMessage());
+        }
+    }
+
+    private void loadSnapshot() {
+        File source = new File(snapshotPath);
+        if (!source.isFile()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(source)))) {
+            boolean restored;
+            synchronized (this) {
+                restored = filter.readFrom(in);
+            }
+            if (restored) {
+                logger.info("View dedup snapshot restored from {}", source.getAbsolutePath());
+            } else {
+                logger.info("View dedup snapshot ignored (settings changed)");
+            }
+        } catch (IOException e) {
+            // 손상된 스냅샷은 버리고 빈 상태로 시작
+            synchronized (this) {
+                filter = new RotatingBloomFilter(WINDOW_HOURS + 1, expectedViewsPerHour, falsePositiveRate);
+            }
+            logger.warn("Failed to load view dedup snapshot: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 판정 지표
+     */
+    public synchronized Map<String, Object> getMetrics() {
+        long hour = currentHour();
+        Map<String, Object> metrics = new HashMap<String, Object>();
+        metrics.put("firstViews", firstViews.sum());
+        metrics.put("duplicateViews", duplicateViews.sum());
+        metrics.put("currentHourKeys", filter.getInsertions(hour));
+        metrics.put("saturated", filter.isSaturated(hour));
+        metrics.put("memoryBytes", filter.getMemoryBytes());
+        metrics.put("falsePositiveRate", falsePositiveRate);
+        return metrics;
+    }
+}
@@ -0,0 +1,156 @@
+package com.ej2.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 조회 로그(post_view_logs) 일간 롤업 + 보존 기간 정리
+ *
+ * 원본 조회 로그는 중복 조회 판정(24시간)과 최근 통계에만 쓰이므로,
+ * 하루가 지나면 게시글·날짜별로 post_view_daily에 집계하고 보존 기간이 지난 원본은 삭제한다.
+ * - 롤업은 아직 집계되지 않은 날짜(집계된 마지막 날 다음 날 ~ 어제)만 하루 단위로 처리
+ * - 삭제는 집계가 끝난 날짜만 대상으로, 한 번에 delete-chunk-size 행씩 나눠 실행하고
+ *   청크 사이에 잠시 쉬어 레플리카 지연과 긴 잠금을 피한다
+ */
+@Component
+public class ViewLogCompactor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewLogCompactor.class);
+
+    private static final String ROLLUP_SQL =
+            "INSERT INTO post_view_daily (post_id, view_date, view_count, unique_users, unique_ips) "
+            + "SELECT post_id, ?, COUNT(*), COUNT(DISTINCT user_id), COUNT(DISTINCT ip_address) "
+            + "FROM post_view_logs WHERE viewed_at >= ? AND viewed_at < ? GROUP BY post_id "
+            + "ON DUPLICATE KEY UPDATE view_count = VALUES(view_count), "
+            + "unique_users = VALUES(unique_users), unique_ips = VALUES(unique_ips)";
+
+    private static final String DELETE_CHUNK_SQL = "DELETE FROM post_view_logs WHERE viewed_at < ? LIMIT ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 원본 로그 보존 일수 (중복 조회 판정에 하루는 필요)
+    @Value("${view-log.retention-days:7}")
+    private int retentionDays = 7;
+
+    @Value("${view-log.delete-chunk-size:5000}")
+    private int deleteChunkSize = 5000;
+
+    @Value("${view-log.delete-pause-ms:200}")
+    private long deletePauseMs = 200;
+
+    private volatile LocalDate rolledUpThrough;
+    private volatile long lastRunAt = 0;
+    private volatile long lastRunFailedAt = 0;
+    private volatile long lastRolledUpRows = 0;
+    private volatile long lastDeletedRows = 0;
+
+    /**
+     * 매일 00:30 실행
+     */
+    @Scheduled(cron = "${view-log.compact-cron:0 30 0 * * *}")
+    public void scheduledCompact() {
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            // 집계된 날짜까지만 삭제하므로 실패해도 다음 실행에서 이어서 처리된다
+            lastRunFailedAt = System.currentTimeMillis();
+            logger.error("View log compaction failed", e);
+        }
+    }
+
+    /**
+     * 어제까지 롤업한 뒤 보존 기간이 지난 원본 삭제
+     */
+    public synchronized void compact() {
+        LocalDate today = LocalDate.now();
+        long rolledUp = rollUpBefore(today);
+
+        // 롤업이 끝난 날짜보다 오래된 원본만 삭제
+        LocalDate cutoff = null;
+        if (rolledUpThrough != null) {
+            cutoff = today.minusDays(Math.max(retentionDays, 1));
+            if (rolledUpThrough.plusDays(1).isBefore(cutoff)) {
+                cutoff = rolledUpThrough.plusDays(1);
+            }
+        }
+        long deleted = cutoff != null ? deleteBefore(cutoff) : 0;
+
+        lastRolledUpRows = rolledUp;
+        lastDeletedRows = deleted;
+        lastRunAt = System.currentTimeMillis();
+        logger.info("View log compaction: {} daily rows rolled up through {}, {} raw rows deleted before {}",
+                rolledUp, rolledUpThrough, deleted, cutoff);
+    }
+
+    // 아직 집계되지 않은 날짜부터 end 전날까지 하루씩 롤업 (하루 = 한 문장, 자동 커밋)
+    private long rollUpBefore(LocalDate end) {
+        Date maxRolled = jdbcTemplate.queryForObject("SELECT MAX(view_date) FROM post_view_daily", Date.class);
+        LocalDate lastRolled = maxRolled != null ? maxRolled.toLocalDate() : null;
+        LocalDate day;
+        if (lastRolled != null) {
+            day = lastRolled.plusDays(1);
+        } else {
+            Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(viewed_at) FROM post_view_logs", Timestamp.class);
+            if (oldest == null) {
+                return 0;
+            }
+            day = oldest.toLocalDateTime().toLocalDate();
+        }
+
+        long rows = 0;
+        for (; day.isBefore(end); day = day.plusDays(1)) {
+            rows += jdbcTemplate.update(ROLLUP_SQL, Date.valueOf(day),
+                    Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+            rolledUpThrough = day;
+        }
+        if (rolledUpThrough == null && lastRolled != null) {
+            rolledUpThrough = lastRolled;
+        }
+        return rows;
+    }
+
+    // viewed_at < cutoff 인 원본을 청크 단위로 삭제
+    private long deleteBefore(LocalDate cutoff) {
+        Timestamp before = Timestamp.valueOf(cutoff.atStartOfDay());
+        long total = 0;
+        while (true) {
+            int deleted = jdbcTemplate.update(DELETE_CHUNK_SQL, before, deleteChunkSize);
+            total += deleted;
+            if (deleted < deleteChunkSize) {
+                return total;
+            }
+            try {
+                Thread.sleep(deletePauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return total;
+            }
+        }
+    }
+
+    /**
+     * 롤업·정리 상태
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<String, Object>();
+        stats.put("retentionDays", retentionDays);
+        stats.put("rolledUpThrough", rolledUpThrough != null ? rolledUpThrough.toString() : null);
+        stats.put("lastRolledUpRows", lastRolledUpRows);
+        stats.put("lastDeletedRows", lastDeletedRows);
+        stats.put("lastRunAt", lastRunAt);
+        stats.put("lastRunFailedAt", lastRunFailedAt);
+        return stats;
+    }
+}
@@ -0,0 +1,27 @@
+package com.ej2.util;
+
+import com.ej2.model.Board;
+import com.ej2.model.Post;
+import org.hibernate.Session;
+import org.hibernate.tuple.ValueGenerator;
+
+/**
+ * Fills {@code Post.anonymousId} when the INSERT is executed, i.e. after the id has been
+ * assigned, so a post on an anonymous board is written with a single INSERT instead of
+ * save → compute → save again. The board is looked up with {@code Session.get}, which costs
+ * one primary-key SELECT per insert unless the board is already in the persistence context.
+ */
+public class AnonymousIdValueGenerator implements ValueGenerator<String> {
+
+    @Override
+    public String generateValue(Session session, Object owner) {
+        Post post = (Post) owner;
+        if (post.getBoardId() != null) {
+            Board board = session.get(Board.class, post.getBoardId());
+            if (board != null && Boolean.TRUE.equals(board.getIsAnonymous())) {
+                return AnonymousIdGenerator.generateAnonymousId(post.getUserId(), post.getId());
+            }
+        }
+        return post.getAnonymousId();
+    }
+}
@@ -0,0 +1,439 @@
+package com.ej2.util;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over n-gram terms with BM25 ranking.
+ *
+ * Each document has a title and a body; title terms are counted TITLE_WEIGHT times so that
+ * title matches rank above body-only matches. A query matches a document only if the document
+ * contains every query term (AND), which mirrors the substring semantics of LIKE '%keyword%'.
+ *
+ * Postings are kept sorted by document id, so incremental add/update/remove touches only the
+ * posting lists of the document's own terms. A forward index (document -> terms) is kept for
+ * removal and is also what the snapshot stores; postings are rebuilt from it on load.
+ *
+ * Thread-safe: searches share a read lock, updates take the write lock.
+ */
+public class BM25Index {
+
+    // 2: unigrams are indexed alongside bigrams
+    private static final int SNAPSHOT_VERSION = 2;
+    private static final int TITLE_WEIGHT = 3;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Map<String, Postings> postings = new HashMap<String, Postings>();
+    private final Map<Long, Doc> docs = new HashMap<Long, Doc>();
+    private long totalLength;
+    private long maxId;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Add or replace a document
+     */
+    public void put(long id, long boardId, String title, String body) {
+        Map<String, Integer> frequencies = new HashMap<String, Integer>();
+        for (Map.Entry<String, Integer> entry : NGramTokenizer.termFrequencies(title).entrySet()) {
+            frequencies.put(entry.getKey(), entry.getValue() * TITLE_WEIGHT);
+        }
+        for (Map.Entry<String, Integer> entry : NGramTokenizer.termFrequencies(body).entrySet()) {
+            Integer current = frequencies.get(entry.getKey());
+            frequencies.put(entry.getKey(), current == null ? entry.getValue() : current + entry.getValue());
+        }
+
+        String[] terms = new String[frequencies.size()];
+        int[] tfs = new int[frequencies.size()];
+        int length = 0;
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            terms[i] = entry.getKey();
+            tfs[i] = entry.getValue();
+            length += tfs[i];
+            i++;
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            addInternal(new Doc(id, boardId, length, terms, tfs));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a document
+     * @return true if the document was indexed
+     */
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            return removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addInternal(Doc doc) {
+        for (int i = 0; i < doc.terms.length; i++) {
+            Postings list = postings.get(doc.terms[i]);
+            if (list == null) {
+                list = new Postings();
+                postings.put(doc.terms[i], list);
+            } else {
+                // share one String instance per term
+                doc.terms[i] = list.term;
+            }
+            if (list.term == null) {
+                list.term = doc.terms[i];
+            }
+            list.put(doc.id, doc.tfs[i]);
+        }
+        docs.put(doc.id, doc);
+        totalLength += doc.length;
+        maxId = Math.max(maxId, doc.id);
+    }
+
+    private boolean removeInternal(long id) {
+        Doc doc = docs.remove(id);
+        if (doc == null) {
+            return false;
+        }
+        for (String term : doc.terms) {
+            Postings list = postings.get(term);
+            if (list != null) {
+                list.remove(id);
+                if (list.size == 0) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= doc.length;
+        return true;
+    }
+
+    /**
+     * Search documents containing every term of the query, best BM25 score first
+     * @param query Search keyword
+     * @param boardId Restrict to a board (null = all boards)
+     * @param offset Number of results to skip
+     * @param limit Maximum number of results to return
+     */
+    public Result search(String query, Long boardId, int offset, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<String>(NGramTokenizer.tokenize(query));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return new Result(Collections.<Long>emptyList(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[queryTerms.size()];
+            int n = 0;
+            for (String term : queryTerms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    return new Result(Collections.<Long>emptyList(), 0);
+                }
+                lists[n++] = list;
+            }
+            // intersect starting from the shortest posting list
+            Arrays.sort(lists, new Comparator<Postings>() {
+                @Override
+                public int compare(Postings a, Postings b) {
+                    return Integer.compare(a.size, b.size);
+                }
+            });
+
+            int docCount = docs.size();
+            double avgLength = docCount == 0 ? 1 : Math.max(1.0, (double) totalLength / docCount);
+            double[] idf = new double[lists.length];
+            for (int t = 0; t < lists.length; t++) {
+                int df = lists[t].size;
+                idf[t] = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+            }
+
+            int keep = offset + limit;
+            PriorityQueue<Hit> top = new PriorityQueue<Hit>(Math.min(keep, 1024) + 1, HIT_ORDER);
+            int[] cursors = new int[lists.length];
+            int total = 0;
+
+            Postings base = lists[0];
+            candidates:
+            for (int c = 0; c < base.size; c++) {
+                long id = base.ids[c];
+                int[] tfs = new int[lists.length];
+                tfs[0] = base.tfs[c];
+                for (int t = 1; t < lists.length; t++) {
+                    int pos = lists[t].seek(id, cursors[t]);
+                    cursors[t] = pos;
+                    if (pos >= lists[t].size || lists[t].ids[pos] != id) {
+                        continue candidates;
+                    }
+                    tfs[t] = lists[t].tfs[pos];
+                }
+
+                Doc doc = docs.get(id);
+                if (boardId != null && doc.boardId != boardId) {
+                    continue;
+                }
+                total++;
+
+                double norm = K1 * (1 - B + B * doc.length / avgLength);
+                double score = 0;
+                for (int t = 0; t < lists.length; t++) {
+                    score += idf[t] * tfs[t] * (K1 + 1) / (tfs[t] + norm);
+                }
+                top.add(new Hit(id, score));
+                if (top.size() > keep) {
+                    top.poll();
+                }
+            }
+
+            List<Hit> hits = new ArrayList<Hit>(top);
+            Collections.sort(hits, Collections.reverseOrder(HIT_ORDER));
+            List<Long> ids = new ArrayList<Long>();
+            for (int i = offset; i < hits.size(); i++) {
+                ids.add(hits.get(i).id);
+            }
+            return new Result(ids, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // lowest score first; on ties the older (smaller id) document is evicted first
+    private static final Comparator<Hit> HIT_ORDER = new Comparator<Hit>() {
+        @Override
+        public int compare(Hit a, Hit b) {
+            int byScore = Double.compare(a.score, b.score);
+            return byScore != 0 ? byScore : Long.compare(a.id, b.id);
+        }
+    };
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getMaxId() {
+        lock.readLock().lock();
+        try {
+            return maxId;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * IDs of all indexed documents
+     */
+    public Set<Long> ids() {
+        lock.readLock().lock();
+        try {
+            return new LinkedHashSet<Long>(docs.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Write the forward index (documents in id order)
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            List<Long> ids = new ArrayList<Long>(docs.keySet());
+            Collections.sort(ids);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(TITLE_WEIGHT);
+            out.writeInt(NGramTokenizer.GRAM);
+            out.writeInt(ids.size());
+            for (Long id : ids) {
+                Doc doc = docs.get(id);
+                out.writeLong(doc.id);
+                out.writeLong(doc.boardId);
+                out.writeInt(doc.terms.length);
+                for (int i = 0; i < doc.terms.length; i++) {
+                    out.writeUTF(doc.terms[i]);
+                    out.writeInt(doc.tfs[i]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the contents with a snapshot written by {@link #writeTo}
+     * @return false if the snapshot was written with a different format (nothing is loaded)
+     */
+    public boolean readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != SNAPSHOT_VERSION || in.readInt() != TITLE_WEIGHT || in.readInt() != NGramTokenizer.GRAM) {
+            return false;
+        }
+        int count = in.readInt();
+        List<Doc> loaded = new ArrayList<Doc>(count);
+        for (int d = 0; d < count; d++) {
+            long id = in.readLong();
+            long boardId = in.readLong();
+            int termCount = in.readInt();
+            String[] terms = new String[termCount];
+            int[] tfs = new int[termCount];
+            int length = 0;
+            for (int i = 0; i < termCount; i++) {
+                terms[i] = in.readUTF();
+                tfs[i] = in.readInt();
+                length += tfs[i];
+            }
+            loaded.add(new Doc(id, boardId, length, terms, tfs));
+        }
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docs.clear();
+            totalLength = 0;
+            maxId = 0;
+            for (Doc doc : loaded) {
+                addInternal(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    /**
+     * One page of search results
+     */
+    public static class Result {
+        private final List<Long> ids;
+        private final int total;
+
+        public Result(List<Long> ids, int total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+    }
+
+    private static class Doc {
+        private final long id;
+        private final long boardId;
+        private final int length;
+        private final String[] terms;
+        private final int[] tfs;
+
+        private Doc(long id, long boardId, int length, String[] terms, int[] tfs) {
+            this.id = id;
+            this.boardId = boardId;
+            this.length = length;
+            this.terms = terms;
+            this.tfs = tfs;
+        }
+    }
+
+    private static class Hit {
+        private final long id;
+        private final double score;
+
+        private Hit(long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+
+    // posting list sorted by document id (new posts have the largest id, so most adds are appends)
+    private static class Postings {
+        private String term;
+        private long[] ids = new long[4];
+        private int[] tfs = new int[4];
+        private int size;
+
+        private void put(long id, int tf) {
+            int pos = (size == 0 || ids[size - 1] < id) ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0 && pos < size) {
+                tfs[pos] = tf;
+                return;
+            }
+            if (pos < 0) {
+                pos = -pos - 1;
+            }
+            if (size == ids.length) {
+                int capacity = size + (size >> 1) + 1;
+                ids = Arrays.copyOf(ids, capacity);
+                tfs = Arrays.copyOf(tfs, capacity);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            System.arraycopy(tfs, pos, tfs, pos + 1, size - pos);
+            ids[pos] = id;
+            tfs[pos] = tf;
+            size++;
+        }
+
+        private void remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            System.arraycopy(tfs, pos + 1, tfs, pos, size - pos - 1);
+            size--;
+        }
+
+        // first position >= from whose id is >= the given id (galloping, then binary search)
+        private int seek(long id, int from) {
+            int step = 1;
+            int low = from;
+            int high = from;
+            while (high < size && ids[high] < id) {
+                low = high + 1;
+                high = from + step;
+                step <<= 1;
+            }
+            if (high > size) {
+                high = size;
+            }
+            int pos = Arrays.binarySearch(ids, low, high, id);
+            if (pos < 0) {
+                pos = -pos - 1;
+            }
+            return pos;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.ej2.util;
+
+/**
+ * Exponentially decayed event counts for a fixed set of signals (e.g. likes, comments, views)
+ * sharing one time constant.
+ *
+ * Each count decays continuously as {@code count * exp(-elapsed / tau)}, so it approximates
+ * the number of events in the last {@code tau} milliseconds without keeping per-event history;
+ * one instance costs a few doubles regardless of traffic. Decay is applied lazily when the
+ * counts are updated or read.
+ *
+ * Instances are thread-safe.
+ */
+public final class DecayingCounts {
+
+    private final double tauMillis;
+    private final double[] counts;
+    private long updatedAt;
+
+    public DecayingCounts(int signals, long tauMillis, long now) {
+        if (tauMillis <= 0) {
+            throw new IllegalArgumentException("tau must be positive");
+        }
+        this.tauMillis = tauMillis;
+        this.counts = new double[signals];
+        this.updatedAt = now;
+    }
+
+    /**
+     * Adds {@code amount} events of {@code signal} at time {@code now} (epoch millis).
+     */
+    public synchronized void add(int signal, double amount, long now) {
+        decayTo(now);
+        counts[signal] += amount;
+    }
+
+    /**
+     * Decayed counts as of {@code now}; the instance itself is not modified.
+     */
+    public synchronized double[] valuesAt(long now) {
+        double factor = factor(now);
+        double[] values = new double[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            values[i] = counts[i] * factor;
+        }
+        return values;
+    }
+
+    /**
+     * Weighted sum of the decayed counts as of {@code now}.
+     */
+    public synchronized double weightedAt(long now, double[] weights) {
+        double factor = factor(now);
+        double sum = 0;
+        for (int i = 0; i < counts.length; i++) {
+            sum += counts[i] * weights[i];
+        }
+        return sum * factor;
+    }
+
+    /**
+     * Value a count with time constant {@code tauMillis} reaches under a constant rate of one event
+     * per millisecond after observing for {@code observedMillis}: {@code tau * (1 - exp(-observed / tau))}.
+     * Dividing a count by this gives the event rate per millisecond, also before a full window
+     * of history exists (e.g. right after startup).
+     */
+    public static double steadyStateScale(long tauMillis, long observedMillis) {
+        return tauMillis * (1 - Math.exp(-(double) Math.max(observedMillis, 1) / tauMillis));
+    }
+
+    private void decayTo(long now) {
+        double factor = factor(now);
+        if (factor < 1) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] *= factor;
+            }
+            updatedAt = now;
+        }
+    }
+
+    private double factor(long now) {
+        long elapsed = now - updatedAt;
+        return elapsed > 0 ? Math.exp(-elapsed / tauMillis) : 1;
+    }
+}
@@ -0,0 +1,102 @@
+package com.ej2.util;
+
+import java.util.Arrays;
+
+/**
+ * Sparse ring of hourly counters for a single item.
+ *
+ * Only hours that actually received counts are stored, as parallel arrays sorted by hour,
+ * so an item liked in a handful of hours costs a few dozen bytes instead of a full
+ * 720-slot array. Hours are expressed as hours since the epoch (see {@link #hourOf(long)}).
+ * Counts never go below zero; a bucket that drops to zero is removed.
+ *
+ * Instances are thread-safe.
+ */
+public final class HourlyBuckets {
+
+    private int[] hours = new int[2];
+    private int[] counts = new int[2];
+    private int size;
+
+    /**
+     * Hour index (hours since the epoch) for the given epoch milliseconds.
+     */
+    public static int hourOf(long epochMillis) {
+        return (int) (epochMillis / 3_600_000L);
+    }
+
+    /**
+     * Adds {@code delta} (possibly negative) to the bucket for {@code hour}.
+     */
+    public synchronized void add(int hour, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        int pos = Arrays.binarySearch(hours, 0, size, hour);
+        if (pos >= 0) {
+            int value = counts[pos] + delta;
+            if (value > 0) {
+                counts[pos] = value;
+            } else {
+                removeAt(pos);
+            }
+            return;
+        }
+        if (delta < 0) {
+            return;
+        }
+        insertAt(-pos - 1, hour, delta);
+    }
+
+    /**
+     * Sum of all buckets at or after {@code fromHour}.
+     */
+    public synchronized int sumSince(int fromHour) {
+        int sum = 0;
+        // Buckets are sorted ascending, so walk back from the newest one
+        for (int i = size - 1; i >= 0 && hours[i] >= fromHour; i--) {
+            sum += counts[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Drops buckets older than {@code minHour}.
+     *
+     * @return true if no buckets remain
+     */
+    public synchronized boolean pruneBefore(int minHour) {
+        int first = 0;
+        while (first < size && hours[first] < minHour) {
+            first++;
+        }
+        if (first > 0) {
+            System.arraycopy(hours, first, hours, 0, size - first);
+            System.arraycopy(counts, first, counts, 0, size - first);
+            size -= first;
+        }
+        return size == 0;
+    }
+
+    public synchronized int bucketCount() {
+        return size;
+    }
+
+    private void insertAt(int pos, int hour, int count) {
+        if (size == hours.length) {
+            hours = Arrays.copyOf(hours, size * 2);
+            counts = Arrays.copyOf(counts, size * 2);
+        }
+        System.arraycopy(hours, pos, hours, pos + 1, size - pos);
+        System.arraycopy(counts, pos, counts, pos + 1, size - pos);
+        hours[pos] = hour;
+        counts[pos] = count;
+        size++;
+    }
+
+    private void removeAt(int pos) {
+        System.arraycopy(hours, pos + 1, hours, pos, size - pos - 1);
+        System.arraycopy(counts, pos + 1, counts, pos, size - pos - 1);
+        size--;
+    }
+}
@@ -0,0 +1,80 @@
+package com.ej2.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Character n-gram tokenizer for search.
+ *
+ * Korean and Japanese text has no reliable word boundaries, so text is split into runs of
+ * letters/digits (after NFKC normalization and lower-casing) and every run is cut into
+ * overlapping bigrams. Queries are tokenized the same way, which makes "all query bigrams
+ * present" a close approximation of substring matching. A one-character query run becomes a
+ * unigram; documents index every character as a unigram as well, so a single-syllable query
+ * also matches inside longer words.
+ */
+public final class NGramTokenizer {
+
+    public static final int GRAM = 2;
+
+    private NGramTokenizer() {
+    }
+
+    /**
+     * Term frequencies of all index terms in the text (bigrams and unigrams), in first-occurrence order
+     */
+    public static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> frequencies = new LinkedHashMap<String, Integer>();
+        for (String term : tokenize(text, true)) {
+            Integer count = frequencies.get(term);
+            frequencies.put(term, count == null ? 1 : count + 1);
+        }
+        return frequencies;
+    }
+
+    /**
+     * Query terms of the text (with repetitions): bigrams, or a unigram for a one-character run
+     */
+    public static List<String> tokenize(String text) {
+        return tokenize(text, false);
+    }
+
+    private static List<String> tokenize(String text, boolean unigrams) {
+        List<String> terms = new ArrayList<String>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+
+        int runStart = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean tokenChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (tokenChar && runStart < 0) {
+                runStart = i;
+            } else if (!tokenChar && runStart >= 0) {
+                addGrams(normalized, runStart, i, unigrams, terms);
+                runStart = -1;
+            }
+        }
+        return terms;
+    }
+
+    private static void addGrams(String text, int start, int end, boolean unigrams, List<String> terms) {
+        if (end - start < GRAM) {
+            terms.add(text.substring(start, end));
+            return;
+        }
+        for (int i = start; i + GRAM <= end; i++) {
+            terms.add(text.substring(i, i + GRAM));
+        }
+        if (unigrams) {
+            for (int i = start; i < end; i++) {
+                terms.add(text.substring(i, i + 1));
+            }
+        }
+    }
+}
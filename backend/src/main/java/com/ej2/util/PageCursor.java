@@ -0,0 +1,51 @@
+package com.ej2.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursor used for keyset (seek) pagination.
+ * The sort key of the last row on a page is encoded as URL-safe Base64 so that
+ * clients can pass it back without knowing its structure.
+ */
+public class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Encode the sort key parts of the last row into a cursor string
+     * @param parts Sort key values (e.g. createdAt, id)
+     * @return Cursor string
+     */
+    public static String encode(Object... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                sb.append(SEPARATOR);
+            }
+            sb.append(parts[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor string into its sort key parts
+     * @param cursor Cursor string received from the client
+     * @param expectedParts Number of parts the caller expects
+     * @return Sort key values as strings
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != expectedParts) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.ej2.util;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.jdbc.AbstractReturningWork;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+
+/**
+ * Hi/lo style identifier generator backed by the {@code id_allocations} table.
+ *
+ * Unlike {@code IDENTITY}, the id is known at persist time without executing the INSERT, so
+ * Hibernate can defer and batch inserts ({@code hibernate.jdbc.batch_size}). Ids are reserved
+ * in blocks of {@code increment_size} with one short transaction on a separate connection
+ * ({@code SELECT ... FOR UPDATE} + {@code UPDATE}), then handed out from memory. When a table
+ * has no allocation row yet, the first block starts above its current {@code MAX(id)}, so
+ * switching an existing table from {@code IDENTITY} needs no data migration. Unused ids of a
+ * block are lost on restart, which only leaves gaps.
+ *
+ * The allocation row is the only source of ids for these tables: their id columns have no
+ * {@code AUTO_INCREMENT}, because {@code MAX(id) + 1} can fall inside a block a running instance
+ * has already reserved. Rows inserted outside Hibernate must reserve their ids the same way, by
+ * advancing {@code next_val} past them before inserting (see {@code init-data.sql}).
+ */
+public class PooledIdGenerator implements IdentifierGenerator {
+
+    public static final String INCREMENT_PARAM = "increment_size";
+    public static final int DEFAULT_INCREMENT_SIZE = 50;
+
+    private static final String SELECT_SQL = "SELECT next_val FROM id_allocations WHERE segment_name = ? FOR UPDATE";
+    private static final String UPDATE_SQL = "UPDATE id_allocations SET next_val = ? WHERE segment_name = ?";
+    private static final String INSERT_SQL = "INSERT INTO id_allocations (segment_name, next_val) VALUES (?, ?)";
+
+    private String table;
+    private String column;
+    private int incrementSize;
+
+    // current block [next, limit)
+    private long next;
+    private long limit;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) {
+        table = params.getProperty(PersistentIdentifierGenerator.TABLE);
+        column = params.getProperty(PersistentIdentifierGenerator.PK);
+        incrementSize = ConfigurationHelper.getInt(INCREMENT_PARAM, params, DEFAULT_INCREMENT_SIZE);
+        if (table == null || column == null || incrementSize < 1) {
+            throw new HibernateException("PooledIdGenerator needs a target table, id column and a positive increment_size");
+        }
+    }
+
+    @Override
+    public synchronized Serializable generate(SharedSessionContractImplementor session, Object object) {
+        if (next >= limit) {
+            long start = session.getTransactionCoordinator().createIsolationDelegate().delegateWork(
+                    new AbstractReturningWork<Long>() {
+                        @Override
+                        public Long execute(Connection connection) throws SQLException {
+                            return allocate(connection);
+                        }
+                    }, true);
+            next = start;
+            limit = start + incrementSize;
+        }
+        return next++;
+    }
+
+    // reserves the next block and returns its first id
+    private long allocate(Connection connection) throws SQLException {
+        for (int attempt = 1; ; attempt++) {
+            try (PreparedStatement select = connection.prepareStatement(SELECT_SQL)) {
+                select.setString(1, table);
+                try (ResultSet rs = select.executeQuery()) {
+                    if (rs.next()) {
+                        long start = rs.getLong(1);
+                        try (PreparedStatement update = connection.prepareStatement(UPDATE_SQL)) {
+                            update.setLong(1, start + incrementSize);
+                            update.setString(2, table);
+                            update.executeUpdate();
+                        }
+                        return start;
+                    }
+                }
+            }
+
+            long start;
+            try (PreparedStatement max = connection.prepareStatement("SELECT COALESCE(MAX(" + column + "), 0) + 1 FROM " + table);
+                 ResultSet rs = max.executeQuery()) {
+                rs.next();
+                start = rs.getLong(1);
+            }
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+                insert.setString(1, table);
+                insert.setLong(2, start + incrementSize);
+                insert.executeUpdate();
+                return start;
+            } catch (SQLException e) {
+                // another node created the row first: read it again
+                if (attempt >= 3 || e.getSQLState() == null || !e.getSQLState().startsWith("23")) {
+                    throw e;
+                }
+            }
+        }
+    }
+}
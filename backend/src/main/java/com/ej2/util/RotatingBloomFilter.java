@@ -0,0 +1,220 @@
+package com.ej2.util;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Time-bucketed Bloom filter for "seen within the last N buckets" checks.
+ *
+ * The filter keeps one fixed-size Bloom filter per time bucket (e.g. one per hour) in a ring.
+ * A key is considered seen if any live bucket might contain it; new keys are added to the
+ * current bucket only. When time advances, expired buckets are cleared and reused, so memory
+ * stays constant regardless of traffic: bucketCount * bitsPerBucket bits.
+ *
+ * The target false-positive rate applies to the whole window. Each bucket is sized for
+ * fpp / bucketCount so that the union of all buckets stays within the target as long as each
+ * bucket receives at most expectedInsertionsPerBucket keys.
+ *
+ * Not thread-safe by itself; callers synchronize.
+ */
+public class RotatingBloomFilter {
+
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final int bucketCount;
+    private final int bitsPerBucket;
+    private final int hashCount;
+    private final long expectedInsertionsPerBucket;
+
+    private final long[][] bits;
+    private final long[] bucketIds;      // time bucket id stored in each slot (-1 = empty)
+    private final long[] insertions;
+
+    /**
+     * @param bucketCount Number of live buckets (window length in buckets)
+     * @param expectedInsertionsPerBucket Expected distinct keys per bucket
+     * @param falsePositiveRate Target false-positive rate over the whole window (0 &lt; p &lt; 1)
+     */
+    public RotatingBloomFilter(int bucketCount, long expectedInsertionsPerBucket, double falsePositiveRate) {
+        if (bucketCount <= 0 || expectedInsertionsPerBucket <= 0
+                || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid bloom filter parameters");
+        }
+        double bucketFpp = falsePositiveRate / bucketCount;
+        long optimalBits = (long) Math.ceil(-expectedInsertionsPerBucket * Math.log(bucketFpp) / (Math.log(2) * Math.log(2)));
+        // Round up to a whole number of longs, capped at Integer.MAX_VALUE - 63 bits
+        long words = Math.min((optimalBits + 63) / 64, (Integer.MAX_VALUE - 63) / 64);
+
+        this.bucketCount = bucketCount;
+        this.bitsPerBucket = (int) (words * 64);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitsPerBucket / expectedInsertionsPerBucket * Math.log(2)));
+        this.expectedInsertionsPerBucket = expectedInsertionsPerBucket;
+        this.bits = new long[bucketCount][(int) words];
+        this.bucketIds = new long[bucketCount];
+        this.insertions = new long[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            bucketIds[i] = -1;
+        }
+    }
+
+    /**
+     * Check whether the key was seen in the live window and record it in the current bucket.
+     * @param currentBucket Current time bucket id (e.g. epoch hour)
+     * @param h1 First 64-bit hash of the key
+     * @param h2 Second, independent 64-bit hash of the key
+     * @return true if the key was (probably) already seen within the window
+     */
+    public boolean checkAndAdd(long currentBucket, long h1, long h2) {
+        if (mightContain(currentBucket, h1, h2)) {
+            return true;
+        }
+        int slot = slotFor(currentBucket);
+        long[] words = bits[slot];
+        for (int i = 0; i < hashCount; i++) {
+            int bit = bitIndex(h1, h2, i);
+            words[bit >>> 6] |= 1L << bit;
+        }
+        insertions[slot]++;
+        return false;
+    }
+
+    /**
+     * Check whether the key was (probably) seen within the live window without recording it.
+     */
+    public boolean mightContain(long currentBucket, long h1, long h2) {
+        long oldestLive = currentBucket - bucketCount + 1;
+        for (int slot = 0; slot < bucketCount; slot++) {
+            long bucketId = bucketIds[slot];
+            if (bucketId < oldestLive || bucketId > currentBucket) {
+                continue;
+            }
+            if (containsInSlot(slot, h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean containsInSlot(int slot, long h1, long h2) {
+        long[] words = bits[slot];
+        for (int i = 0; i < hashCount; i++) {
+            int bit = bitIndex(h1, h2, i);
+            if ((words[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Returns the ring slot for the bucket, clearing it first if it held an expired bucket
+    private int slotFor(long bucket) {
+        int slot = (int) Math.floorMod(bucket, (long) bucketCount);
+        if (bucketIds[slot] != bucket) {
+            Arrays.fill(bits[slot], 0L);
+            bucketIds[slot] = bucket;
+            insertions[slot] = 0;
+        }
+        return slot;
+    }
+
+    // Kirsch-Mitzenmacher double hashing: g_i(x) = h1 + i * h2
+    private int bitIndex(long h1, long h2, int i) {
+        long combined = h1 + i * h2;
+        return (int) Math.floorMod(combined, (long) bitsPerBucket);
+    }
+
+    /**
+     * Number of keys recorded in the current bucket
+     */
+    public long getInsertions(long currentBucket) {
+        int slot = (int) Math.floorMod(currentBucket, (long) bucketCount);
+        return bucketIds[slot] == currentBucket ? insertions[slot] : 0;
+    }
+
+    /**
+     * True if the current bucket received more keys than it was sized for
+     * (the false-positive rate is then above the configured target)
+     */
+    public boolean isSaturated(long currentBucket) {
+        return getInsertions(currentBucket) > expectedInsertionsPerBucket;
+    }
+
+    /**
+     * Memory used by the bit arrays in bytes
+     */
+    public long getMemoryBytes() {
+        return (long) bucketCount * bitsPerBucket / 8;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    /**
+     * Write all buckets to the stream
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(SNAPSHOT_VERSION);
+        out.writeInt(bucketCount);
+        out.writeInt(bitsPerBucket);
+        out.writeInt(hashCount);
+        for (int slot = 0; slot < bucketCount; slot++) {
+            out.writeLong(bucketIds[slot]);
+            out.writeLong(insertions[slot]);
+            for (long word : bits[slot]) {
+                out.writeLong(word);
+            }
+        }
+    }
+
+    /**
+     * Restore buckets from a stream written by {@link #writeTo}.
+     * @return false if the snapshot was written with different parameters (nothing is restored)
+     */
+    public boolean readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != SNAPSHOT_VERSION || in.readInt() != bucketCount
+                || in.readInt() != bitsPerBucket || in.readInt() != hashCount) {
+            return false;
+        }
+        long[][] restoredBits = new long[bucketCount][bits[0].length];
+        long[] restoredIds = new long[bucketCount];
+        long[] restoredInsertions = new long[bucketCount];
+        for (int slot = 0; slot < bucketCount; slot++) {
+            restoredIds[slot] = in.readLong();
+            restoredInsertions[slot] = in.readLong();
+            for (int w = 0; w < restoredBits[slot].length; w++) {
+                restoredBits[slot][w] = in.readLong();
+            }
+        }
+        for (int slot = 0; slot < bucketCount; slot++) {
+            System.arraycopy(restoredBits[slot], 0, bits[slot], 0, bits[slot].length);
+            bucketIds[slot] = restoredIds[slot];
+            insertions[slot] = restoredInsertions[slot];
+        }
+        return true;
+    }
+
+    /**
+     * 64-bit hash of a byte array (MurmurHash3-style mixing), seeded
+     */
+    public static long hash64(byte[] data, long seed) {
+        long h = seed ^ (data.length * 0x9E3779B97F4A7C15L);
+        for (byte b : data) {
+            h ^= (b & 0xFF);
+            h *= 0x100000001B3L;
+            h = Long.rotateLeft(h, 31);
+        }
+        return fmix64(h);
+    }
+
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xFF51AFD7ED558CCDL;
+        k ^= k >>> 33;
+        k *= 0xC4CEB9FE1A85EC53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
@@ -0,0 +1,207 @@
+package com.ej2.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Bounded top-K ranking: the best {@code capacity} entries of a larger population, kept
+ * ordered by score descending, then tie-break descending, then id descending (the order of
+ * the ranking SQL), with an id index so an entry can be re-scored or removed in O(log K).
+ *
+ * The ranking only knows the entries it holds. While it is truncated (the population may have
+ * more entries than it holds), it maintains the invariant that every unknown entry ranks below
+ * the lowest held one, so the held entries are always exactly the top {@link #size()} of the
+ * population. Operations that would break this drop entries rather than guess:
+ * an entry re-scored below every other held entry is dropped, and {@link #rescore} drops entries
+ * that fall below the previous lowest score. The owner reloads the ranking when it gets too short.
+ *
+ * Instances are thread-safe.
+ */
+public final class TopKRanking<T> {
+
+    /**
+     * One ranked item; immutable.
+     */
+    public static final class Entry<T> {
+        private final long id;
+        private final double score;
+        private final long tieBreak;
+        private final T value;
+
+        public Entry(long id, double score, long tieBreak, T value) {
+            this.id = id;
+            this.score = score;
+            this.tieBreak = tieBreak;
+            this.value = value;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public long getTieBreak() {
+            return tieBreak;
+        }
+
+        public T getValue() {
+            return value;
+        }
+    }
+
+    private static final Comparator<Entry<?>> ORDER = (a, b) -> {
+        int c = Double.compare(b.score, a.score);
+        if (c != 0) {
+            return c;
+        }
+        c = Long.compare(b.tieBreak, a.tieBreak);
+        return c != 0 ? c : Long.compare(b.id, a.id);
+    };
+
+    private final int capacity;
+    private final TreeSet<Entry<T>> ordered = new TreeSet<Entry<T>>(ORDER);
+    private final Map<Long, Entry<T>> index = new HashMap<Long, Entry<T>>();
+    private boolean truncated;
+
+    public TopKRanking(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Replaces the contents with the given entries.
+     *
+     * @param truncated whether the population has entries beyond the given ones
+     */
+    public synchronized void load(Collection<Entry<T>> entries, boolean truncated) {
+        ordered.clear();
+        index.clear();
+        this.truncated = truncated;
+        for (Entry<T> entry : entries) {
+            insert(entry);
+        }
+        trimToCapacity();
+    }
+
+    /**
+     * Adds an entry or updates the held entry with the same id.
+     *
+     * @return whether the entry is held afterwards
+     */
+    public synchronized boolean offer(Entry<T> entry) {
+        Entry<T> previous = index.remove(entry.id);
+        if (previous != null) {
+            ordered.remove(previous);
+        }
+        // While truncated, unknown entries may rank anywhere below the lowest held one
+        if (truncated && (ordered.isEmpty() || ORDER.compare(entry, ordered.last()) > 0)) {
+            return false;
+        }
+        insert(entry);
+        trimToCapacity();
+        return index.containsKey(entry.id);
+    }
+
+    /**
+     * Removes the entry with the given id.
+     *
+     * @return whether it was held
+     */
+    public synchronized boolean remove(long id) {
+        Entry<T> previous = index.remove(id);
+        if (previous == null) {
+            return false;
+        }
+        ordered.remove(previous);
+        return true;
+    }
+
+    /**
+     * Re-scores every held entry. The scorer returns the new score for a value, or {@code null}
+     * to drop it. It must never raise the score of an entry the ranking does not hold (time decay
+     * only lowers scores), so held entries that still rank above the previous lowest entry stay exact;
+     * the others are dropped while truncated.
+     */
+    public synchronized void rescore(Function<T, Double> scorer) {
+        Entry<T> previousLowest = truncated && !ordered.isEmpty() ? ordered.last() : null;
+        List<Entry<T>> rescored = new ArrayList<Entry<T>>(ordered.size());
+        for (Entry<T> entry : ordered) {
+            Double score = scorer.apply(entry.value);
+            if (score != null) {
+                rescored.add(new Entry<T>(entry.id, score, entry.tieBreak, entry.value));
+            }
+        }
+        ordered.clear();
+        index.clear();
+        for (Entry<T> entry : rescored) {
+            if (previousLowest == null || ORDER.compare(entry, previousLowest) <= 0) {
+                insert(entry);
+            }
+        }
+    }
+
+    /**
+     * Entries at positions {@code [offset, offset + limit)}, or {@code null} when the ranking cannot
+     * answer exactly (the range reaches past the held entries while truncated).
+     */
+    public synchronized List<Entry<T>> page(int offset, int limit) {
+        int size = ordered.size();
+        if (truncated && offset + limit > size) {
+            return null;
+        }
+        if (offset >= size) {
+            return Collections.emptyList();
+        }
+        List<Entry<T>> page = new ArrayList<Entry<T>>(Math.min(limit, size - offset));
+        int position = 0;
+        for (Entry<T> entry : ordered) {
+            if (position >= offset + limit) {
+                break;
+            }
+            if (position >= offset) {
+                page.add(entry);
+            }
+            position++;
+        }
+        return page;
+    }
+
+    private void insert(Entry<T> entry) {
+        Entry<T> previous = index.put(entry.id, entry);
+        if (previous != null) {
+            ordered.remove(previous);
+        }
+        ordered.add(entry);
+    }
+
+    private void trimToCapacity() {
+        while (ordered.size() > capacity) {
+            index.remove(ordered.pollLast().id);
+            truncated = true;
+        }
+    }
+
+    public synchronized int size() {
+        return ordered.size();
+    }
+
+    public synchronized boolean isTruncated() {
+        return truncated;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,6 @@
+-- Indexes for comment like lookups (single check and bulk like status)
+-- Each lookup is (comment_id, user_id) or (comment_id, ip_address) instead of a scan of comment_like_logs.
+
+CREATE INDEX IF NOT EXISTS idx_comment_like_logs_comment_user ON comment_like_logs (comment_id, user_id);
+
+CREATE INDEX IF NOT EXISTS idx_comment_like_logs_comment_ip ON comment_like_logs (comment_id, ip_address);
@@ -0,0 +1,7 @@
+-- Indexes for the comment thread endpoint (GET /api/comments/post/{postId}/thread)
+-- Top-level comments are paged by (post_id, parent_id IS NULL, created_at, id) and replies are
+-- fetched per parent in (created_at, id) order, so both reads are index range scans.
+
+CREATE INDEX IF NOT EXISTS idx_comments_thread ON comments (post_id, parent_id, created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_comments_parent_created ON comments (parent_id, created_at, id);
@@ -0,0 +1,17 @@
+-- Pooled id allocation for insert-heavy tables (posts, comments, comment_like_logs, post_images, reports, chat_messages)
+-- These entities no longer use IDENTITY: ids are reserved in blocks of 50 from this table and handed out in
+-- memory, so Hibernate can batch INSERTs. The application seeds a missing row from MAX(id) + 1 on first use;
+-- running this script just does it up front. drop_pooled_id_auto_increment.sql removes AUTO_INCREMENT from the id columns.
+
+CREATE TABLE IF NOT EXISTS id_allocations (
+    segment_name VARCHAR(64) PRIMARY KEY,          -- table name
+    next_val BIGINT NOT NULL                       -- first id of the next block
+);
+
+INSERT IGNORE INTO id_allocations (segment_name, next_val)
+SELECT 'posts', COALESCE(MAX(id), 0) + 1 FROM posts
+UNION ALL SELECT 'comments', COALESCE(MAX(id), 0) + 1 FROM comments
+UNION ALL SELECT 'comment_like_logs', COALESCE(MAX(id), 0) + 1 FROM comment_like_logs
+UNION ALL SELECT 'post_images', COALESCE(MAX(id), 0) + 1 FROM post_images
+UNION ALL SELECT 'reports', COALESCE(MAX(id), 0) + 1 FROM reports
+UNION ALL SELECT 'chat_messages', COALESCE(MAX(id), 0) + 1 FROM chat_messages;
@@ -0,0 +1,13 @@
+-- Sharded counter slots for hot posts
+-- While a post receives many counter writes (likes, comments, reports ...), the application spreads them
+-- over N slot rows here instead of updating the single posts row, so writers do not queue on its row lock.
+-- Slots are folded back into posts every few seconds and deleted; the table only holds pending deltas.
+
+CREATE TABLE IF NOT EXISTS post_counter_shards (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    post_id BIGINT NOT NULL,
+    counter_name VARCHAR(30) NOT NULL,             -- POST_LIKES, POST_DISLIKES, POST_COMMENTS, ...
+    slot INT NOT NULL,                             -- 0 .. counter.shard.slots - 1
+    delta INT NOT NULL DEFAULT 0,                  -- not yet folded into posts (may be negative)
+    UNIQUE KEY uk_post_counter_shards_slot (post_id, counter_name, slot)
+);
@@ -0,0 +1,17 @@
+-- Stored excerpt for list endpoints
+-- Board lists, feeds, search results and rankings select posts.excerpt instead of the full content TEXT column.
+-- New and edited posts get the excerpt from Post.buildExcerpt() at write time; this backfills existing rows
+-- the same way (whitespace collapsed, first 120 characters, ellipsis when truncated).
+
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS excerpt VARCHAR(200) NULL AFTER content;
+
+UPDATE posts
+SET excerpt = CASE
+        WHEN CHAR_LENGTH(TRIM(REGEXP_REPLACE(content, '[[:space:]]+', ' '))) <= 120
+            THEN TRIM(REGEXP_REPLACE(content, '[[:space:]]+', ' '))
+        ELSE CONCAT(LEFT(TRIM(REGEXP_REPLACE(content, '[[:space:]]+', ' ')), 120), '…')
+    END
+WHERE excerpt IS NULL;
+
+-- First-image lookup for list thumbnails
+CREATE INDEX IF NOT EXISTS idx_post_images_post_order ON post_images (post_id, display_order);
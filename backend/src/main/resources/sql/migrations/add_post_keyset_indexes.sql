@@ -0,0 +1,11 @@
+-- Keyset pagination indexes for board / global feeds
+-- Each page is an index range scan on (filter columns, sort column, id) followed by LIMIT size+1,
+-- so the cost of a page no longer grows with the number of posts in a board.
+
+CREATE INDEX IF NOT EXISTS idx_posts_created ON posts (created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_posts_board_created ON posts (board_id, is_blinded, created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_posts_board_views ON posts (board_id, is_blinded, view_count, id);
+
+CREATE INDEX IF NOT EXISTS idx_posts_board_likes ON posts (board_id, is_blinded, like_count, id);
@@ -0,0 +1,21 @@
+-- Hourly like buckets per post, used for day/week/month like sorting
+-- Toggling a like adds +1/-1 to the bucket of the hour the like was made; a period total is the sum of
+-- at most 720 buckets instead of a GROUP BY over post_reactions for the whole board.
+-- Only the last 30 days are kept (older buckets are pruned hourly by the application).
+
+CREATE TABLE IF NOT EXISTS post_like_hourly (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    post_id BIGINT NOT NULL,
+    bucket_hour DATETIME NOT NULL,                 -- truncated to the hour
+    like_count INT NOT NULL DEFAULT 0,
+    UNIQUE KEY uk_post_like_hourly_post_hour (post_id, bucket_hour),
+    KEY idx_post_like_hourly_hour (bucket_hour)
+);
+
+-- Backfill from current likes (post_reactions.created_at is when the row became a like)
+INSERT INTO post_like_hourly (post_id, bucket_hour, like_count)
+SELECT post_id, DATE_FORMAT(created_at, '%Y-%m-%d %H:00:00') AS bucket_hour, COUNT(*)
+FROM post_reactions
+WHERE reaction_type = 'LIKE' AND created_at >= DATE_SUB(NOW(), INTERVAL 30 DAY)
+GROUP BY post_id, bucket_hour
+ON DUPLICATE KEY UPDATE like_count = VALUES(like_count);
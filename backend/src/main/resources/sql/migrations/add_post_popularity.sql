@@ -0,0 +1,20 @@
+-- Precomputed popularity scores for the ranking endpoints
+-- One row per post and period window it currently falls in (daily, weekly, monthly, all); blinded posts and
+-- notices have no rows. Rankings read the (board_id, period_bucket, score) index in order instead of scoring
+-- and sorting every post in the window. Rows are refreshed when a post's counters change and rescored
+-- periodically so the time decay and window boundaries stay current. The table is filled by the application
+-- on startup, so no backfill is needed here.
+
+CREATE TABLE IF NOT EXISTS post_popularity (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    post_id BIGINT NOT NULL,
+    period_bucket VARCHAR(10) NOT NULL,            -- daily, weekly, monthly, all
+    board_id BIGINT NOT NULL,
+    score DOUBLE NOT NULL,                         -- popularity score at refreshed_at (decays with age)
+    created_at DATETIME NOT NULL,                  -- post creation time, tie-breaker
+    refreshed_at DATETIME NOT NULL,
+    UNIQUE KEY uk_post_popularity_post_period (post_id, period_bucket)
+);
+
+CREATE INDEX IF NOT EXISTS idx_post_popularity_period_score ON post_popularity (period_bucket, score, created_at, post_id);
+CREATE INDEX IF NOT EXISTS idx_post_popularity_board_period_score ON post_popularity (board_id, period_bucket, score, created_at, post_id);
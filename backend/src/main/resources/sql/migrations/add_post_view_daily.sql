@@ -0,0 +1,18 @@
+-- Daily rollup of post_view_logs and retention of the raw log
+-- Raw view logs are only needed for recent statistics, so each finished day is aggregated per post into
+-- post_view_daily and raw rows older than the retention period (view-log.retention-days) are deleted in
+-- small chunks by the application. Admin view statistics read the rollup.
+
+CREATE TABLE IF NOT EXISTS post_view_daily (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    post_id BIGINT NOT NULL,
+    view_date DATE NOT NULL,
+    view_count INT NOT NULL DEFAULT 0,
+    unique_users INT NOT NULL DEFAULT 0,           -- distinct logged-in users
+    unique_ips INT NOT NULL DEFAULT 0,             -- distinct IP addresses
+    UNIQUE KEY uk_post_view_daily_post_date (post_id, view_date),
+    KEY idx_post_view_daily_date (view_date)
+);
+
+-- Range scans for the rollup and chunked deletes
+CREATE INDEX idx_post_view_logs_viewed_at ON post_view_logs(viewed_at);
@@ -0,0 +1,4 @@
+-- Index for counting reports per reported entity (counter reconciliation of posts.reported_count)
+-- The unique key (reporter_id, report_type, entity_id) cannot serve lookups by entity.
+
+CREATE INDEX IF NOT EXISTS idx_reports_entity ON reports (report_type, entity_id);
@@ -0,0 +1,24 @@
+-- Drop AUTO_INCREMENT from the tables whose ids come from id_allocations (see add_id_allocations.sql)
+-- A manual INSERT that relied on AUTO_INCREMENT took MAX(id) + 1, which can fall inside a block the running
+-- application has already reserved, and the next persist then fails with a duplicate key. Without
+-- AUTO_INCREMENT such an INSERT fails immediately instead; manual inserts reserve their ids by advancing
+-- next_val first (init-data.sql shows how).
+
+ALTER TABLE posts MODIFY id BIGINT NOT NULL;
+ALTER TABLE comments MODIFY id BIGINT NOT NULL;
+ALTER TABLE comment_like_logs MODIFY id BIGINT NOT NULL;
+ALTER TABLE post_images MODIFY id BIGINT NOT NULL;
+ALTER TABLE reports MODIFY id BIGINT NOT NULL;
+ALTER TABLE chat_messages MODIFY id BIGINT NOT NULL;
+
+-- Rows inserted through AUTO_INCREMENT before this migration may sit above next_val
+UPDATE id_allocations a
+JOIN (
+    SELECT 'posts' AS segment_name, COALESCE(MAX(id), 0) + 1 AS min_val FROM posts
+    UNION ALL SELECT 'comments', COALESCE(MAX(id), 0) + 1 FROM comments
+    UNION ALL SELECT 'comment_like_logs', COALESCE(MAX(id), 0) + 1 FROM comment_like_logs
+    UNION ALL SELECT 'post_images', COALESCE(MAX(id), 0) + 1 FROM post_images
+    UNION ALL SELECT 'reports', COALESCE(MAX(id), 0) + 1 FROM reports
+    UNION ALL SELECT 'chat_messages', COALESCE(MAX(id), 0) + 1 FROM chat_messages
+) m ON m.segment_name = a.segment_name
+SET a.next_val = GREATEST(a.next_val, m.min_val);
@@ -0,0 +1,43 @@
+-- Fold post_like_logs / post_dislike_logs into the unified post_reactions table
+-- One row per (post_id, actor); actor is 'u:{user_id}' for logged-in users and 'ip:{ip_address}' otherwise.
+-- Like/dislike toggling is then a single conditional statement on this row plus one counter UPDATE on posts.
+
+CREATE TABLE IF NOT EXISTS post_reactions (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    post_id BIGINT NOT NULL,
+    actor VARCHAR(80) NOT NULL,
+    user_id BIGINT NULL,
+    ip_address VARCHAR(50) NULL,
+    reaction_type VARCHAR(20) NOT NULL,            -- LIKE, DISLIKE
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_post_reactions_post_actor (post_id, actor),
+    KEY idx_post_reactions_post_type_created (post_id, reaction_type, created_at),
+    KEY idx_post_reactions_user (user_id)
+);
+
+-- Likes first: duplicate rows for the same actor collapse to the most recent one
+INSERT IGNORE INTO post_reactions (post_id, actor, user_id, ip_address, reaction_type, created_at)
+SELECT post_id,
+       CASE WHEN user_id IS NOT NULL THEN CONCAT('u:', user_id) ELSE CONCAT('ip:', ip_address) END,
+       user_id, ip_address, 'LIKE', liked_at
+FROM post_like_logs
+WHERE user_id IS NOT NULL OR ip_address IS NOT NULL
+ORDER BY liked_at DESC, id DESC;
+
+-- Dislikes: skipped for actors that already have a like (like and dislike are mutually exclusive)
+INSERT IGNORE INTO post_reactions (post_id, actor, user_id, ip_address, reaction_type, created_at)
+SELECT post_id,
+       CASE WHEN user_id IS NOT NULL THEN CONCAT('u:', user_id) ELSE CONCAT('ip:', ip_address) END,
+       user_id, ip_address, 'DISLIKE', disliked_at
+FROM post_dislike_logs
+WHERE user_id IS NOT NULL OR ip_address IS NOT NULL
+ORDER BY disliked_at DESC, id DESC;
+
+-- Re-derive counters from the folded rows
+UPDATE posts p
+SET p.like_count = (SELECT COUNT(*) FROM post_reactions r WHERE r.post_id = p.id AND r.reaction_type = 'LIKE'),
+    p.dislike_count = (SELECT COUNT(*) FROM post_reactions r WHERE r.post_id = p.id AND r.reaction_type = 'DISLIKE');
+
+-- Optional: drop the old log tables once the application no longer reads them
+-- DROP TABLE post_like_logs;
+-- DROP TABLE post_dislike_logs;
@@ -0,0 +1,279 @@
+package com.ej2.benchmark;
+
+import com.ej2.model.Board;
+import com.ej2.model.Comment;
+import com.ej2.model.CommentLikeLog;
+import com.ej2.model.IdAllocation;
+import com.ej2.model.Post;
+import com.ej2.model.PostViewLog;
+import com.ej2.util.AnonymousIdGenerator;
+import com.ej2.util.PooledIdGenerator;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.id.IdentityGenerator;
+import org.hibernate.id.factory.spi.MutableIdentifierGeneratorFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * INSERT 처리량 벤치마크: IDENTITY vs PooledIdGenerator + hibernate.jdbc.batch_size
+ *
+ * 게시글·댓글·댓글 좋아요 로그를 실제 엔티티 매핑 그대로 Hibernate 세션으로 persist 한다.
+ * - 변경 전: 같은 엔티티의 ID 전략만 IDENTITY로 바꾸고 배치 없음 (INSERT마다 즉시 실행 + 생성 키 조회,
+ *   익명 게시판 게시글은 저장 후 익명 ID를 채우는 UPDATE 추가)
+ * - 변경 후: PooledIdGenerator + batch_size (flush 시 배치 INSERT, 익명 ID는 INSERT에 포함)
+ * 조회 로그는 따로: 요청마다 PostViewLog 한 건 저장 vs ActivityLogIngester와 같은 다중 행 INSERT
+ *
+ * 실행 시마다 테이블을 만들고 지우므로(create-drop) 반드시 비어 있는 별도 DB를 지정한다.
+ * 실행: mvn -q test-compile && java -cp target/test-classes:target/classes:$(cat cp.txt) com.ej2.benchmark.InsertThroughputBenchmark \
+ *       <jdbc-url> <user> <password> [행 수] [트랜잭션당 행 수]
+ *   (cp.txt: mvn dependency:build-classpath -Dmdep.outputFile=cp.txt)
+ * 트랜잭션당 행 수 1은 요청 하나에 INSERT 하나인 경우, 기본값 50은 일괄 처리(가져오기·대량 댓글 등)에 해당한다.
+ */
+public class InsertThroughputBenchmark {
+
+    private static final int BATCH_SIZE = 50;
+    private static final int LOG_BATCH_SIZE = 500;
+
+    private static final String VIEW_LOG_INSERT = "INSERT INTO post_view_logs (post_id, user_id, ip_address, viewed_at) VALUES ";
+
+    public static void main(String[] args) throws SQLException {
+        if (args.length < 3) {
+            System.err.println("usage: InsertThroughputBenchmark <jdbc-url> <user> <password> [rows] [rows-per-transaction]");
+            System.exit(1);
+        }
+        String url = args[0];
+        String user = args[1];
+        String password = args[2];
+        int rows = args.length > 3 ? Integer.parseInt(args[3]) : 5000;
+        int perTransaction = args.length > 4 ? Integer.parseInt(args[4]) : BATCH_SIZE;
+
+        // create-drop이 기존 데이터를 지우지 않도록 빈 DB에서만 실행
+        try (Connection connection = DriverManager.getConnection(url, user, password);
+             ResultSet tables = connection.getMetaData().getTables(connection.getCatalog(), null, "posts", null)) {
+            if (tables.next()) {
+                System.err.println("refusing to run: " + url + " already has a posts table (use an empty database)");
+                System.exit(1);
+            }
+        }
+
+        System.out.printf("rows=%d rows/transaction=%d%n", rows, perTransaction);
+        Result before = run(url, user, password, rows, perTransaction, false);
+        Result after = run(url, user, password, rows, perTransaction, true);
+
+        System.out.printf("%-18s %20s %20s %8s%n", "", "before(rows/s)", "after(rows/s)", "speedup");
+        report("posts", rows, before.postsMs, after.postsMs);
+        report("comments", rows, before.commentsMs, after.commentsMs);
+        report("comment like logs", rows, before.likeLogsMs, after.likeLogsMs);
+        // 조회 로그는 ID 전략과 무관하므로 변경 후 실행에서 잰 값을 사용
+        report("view logs", rows, after.viewLogsOneByOneMs, after.viewLogsMultiRowMs);
+    }
+
+    private static final class Result {
+        long postsMs;
+        long commentsMs;
+        long likeLogsMs;
+        long viewLogsOneByOneMs;
+        long viewLogsMultiRowMs;
+    }
+
+    private static Result run(String url, String user, String password, int rows, int perTransaction, boolean pooled) {
+        StandardServiceRegistryBuilder settings = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DRIVER, "org.mariadb.jdbc.Driver")
+                .applySetting(AvailableSettings.URL, url)
+                .applySetting(AvailableSettings.USER, user)
+                .applySetting(AvailableSettings.PASS, password)
+                .applySetting(AvailableSettings.DIALECT, "org.hibernate.dialect.MariaDBDialect")
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop");
+        if (pooled) {
+            // RootConfig와 같은 배치 설정
+            settings.applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(BATCH_SIZE))
+                    .applySetting(AvailableSettings.ORDER_INSERTS, "true");
+        }
+        StandardServiceRegistry registry = settings.build();
+        if (!pooled) {
+            // 엔티티의 @GenericGenerator(strategy = PooledIdGenerator)를 IDENTITY로 바꿔 매핑 (DDL도 AUTO_INCREMENT)
+            registry.getService(MutableIdentifierGeneratorFactory.class)
+                    .register(PooledIdGenerator.class.getName(), IdentityGenerator.class);
+        }
+
+        try (SessionFactory sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(Board.class)
+                .addAnnotatedClass(Post.class)
+                .addAnnotatedClass(Comment.class)
+                .addAnnotatedClass(CommentLikeLog.class)
+                .addAnnotatedClass(PostViewLog.class)
+                .addAnnotatedClass(IdAllocation.class)
+                .buildMetadata()
+                .buildSessionFactory()) {
+            long[] boardIds = createBoards(sessionFactory);
+
+            // 워밍업 (ID 블록 할당·문장 준비 포함)
+            persistPosts(sessionFactory, boardIds, Math.min(rows, 500), perTransaction, pooled);
+
+            Result result = new Result();
+            long start = System.nanoTime();
+            List<Long> postIds = persistPosts(sessionFactory, boardIds, rows, perTransaction, pooled);
+            result.postsMs = elapsedMs(start);
+
+            start = System.nanoTime();
+            List<Long> commentIds = persistComments(sessionFactory, postIds, rows, perTransaction);
+            result.commentsMs = elapsedMs(start);
+
+            start = System.nanoTime();
+            persistLikeLogs(sessionFactory, commentIds, rows, perTransaction);
+            result.likeLogsMs = elapsedMs(start);
+
+            if (pooled) {
+                start = System.nanoTime();
+                persistViewLogsOneByOne(sessionFactory, postIds, rows);
+                result.viewLogsOneByOneMs = elapsedMs(start);
+
+                start = System.nanoTime();
+                insertViewLogsMultiRow(sessionFactory, postIds, rows);
+                result.viewLogsMultiRowMs = elapsedMs(start);
+            }
+            return result;
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+
+    // 일반 게시판 1개 + 익명 게시판 1개
+    private static long[] createBoards(SessionFactory sessionFactory) {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            Board free = new Board("自由掲示板", "bench_free", null, false);
+            Board anonymous = new Board("匿名掲示板", "bench_anonymous", null, true);
+            session.persist(free);
+            session.persist(anonymous);
+            session.getTransaction().commit();
+            return new long[]{free.getId(), anonymous.getId()};
+        }
+    }
+
+    private static List<Long> persistPosts(SessionFactory sessionFactory, long[] boardIds, int rows,
+                                           int perTransaction, boolean pooled) {
+        List<Long> ids = new ArrayList<Long>(rows);
+        Session session = null;
+        for (int i = 0; i < rows; i++) {
+            if (i % perTransaction == 0) {
+                session = begin(sessionFactory, session);
+            }
+            // 다섯 건 중 한 건은 익명 게시판
+            long boardId = boardIds[i % 5 == 0 ? 1 : 0];
+            Post post = new Post(boardId, (long) (i % 500 + 1), "benchmark post " + i, "benchmark content " + i);
+            session.persist(post);
+            if (!pooled && boardId == boardIds[1]) {
+                // 변경 전: IDENTITY라 INSERT 후에야 ID를 알 수 있어 익명 ID를 UPDATE로 채운다
+                post.setAnonymousId(AnonymousIdGenerator.generateAnonymousId(post.getUserId(), post.getId()));
+            }
+            ids.add(post.getId());
+        }
+        commit(session);
+        return ids;
+    }
+
+    private static List<Long> persistComments(SessionFactory sessionFactory, List<Long> postIds, int rows,
+                                              int perTransaction) {
+        List<Long> ids = new ArrayList<Long>(rows);
+        Session session = null;
+        for (int i = 0; i < rows; i++) {
+            if (i % perTransaction == 0) {
+                session = begin(sessionFactory, session);
+            }
+            Comment comment = new Comment(postIds.get(i % postIds.size()), (long) (i % 500 + 1), "benchmark comment " + i);
+            session.persist(comment);
+            ids.add(comment.getId());
+        }
+        commit(session);
+        return ids;
+    }
+
+    private static void persistLikeLogs(SessionFactory sessionFactory, List<Long> commentIds, int rows,
+                                        int perTransaction) {
+        Session session = null;
+        for (int i = 0; i < rows; i++) {
+            if (i % perTransaction == 0) {
+                session = begin(sessionFactory, session);
+            }
+            session.persist(new CommentLikeLog(commentIds.get(i % commentIds.size()), (long) (i % 500 + 1), null));
+        }
+        commit(session);
+    }
+
+    // 변경 전: 조회 요청마다 PostViewLog 한 건을 저장
+    private static void persistViewLogsOneByOne(SessionFactory sessionFactory, List<Long> postIds, int rows) {
+        for (int i = 0; i < rows; i++) {
+            try (Session session = sessionFactory.openSession()) {
+                session.beginTransaction();
+                session.persist(new PostViewLog(postIds.get(i % postIds.size()), (long) (i % 500 + 1), ipAddress(i)));
+                session.getTransaction().commit();
+            }
+        }
+    }
+
+    // 변경 후: ActivityLogIngester와 같이 LOG_BATCH_SIZE 행씩 다중 행 INSERT
+    private static void insertViewLogsMultiRow(SessionFactory sessionFactory, final List<Long> postIds, final int rows) {
+        try (Session session = sessionFactory.openSession()) {
+            session.doWork(connection -> {
+                for (int from = 0; from < rows; from += LOG_BATCH_SIZE) {
+                    int count = Math.min(LOG_BATCH_SIZE, rows - from);
+                    StringBuilder sql = new StringBuilder(VIEW_LOG_INSERT);
+                    for (int i = 0; i < count; i++) {
+                        sql.append(i == 0 ? "(?, ?, ?, ?)" : ", (?, ?, ?, ?)");
+                    }
+                    try (PreparedStatement insert = connection.prepareStatement(sql.toString())) {
+                        int p = 1;
+                        for (int i = from; i < from + count; i++) {
+                            insert.setLong(p++, postIds.get(i % postIds.size()));
+                            insert.setLong(p++, i % 500 + 1);
+                            insert.setString(p++, ipAddress(i));
+                            insert.setTimestamp(p++, new Timestamp(System.currentTimeMillis()));
+                        }
+                        insert.executeUpdate();
+                    }
+                }
+            });
+        }
+    }
+
+    // 이전 트랜잭션을 커밋하고 새 세션·트랜잭션을 연다
+    private static Session begin(SessionFactory sessionFactory, Session previous) {
+        commit(previous);
+        Session session = sessionFactory.openSession();
+        session.beginTransaction();
+        return session;
+    }
+
+    private static void commit(Session session) {
+        if (session != null) {
+            session.getTransaction().commit();
+            session.close();
+        }
+    }
+
+    private static String ipAddress(int i) {
+        return "10.0." + (i % 250) + ".1";
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return Math.max((System.nanoTime() - startNanos) / 1000000, 1);
+    }
+
+    private static void report(String name, int rows, long beforeMs, long afterMs) {
+        System.out.printf("%-18s %10d ms %7.0f %10d ms %7.0f %7.1fx%n", name,
+                beforeMs, rows * 1000.0 / beforeMs, afterMs, rows * 1000.0 / afterMs, (double) beforeMs / afterMs);
+    }
+}
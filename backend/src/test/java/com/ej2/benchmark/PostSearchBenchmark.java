@@ -0,0 +1,98 @@
+package com.ej2.benchmark;
+
+import com.ej2.util.BM25Index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 검색 벤치마크: bigram 역색인(BM25Index) vs 기존 LIKE '%kw%' 방식
+ *
+ * LIKE '%kw%'는 인덱스를 쓸 수 없어 모든 행의 문자열을 훑으므로,
+ * 같은 코퍼스에 대한 선형 contains 스캔을 비교 대상으로 사용한다 (DB 왕복 비용은 제외되어 LIKE 쪽에 유리함).
+ *
+ * 실행: mvn -q test-compile && java -cp target/test-classes:target/classes com.ej2.benchmark.PostSearchBenchmark [게시글 수] [쿼리 반복 수]
+ */
+public class PostSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "도서관", "시험", "기간", "학식", "메뉴", "동아리", "모집", "과제", "교수님", "수강신청",
+            "기숙사", "택배", "중고", "거래", "스터디", "알바", "후기", "추천", "질문", "공지",
+            "図書館", "試験", "サークル", "募集", "レポート", "授業", "先輩", "質問", "バイト", "寮",
+            "spring", "java", "react", "database", "index", "query", "server", "deploy", "bug", "review"
+    };
+
+    private static final String[] QUERIES = {"도서관", "수강신청", "サークル", "database", "시험 기간", "中古"};
+
+    public static void main(String[] args) {
+        int postCount = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+        Random random = new Random(42);
+        List<String> titles = new ArrayList<String>(postCount);
+        List<String> contents = new ArrayList<String>(postCount);
+        for (int i = 0; i < postCount; i++) {
+            titles.add(sentence(random, 3 + random.nextInt(4)));
+            contents.add(sentence(random, 30 + random.nextInt(120)));
+        }
+
+        long buildStart = System.nanoTime();
+        BM25Index index = new BM25Index();
+        for (int i = 0; i < postCount; i++) {
+            index.put(i + 1, 1 + (i % 10), titles.get(i), contents.get(i));
+        }
+        long buildMs = (System.nanoTime() - buildStart) / 1_000_000;
+        System.out.printf("posts=%d terms=%d build=%dms%n", postCount, index.termCount(), buildMs);
+
+        // 워밍업
+        for (int w = 0; w < 5; w++) {
+            for (String query : QUERIES) {
+                index.search(query, null, 0, 20);
+                likeScan(titles, contents, query);
+            }
+        }
+
+        System.out.printf("%-12s %10s %14s %14s%n", "query", "matches", "index(us/op)", "like(us/op)");
+        for (String query : QUERIES) {
+            long indexStart = System.nanoTime();
+            int matches = 0;
+            for (int i = 0; i < iterations; i++) {
+                matches = index.search(query, null, 0, 20).getTotal();
+            }
+            long indexUs = (System.nanoTime() - indexStart) / 1000 / iterations;
+
+            long likeStart = System.nanoTime();
+            int likeMatches = 0;
+            for (int i = 0; i < iterations; i++) {
+                likeMatches = likeScan(titles, contents, query);
+            }
+            long likeUs = (System.nanoTime() - likeStart) / 1000 / iterations;
+
+            System.out.printf("%-12s %4d/%-5d %14d %14d%n", query, matches, likeMatches, indexUs, likeUs);
+        }
+    }
+
+    // LIKE '%kw%' on title OR content
+    private static int likeScan(List<String> titles, List<String> contents, String keyword) {
+        String lower = keyword.toLowerCase();
+        int matches = 0;
+        for (int i = 0; i < titles.size(); i++) {
+            if (titles.get(i).toLowerCase().contains(lower) || contents.get(i).toLowerCase().contains(lower)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.toString();
+    }
+}
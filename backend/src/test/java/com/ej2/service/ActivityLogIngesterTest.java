@@ -0,0 +1,71 @@
+package com.ej2.service;
+
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+public class ActivityLogIngesterTest {
+
+    // 실행된 INSERT의 행 수만 기록하는 JdbcTemplate
+    private static class RecordingJdbcTemplate extends JdbcTemplate {
+        final List<Integer> rowsPerStatement = new CopyOnWriteArrayList<Integer>();
+
+        @Override
+        public int update(String sql, Object... args) {
+            rowsPerStatement.add(args.length / 4);
+            return args.length / 4;
+        }
+    }
+
+    private ActivityLogIngester create(RecordingJdbcTemplate jdbcTemplate, int capacity, int maxBatchSize, long maxLatencyMs) {
+        ActivityLogIngester ingester = new ActivityLogIngester();
+        ReflectionTestUtils.setField(ingester, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(ingester, "queueCapacity", capacity);
+        ReflectionTestUtils.setField(ingester, "maxBatchSize", maxBatchSize);
+        ReflectionTestUtils.setField(ingester, "maxLatencyMs", maxLatencyMs);
+        return ingester;
+    }
+
+    @Test
+    public void testViewsAreWrittenAsMultiRowBatches() throws Exception {
+        RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+        ActivityLogIngester ingester = create(jdbcTemplate, 1000, 10, 200);
+        ingester.start();
+        for (int i = 0; i < 25; i++) {
+            ingester.recordView(1L, null, "127.0.0.1");
+        }
+        ingester.flushOnShutdown();
+
+        int total = 0;
+        for (int rows : jdbcTemplate.rowsPerStatement) {
+            assertTrue(rows <= 10);
+            total += rows;
+        }
+        assertEquals(25, total);
+        assertTrue(jdbcTemplate.rowsPerStatement.size() < 25);
+        assertEquals(25L, ingester.getMetrics().get("written"));
+    }
+
+    @Test
+    public void testFullQueueDropsAndCounts() throws Exception {
+        RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+        ActivityLogIngester ingester = create(jdbcTemplate, 5, 100, 60000);
+        // 쓰기 스레드 없이 큐만 만든다 (가득 찬 상태를 재현)
+        ReflectionTestUtils.setField(ingester, "queue", new ArrayBlockingQueue<Object>(5));
+        for (int i = 0; i < 8; i++) {
+            ingester.recordView(1L, 2L, null);
+        }
+
+        Map<String, Object> metrics = ingester.getMetrics();
+        assertEquals(5L, metrics.get("enqueued"));
+        assertEquals(3L, metrics.get("dropped"));
+        assertTrue(jdbcTemplate.rowsPerStatement.isEmpty());
+    }
+}
@@ -0,0 +1,124 @@
+package com.ej2.service;
+
+import com.ej2.model.Post;
+import com.ej2.repository.CommentLikeLogRepository;
+import com.ej2.repository.CommentRepository;
+import com.ej2.repository.CounterRepository.Counter;
+import com.ej2.repository.PostRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CommentServiceBulkDeleteTest {
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private CommentLikeLogRepository commentLikeLogRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CounterService counterService;
+
+    @Mock
+    private PostDetailCache postDetailCache;
+
+    @Mock
+    private ContentVersionRegistry contentVersionRegistry;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private CommentService commentService;
+
+    @Captor
+    private ArgumentCaptor<Collection<Long>> softDeletedIds;
+
+    @Captor
+    private ArgumentCaptor<Collection<Long>> hardDeletedIds;
+
+    // (id, parentId, postId, isDeleted)
+    private Object[] row(long id, Long parentId, long postId, boolean deleted) {
+        return new Object[]{id, parentId, postId, deleted};
+    }
+
+    private Post post(long id) {
+        Post post = new Post();
+        post.setId(id);
+        post.setBoardId(1L);
+        return post;
+    }
+
+    @Test
+    public void testSoftHardAndParentCleanupDecidedFromOneFetch() {
+        List<Object[]> tree = new ArrayList<Object[]>();
+        // 1: 대상, 답글 2가 남아 있음 → 소프트 삭제
+        tree.add(row(1, null, 100, false));
+        tree.add(row(2, 1L, 100, false));
+        // 3: 이미 소프트 삭제된 부모, 유일한 답글 4가 대상 → 4 하드 삭제 후 3 정리
+        tree.add(row(3, null, 100, true));
+        tree.add(row(4, 3L, 100, false));
+        // 5 와 답글 6 모두 대상 → 둘 다 하드 삭제
+        tree.add(row(5, null, 200, false));
+        tree.add(row(6, 5L, 200, false));
+        when(commentRepository.findDeletionTree(anyCollection())).thenReturn(tree);
+        when(postRepository.findAllById(anyIterable())).thenReturn(Arrays.asList(post(100), post(200)));
+
+        Map<String, Object> result = commentService.deleteComments(Arrays.asList(1L, 4L, 5L, 6L, 99L));
+
+        assertEquals(1, result.get("softDeleted"));
+        assertEquals(4, result.get("hardDeleted"));
+        assertEquals(Collections.singletonList(99L), result.get("notFound"));
+
+        verify(commentRepository).softDeleteByIds(softDeletedIds.capture(), anyString(), any());
+        assertEquals(new HashSet<Long>(Collections.singletonList(1L)), new HashSet<Long>(softDeletedIds.getValue()));
+
+        verify(commentRepository).deleteByIds(hardDeletedIds.capture());
+        assertEquals(new HashSet<Long>(Arrays.asList(3L, 4L, 5L, 6L)), new HashSet<Long>(hardDeletedIds.getValue()));
+        verify(commentLikeLogRepository).deleteByCommentIds(anyCollection());
+
+        // 게시글마다 한 번씩 (정리된 부모 3은 세지 않음)
+        verify(counterService).add(Counter.POST_COMMENTS, 100L, -2);
+        verify(counterService).add(Counter.POST_COMMENTS, 200L, -2);
+        verifyNoMoreInteractions(counterService);
+        // 삭제된 댓글마다 스트림 이벤트 (소프트 1 + 하드 4)
+        verify(eventPublisher, times(5)).publishEvent(any(Object.class));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testSingleDeleteOfMissingCommentThrows() {
+        when(commentRepository.findDeletionTree(anyCollection())).thenReturn(Collections.<Object[]>emptyList());
+        commentService.deleteComment(7L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyIdsRejected() {
+        List<Long> ids = new ArrayList<Long>();
+        for (long id = 1; id <= CommentService.MAX_BULK_DELETE_IDS + 1; id++) {
+            ids.add(id);
+        }
+        commentService.deleteComments(ids);
+    }
+}
@@ -0,0 +1,142 @@
+package com.ej2.service;
+
+import com.ej2.dto.CommentNodeDTO;
+import com.ej2.dto.CursorPageDTO;
+import com.ej2.model.Comment;
+import com.ej2.repository.CommentLikeLogRepository;
+import com.ej2.repository.CommentRepository;
+import com.ej2.util.PageCursor;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CommentServiceThreadTest {
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private CommentLikeLogRepository commentLikeLogRepository;
+
+    @Mock
+    private AuthorNameResolver authorNameResolver;
+
+    @InjectMocks
+    private CommentService commentService;
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private Comment comment(long id, Long parentId, long userId) {
+        Comment comment = new Comment(1L, userId, "comment " + id);
+        comment.setId(id);
+        comment.setParentId(parentId);
+        comment.setCreatedAt(BASE.plusMinutes(id));
+        return comment;
+    }
+
+    private List<Object[]> counts(long... parentAndCount) {
+        List<Object[]> rows = new ArrayList<Object[]>();
+        for (int i = 0; i < parentAndCount.length; i += 2) {
+            rows.add(new Object[]{parentAndCount[i], parentAndCount[i + 1]});
+        }
+        return rows;
+    }
+
+    @Test
+    public void testTreeAssembledWithCountsNamesAndLikes() {
+        when(commentRepository.findTopLevelPage(eq(1L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(comment(1, null, 10), comment(2, null, 11)));
+        when(commentRepository.countRepliesByParentIds(Arrays.asList(1L, 2L))).thenReturn(counts(1, 3));
+        when(commentRepository.findFirstRepliesByParentIds(Collections.singletonList(1L), 2))
+                .thenReturn(Arrays.asList(comment(3, 1L, 11), comment(4, 1L, 10)));
+        when(commentRepository.countRepliesByParentIds(Arrays.asList(3L, 4L))).thenReturn(counts());
+        Map<Long, String> names = new HashMap<Long, String>();
+        names.put(10L, "alice");
+        when(authorNameResolver.resolve(anyCollection())).thenReturn(names);
+        when(commentLikeLogRepository.findLikedCommentIdsByUserId(Arrays.asList(1L, 2L, 3L, 4L), 10L))
+                .thenReturn(Collections.singletonList(3L));
+
+        CursorPageDTO<CommentNodeDTO> page = commentService.getCommentThread(1L, null, 20, 2, 10L, "127.0.0.1");
+
+        assertFalse(page.isHasNext());
+        assertEquals(2, page.getItems().size());
+        CommentNodeDTO first = page.getItems().get(0);
+        assertEquals(3, first.getReplyCount());
+        assertEquals(2, first.getReplies().size());
+        assertEquals("alice", first.getAuthorNickname());
+        assertTrue(first.getReplies().get(0).isLiked());
+        assertFalse(first.getReplies().get(1).isLiked());
+        assertEquals(AuthorNameResolver.UNKNOWN_USER, page.getItems().get(1).getAuthorNickname());
+        assertEquals(0, page.getItems().get(1).getReplyCount());
+        // 이름 조회는 페이지 전체에 한 번
+        verify(authorNameResolver, times(1)).resolve(anyCollection());
+    }
+
+    @Test
+    public void testDeepestLoadedLevelStillReportsReplyCount() {
+        // 1 ← 2 ← 3 ← 4 (MAX_THREAD_DEPTH = 3), 4에는 답글 5건
+        when(commentRepository.findTopLevelPage(eq(1L), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(comment(1, null, 10)));
+        when(commentRepository.countRepliesByParentIds(Collections.singletonList(1L))).thenReturn(counts(1, 1));
+        when(commentRepository.countRepliesByParentIds(Collections.singletonList(2L))).thenReturn(counts(2, 1));
+        when(commentRepository.countRepliesByParentIds(Collections.singletonList(3L))).thenReturn(counts(3, 1));
+        when(commentRepository.countRepliesByParentIds(Collections.singletonList(4L))).thenReturn(counts(4, 5));
+        when(commentRepository.findFirstRepliesByParentIds(Collections.singletonList(1L), 20))
+                .thenReturn(Collections.singletonList(comment(2, 1L, 10)));
+        when(commentRepository.findFirstRepliesByParentIds(Collections.singletonList(2L), 20))
+                .thenReturn(Collections.singletonList(comment(3, 2L, 10)));
+        when(commentRepository.findFirstRepliesByParentIds(Collections.singletonList(3L), 20))
+                .thenReturn(Collections.singletonList(comment(4, 3L, 10)));
+        when(authorNameResolver.resolve(anyCollection())).thenReturn(Collections.<Long, String>emptyMap());
+
+        CursorPageDTO<CommentNodeDTO> page = commentService.getCommentThread(1L, null, 20, 20, null, null);
+
+        CommentNodeDTO deepest = page.getItems().get(0).getReplies().get(0).getReplies().get(0).getReplies().get(0);
+        assertEquals(Long.valueOf(4L), deepest.getId());
+        // 답글은 불러오지 않지만 개수는 알려 준다
+        assertEquals(5, deepest.getReplyCount());
+        assertTrue(deepest.getReplies().isEmpty());
+        verify(commentRepository, never()).findFirstRepliesByParentIds(eq(Collections.singletonList(4L)), anyInt());
+    }
+
+    @Test
+    public void testPageSizeCappedAndCursorContinues() {
+        List<Comment> rows = new ArrayList<Comment>();
+        for (long id = 1; id <= 51; id++) {
+            rows.add(comment(id, null, 10));
+        }
+        when(commentRepository.findTopLevelPage(eq(1L), any(Pageable.class))).thenReturn(rows);
+        when(commentRepository.countRepliesByParentIds(anyCollection())).thenReturn(counts());
+
+        CursorPageDTO<CommentNodeDTO> page = commentService.getCommentThread(1L, null, 500, 20, null, null);
+
+        assertEquals(50, page.getItems().size());
+        assertTrue(page.isHasNext());
+        String[] key = PageCursor.decode(page.getNextCursor(), 2);
+        assertEquals(BASE.plusMinutes(50), LocalDateTime.parse(key[0]));
+        assertEquals("50", key[1]);
+        verify(commentRepository).findTopLevelPage(eq(1L), argThat(p -> p.getPageSize() == 51));
+        verifyNoInteractions(commentLikeLogRepository);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMalformedCursorRejected() {
+        commentService.getCommentThread(1L, PageCursor.encode("not-a-date", 1), 20, 20, null, null);
+    }
+}
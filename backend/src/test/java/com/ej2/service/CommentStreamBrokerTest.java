@@ -0,0 +1,87 @@
+package com.ej2.service;
+
+import com.ej2.dto.CommentDTO;
+import com.ej2.event.CommentChangedEvent;
+import com.ej2.model.Comment;
+import com.ej2.repository.CommentRepository;
+import com.ej2.util.PageCursor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CommentStreamBrokerTest {
+
+    private static final LocalDateTime SECOND = LocalDateTime.of(2026, 3, 1, 12, 0, 0);
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private AuthorNameResolver authorNameResolver;
+
+    @InjectMocks
+    private CommentStreamBroker broker;
+
+    @Before
+    public void setUp() {
+        broker.start();
+    }
+
+    @After
+    public void tearDown() {
+        broker.shutdown();
+    }
+
+    private Comment comment(long id, LocalDateTime createdAt) {
+        Comment comment = new Comment(1L, 2L, "comment " + id);
+        comment.setId(id);
+        comment.setCreatedAt(createdAt);
+        return comment;
+    }
+
+    // ===== 재연결 테스트 =====
+
+    @Test
+    public void testResumeFromLiveEventIdReplaysCommentsOfTheSameSecond() {
+        // 커밋 직후 이벤트의 작성 시각은 초 미만이 있는 메모리 값, DB에는 12:00:00으로 저장된다
+        CommentDTO live = CommentChangedEvent.created(comment(5, SECOND.plusNanos(700000000))).getComment();
+        String lastEventId = CommentStreamBroker.eventId(live);
+
+        // 같은 초(12:00:00)에 뒤이어 저장된 댓글
+        when(commentRepository.findStreamReplay(eq(1L), eq(SECOND), eq(5L), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(comment(6, SECOND)));
+        when(authorNameResolver.resolve(anyCollection())).thenReturn(Collections.singletonMap(2L, "user"));
+
+        broker.subscribe(1L, lastEventId, null);
+        assertEquals(1L, broker.getMetrics().get("replayed"));
+    }
+
+    @Test
+    public void testEventIdWithFractionalSecondsIsTruncated() {
+        String lastEventId = PageCursor.encode(SECOND.plusNanos(250000000), 5L);
+        when(commentRepository.findStreamReplay(eq(1L), eq(SECOND), eq(5L), any(Pageable.class)))
+                .thenReturn(Collections.<Comment>emptyList());
+        when(authorNameResolver.resolve(anyCollection())).thenReturn(Collections.<Long, String>emptyMap());
+
+        broker.subscribe(1L, lastEventId, null);
+        verify(commentRepository).findStreamReplay(eq(1L), eq(SECOND), eq(5L), any(Pageable.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMalformedLastEventIdIsRejected() {
+        broker.subscribe(1L, PageCursor.encode("yesterday", 5L), null);
+    }
+}
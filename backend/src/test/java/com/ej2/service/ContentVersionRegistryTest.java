@@ -0,0 +1,70 @@
+package com.ej2.service;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.Assert.*;
+
+public class ContentVersionRegistryTest {
+
+    private ContentVersionRegistry registry;
+
+    @Before
+    public void setUp() {
+        registry = new ContentVersionRegistry();
+    }
+
+    // 첫 요청의 ETag를 돌려받아 같은 버전으로 재요청
+    private String firstETag(ContentVersionRegistry.Version version) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/posts/1"), response);
+        assertFalse(registry.checkNotModified(request, version));
+        assertEquals("no-cache", response.getHeader("Cache-Control"));
+        return response.getHeader("ETag");
+    }
+
+    private boolean revalidate(String etag, ContentVersionRegistry.Version version) {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/posts/1");
+        servletRequest.addHeader("If-None-Match", etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean notModified = registry.checkNotModified(new ServletWebRequest(servletRequest, response), version);
+        assertEquals(notModified ? 304 : 200, response.getStatus());
+        return notModified;
+    }
+
+    @Test
+    public void testUnchangedPostIsNotModified() {
+        String etag = firstETag(registry.post(1L));
+        assertNotNull(etag);
+        assertTrue(revalidate(etag, registry.post(1L)));
+    }
+
+    @Test
+    public void testTouchPostChangesPostBoardAndAllPosts() {
+        String postTag = firstETag(registry.post(1L));
+        String boardTag = firstETag(registry.board(10L));
+        String allTag = firstETag(registry.allPosts());
+        String otherBoardTag = firstETag(registry.board(20L));
+
+        registry.touchPost(1L, 10L);
+
+        assertFalse(revalidate(postTag, registry.post(1L)));
+        assertFalse(revalidate(boardTag, registry.board(10L)));
+        assertFalse(revalidate(allTag, registry.allPosts()));
+        assertTrue(revalidate(otherBoardTag, registry.board(20L)));
+    }
+
+    @Test
+    public void testTouchCommentsOnlyChangesThatPost() {
+        String commentsTag = firstETag(registry.comments(1L));
+        String otherTag = firstETag(registry.comments(2L));
+
+        registry.touchComments(1L);
+
+        assertFalse(revalidate(commentsTag, registry.comments(1L)));
+        assertTrue(revalidate(otherTag, registry.comments(2L)));
+    }
+}
@@ -0,0 +1,189 @@
+package com.ej2.service;
+
+import com.ej2.repository.CounterRepository;
+import com.ej2.repository.CounterRepository.Counter;
+import com.ej2.repository.PostRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CounterServiceTest {
+
+    @Mock
+    private CounterRepository counterRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private ContentVersionRegistry contentVersionRegistry;
+
+    @Mock
+    private PostPopularityRefresher popularityRefresher;
+
+    @Mock
+    private TrendingDetector trendingDetector;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private CounterService counterService;
+
+    @Before
+    public void setUp() {
+        // 초당 2회 이상이면 승격, 1회 미만이 이어지면 즉시 강등
+        ReflectionTestUtils.setField(counterService, "promoteWritesPerSec", 2.0);
+        ReflectionTestUtils.setField(counterService, "demoteWritesPerSec", 1.0);
+        ReflectionTestUtils.setField(counterService, "demoteAfterMs", 0L);
+    }
+
+    // 측정 구간을 10초 전부터 시작한 것으로 두고 writes번 쓴 뒤 승격/강등 판단
+    private void writeAndEvaluate(long postId, int writes) {
+        ReflectionTestUtils.setField(counterService, "windowStartedAt", System.currentTimeMillis() - 10000);
+        for (int i = 0; i < writes; i++) {
+            counterService.add(Counter.POST_LIKES, postId, 1);
+        }
+        counterService.scheduledCompact();
+    }
+
+    private void promote(long postId) {
+        when(counterRepository.add(Counter.POST_LIKES, postId, 1)).thenReturn(1);
+        writeAndEvaluate(postId, 21);
+        assertTrue(counterService.hasPendingShards(postId));
+    }
+
+    // ===== 승격 테스트 =====
+
+    @Test
+    public void testPromotesAtThreshold() {
+        when(counterRepository.add(eq(Counter.POST_LIKES), anyLong(), eq(1))).thenReturn(1);
+
+        // 10초에 19회 (1.9/s)는 그대로, 21회 (2.1/s)는 승격
+        writeAndEvaluate(1L, 19);
+        writeAndEvaluate(2L, 21);
+
+        assertFalse(counterService.hasPendingShards(1L));
+        assertTrue(counterService.hasPendingShards(2L));
+
+        // 승격 후 쓰기는 posts 행이 아니라 슬롯으로 간다
+        assertTrue(counterService.add(Counter.POST_LIKES, 2L, 1));
+        verify(counterRepository).addToShard(eq(Counter.POST_LIKES), eq(2L), anyInt(), eq(1));
+        verify(counterRepository, times(21)).add(Counter.POST_LIKES, 2L, 1);
+    }
+
+    @Test
+    public void testCommentCountersAreNeverSharded() {
+        when(counterRepository.add(Counter.COMMENT_LIKES, 5L, 1)).thenReturn(1);
+        ReflectionTestUtils.setField(counterService, "windowStartedAt", System.currentTimeMillis() - 10000);
+        for (int i = 0; i < 50; i++) {
+            counterService.add(Counter.COMMENT_LIKES, 5L, 1);
+        }
+        counterService.scheduledCompact();
+
+        assertFalse(counterService.hasPendingShards(5L));
+        verify(counterRepository, never()).addToShard(any(Counter.class), anyLong(), anyInt(), anyInt());
+    }
+
+    // ===== 강등 테스트 =====
+
+    @Test
+    public void testDemotesAfterQuietPeriodAndDrainsRemainingSlots() {
+        promote(3L);
+        when(counterRepository.findShardedPostIds()).thenReturn(Collections.singletonList(3L));
+        when(counterRepository.drainShards(3L)).thenReturn(Collections.singletonMap(Counter.POST_LIKES, 7));
+
+        // 첫 주기: 쓰기가 줄어든 시각만 기록 (아직 샤드 모드)
+        counterService.scheduledCompact();
+        assertTrue(counterService.hasPendingShards(3L));
+
+        // 다음 주기: 강등 후 같은 주기의 합산으로 남은 슬롯까지 반영 (demote-after-ms = 0)
+        counterService.scheduledCompact();
+        assertFalse(counterService.hasPendingShards(3L));
+        assertEquals(1L, counterService.getStats().get("demotions"));
+
+        // 강등 후 쓰기는 다시 posts 행으로 간다
+        assertTrue(counterService.add(Counter.POST_LIKES, 3L, 1));
+        verify(counterRepository, times(22)).add(Counter.POST_LIKES, 3L, 1);
+        verify(counterRepository, never()).addToShard(any(Counter.class), anyLong(), anyInt(), anyInt());
+    }
+
+    // ===== 합산 테스트 =====
+
+    @Test
+    public void testCompactionFoldsShardSumsIntoPostRow() {
+        TransactionStatus status = mock(TransactionStatus.class);
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+        when(counterRepository.findShardedPostIds()).thenReturn(Arrays.asList(4L, 5L));
+        Map<Counter, Integer> folded = Collections.singletonMap(Counter.POST_COMMENTS, 3);
+        when(counterRepository.drainShards(4L)).thenReturn(folded);
+        when(counterRepository.drainShards(5L)).thenReturn(Collections.<Counter, Integer>emptyMap());
+        when(postRepository.findBoardIdById(4L)).thenReturn(9L);
+
+        assertEquals(1, counterService.compact());
+
+        // 게시글마다 한 트랜잭션
+        verify(transactionManager, times(2)).commit(status);
+        verify(contentVersionRegistry).touchPost(4L, 9L);
+        verify(popularityRefresher).markDirty(4L);
+        // 슬롯이 비어 있던 게시글은 건드리지 않는다
+        verify(contentVersionRegistry, never()).touchPost(eq(5L), any());
+        assertEquals(1L, counterService.getStats().get("compactedPosts"));
+    }
+
+    @Test
+    public void testFailedCompactionRollsBackAndKeepsShards() {
+        promote(6L);
+        TransactionStatus status = mock(TransactionStatus.class);
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+        when(counterRepository.findShardedPostIds()).thenReturn(Arrays.asList(6L, 7L));
+        when(counterRepository.drainShards(6L)).thenThrow(new RuntimeException("lock wait timeout"));
+        when(counterRepository.drainShards(7L)).thenReturn(Collections.singletonMap(Counter.POST_LIKES, 2));
+
+        // 두 번째 주기에 강등되지만 슬롯 합산은 실패
+        counterService.scheduledCompact();
+        counterService.scheduledCompact();
+
+        // 실패한 게시글은 롤백되어 슬롯이 남고, 합산될 때까지 대기 상태를 유지한다
+        verify(transactionManager, times(2)).rollback(status);
+        verify(contentVersionRegistry, never()).touchPost(eq(6L), any());
+        assertTrue(counterService.hasPendingShards(6L));
+        assertTrue((Long) counterService.getStats().get("lastCompactFailedAt") > 0);
+        // 한 게시글의 실패가 다른 게시글 합산을 막지 않는다
+        verify(transactionManager, times(2)).commit(status);
+        assertEquals(2L, counterService.getStats().get("compactedPosts"));
+    }
+
+    // ===== dirty 표시 테스트 =====
+
+    @Test
+    public void testDirtyPostsAndCommentsArePolledOnce() {
+        ReflectionTestUtils.setField(counterService, "maxDirty", 2);
+        counterService.add(Counter.POST_LIKES, 1L, 1);
+        counterService.add(Counter.POST_SCRAPS, 2L, 1);
+        counterService.add(Counter.POST_LIKES, 3L, 1);
+        counterService.add(Counter.COMMENT_LIKES, 10L, -1);
+        counterService.add(Counter.POST_LIKES, 4L, 0);
+
+        // 상한(2)을 넘은 게시글은 표시하지 않고, delta 0은 무시한다
+        assertEquals(new HashSet<Long>(Arrays.asList(1L, 2L)), counterService.pollDirtyPosts(10));
+        assertTrue(counterService.pollDirtyPosts(10).isEmpty());
+        assertEquals(Collections.singleton(10L), counterService.pollDirtyComments(10));
+    }
+}
@@ -0,0 +1,76 @@
+package com.ej2.service;
+
+import com.ej2.event.PostChangedEvent;
+import com.ej2.model.Post;
+import com.ej2.repository.PostLikeHourlyRepository;
+import com.ej2.repository.PostRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LikeWindowCounterTest {
+
+    @Mock
+    private PostLikeHourlyRepository postLikeHourlyRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @InjectMocks
+    private LikeWindowCounter likeWindowCounter;
+
+    private Post blinded(long id, long boardId) {
+        Post post = new Post(boardId, 1L, "title", "content");
+        post.setId(id);
+        post.setIsBlinded(true);
+        return post;
+    }
+
+    @Test
+    public void testLikesAreRankedPerBoard() {
+        when(postRepository.findVisibleBoardIdById(1L)).thenReturn(7L);
+        when(postRepository.findVisibleBoardIdById(2L)).thenReturn(7L);
+        LocalDateTime now = LocalDateTime.now();
+        likeWindowCounter.record(1L, now, 1);
+        likeWindowCounter.record(2L, now, 1);
+        likeWindowCounter.record(2L, now, 1);
+
+        assertEquals(Arrays.asList(2L, 1L), likeWindowCounter.ranking(7L, LikeWindowCounter.DAY_HOURS).getIds());
+        assertTrue(likeWindowCounter.ranking(8L, LikeWindowCounter.DAY_HOURS).getIds().isEmpty());
+        verify(postLikeHourlyRepository, times(3)).addToBucket(anyLong(), any(LocalDateTime.class), eq(1));
+    }
+
+    @Test
+    public void testLikeOnBlindedPostIsNotRanked() {
+        // 블라인드되어 순위에서 빠진 게시글에 다시 좋아요가 눌려도 항목을 만들지 않는다 (롤업은 갱신)
+        when(postRepository.findVisibleBoardIdById(1L)).thenReturn(7L).thenReturn(null);
+        likeWindowCounter.record(1L, LocalDateTime.now(), 1);
+        likeWindowCounter.onPostChanged(PostChangedEvent.blinded(blinded(1L, 7L)));
+
+        likeWindowCounter.record(1L, LocalDateTime.now(), 1);
+
+        assertTrue(likeWindowCounter.ranking(7L, LikeWindowCounter.DAY_HOURS).getIds().isEmpty());
+        verify(postLikeHourlyRepository, times(2)).addToBucket(eq(1L), any(LocalDateTime.class), eq(1));
+    }
+
+    @Test
+    public void testDiscardDropsPostFromRanking() {
+        when(postRepository.findVisibleBoardIdById(anyLong())).thenReturn(7L);
+        likeWindowCounter.record(1L, LocalDateTime.now(), 1);
+        likeWindowCounter.record(2L, LocalDateTime.now(), 1);
+
+        likeWindowCounter.discard(Collections.singletonList(2L));
+        assertEquals(Collections.singletonList(1L), likeWindowCounter.ranking(7L, LikeWindowCounter.WEEK_HOURS).getIds());
+    }
+}
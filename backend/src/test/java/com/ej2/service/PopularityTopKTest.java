@@ -0,0 +1,193 @@
+package com.ej2.service;
+
+import com.ej2.dto.PopularPostDTO;
+import com.ej2.mapper.RankingMapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PopularityTopKTest {
+
+    @Mock
+    private RankingMapper rankingMapper;
+
+    @InjectMocks
+    private PopularityTopK popularityTopK;
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(popularityTopK, "capacity", 4);
+    }
+
+    private PopularPostDTO post(long id, long boardId, double score, LocalDateTime createdAt) {
+        PopularPostDTO post = new PopularPostDTO();
+        post.setId(id);
+        post.setBoardId(boardId);
+        post.setPopularityScore(score);
+        post.setCreatedAt(createdAt);
+        return post;
+    }
+
+    private List<Long> ids(List<PopularPostDTO> posts) {
+        List<Long> ids = new ArrayList<Long>();
+        for (PopularPostDTO post : posts) {
+            ids.add(post.getId());
+        }
+        return ids;
+    }
+
+    // ===== 점수 공식 테스트 =====
+
+    @Test
+    public void testScoreMatchesSqlPopularityScore() throws Exception {
+        String sql;
+        try (InputStream in = getClass().getResourceAsStream("/mappers/RankingMapper.xml");
+             Scanner scanner = new Scanner(in, StandardCharsets.UTF_8.name())) {
+            sql = scanner.useDelimiter("\\A").next();
+        }
+        Matcher fragment = Pattern.compile("<sql id=\"popularityScore\">(.*?)</sql>", Pattern.DOTALL).matcher(sql);
+        assertTrue(fragment.find());
+
+        // SQL의 항(컬럼 * 가중치)과 부호, 시간 감쇠 (hours + offset)^gravity를 읽어 온다
+        Map<String, Double> weights = new HashMap<String, Double>();
+        Matcher term = Pattern.compile("\\(COALESCE\\(p\\.(\\w+)_count, 0\\) \\* ([\\d.]+)\\)\\s*([+-]?)")
+                .matcher(fragment.group(1));
+        double sign = 1;
+        while (term.find()) {
+            weights.put(term.group(1), sign * Double.parseDouble(term.group(2)));
+            sign = "-".equals(term.group(3)) ? -1 : 1;
+        }
+        assertEquals(5, weights.size());
+        Matcher decay = Pattern.compile("NOW\\(\\)\\), 0\\) \\+ (\\d+),\\s*([\\d.]+)\\s*\\)").matcher(fragment.group(1));
+        assertTrue(decay.find());
+        int offset = Integer.parseInt(decay.group(1));
+        double gravity = Double.parseDouble(decay.group(2));
+
+        LocalDateTime now = LocalDateTime.of(2026, 3, 1, 12, 0);
+        PopularPostDTO post = new PopularPostDTO();
+        post.setLikeCount(10);
+        post.setCommentCount(5);
+        post.setScrapCount(2);
+        post.setViewCount(100);
+        post.setDislikeCount(4);
+        post.setCreatedAt(now.minusHours(10).minusMinutes(30));
+
+        double base = 10 * weights.get("like") + 5 * weights.get("comment") + 2 * weights.get("scrap")
+                + 100 * weights.get("view") + 4 * weights.get("dislike");
+        // TIMESTAMPDIFF(HOUR)처럼 경과 시간은 시간 단위로 버린다
+        assertEquals(base / Math.pow(10 + offset, gravity), PopularityTopK.score(post, now), 1e-9);
+
+        // 카운터가 NULL이면 0, 작성 시각이 미래면 경과 0시간
+        PopularPostDTO empty = new PopularPostDTO();
+        empty.setLikeCount(2);
+        empty.setCreatedAt(now.plusHours(3));
+        assertEquals(2 * weights.get("like") / Math.pow(offset, gravity), PopularityTopK.score(empty, now), 1e-9);
+    }
+
+    // ===== 변경 반영 테스트 =====
+
+    @Test
+    public void testOnPostsChangedUpdatesAndRemovesPosts() {
+        LocalDateTime recent = LocalDateTime.now().minusHours(1);
+        when(rankingMapper.selectPopularPosts("daily", 5, 0)).thenReturn(Arrays.asList(
+                post(1, 7, 9.0, recent), post(2, 7, 8.0, recent), post(3, 8, 7.0, recent)));
+        assertEquals(Arrays.asList(1L, 2L, 3L), ids(popularityTopK.page(null, "daily", 0, 4).get()));
+
+        // 1: 블라인드되어 조회되지 않음, 2: 점수 상승, 3: 하루 구간을 벗어남
+        when(rankingMapper.selectPopularPostsByIds(Arrays.asList(1L, 2L, 3L))).thenReturn(Arrays.asList(
+                post(2, 7, 20.0, recent), post(3, 8, 7.0, LocalDateTime.now().minusDays(2))));
+        popularityTopK.onPostsChanged(Arrays.asList(1L, 2L, 3L));
+
+        List<PopularPostDTO> page = popularityTopK.page(null, "daily", 0, 4).get();
+        assertEquals(Collections.singletonList(2L), ids(page));
+        assertEquals(20.0, page.get(0).getPopularityScore(), 1e-9);
+        verify(rankingMapper, times(1)).selectPopularPosts("daily", 5, 0);
+    }
+
+    @Test
+    public void testOnPostsChangedKeepsOtherBoardsOut() {
+        LocalDateTime recent = LocalDateTime.now().minusHours(1);
+        when(rankingMapper.selectPopularPostsByBoard(7L, "all", 5, 0))
+                .thenReturn(Collections.singletonList(post(1, 7, 5.0, recent)));
+        popularityTopK.page(7L, "all", 0, 4);
+
+        when(rankingMapper.selectPopularPostsByIds(Collections.singletonList(9L)))
+                .thenReturn(Collections.singletonList(post(9, 8, 50.0, recent)));
+        popularityTopK.onPostsChanged(Collections.singletonList(9L));
+
+        assertEquals(Collections.singletonList(1L), ids(popularityTopK.page(7L, "all", 0, 4).get()));
+    }
+
+    // ===== 재계산·재적재 테스트 =====
+
+    @Test
+    public void testRescoreReloadsShrunkSlot() {
+        LocalDateTime recent = LocalDateTime.now().minusHours(1);
+        LocalDateTime old = LocalDateTime.now().minusDays(2);
+        // capacity(4) + 1건이 돌아와 뒤에도 게시글이 있는 상태로 적재, 그중 3건은 하루 구간을 벗어남
+        when(rankingMapper.selectPopularPosts("daily", 5, 0)).thenReturn(Arrays.asList(
+                post(1, 7, 9.0, recent), post(2, 7, 8.0, old), post(3, 7, 7.0, old),
+                post(4, 7, 6.0, old), post(5, 7, 5.0, recent)));
+        popularityTopK.page(null, "daily", 0, 4);
+
+        // 1건만 남아 capacity의 절반 아래 → DB에서 다시 적재
+        popularityTopK.onDecayPass();
+        verify(rankingMapper, times(2)).selectPopularPosts("daily", 5, 0);
+    }
+
+    @Test
+    public void testRescoreReloadsOnlyStaleSlots() {
+        LocalDateTime created = LocalDateTime.now().minusHours(10);
+        PopularPostDTO first = post(1, 7, 1.0, created);
+        first.setLikeCount(2);
+        PopularPostDTO second = post(2, 7, 0.5, created);
+        second.setLikeCount(1);
+        when(rankingMapper.selectPopularPosts("weekly", 5, 0)).thenReturn(Arrays.asList(first, second));
+        popularityTopK.page(null, "weekly", 0, 4);
+
+        // 짧아지지도 오래되지도 않았으면 메모리에서만 다시 계산 (좋아요 2건 × 3 / (10시간 + 2))
+        popularityTopK.onDecayPass();
+        verify(rankingMapper, times(1)).selectPopularPosts("weekly", 5, 0);
+        List<PopularPostDTO> page = popularityTopK.page(null, "weekly", 0, 4).get();
+        assertEquals(Arrays.asList(1L, 2L), ids(page));
+        assertEquals(6.0 / 12, page.get(0).getPopularityScore(), 1e-9);
+
+        // reload-interval-ms가 지나면 다시 적재
+        ReflectionTestUtils.setField(popularityTopK, "reloadIntervalMs", 0L);
+        popularityTopK.onDecayPass();
+        verify(rankingMapper, times(2)).selectPopularPosts("weekly", 5, 0);
+    }
+
+    @Test
+    public void testIdleSlotIsDropped() {
+        when(rankingMapper.selectPopularPosts("all", 5, 0)).thenReturn(Collections.<PopularPostDTO>emptyList());
+        popularityTopK.page(null, "all", 0, 4);
+        assertEquals(1, popularityTopK.getStats().get("slots"));
+
+        ReflectionTestUtils.setField(popularityTopK, "idleMs", 0L);
+        popularityTopK.onDecayPass();
+        assertEquals(0, popularityTopK.getStats().get("slots"));
+    }
+}
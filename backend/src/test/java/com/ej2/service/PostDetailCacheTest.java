@@ -0,0 +1,112 @@
+package com.ej2.service;
+
+import com.ej2.dto.PostDTO;
+import com.ej2.event.PostChangedEvent;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class PostDetailCacheTest {
+
+    private PostDetailCache cache;
+    private AtomicInteger loads;
+
+    @Before
+    public void setUp() {
+        cache = new PostDetailCache();
+        loads = new AtomicInteger();
+    }
+
+    private Function<Long, PostDTO> loader() {
+        return id -> {
+            loads.incrementAndGet();
+            PostDTO post = new PostDTO();
+            post.setId(id);
+            post.setTitle("title");
+            post.setContent("content");
+            post.setViewCount(10);
+            post.setLikeCount(1);
+            post.setDislikeCount(0);
+            post.setCommentCount(2);
+            return post;
+        };
+    }
+
+    @Test
+    public void testHitReturnsCopyWithoutReload() {
+        PostDTO first = cache.get(1L, loader());
+        first.setTitle("changed by caller");
+
+        PostDTO second = cache.get(1L, loader());
+        assertEquals(1, loads.get());
+        assertEquals("title", second.getTitle());
+    }
+
+    @Test
+    public void testCountersAdjustedInPlace() {
+        cache.get(1L, loader());
+        cache.adjustCounters(1L, 3, 1, 0, -1);
+
+        PostDTO post = cache.get(1L, loader());
+        assertEquals(1, loads.get());
+        assertEquals(Integer.valueOf(13), post.getViewCount());
+        assertEquals(Integer.valueOf(2), post.getLikeCount());
+        assertEquals(Integer.valueOf(1), post.getCommentCount());
+    }
+
+    @Test
+    public void testPostChangedEventEvicts() {
+        cache.get(1L, loader());
+        cache.onPostChanged(PostChangedEvent.deleted(1L, 1L));
+        cache.get(1L, loader());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testMissingPostIsNotCached() {
+        assertNull(cache.get(1L, id -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        cache.get(1L, loader());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testConcurrentMissesLoadOnce() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final Function<Long, PostDTO> slowLoader = id -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loader().apply(id);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] results = new Future<?>[4];
+            for (int i = 0; i < results.length; i++) {
+                results[i] = executor.submit(() -> cache.get(1L, slowLoader));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<?> result : results) {
+                assertNotNull(result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,145 @@
+package com.ej2.service;
+
+import com.ej2.mapper.RankingMapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PostPopularityRefresherTest {
+
+    private static final Timestamp PASS_START = Timestamp.valueOf("2026-03-01 12:00:00");
+    private static final Timestamp PREVIOUS_PASS = Timestamp.valueOf("2026-03-01 11:50:00");
+
+    @Mock
+    private RankingMapper rankingMapper;
+
+    @Mock
+    private PopularityTopK popularityTopK;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private PostPopularityRefresher refresher;
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(refresher, "chunkSize", 2);
+        ReflectionTestUtils.setField(refresher, "allDepth", 3);
+    }
+
+    private ResultSet row(long postId, Timestamp refreshedAt) throws SQLException {
+        ResultSet rs = mock(ResultSet.class, withSettings().lenient());
+        when(rs.getLong(1)).thenReturn(postId);
+        when(rs.getTimestamp(2)).thenReturn(refreshedAt);
+        return rs;
+    }
+
+    // 게시판의 'all' 상위 행 조회가 호출될 때마다 다음 결과를 흘려 보낸다
+    private void stubAllBucket(long boardId, final ResultSet[]... rounds) throws SQLException {
+        final int[] call = {0};
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ResultSet rs : rounds[Math.min(call[0]++, rounds.length - 1)]) {
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(contains("period_bucket = 'all'"), any(RowCallbackHandler.class), eq(boardId), eq(3));
+    }
+
+    private void stubIncrementalPass() {
+        when(jdbcTemplate.queryForObject("SELECT NOW()", Timestamp.class)).thenReturn(PASS_START);
+        when(jdbcTemplate.queryForList(contains("period_bucket = 'monthly'"), eq(Long.class), anyLong(), eq(2)))
+                .thenReturn(Collections.<Long>emptyList());
+        when(jdbcTemplate.queryForList(contains("FROM boards"), eq(Long.class)))
+                .thenReturn(Collections.singletonList(7L));
+    }
+
+    // ===== 감쇠 주기 테스트 =====
+
+    @Test
+    public void testOnlyFirstDecayPassRescoresEveryPost() throws SQLException {
+        when(jdbcTemplate.queryForList(contains("FROM posts"), eq(Long.class), eq(0L), eq(2)))
+                .thenReturn(Collections.singletonList(1L));
+        refresher.scheduledDecay();
+        verify(rankingMapper).insertPopularity(Collections.singletonList(1L));
+
+        stubIncrementalPass();
+        stubAllBucket(7L, new ResultSet[0]);
+        refresher.scheduledDecay();
+
+        verify(jdbcTemplate, times(1)).queryForList(contains("FROM posts"), eq(Long.class), anyLong(), anyInt());
+        verify(popularityTopK, times(2)).onDecayPass();
+        assertEquals(2L, refresher.getStats().get("decayPasses"));
+        assertEquals(1L, refresher.getStats().get("fullDecayPasses"));
+    }
+
+    @Test
+    public void testIncrementalPassRescoresMonthlyWindowAndStaleTopAllRows() throws SQLException {
+        ReflectionTestUtils.setField(refresher, "fullDecayPending", false);
+        stubIncrementalPass();
+        when(jdbcTemplate.queryForList(contains("period_bucket = 'monthly'"), eq(Long.class), eq(0L), eq(2)))
+                .thenReturn(Arrays.asList(20L, 21L));
+        when(jdbcTemplate.queryForList(contains("period_bucket = 'monthly'"), eq(Long.class), eq(21L), eq(2)))
+                .thenReturn(Collections.singletonList(22L));
+        // 첫 조회: 20은 이번 주기에 갱신됨, 5와 6은 지난 주기 값
+        // 다시 계산해 5가 내려가자 그 아래에 있던 4가 올라온다
+        stubAllBucket(7L,
+                new ResultSet[] {row(20, PASS_START), row(5, PREVIOUS_PASS), row(6, PREVIOUS_PASS)},
+                new ResultSet[] {row(20, PASS_START), row(6, PASS_START), row(4, PREVIOUS_PASS)},
+                new ResultSet[] {row(20, PASS_START), row(6, PASS_START), row(4, PASS_START)});
+
+        assertEquals(6L, refresher.decayReachable());
+
+        verify(rankingMapper).insertPopularity(Arrays.asList(20L, 21L));
+        verify(rankingMapper).insertPopularity(Collections.singletonList(22L));
+        verify(rankingMapper).insertPopularity(Arrays.asList(5L, 6L));
+        verify(rankingMapper).insertPopularity(Collections.singletonList(4L));
+        verify(rankingMapper, times(4)).insertPopularity(anyCollection());
+        verify(jdbcTemplate, never()).queryForList(contains("FROM posts"), eq(Long.class), anyLong(), anyInt());
+    }
+
+    @Test
+    public void testDirtyOverflowSchedulesFullDecayPass() {
+        ReflectionTestUtils.setField(refresher, "fullDecayPending", false);
+        ReflectionTestUtils.setField(refresher, "maxDirty", 1);
+
+        refresher.markDirty(1L);
+        refresher.markDirty(1L);
+        assertEquals(false, refresher.getStats().get("fullDecayPending"));
+
+        // 표시하지 못한 게시글은 다음 감쇠 주기의 전체 재계산이 반영한다
+        refresher.markDirty(2L);
+        assertEquals(true, refresher.getStats().get("fullDecayPending"));
+
+        when(jdbcTemplate.queryForList(contains("FROM posts"), eq(Long.class), eq(0L), eq(2)))
+                .thenReturn(Arrays.asList(1L, 2L));
+        when(jdbcTemplate.queryForList(contains("FROM posts"), eq(Long.class), eq(2L), eq(2)))
+                .thenReturn(Collections.<Long>emptyList());
+        refresher.scheduledDecay();
+
+        verify(rankingMapper).insertPopularity(Arrays.asList(1L, 2L));
+        assertEquals(false, refresher.getStats().get("fullDecayPending"));
+    }
+}
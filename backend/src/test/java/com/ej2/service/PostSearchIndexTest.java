@@ -0,0 +1,50 @@
+package com.ej2.service;
+
+import com.ej2.event.PostChangedEvent;
+import com.ej2.model.Post;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class PostSearchIndexTest {
+
+    private PostSearchIndex index;
+
+    @Before
+    public void setUp() {
+        index = new PostSearchIndex();
+        ReflectionTestUtils.setField(index, "ready", true);
+    }
+
+    private Post post(long id, String title, boolean blinded) {
+        Post post = new Post(1L, 1L, title, "本文");
+        post.setId(id);
+        post.setIsBlinded(blinded);
+        return post;
+    }
+
+    @Test
+    public void testUpdatedPostIsReindexed() {
+        index.onPostChanged(PostChangedEvent.created(post(1, "도서관 자리", false)));
+        index.onPostChanged(PostChangedEvent.updated(post(1, "학식 메뉴", false)));
+
+        assertEquals(0, index.search("도서관", null, 0, 10).getTotal());
+        assertEquals(Collections.singletonList(1L), index.search("학식", null, 0, 10).getIds());
+    }
+
+    @Test
+    public void testEditingBlindedPostKeepsItOutOfIndex() {
+        index.onPostChanged(PostChangedEvent.created(post(1, "도서관 자리", false)));
+        index.onPostChanged(PostChangedEvent.blinded(post(1, "도서관 자리", true)));
+        assertEquals(0, index.search("도서관", null, 0, 10).getTotal());
+
+        // 블라인드된 게시글을 작성자가 수정해도 다시 색인되지 않는다
+        index.onPostChanged(PostChangedEvent.updated(post(1, "도서관 자리 수정", true)));
+        assertEquals(0, index.search("도서관", null, 0, 10).getTotal());
+        assertEquals(0, index.getStats().get("posts"));
+    }
+}
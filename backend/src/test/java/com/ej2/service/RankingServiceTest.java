@@ -25,6 +25,13 @@ public class RankingServiceTest {
     @Mock
     private RankingMapper rankingMapper;
 
+    @Mock
+    private AuthorNameResolver authorNameResolver;
+
+    // 기본 응답 Optional.empty() → 모든 페이지가 DB 조회로 간다
+    @Mock
+    private PopularityTopK popularityTopK;
+
     @InjectMocks
     private RankingService rankingService;
 
@@ -199,6 +206,38 @@ public class RankingServiceTest {
         assertEquals(0, result.get("totalPages"));
     }
 
+    @Test
+    public void testTotalCountCachedAcrossPages() {
+        when(rankingMapper.selectPopularPosts(anyString(), anyInt(), anyInt()))
+            .thenReturn(Collections.emptyList());
+        when(rankingMapper.countPopularPosts(isNull(), anyString()))
+            .thenReturn(45);
+
+        rankingService.getPopularPosts("weekly", 0, 20);
+        Map<String, Object> result = rankingService.getPopularPosts("weekly", 1, 20);
+
+        assertEquals(45, result.get("totalCount"));
+        // 두 번째 페이지는 캐시된 총 개수를 쓴다
+        verify(rankingMapper, times(1)).countPopularPosts(isNull(), eq("weekly"));
+    }
+
+    @Test
+    public void testHasNextModeSkipsCount() {
+        List<PopularPostDTO> mockPosts = Arrays.asList(
+            createPost(1L, "인기글1", 10, 1, 5, 3, 100, 15.5),
+            createPost(2L, "인기글2", 8, 0, 3, 2, 80, 12.0),
+            createPost(3L, "인기글3", 6, 0, 1, 0, 60, 9.0)
+        );
+        when(rankingMapper.selectPopularPosts("weekly", 3, 0)).thenReturn(mockPosts);
+
+        Map<String, Object> result = rankingService.getPopularPosts("weekly", 0, 2, false);
+
+        assertEquals(true, result.get("hasNext"));
+        assertEquals(2, ((List<?>) result.get("posts")).size());
+        assertFalse(result.containsKey("totalCount"));
+        verify(rankingMapper, never()).countPopularPosts(any(), anyString());
+    }
+
     // ===== 게시판별 조회 테스트 =====
 
     @Test
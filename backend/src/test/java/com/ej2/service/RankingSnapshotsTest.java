@@ -0,0 +1,105 @@
+package com.ej2.service;
+
+import com.ej2.dto.CursorPageDTO;
+import com.ej2.dto.PopularPostDTO;
+import com.ej2.mapper.RankingMapper;
+import com.ej2.util.PageCursor;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RankingSnapshotsTest {
+
+    @Mock
+    private RankingMapper rankingMapper;
+
+    @InjectMocks
+    private RankingSnapshots rankingSnapshots;
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    // 점수 내림차순 정렬 키 (id 1이 1위)
+    private List<PopularPostDTO> keys(int count) {
+        List<PopularPostDTO> keys = new ArrayList<PopularPostDTO>();
+        for (long id = 1; id <= count; id++) {
+            PopularPostDTO key = new PopularPostDTO();
+            key.setId(id);
+            key.setPopularityScore(100.0 - id);
+            key.setCreatedAt(BASE.plusMinutes(id));
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    private void stubHydrate() {
+        when(rankingMapper.selectPopularPostsByIds(anyCollection())).thenAnswer(invocation -> {
+            List<PopularPostDTO> posts = new ArrayList<PopularPostDTO>();
+            for (Object id : (Collection<?>) invocation.getArgument(0)) {
+                PopularPostDTO post = new PopularPostDTO();
+                post.setId((Long) id);
+                // 현재 점수는 스냅샷과 달라도 응답은 스냅샷 점수를 쓴다
+                post.setPopularityScore(0.0);
+                posts.add(post);
+            }
+            return posts;
+        });
+    }
+
+    private List<Long> ids(CursorPageDTO<PopularPostDTO> page) {
+        List<Long> ids = new ArrayList<Long>();
+        for (PopularPostDTO post : page.getItems()) {
+            ids.add(post.getId());
+        }
+        return ids;
+    }
+
+    @Test
+    public void testPagesFollowOneSnapshot() {
+        when(rankingMapper.selectPopularityKeys(isNull(), eq("weekly"), anyInt())).thenReturn(keys(5));
+        stubHydrate();
+
+        CursorPageDTO<PopularPostDTO> first = rankingSnapshots.page(null, "weekly", null, 2);
+        CursorPageDTO<PopularPostDTO> second = rankingSnapshots.page(null, "weekly", first.getNextCursor(), 2);
+        CursorPageDTO<PopularPostDTO> last = rankingSnapshots.page(null, "weekly", second.getNextCursor(), 2);
+
+        assertEquals(Arrays.asList(1L, 2L), ids(first));
+        assertEquals(Arrays.asList(3L, 4L), ids(second));
+        assertEquals(Collections.singletonList(5L), ids(last));
+        assertFalse(last.isHasNext());
+        assertEquals(97.0, second.getItems().get(0).getPopularityScore(), 0.0);
+        // 순위는 첫 페이지에서 한 번만 읽는다
+        verify(rankingMapper, times(1)).selectPopularityKeys(isNull(), eq("weekly"), anyInt());
+        verify(rankingMapper, never()).selectPopularPostsAfter(any(), anyString(), anyDouble(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    public void testUnknownSnapshotFallsBackToKeyset() {
+        String cursor = PageCursor.encode(42L, 12.5, BASE, 7L);
+        when(rankingMapper.selectPopularPostsAfter(eq(3L), eq("daily"), eq(12.5), eq(BASE), eq(7L), eq(21)))
+                .thenReturn(new ArrayList<PopularPostDTO>());
+
+        CursorPageDTO<PopularPostDTO> page = rankingSnapshots.page(3L, "daily", cursor, 20);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMalformedCursorRejected() {
+        rankingSnapshots.page(null, "weekly", PageCursor.encode(1L, "not-a-score", BASE, 1L), 20);
+    }
+}
@@ -0,0 +1,179 @@
+package com.ej2.service;
+
+import com.ej2.dto.PopularPostDTO;
+import com.ej2.dto.TrendingPostDTO;
+import com.ej2.mapper.RankingMapper;
+import com.ej2.repository.CounterRepository.Counter;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TrendingDetectorTest {
+
+    private static final long MINUTE = 60000;
+
+    @Mock
+    private RankingMapper rankingMapper;
+
+    @InjectMocks
+    private TrendingDetector trendingDetector;
+
+    // 감지기가 관측을 시작한 시각 (이 시각부터 시간을 진행시킨다)
+    private long t0;
+
+    @Before
+    public void setUp() {
+        t0 = (Long) ReflectionTestUtils.getField(trendingDetector, "startedAt");
+    }
+
+    private PopularPostDTO post(long id, long boardId) {
+        PopularPostDTO post = new PopularPostDTO();
+        post.setId(id);
+        post.setBoardId(boardId);
+        return post;
+    }
+
+    // from분부터 to분까지 매분 좋아요 perMinute건
+    private void likes(long postId, int perMinute, int from, int to) {
+        for (int minute = from; minute <= to; minute++) {
+            trendingDetector.record(Counter.POST_LIKES, postId, perMinute, t0 + minute * MINUTE);
+        }
+    }
+
+    private List<Long> trendingIds(Long boardId, int limit) {
+        List<Long> ids = new ArrayList<Long>();
+        for (TrendingPostDTO post : trendingDetector.trending(boardId, limit)) {
+            ids.add(post.getId());
+        }
+        return ids;
+    }
+
+    private Map<String, Object> stats() {
+        return trendingDetector.getStats();
+    }
+
+    // ===== 감지 테스트 =====
+
+    @Test
+    public void testBurstIsFlaggedButSteadyTrafficIsNot() {
+        // 1: 한 시간 내내 매분 좋아요 1건, 2: 조용하다가 마지막 5분에 매분 5건
+        likes(1L, 1, 1, 60);
+        likes(2L, 5, 56, 60);
+        trendingDetector.evaluate(t0 + 60 * MINUTE);
+
+        when(rankingMapper.selectPopularPostsByIds(Collections.singletonList(2L)))
+                .thenReturn(Collections.singletonList(post(2, 7)));
+        List<TrendingPostDTO> trending = trendingDetector.trending(null, 10);
+
+        assertEquals(1, trending.size());
+        TrendingPostDTO burst = trending.get(0);
+        assertEquals(Long.valueOf(2L), burst.getId());
+        assertTrue(burst.getLift() >= 2.0);
+        assertTrue(burst.getRecentRate() > burst.getBaselineRate());
+        assertEquals(1, stats().get("candidates"));
+    }
+
+    @Test
+    public void testMinRecentActivityThreshold() {
+        // 좋아요 1건 (가중 3) 은 하한 5 미만, 2건 (가중 6) 은 이상
+        trendingDetector.record(Counter.POST_LIKES, 1L, 1, t0 + 60 * MINUTE);
+        trendingDetector.record(Counter.POST_LIKES, 2L, 2, t0 + 60 * MINUTE);
+        trendingDetector.evaluate(t0 + 60 * MINUTE);
+
+        when(rankingMapper.selectPopularPostsByIds(Collections.singletonList(2L)))
+                .thenReturn(Collections.singletonList(post(2, 7)));
+        assertEquals(Collections.singletonList(2L), trendingIds(null, 10));
+    }
+
+    @Test
+    public void testMinLiftThreshold() {
+        // 새 게시글의 급상승 정도는 약 7.6배이므로 min-lift 10이면 제외
+        ReflectionTestUtils.setField(trendingDetector, "minLift", 10.0);
+        trendingDetector.record(Counter.POST_LIKES, 2L, 2, t0 + 60 * MINUTE);
+        trendingDetector.evaluate(t0 + 60 * MINUTE);
+
+        assertTrue(trendingDetector.trending(null, 10).isEmpty());
+        assertEquals(0, stats().get("candidates"));
+        verifyNoInteractions(rankingMapper);
+    }
+
+    @Test
+    public void testDecreasesAndOtherCountersAreIgnored() {
+        trendingDetector.record(Counter.POST_LIKES, 1L, -1, t0);
+        trendingDetector.record(Counter.POST_LIKES, 1L, 0, t0);
+        trendingDetector.record(Counter.POST_SCRAPS, 1L, 5, t0);
+        trendingDetector.record(Counter.POST_LIKES, null, 5, t0);
+
+        assertEquals(0, stats().get("trackedPosts"));
+        assertEquals(0L, stats().get("recordedEvents"));
+    }
+
+    // ===== 추적 정리 테스트 =====
+
+    @Test
+    public void testPostsBelowPruneThresholdAreDropped() {
+        // 조회 1건 (가중 0.1) 은 바로, 좋아요 1건 (가중 3) 은 장기 카운트가 3시간 감쇠한 뒤 (3 / e^3 ≈ 0.15) 정리
+        trendingDetector.record(Counter.POST_VIEWS, 1L, 1, t0);
+        trendingDetector.record(Counter.POST_LIKES, 2L, 1, t0);
+
+        trendingDetector.evaluate(t0 + MINUTE);
+        assertEquals(1, stats().get("trackedPosts"));
+        assertEquals(1L, stats().get("prunedPosts"));
+
+        trendingDetector.evaluate(t0 + 180 * MINUTE);
+        assertEquals(0, stats().get("trackedPosts"));
+        assertEquals(2L, stats().get("prunedPosts"));
+    }
+
+    @Test
+    public void testNewPostsDroppedAtMaxTracked() {
+        ReflectionTestUtils.setField(trendingDetector, "maxTracked", 1);
+        trendingDetector.record(Counter.POST_LIKES, 1L, 1, t0);
+        trendingDetector.record(Counter.POST_COMMENTS, 2L, 1, t0);
+        // 이미 추적 중인 게시글은 계속 센다
+        trendingDetector.record(Counter.POST_COMMENTS, 1L, 1, t0);
+
+        assertEquals(1, stats().get("trackedPosts"));
+        assertEquals(1L, stats().get("droppedEvents"));
+        assertEquals(2L, stats().get("recordedEvents"));
+
+        // 정리되어 자리가 나면 새 게시글을 센다
+        trendingDetector.evaluate(t0 + 300 * MINUTE);
+        trendingDetector.record(Counter.POST_COMMENTS, 2L, 1, t0 + 300 * MINUTE);
+        assertEquals(1, stats().get("trackedPosts"));
+        assertEquals(1L, stats().get("droppedEvents"));
+    }
+
+    // ===== 조회 테스트 =====
+
+    @Test
+    public void testTrendingFiltersByBoardAndSkipsHiddenPosts() {
+        // 급상승 정도: 3 > 1 > 2, 3은 블라인드되어 조회되지 않음
+        likes(1L, 4, 56, 60);
+        likes(2L, 2, 56, 60);
+        likes(3L, 8, 56, 60);
+        trendingDetector.evaluate(t0 + 60 * MINUTE);
+        when(rankingMapper.selectPopularPostsByIds(Arrays.asList(3L, 1L, 2L)))
+                .thenReturn(Arrays.asList(post(1, 7), post(2, 8)));
+
+        assertEquals(Arrays.asList(1L, 2L), trendingIds(null, 10));
+        assertEquals(Collections.singletonList(2L), trendingIds(8L, 10));
+        assertEquals(Collections.singletonList(1L), trendingIds(null, 1));
+        assertTrue(trendingIds(9L, 10).isEmpty());
+    }
+}
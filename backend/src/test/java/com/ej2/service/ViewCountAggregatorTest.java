@@ -0,0 +1,73 @@
+package com.ej2.service;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ViewCountAggregatorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private PostPopularityRefresher popularityRefresher;
+
+    @Mock
+    private TrendingDetector trendingDetector;
+
+    @Mock
+    private ContentVersionRegistry contentVersionRegistry;
+
+    @InjectMocks
+    private ViewCountAggregator aggregator;
+
+    @Test
+    public void testVersionsAreBumpedOncePerFlushNotPerView() {
+        aggregator.increment(1L, 7L);
+        aggregator.increment(1L, 7L);
+        aggregator.increment(2L, 8L);
+        verifyNoInteractions(contentVersionRegistry);
+
+        assertEquals(3, aggregator.flush());
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+        verify(contentVersionRegistry).touchPost(1L, 7L);
+        verify(contentVersionRegistry).touchPost(2L, 8L);
+        verifyNoMoreInteractions(contentVersionRegistry);
+
+        // 새 조회가 없으면 다음 플러시는 아무것도 올리지 않는다
+        assertEquals(0, aggregator.flush());
+        verifyNoMoreInteractions(contentVersionRegistry);
+    }
+
+    @Test
+    public void testFailedFlushKeepsViewsAndDefersVersionBump() {
+        aggregator.increment(1L, 7L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new QueryTimeoutException("lock wait timeout"));
+        try {
+            aggregator.flush();
+            fail("flush should propagate the failure");
+        } catch (QueryTimeoutException expected) {
+            // 증가분은 되돌려졌다
+        }
+        assertEquals(1, aggregator.getPending(1L));
+        verifyNoInteractions(contentVersionRegistry);
+
+        // 재시도가 커밋되면 처음 받은 게시판 ID로 버전을 올린다
+        reset(jdbcTemplate);
+        assertEquals(1, aggregator.flush());
+        verify(contentVersionRegistry).touchPost(1L, 7L);
+    }
+}
@@ -0,0 +1,110 @@
+package com.ej2.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class BM25IndexTest {
+
+    private BM25Index index;
+
+    @Before
+    public void setUp() {
+        index = new BM25Index();
+        index.put(1L, 1L, "시험 기간 도서관 자리", "중앙도서관 3층 자리 있나요");
+        index.put(2L, 1L, "학식 메뉴", "오늘 학식 돈가스래요. 도서관 가기 전에 먹자");
+        index.put(3L, 2L, "図書館の席", "図書館は何時まで開いていますか");
+        index.put(4L, 2L, "Spring Boot question", "How do I configure JPA in Spring?");
+    }
+
+    // ===== 검색 테스트 =====
+
+    @Test
+    public void testKoreanSubstringMatch() {
+        BM25Index.Result result = index.search("도서관", null, 0, 10);
+        assertEquals(2, result.getTotal());
+        // 제목에 포함된 게시글이 본문에만 포함된 게시글보다 앞선다
+        assertEquals(Arrays.asList(1L, 2L), result.getIds());
+    }
+
+    @Test
+    public void testJapaneseMatch() {
+        BM25Index.Result result = index.search("図書館", null, 0, 10);
+        assertEquals(Collections.singletonList(3L), result.getIds());
+    }
+
+    @Test
+    public void testCaseInsensitiveLatinMatch() {
+        assertEquals(Collections.singletonList(4L), index.search("SPRING", null, 0, 10).getIds());
+    }
+
+    @Test
+    public void testSingleCharacterQueryMatchesInsideWords() {
+        // 한 글자 검색어도 단어 안에서 찾는다 (학식, 図書館の席)
+        assertEquals(Collections.singletonList(2L), index.search("식", null, 0, 10).getIds());
+        assertEquals(Collections.singletonList(3L), index.search("席", null, 0, 10).getIds());
+        assertEquals(Arrays.asList(1L, 2L), index.search("관", null, 0, 10).getIds());
+    }
+
+    @Test
+    public void testAllTermsRequired() {
+        assertEquals(0, index.search("도서관 돈가스 없음", null, 0, 10).getTotal());
+    }
+
+    @Test
+    public void testBoardFilter() {
+        BM25Index.Result result = index.search("도서관", 2L, 0, 10);
+        assertEquals(0, result.getTotal());
+        assertTrue(result.getIds().isEmpty());
+    }
+
+    @Test
+    public void testPaging() {
+        BM25Index.Result second = index.search("도서관", null, 1, 1);
+        assertEquals(2, second.getTotal());
+        assertEquals(Collections.singletonList(2L), second.getIds());
+    }
+
+    @Test
+    public void testBlankQueryReturnsNothing() {
+        assertEquals(0, index.search("  !! ", null, 0, 10).getTotal());
+    }
+
+    // ===== 증분 갱신 테스트 =====
+
+    @Test
+    public void testUpdateReplacesTerms() {
+        index.put(2L, 1L, "학식 메뉴", "오늘 학식 돈가스래요");
+        assertEquals(Collections.singletonList(1L), index.search("도서관", null, 0, 10).getIds());
+    }
+
+    @Test
+    public void testRemove() {
+        assertTrue(index.remove(1L));
+        assertFalse(index.remove(1L));
+        assertEquals(Collections.singletonList(2L), index.search("도서관", null, 0, 10).getIds());
+        assertEquals(3, index.size());
+    }
+
+    // ===== 스냅샷 테스트 =====
+
+    @Test
+    public void testSnapshotRoundTrip() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+
+        BM25Index restored = new BM25Index();
+        assertTrue(restored.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+        assertEquals(index.size(), restored.size());
+        assertEquals(4L, restored.getMaxId());
+        assertEquals(index.search("도서관", null, 0, 10).getIds(), restored.search("도서관", null, 0, 10).getIds());
+    }
+}
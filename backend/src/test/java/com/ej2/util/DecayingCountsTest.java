@@ -0,0 +1,61 @@
+package com.ej2.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DecayingCountsTest {
+
+    private static final long TAU = 60000;
+
+    @Test
+    public void testCountsDecayByTimeConstant() {
+        DecayingCounts counts = new DecayingCounts(2, TAU, 0);
+        counts.add(0, 10, 0);
+        counts.add(1, 4, 0);
+
+        double[] values = counts.valuesAt(TAU);
+        assertEquals(10 / Math.E, values[0], 1e-9);
+        assertEquals(4 / Math.E, values[1], 1e-9);
+        // 읽기만으로는 값이 바뀌지 않는다
+        assertEquals(10.0, counts.valuesAt(0)[0], 1e-9);
+    }
+
+    @Test
+    public void testAddDecaysExistingCountsFirst() {
+        DecayingCounts counts = new DecayingCounts(1, TAU, 0);
+        counts.add(0, 1, 0);
+        counts.add(0, 1, TAU);
+
+        assertEquals(1 + 1 / Math.E, counts.valuesAt(TAU)[0], 1e-9);
+        assertEquals((1 + 1 / Math.E) / Math.E, counts.valuesAt(2 * TAU)[0], 1e-9);
+    }
+
+    @Test
+    public void testWeightedSum() {
+        DecayingCounts counts = new DecayingCounts(3, TAU, 0);
+        counts.add(0, 2, 0);
+        counts.add(2, 10, 0);
+
+        assertEquals(7.0, counts.weightedAt(0, new double[]{3.0, 2.0, 0.1}), 1e-9);
+    }
+
+    @Test
+    public void testSteadyRateMatchesScale() {
+        // 1초마다 1건씩 10분 동안 → 초당 1건
+        DecayingCounts counts = new DecayingCounts(1, TAU, 0);
+        long observed = 600000;
+        for (long t = 1000; t <= observed; t += 1000) {
+            counts.add(0, 1, t);
+        }
+        double perMillis = counts.valuesAt(observed)[0] / DecayingCounts.steadyStateScale(TAU, observed);
+        assertEquals(0.001, perMillis, 0.00002);
+
+        // 관측 시간이 짧아도 같은 비율로 환산된다
+        DecayingCounts young = new DecayingCounts(1, TAU, 0);
+        for (long t = 1000; t <= 10000; t += 1000) {
+            young.add(0, 1, t);
+        }
+        assertEquals(0.001, young.valuesAt(10000)[0] / DecayingCounts.steadyStateScale(TAU, 10000), 0.0001);
+    }
+}
@@ -0,0 +1,46 @@
+package com.ej2.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class HourlyBucketsTest {
+
+    @Test
+    public void testSumSinceWindow() {
+        HourlyBuckets buckets = new HourlyBuckets();
+        buckets.add(100, 2);
+        buckets.add(120, 1);
+        buckets.add(110, 3);
+        buckets.add(120, 4);
+
+        assertEquals(10, buckets.sumSince(0));
+        assertEquals(8, buckets.sumSince(105));
+        assertEquals(5, buckets.sumSince(120));
+        assertEquals(0, buckets.sumSince(121));
+        assertEquals(3, buckets.bucketCount());
+    }
+
+    @Test
+    public void testDecrementNeverGoesNegative() {
+        HourlyBuckets buckets = new HourlyBuckets();
+        buckets.add(100, 1);
+        buckets.add(100, -1);
+        buckets.add(100, -1);
+        buckets.add(90, -1);
+
+        assertEquals(0, buckets.sumSince(0));
+        assertEquals(0, buckets.bucketCount());
+    }
+
+    @Test
+    public void testPruneBefore() {
+        HourlyBuckets buckets = new HourlyBuckets();
+        buckets.add(100, 1);
+        buckets.add(200, 1);
+
+        assertFalse(buckets.pruneBefore(150));
+        assertEquals(1, buckets.sumSince(0));
+        assertTrue(buckets.pruneBefore(300));
+    }
+}
@@ -0,0 +1,96 @@
+package com.ej2.util;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class RotatingBloomFilterTest {
+
+    private static long h1(String key) {
+        return RotatingBloomFilter.hash64(key.getBytes(StandardCharsets.UTF_8), 1L);
+    }
+
+    private static long h2(String key) {
+        return RotatingBloomFilter.hash64(key.getBytes(StandardCharsets.UTF_8), 2L);
+    }
+
+    // ===== 중복 판정 테스트 =====
+
+    @Test
+    public void testSecondViewWithinWindowIsDuplicate() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(25, 1000, 0.01);
+
+        assertFalse(filter.checkAndAdd(100, h1("1|u:1"), h2("1|u:1")));
+        assertTrue(filter.checkAndAdd(100, h1("1|u:1"), h2("1|u:1")));
+        // 23시간 뒤에도 여전히 중복
+        assertTrue(filter.checkAndAdd(123, h1("1|u:1"), h2("1|u:1")));
+        // 다른 사용자는 첫 조회
+        assertFalse(filter.checkAndAdd(100, h1("1|u:2"), h2("1|u:2")));
+    }
+
+    @Test
+    public void testKeyExpiresAfterWindow() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(25, 1000, 0.01);
+
+        assertFalse(filter.checkAndAdd(100, h1("7|ip:10.0.0.1"), h2("7|ip:10.0.0.1")));
+        assertTrue(filter.mightContain(124, h1("7|ip:10.0.0.1"), h2("7|ip:10.0.0.1")));
+        assertFalse(filter.mightContain(125, h1("7|ip:10.0.0.1"), h2("7|ip:10.0.0.1")));
+        assertFalse(filter.checkAndAdd(125, h1("7|ip:10.0.0.1"), h2("7|ip:10.0.0.1")));
+    }
+
+    @Test
+    public void testFalsePositiveRateWithinTarget() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(25, 10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.checkAndAdd(0, h1("a" + i), h2("a" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain(0, h1("b" + i), h2("b" + i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue("false positives: " + falsePositives, falsePositives < 100);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidFalsePositiveRate() {
+        new RotatingBloomFilter(25, 1000, 1.5);
+    }
+
+    // ===== 스냅샷 테스트 =====
+
+    @Test
+    public void testSnapshotRoundTrip() throws Exception {
+        RotatingBloomFilter filter = new RotatingBloomFilter(25, 1000, 0.01);
+        filter.checkAndAdd(100, h1("3|u:9"), h2("3|u:9"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        filter.writeTo(new DataOutputStream(bytes));
+
+        RotatingBloomFilter restored = new RotatingBloomFilter(25, 1000, 0.01);
+        assertTrue(restored.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+        assertTrue(restored.mightContain(110, h1("3|u:9"), h2("3|u:9")));
+        assertEquals(1, restored.getInsertions(100));
+    }
+
+    @Test
+    public void testSnapshotWithDifferentSettingsIsIgnored() throws Exception {
+        RotatingBloomFilter filter = new RotatingBloomFilter(25, 1000, 0.01);
+        filter.checkAndAdd(100, h1("3|u:9"), h2("3|u:9"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        filter.writeTo(new DataOutputStream(bytes));
+
+        RotatingBloomFilter restored = new RotatingBloomFilter(25, 5000, 0.01);
+        assertFalse(restored.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+        assertFalse(restored.mightContain(100, h1("3|u:9"), h2("3|u:9")));
+    }
+}
@@ -0,0 +1,103 @@
+package com.ej2.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TopKRankingTest {
+
+    private static TopKRanking.Entry<String> entry(long id, double score) {
+        return new TopKRanking.Entry<String>(id, score, 0, "post" + id);
+    }
+
+    private static List<Long> ids(List<TopKRanking.Entry<String>> entries) {
+        List<Long> ids = new ArrayList<Long>();
+        for (TopKRanking.Entry<String> entry : entries) {
+            ids.add(entry.getId());
+        }
+        return ids;
+    }
+
+    @Test
+    public void testKeepsBestEntriesInOrder() {
+        TopKRanking<String> ranking = new TopKRanking<String>(3);
+        ranking.offer(entry(1, 5));
+        ranking.offer(entry(2, 9));
+        ranking.offer(entry(3, 1));
+        ranking.offer(entry(4, 7));
+
+        assertEquals(Arrays.asList(2L, 4L, 1L), ids(ranking.page(0, 3)));
+        assertTrue(ranking.isTruncated());
+        // 잘린 뒤에는 최하위보다 낮은 항목을 받지 않는다
+        assertFalse(ranking.offer(entry(5, 2)));
+        assertTrue(ranking.offer(entry(6, 8)));
+        assertEquals(Arrays.asList(2L, 6L, 4L), ids(ranking.page(0, 3)));
+    }
+
+    @Test
+    public void testTieBreakByTieBreakThenId() {
+        TopKRanking<String> ranking = new TopKRanking<String>(10);
+        ranking.offer(new TopKRanking.Entry<String>(1, 5, 100, "a"));
+        ranking.offer(new TopKRanking.Entry<String>(2, 5, 200, "b"));
+        ranking.offer(new TopKRanking.Entry<String>(3, 5, 200, "c"));
+
+        assertEquals(Arrays.asList(3L, 2L, 1L), ids(ranking.page(0, 10)));
+    }
+
+    @Test
+    public void testPageBeyondHeldEntriesIsMissWhileTruncated() {
+        TopKRanking<String> ranking = new TopKRanking<String>(3);
+        ranking.load(Arrays.asList(entry(1, 3), entry(2, 2), entry(3, 1)), true);
+
+        assertEquals(Arrays.asList(2L, 3L), ids(ranking.page(1, 2)));
+        assertNull(ranking.page(2, 2));
+
+        ranking.remove(1);
+        assertNull(ranking.page(0, 3));
+        assertEquals(Arrays.asList(2L, 3L), ids(ranking.page(0, 2)));
+    }
+
+    @Test
+    public void testCompleteRankingAnswersPastTheEnd() {
+        TopKRanking<String> ranking = new TopKRanking<String>(10);
+        ranking.load(Arrays.asList(entry(1, 3), entry(2, 2)), false);
+
+        assertEquals(Arrays.asList(2L), ids(ranking.page(1, 5)));
+        assertTrue(ranking.page(5, 5).isEmpty());
+    }
+
+    @Test
+    public void testUpdateBelowOthersDropsEntryWhileTruncated() {
+        TopKRanking<String> ranking = new TopKRanking<String>(3);
+        ranking.load(Arrays.asList(entry(1, 9), entry(2, 5), entry(3, 4), entry(4, 1)), false);
+
+        assertTrue(ranking.offer(entry(3, 6)));
+        assertEquals(Arrays.asList(1L, 3L, 2L), ids(ranking.page(0, 3)));
+        // 잡고 있지 않은 항목이 그 위에 있을 수 있으므로 버린다
+        assertFalse(ranking.offer(entry(1, 2)));
+        assertEquals(2, ranking.size());
+    }
+
+    @Test
+    public void testRescoreDropsEntriesBelowPreviousLowest() {
+        TopKRanking<String> ranking = new TopKRanking<String>(3);
+        ranking.load(Arrays.asList(entry(1, 10), entry(2, 8), entry(3, 6)), true);
+
+        ranking.rescore(value -> {
+            if (value.equals("post1")) {
+                return 7.0;
+            }
+            if (value.equals("post2")) {
+                return 4.0;
+            }
+            return null;
+        });
+
+        assertEquals(Arrays.asList(1L), ids(ranking.page(0, 1)));
+        assertEquals(1, ranking.size());
+    }
+}
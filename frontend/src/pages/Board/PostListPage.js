@@ -57,16 +57,17 @@ function PostListPage() {
     }
 
     try {
+      // 現在の掲示板の投稿のみ、関連度順で取得
       const response = await axios.get(`/api/posts/search`, {
         params: {
-          keyword: searchKeyword
+          keyword: searchKeyword,
+          boardId: boardId,
+          size: 100
         }
       });
-      const searchResults = Array.isArray(response.data) ? response.data : [];
-      // 現在の掲示板の投稿のみフィルタリング
-      const filteredPosts = searchResults.filter(post => post.boardId === parseInt(boardId));
-      setPosts(filteredPosts);
-      setTotalPages(Math.ceil(filteredPosts.length / pagingCount));
+      const searchResults = Array.isArray(response.data.posts) ? response.data.posts : [];
+      setPosts(searchResults);
+      setTotalPages(Math.ceil(searchResults.length / pagingCount));
       setCurrentPage(0);
     } catch (error) {
       console.error('検索に失敗しました:', error);